@@ -1,19 +1,37 @@
 package io.weaviate.client6.v1.api;
 
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.net.ssl.TrustManagerFactory;
 
+import io.weaviate.client6.v1.api.cluster.NodeStatus;
+import io.weaviate.client6.v1.api.cluster.NodeVerbosity;
+import io.weaviate.client6.v1.api.cluster.ShardReplica;
+import io.weaviate.client6.v1.api.cluster.ShardingState;
+import io.weaviate.client6.v1.api.cluster.WeaviateClusterClientAsync;
 import io.weaviate.client6.v1.internal.BuildInfo;
 import io.weaviate.client6.v1.internal.ObjectBuilder;
 import io.weaviate.client6.v1.internal.Proxy;
 import io.weaviate.client6.v1.internal.Timeout;
 import io.weaviate.client6.v1.internal.TokenProvider;
 import io.weaviate.client6.v1.internal.TransportOptions;
+import io.weaviate.client6.v1.internal.TransportResources;
 import io.weaviate.client6.v1.internal.grpc.GrpcChannelOptions;
+import io.weaviate.client6.v1.internal.grpc.NodeDiscovery;
+import io.weaviate.client6.v1.internal.grpc.ShardRouting;
+import io.weaviate.client6.v1.internal.rest.RestTransport;
 import io.weaviate.client6.v1.internal.rest.RestTransportOptions;
 
 public record Config(
@@ -26,7 +44,65 @@ public record Config(
     Authentication authentication,
     TrustManagerFactory trustManagerFactory,
     Timeout timeout,
-    Proxy proxy) {
+    Proxy proxy,
+    TransportSettings transport) {
+
+  /**
+   * Transport tuning settings. Kept out of the top-level components,
+   * so that adding a setting does not change the canonical constructor
+   * of {@link Config}.
+   *
+   * @param grpcChannelPoolSize   Number of gRPC channels for unary requests.
+   * @param grpcChannelExecutor   Executor for gRPC call callbacks.
+   * @param grpcOffloadExecutor   Executor for unmarshaling async replies.
+   * @param grpcVirtualThreads    Use virtual threads for both of the above.
+   * @param resources             Transport resources shared with other clients.
+   * @param nodeDiscoveryInterval How often cluster nodes are listed;
+   *                              {@code null} disables node discovery.
+   * @param nodeDiscoveryAddress  Maps node names to gRPC addresses
+   *                              for node discovery.
+   * @param shardRoutingCacheTtl  How long sharding state is cached;
+   *                              {@code null} disables shard routing.
+   * @param shardRoutingAddress   Maps node names to gRPC addresses
+   *                              for shard routing.
+   */
+  public record TransportSettings(
+      int grpcChannelPoolSize,
+      Executor grpcChannelExecutor,
+      Executor grpcOffloadExecutor,
+      boolean grpcVirtualThreads,
+      TransportResources resources,
+      Duration nodeDiscoveryInterval,
+      Function<String, InetSocketAddress> nodeDiscoveryAddress,
+      Duration shardRoutingCacheTtl,
+      Function<String, InetSocketAddress> shardRoutingAddress) {
+
+    /** Settings used when none are set on the builder. */
+    public static final TransportSettings DEFAULT = new TransportSettings(
+        1, null, null, false, null, null, null, null, null);
+  }
+
+  public Config {
+    if (transport == null) {
+      transport = TransportSettings.DEFAULT;
+    }
+  }
+
+  /** Create a config with {@link TransportSettings#DEFAULT} settings. */
+  public Config(
+      String scheme,
+      String httpHost,
+      int httpPort,
+      String grpcHost,
+      int grpcPort,
+      Map<String, String> headers,
+      Authentication authentication,
+      TrustManagerFactory trustManagerFactory,
+      Timeout timeout,
+      Proxy proxy) {
+    this(scheme, httpHost, httpPort, grpcHost, grpcPort, headers, authentication,
+        trustManagerFactory, timeout, proxy, TransportSettings.DEFAULT);
+  }
 
   public static Config of(Function<Custom, ObjectBuilder<Config>> fn) {
     return fn.apply(new Custom()).build();
@@ -43,7 +119,17 @@ public record Config(
         builder.authentication,
         builder.trustManagerFactory,
         builder.timeout,
-        builder.proxy);
+        builder.proxy,
+        new TransportSettings(
+            builder.grpcChannelPoolSize,
+            builder.grpcChannelExecutor,
+            builder.grpcOffloadExecutor,
+            builder.grpcVirtualThreads,
+            builder.transportResources,
+            builder.nodeDiscoveryInterval,
+            builder.nodeDiscoveryAddress,
+            builder.shardRoutingCacheTtl,
+            builder.shardRoutingAddress));
   }
 
   RestTransportOptions restTransportOptions() {
@@ -51,7 +137,8 @@ public record Config(
   }
 
   RestTransportOptions restTransportOptions(TokenProvider tokenProvider) {
-    return new RestTransportOptions(scheme, httpHost, httpPort, headers, tokenProvider, trustManagerFactory, timeout, proxy);
+    return new RestTransportOptions(scheme, httpHost, httpPort, headers, tokenProvider, trustManagerFactory, timeout, proxy)
+        .withResources(transport.resources());
   }
 
   GrpcChannelOptions grpcTransportOptions() {
@@ -59,7 +146,71 @@ public record Config(
   }
 
   GrpcChannelOptions grpcTransportOptions(TokenProvider tokenProvider) {
-    return new GrpcChannelOptions(scheme, grpcHost, grpcPort, headers, tokenProvider, trustManagerFactory, timeout, proxy);
+    return new GrpcChannelOptions(scheme, grpcHost, grpcPort, headers, tokenProvider, trustManagerFactory, timeout, proxy)
+        .withChannelPoolSize(transport.grpcChannelPoolSize())
+        .withChannelExecutor(transport.grpcChannelExecutor())
+        .withOffloadExecutor(transport.grpcOffloadExecutor())
+        .withVirtualThreads(transport.grpcVirtualThreads())
+        .withResources(transport.resources());
+  }
+
+  /**
+   * Node discovery which lists the healthy cluster nodes
+   * via the REST transport, or {@code null} if it is disabled.
+   */
+  NodeDiscovery nodeDiscovery(RestTransport restTransport) {
+    if (transport.nodeDiscoveryInterval() == null) {
+      return null;
+    }
+    var cluster = new WeaviateClusterClientAsync(restTransport);
+    Function<String, InetSocketAddress> address = nodeAddressOrDefault(transport.nodeDiscoveryAddress());
+    return new NodeDiscovery(() -> {
+      try {
+        return cluster.listNodes(nodes -> nodes.verbosity(NodeVerbosity.MINIMAL))
+            .thenApply(nodes -> nodes.stream()
+                .filter(node -> node.status() == NodeStatus.HEALTHY)
+                .map(node -> address.apply(node.name()))
+                .toList());
+      } catch (IOException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }, transport.nodeDiscoveryInterval());
+  }
+
+  /**
+   * Shard-aware routing which looks up the sharding state
+   * via the REST transport, or {@code null} if it is disabled.
+   */
+  ShardRouting shardRouting(RestTransport restTransport) {
+    if (transport.shardRoutingCacheTtl() == null) {
+      return null;
+    }
+    var cluster = new WeaviateClusterClientAsync(restTransport);
+    Function<String, InetSocketAddress> address = nodeAddressOrDefault(transport.shardRoutingAddress());
+    return new ShardRouting(collection -> {
+      try {
+        return cluster.shardingState(collection).thenApply(state -> state
+            .map(ShardingState::shards)
+            .orElse(List.of())
+            .stream()
+            .collect(Collectors.toMap(
+                ShardReplica::shardName,
+                shard -> shard.replicas().stream().map(address).toList(),
+                (first, second) -> first)));
+      } catch (IOException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }, transport.shardRoutingCacheTtl());
+  }
+
+  /**
+   * Maps node names to their gRPC addresses, using the node name
+   * as the hostname if {@code nodeAddress} is not set.
+   */
+  private Function<String, InetSocketAddress> nodeAddressOrDefault(Function<String, InetSocketAddress> nodeAddress) {
+    return nodeAddress != null
+        ? nodeAddress
+        : name -> InetSocketAddress.createUnresolved(name, grpcPort);
   }
 
   private abstract static class Builder<SelfT extends Builder<SelfT>> implements ObjectBuilder<Config> {
@@ -74,6 +225,15 @@ public record Config(
     protected Timeout timeout = new Timeout();
     protected Map<String, String> headers = new HashMap<>();
     protected Proxy proxy;
+    protected int grpcChannelPoolSize = 1;
+    protected Executor grpcChannelExecutor;
+    protected Executor grpcOffloadExecutor;
+    protected boolean grpcVirtualThreads;
+    protected TransportResources transportResources;
+    protected Duration nodeDiscoveryInterval;
+    protected Function<String, InetSocketAddress> nodeDiscoveryAddress;
+    protected Duration shardRoutingCacheTtl;
+    protected Function<String, InetSocketAddress> shardRoutingAddress;
 
     /**
      * Set URL scheme. Subclasses may increase the visibility of this method to
@@ -188,6 +348,169 @@ public record Config(
       return (SelfT) this;
     }
 
+    /**
+     * Set the number of gRPC channels used for unary requests.
+     *
+     * <p>
+     * A single HTTP/2 connection limits the number of concurrent streams,
+     * which may become a bottleneck for highly concurrent workloads.
+     * With {@code poolSize > 1} the client opens several connections,
+     * dispatches each request to the channel with the fewest requests
+     * in flight, and reserves a separate channel for batch streams.
+     *
+     * <p>
+     * Defaults to 1, which means all requests share a single channel.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT grpcChannelPoolSize(int poolSize) {
+      if (poolSize < 1) {
+        throw new IllegalArgumentException("poolSize must be at least 1, got " + poolSize);
+      }
+      this.grpcChannelPoolSize = poolSize;
+      return (SelfT) this;
+    }
+
+    /**
+     * Set the executor on which gRPC runs call callbacks, i.e. where
+     * replies are received. By default gRPC uses a shared cached thread pool.
+     * The executor is owned by the caller and is not shut down
+     * when the client is closed.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT grpcChannelExecutor(Executor executor) {
+      this.grpcChannelExecutor = executor;
+      return (SelfT) this;
+    }
+
+    /**
+     * Set the executor for unmarshaling replies to async requests.
+     *
+     * <p>
+     * By default, the reply is unmarshaled, and the future returned by
+     * the async client is completed, on the thread which has received it.
+     * Decoding a large reply there, or running a slow continuation
+     * attached to the future, delays the replies to other requests.
+     * With an offload executor both happen on that executor instead.
+     * The executor is owned by the caller and is not shut down
+     * when the client is closed.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT grpcOffloadExecutor(Executor executor) {
+      this.grpcOffloadExecutor = executor;
+      return (SelfT) this;
+    }
+
+    /**
+     * Run gRPC call callbacks and unmarshal async replies on virtual threads,
+     * unless {@link #grpcChannelExecutor} or {@link #grpcOffloadExecutor}
+     * are set explicitly. Requires Java 21 or newer.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT grpcVirtualThreads(boolean enabled) {
+      this.grpcVirtualThreads = enabled;
+      return (SelfT) this;
+    }
+
+    /**
+     * Share transport resources with other clients, e.g. clients
+     * connected to different clusters. Clients which use the same
+     * {@link TransportResources} share the gRPC event loop group,
+     * the I/O reactor of the async HTTP client, and gRPC channels
+     * to the same host.
+     *
+     * <p>
+     * The resources are owned by the caller and are not closed
+     * when the client is closed. The async HTTP client is not shared
+     * if a custom {@link #trustManagerFactory} or {@link #proxy} is set.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT transportResources(TransportResources resources) {
+      this.transportResources = resources;
+      return (SelfT) this;
+    }
+
+    /**
+     * Spread gRPC requests across the cluster nodes instead of sending
+     * all of them to the configured gRPC host, which then coordinates
+     * every query. Use this for multi-node clusters which are not
+     * behind a load balancer.
+     *
+     * <p>
+     * The client lists the cluster nodes via the {@code /nodes} endpoint
+     * every {@code refreshInterval} and connects to the healthy ones,
+     * using the node name as the hostname and the configured gRPC port.
+     * Nodes which fail most of their requests are ejected until the next
+     * refresh. If the node list cannot be fetched, the client keeps using
+     * the last known one.
+     *
+     * @throws IllegalArgumentException if {@code refreshInterval} is not positive.
+     * @see #nodeDiscovery(Duration, Function)
+     */
+    public SelfT nodeDiscovery(Duration refreshInterval) {
+      return nodeDiscovery(refreshInterval, null);
+    }
+
+    /**
+     * Spread gRPC requests across the cluster nodes, see
+     * {@link #nodeDiscovery(Duration)}. Weaviate reports node names,
+     * not addresses, so use {@code nodeAddress} to map a node name
+     * to its gRPC address, e.g. when the names are not resolvable.
+     *
+     * @param nodeAddress Maps node name to the node's gRPC address.
+     *                    {@code null} uses the node name as the hostname.
+     * @throws IllegalArgumentException if {@code refreshInterval} is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT nodeDiscovery(Duration refreshInterval, Function<String, InetSocketAddress> nodeAddress) {
+      requireNonNull(refreshInterval, "refreshInterval is null");
+      if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+        throw new IllegalArgumentException("refreshInterval must be positive, got " + refreshInterval);
+      }
+      this.nodeDiscoveryInterval = refreshInterval;
+      this.nodeDiscoveryAddress = nodeAddress;
+      return (SelfT) this;
+    }
+
+    /**
+     * Send tenant-scoped queries (including fetching objects by ID)
+     * and batch inserts via gRPC directly to a node which holds the
+     * tenant's shard, skipping the extra hop through the coordinator.
+     *
+     * <p>
+     * The client looks up the sharding state of each collection in the
+     * background and caches it for {@code cacheTtl}, or until a request
+     * routed to one of its shards fails. Until the sharding state is known,
+     * and for requests which are not scoped to a tenant, the client
+     * uses the configured gRPC host.
+     *
+     * @throws IllegalArgumentException if {@code cacheTtl} is not positive.
+     * @see #shardRouting(Duration, Function)
+     */
+    public SelfT shardRouting(Duration cacheTtl) {
+      return shardRouting(cacheTtl, null);
+    }
+
+    /**
+     * Send tenant-scoped requests directly to the nodes which hold
+     * the tenant's shard, see {@link #shardRouting(Duration)}.
+     *
+     * @param nodeAddress Maps node name to the node's gRPC address.
+     *                    {@code null} uses the node name as the hostname.
+     *                    Independent of the mapping passed to
+     *                    {@link #nodeDiscovery(Duration, Function)}.
+     * @throws IllegalArgumentException if {@code cacheTtl} is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public SelfT shardRouting(Duration cacheTtl, Function<String, InetSocketAddress> nodeAddress) {
+      requireNonNull(cacheTtl, "cacheTtl is null");
+      if (cacheTtl.isNegative() || cacheTtl.isZero()) {
+        throw new IllegalArgumentException("cacheTtl must be positive, got " + cacheTtl);
+      }
+      this.shardRoutingCacheTtl = cacheTtl;
+      this.shardRoutingAddress = nodeAddress;
+      return (SelfT) this;
+    }
+
     /**
      * Weaviate will use the URL in this header to call Weaviate Embeddings
      * Service if an appropriate vectorizer is configured for collection.
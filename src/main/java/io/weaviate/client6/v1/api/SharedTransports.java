@@ -0,0 +1,57 @@
+package io.weaviate.client6.v1.api;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.weaviate.client6.v1.internal.grpc.GrpcTransport;
+import io.weaviate.client6.v1.internal.rest.RestTransport;
+
+/**
+ * REST and gRPC transports shared between {@link WeaviateClient} and
+ * the {@link WeaviateClientAsync} clients created with {@link WeaviateClient#async}.
+ * The transports are closed once every client using them is closed.
+ */
+@ThreadSafe
+final class SharedTransports {
+  final RestTransport rest;
+  final GrpcTransport grpc;
+
+  /** Number of clients using the transports. */
+  private final AtomicInteger refs = new AtomicInteger(1);
+
+  SharedTransports(RestTransport rest, GrpcTransport grpc) {
+    this.rest = requireNonNull(rest, "rest is null");
+    this.grpc = requireNonNull(grpc, "grpc is null");
+  }
+
+  /**
+   * Register another client using the transports.
+   *
+   * @throws IllegalStateException if the transports have been closed.
+   */
+  SharedTransports retain() {
+    int prev = refs.getAndUpdate(n -> n == 0 ? 0 : n + 1);
+    if (prev == 0) {
+      throw new IllegalStateException("client is closed");
+    }
+    return this;
+  }
+
+  /**
+   * Unregister a client, closing the transports if it was the last one.
+   * Node discovery and shard routing look up the cluster over REST,
+   * so the gRPC transport is closed first. REST is closed even if that fails.
+   */
+  void release() throws Exception {
+    if (refs.decrementAndGet() == 0) {
+      try {
+        grpc.close();
+      } finally {
+        rest.close();
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package io.weaviate.client6.v1.api;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import io.weaviate.client6.v1.api.alias.WeaviateAliasClient;
@@ -30,6 +31,10 @@ public class WeaviateClient implements AutoCloseable {
   private final RestTransport restTransport;
   private final GrpcTransport grpcTransport;
 
+  /** Transports shared with the clients created by {@link #async()}. */
+  private final SharedTransports transports;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
   /**
    * Client for {@code /schema} endpoints for managing Weaviate collections.
    * See {@link WeaviateCollectionsClient#use} for populating and querying
@@ -123,9 +128,13 @@ public class WeaviateClient implements AutoCloseable {
     if (meta.grpcMaxMessageSize() != null) {
       grpcOpt = grpcOpt.withMaxMessageSize(meta.grpcMaxMessageSize());
     }
+    grpcOpt = grpcOpt
+        .withNodeDiscovery(config.nodeDiscovery(_restTransport))
+        .withShardRouting(config.shardRouting(_restTransport));
 
     this.restTransport = _restTransport;
     this.grpcTransport = new DefaultGrpcTransport(grpcOpt);
+    this.transports = new SharedTransports(restTransport, grpcTransport);
     this.alias = new WeaviateAliasClient(restTransport);
     this.backup = new WeaviateBackupClient(restTransport);
     this.export = new WeaviateExportClient(restTransport);
@@ -143,18 +152,16 @@ public class WeaviateClient implements AutoCloseable {
   }
 
   /**
-   * Create {@link WeaviateClientAsync} with identical configurations.
-   * It is a shorthand for:
-   *
-   * <pre>{@code
-   * var config = new Config(...);
-   * var client = new WeaviateClient(config);
-   * var async = new WeaviateClientAsync(config);
-   * }</pre>
+   * Create {@link WeaviateClientAsync} which uses the same transports
+   * (HTTP clients, gRPC channels, etc) as this client. Unlike creating
+   * a new client with {@code new WeaviateClientAsync(getConfig())},
+   * this does not open new connections or repeat the initial
+   * liveness and metadata requests.
    *
-   * and as such, this does not manage or reuse resources (transport, gRPC
-   * channel, etc) used by the original client. Keep that in mind and make
-   * sure to close the original and async clients individually.
+   * <p>
+   * The transports are reference-counted and closed once both this client
+   * and every async client created from it are closed, in any order.
+   * Make sure to close each of them.
    *
    * <p>
    * Example:
@@ -166,7 +173,8 @@ public class WeaviateClient implements AutoCloseable {
    * try (final var async = client.async()) {
    *   async.collections.create("Things");
    * }
-   * // At this point only `async` resource has been auto-closed.
+   * // At this point `async` has been auto-closed,
+   * // but its transports are still used by `client`.
    *
    * client.close();
    * }</pre>
@@ -181,9 +189,11 @@ public class WeaviateClient implements AutoCloseable {
    * </ul>
    *
    * Otherwise the client wastes time initializing resources it will never use.
+   *
+   * @throws IllegalStateException if this client is closed.
    */
   public WeaviateClientAsync async() {
-    return new WeaviateClientAsync(config);
+    return new WeaviateClientAsync(transports.retain());
   }
 
   /** Connect to a local Weaviate instance. */
@@ -230,11 +240,14 @@ public class WeaviateClient implements AutoCloseable {
 
   /**
    * Close {@link #restTransport} and {@link #grpcTransport}
-   * and release associated resources.
+   * and release associated resources. If they are still used
+   * by a client created with {@link #async()}, they are closed
+   * once that client is closed.
    */
   @Override
   public void close() throws Exception {
-    this.restTransport.close();
-    this.grpcTransport.close();
+    if (closed.compareAndSet(false, true)) {
+      transports.release();
+    }
   }
 }
@@ -2,6 +2,7 @@ package io.weaviate.client6.v1.api;
 
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import io.weaviate.client6.v1.api.alias.WeaviateAliasClientAsync;
@@ -29,6 +30,10 @@ public class WeaviateClientAsync implements AutoCloseable {
   private final RestTransport restTransport;
   private final GrpcTransport grpcTransport;
 
+  /** Transports which may be shared with the {@link WeaviateClient}. */
+  private final SharedTransports transports;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
   /**
    * Client for {@code /schema} endpoints for managing Weaviate collections.
    * See {@link WeaviateCollectionsClient#use} for populating and querying
@@ -77,6 +82,26 @@ public class WeaviateClientAsync implements AutoCloseable {
    * as the client will need to do the initial token exchange.
    */
   public WeaviateClientAsync(Config config) {
+    this(connect(config));
+  }
+
+  /** Create a client which uses the transports of another client. */
+  WeaviateClientAsync(SharedTransports transports) {
+    this.transports = transports;
+    this.restTransport = transports.rest;
+    this.grpcTransport = transports.grpc;
+    this.alias = new WeaviateAliasClientAsync(restTransport);
+    this.backup = new WeaviateBackupClientAsync(restTransport);
+    this.export = new WeaviateExportClientAsync(restTransport);
+    this.tokenize = new WeaviateTokenizeClientAsync(restTransport);
+    this.roles = new WeaviateRolesClientAsync(restTransport);
+    this.groups = new WeaviateGroupsClientAsync(restTransport);
+    this.users = new WeaviateUsersClientAsync(restTransport);
+    this.cluster = new WeaviateClusterClientAsync(restTransport);
+    this.collections = new WeaviateCollectionsClientAsync(restTransport, grpcTransport);
+  }
+
+  private static SharedTransports connect(Config config) {
     RestTransportOptions restOpt;
     GrpcChannelOptions grpcOpt;
     if (config.authentication() == null) {
@@ -95,10 +120,8 @@ public class WeaviateClientAsync implements AutoCloseable {
       grpcOpt = config.grpcTransportOptions(tokenProvider);
     }
 
-    // Initialize REST transport to a temporary variable to dispose of
-    // the associated resources in case we have to throw an exception.
-    // Assign to this.restTransport only once we're in the clear to
-    // avoid publishing the object before it's fully initialized.
+    // Dispose of the REST transport's resources
+    // in case we have to throw an exception.
     var _restTransport = new DefaultRestTransport(restOpt.withTimeout(
         new Timeout(restOpt.timeout().initSeconds())));
     boolean isLive = false;
@@ -127,18 +150,11 @@ public class WeaviateClientAsync implements AutoCloseable {
     if (meta.grpcMaxMessageSize() != null) {
       grpcOpt = grpcOpt.withMaxMessageSize(meta.grpcMaxMessageSize());
     }
+    grpcOpt = grpcOpt
+        .withNodeDiscovery(config.nodeDiscovery(_restTransport))
+        .withShardRouting(config.shardRouting(_restTransport));
 
-    this.restTransport = _restTransport;
-    this.grpcTransport = new DefaultGrpcTransport(grpcOpt);
-    this.alias = new WeaviateAliasClientAsync(restTransport);
-    this.backup = new WeaviateBackupClientAsync(restTransport);
-    this.export = new WeaviateExportClientAsync(restTransport);
-    this.tokenize = new WeaviateTokenizeClientAsync(restTransport);
-    this.roles = new WeaviateRolesClientAsync(restTransport);
-    this.groups = new WeaviateGroupsClientAsync(restTransport);
-    this.users = new WeaviateUsersClientAsync(restTransport);
-    this.cluster = new WeaviateClusterClientAsync(restTransport);
-    this.collections = new WeaviateCollectionsClientAsync(restTransport, grpcTransport);
+    return new SharedTransports(_restTransport, new DefaultGrpcTransport(grpcOpt));
   }
 
   /**
@@ -215,11 +231,13 @@ public class WeaviateClientAsync implements AutoCloseable {
 
   /**
    * Close {@link #restTransport} and {@link #grpcTransport}
-   * and release associated resources.
+   * and release associated resources. If the transports are shared
+   * with a {@link WeaviateClient}, they are closed once both clients are.
    */
   @Override
   public void close() throws Exception {
-    this.restTransport.close();
-    this.grpcTransport.close();
+    if (closed.compareAndSet(false, true)) {
+      transports.release();
+    }
   }
 }
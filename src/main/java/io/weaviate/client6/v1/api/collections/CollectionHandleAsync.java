@@ -29,6 +29,10 @@ public class CollectionHandleAsync<PropertiesT> {
 
   private final CollectionHandleDefaults defaults;
 
+  private final RestTransport restTransport;
+  private final GrpcTransport grpcTransport;
+  private final CollectionDescriptor<PropertiesT> collection;
+
   public CollectionHandleAsync(
       RestTransport restTransport,
       GrpcTransport grpcTransport,
@@ -43,6 +47,10 @@ public class CollectionHandleAsync<PropertiesT> {
     this.defaults = defaults;
 
     this.tenants = new WeaviateTenantsClientAsync(collection, restTransport, grpcTransport);
+
+    this.restTransport = restTransport;
+    this.grpcTransport = grpcTransport;
+    this.collection = collection;
   }
 
   /** Copy constructor that sets new defaults. */
@@ -55,6 +63,10 @@ public class CollectionHandleAsync<PropertiesT> {
     this.defaults = defaults;
 
     this.tenants = c.tenants;
+
+    this.restTransport = c.restTransport;
+    this.grpcTransport = c.grpcTransport;
+    this.collection = c.collection;
   }
 
   public AsyncPaginator<PropertiesT> paginate() {
@@ -119,4 +131,33 @@ public class CollectionHandleAsync<PropertiesT> {
       Function<CollectionHandleDefaults.Builder, ObjectBuilder<CollectionHandleDefaults>> fn) {
     return new CollectionHandleAsync<>(this, CollectionHandleDefaults.of(fn));
   }
+
+  /**
+   * Obtain a collection handle which hedges and retries idempotent reads:
+   * searches, aggregations and tenant listings. The policy replaces
+   * the one of this handle, if any.
+   *
+   * <p>
+   * Usage:
+   *
+   * <pre>{@code
+   * var songs = client.collections.use("Songs")
+   *     .withHedging(h -> h.hedgeAtPercentile(95).retry(2));
+   * }</pre>
+   */
+  public CollectionHandleAsync<PropertiesT> withHedging(
+      Function<HedgingPolicy.Builder, ObjectBuilder<HedgingPolicy>> fn) {
+    return new CollectionHandleAsync<>(restTransport, new HedgingGrpcTransport(grpcTransport, HedgingPolicy.of(fn)),
+        collection, defaults);
+  }
+
+  /**
+   * Hedge and retry counters of this handle, shared with the handles derived from it.
+   * Empty if this handle does not have a {@link HedgingPolicy}.
+   */
+  public Optional<HedgingStats> hedgingStats() {
+    return grpcTransport instanceof HedgingGrpcTransport hedging
+        ? Optional.of(hedging.stats())
+        : Optional.empty();
+  }
 }
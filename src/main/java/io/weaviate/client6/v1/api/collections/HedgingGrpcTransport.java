@@ -0,0 +1,346 @@
+package io.weaviate.client6.v1.api.collections;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
+
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.api.WeaviateApiException;
+import io.weaviate.client6.v1.api.WeaviateTransportException;
+import io.weaviate.client6.v1.api.collections.HedgingPolicy.Operation;
+import io.weaviate.client6.v1.internal.grpc.GrpcTransport;
+import io.weaviate.client6.v1.internal.grpc.Rpc;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateBlockingStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateFutureStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoAggregate.AggregateRequest;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoTenants.TenantsGetRequest;
+
+/**
+ * GrpcTransport which hedges and retries idempotent reads according to
+ * a {@link HedgingPolicy}. Other requests are passed to the underlying
+ * transport as-is.
+ *
+ * <p>
+ * Every attempt is a separate call with its own deadline. Both blocking
+ * and async reads are sent asynchronously, so that the loser can be cancelled.
+ * Closing this transport does not close the underlying one,
+ * which is shared with other collection handles.
+ */
+@ThreadSafe
+final class HedgingGrpcTransport implements GrpcTransport {
+  private final GrpcTransport transport;
+  private final HedgingPolicy policy;
+
+  private final Map<Operation, LatencyWindow> latencies = new EnumMap<>(Operation.class);
+
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder hedgeWins = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+
+  HedgingGrpcTransport(GrpcTransport transport, HedgingPolicy policy) {
+    requireNonNull(transport, "transport is null");
+    // Replacing the policy must not hedge the hedged attempts.
+    this.transport = transport instanceof HedgingGrpcTransport hedging ? hedging.transport : transport;
+    this.policy = requireNonNull(policy, "policy is null");
+
+    double percentile = policy.hedgePercentile().orElse(50);
+    for (var operation : Operation.values()) {
+      latencies.put(operation, new LatencyWindow(percentile));
+    }
+  }
+
+  /**
+   * Get the read operation of a request message.
+   *
+   * @return Operation or {@code null} if the message is not an idempotent read.
+   */
+  static Operation operation(Object message) {
+    if (message instanceof SearchRequest search) {
+      // Generative searches are costly and their results are not deterministic.
+      return search.hasGenerative() ? null : Operation.SEARCH;
+    }
+    if (message instanceof AggregateRequest) {
+      return Operation.AGGREGATE;
+    }
+    if (message instanceof TenantsGetRequest) {
+      return Operation.TENANTS_GET;
+    }
+    return null;
+  }
+
+  HedgingStats stats() {
+    return new HedgingStats(hedges.sum(), hedgeWins.sum(), retries.sum());
+  }
+
+  @Override
+  public <RequestT, RequestM, ReplyM, ResponseT> ResponseT performRequest(RequestT request,
+      Rpc<RequestT, RequestM, ResponseT, ReplyM> rpc) {
+    var message = rpc.marshal(request);
+    var operation = operation(message);
+    if (operation == null || !policy.operations().contains(operation)) {
+      return transport.performRequest(message, marshaled(rpc));
+    }
+
+    var result = execute(operation, message, marshaled(rpc));
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new WeaviateTransportException(e.getCause());
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new WeaviateTransportException(e);
+    }
+  }
+
+  @Override
+  public <RequestT, RequestM, ReplyM, ResponseT> CompletableFuture<ResponseT> performRequestAsync(RequestT request,
+      Rpc<RequestT, RequestM, ResponseT, ReplyM> rpc) {
+    var message = rpc.marshal(request);
+    var operation = operation(message);
+    if (operation == null || !policy.operations().contains(operation)) {
+      return transport.performRequestAsync(message, marshaled(rpc));
+    }
+    return execute(operation, message, marshaled(rpc));
+  }
+
+  private <RequestM, ReplyM, ResponseT> CompletableFuture<ResponseT> execute(Operation operation,
+      RequestM message, Rpc<RequestM, RequestM, ResponseT, ReplyM> rpc) {
+    var read = new HedgedRead<>(operation, message, rpc);
+    read.start(false);
+    if (policy.hedgeDelay().isPresent()) {
+      delayed(hedgeDelayNanos(operation)).execute(() -> read.start(true));
+    }
+    return read.result;
+  }
+
+  /**
+   * Hedge delay for the operation: the latency percentile, once known,
+   * or the configured delay.
+   */
+  private long hedgeDelayNanos(Operation operation) {
+    long configured = policy.hedgeDelay().get().toNanos();
+    if (policy.hedgePercentile().isEmpty()) {
+      return configured;
+    }
+    long observed = latencies.get(operation).percentileNanos();
+    return observed < 0 ? configured : observed;
+  }
+
+  /**
+   * Runs tasks on a timer thread after a delay. The tasks only start
+   * async calls, so they do not need an executor of their own.
+   */
+  private static Executor delayed(long nanos) {
+    return CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS, Runnable::run);
+  }
+
+  /**
+   * A read sent as the first attempt and, optionally, a hedged one.
+   * Each of them is retried separately. The read fails once both
+   * have failed without retries left.
+   */
+  private final class HedgedRead<RequestM, ReplyM, ResponseT> {
+    private final CompletableFuture<ResponseT> result = new CompletableFuture<>();
+
+    private final Operation operation;
+    private final RequestM message;
+    private final Rpc<RequestM, RequestM, ResponseT, ReplyM> rpc;
+
+    /** Calls in flight, cancelled once the result is known. */
+    private final Set<CompletableFuture<ResponseT>> calls = ConcurrentHashMap.newKeySet();
+    /** Attempts which may still succeed. */
+    private final AtomicInteger pending = new AtomicInteger();
+    /** Set by the first successful attempt. */
+    private final AtomicBoolean won = new AtomicBoolean();
+
+    private HedgedRead(Operation operation, RequestM message, Rpc<RequestM, RequestM, ResponseT, ReplyM> rpc) {
+      this.operation = operation;
+      this.message = message;
+      this.rpc = rpc;
+      result.whenComplete((__, error) -> calls.forEach(call -> call.cancel(true)));
+    }
+
+    private void start(boolean hedged) {
+      if (result.isDone()) {
+        return;
+      }
+      if (hedged) {
+        hedges.increment();
+      }
+      pending.incrementAndGet();
+      send(hedged, 0);
+    }
+
+    private void send(boolean hedged, int retry) {
+      if (result.isDone()) {
+        return;
+      }
+      long start = System.nanoTime();
+      CompletableFuture<ResponseT> call;
+      try {
+        call = transport.performRequestAsync(message, rpc);
+      } catch (RuntimeException e) {
+        call = CompletableFuture.failedFuture(e);
+      }
+      calls.add(call);
+      if (result.isDone()) {
+        call.cancel(true);
+      }
+
+      final var sent = call;
+      sent.whenComplete((response, error) -> {
+        calls.remove(sent);
+        if (error == null) {
+          latencies.get(operation).record(System.nanoTime() - start);
+          // Count the win before the caller can see the result.
+          if (won.compareAndSet(false, true) && !result.isDone()) {
+            if (hedged) {
+              hedgeWins.increment();
+            }
+            result.complete(response);
+          }
+          return;
+        }
+        if (result.isDone()) {
+          return;
+        }
+        if (retry < policy.maxRetries() && isUnavailable(error)) {
+          retries.increment();
+          delayed(policy.backoffNanos(retry + 1)).execute(() -> send(hedged, retry + 1));
+          return;
+        }
+        if (pending.decrementAndGet() == 0) {
+          result.completeExceptionally(unwrap(error));
+        }
+      });
+    }
+  }
+
+  private static Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+
+  private static boolean isUnavailable(Throwable t) {
+    return unwrap(t) instanceof WeaviateApiException e && "UNAVAILABLE".equals(e.grpcStatusCode());
+  }
+
+  /**
+   * Recent latencies of an operation. The percentile is recomputed
+   * periodically rather than on every read.
+   */
+  private static final class LatencyWindow {
+    private static final int SIZE = 1024;
+    /** The percentile is recomputed after this many new latencies. */
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    private LatencyWindow(double percentile) {
+      this.percentile = percentile;
+    }
+
+    /** @return Latency percentile or -1 if too few latencies have been recorded. */
+    long percentileNanos() {
+      return percentileNanos;
+    }
+
+    void record(long nanos) {
+      long n = recorded.getAndIncrement();
+      samples.set((int) (n % SIZE), nanos);
+      if ((n + 1) % RECOMPUTE_EVERY == 0) {
+        recompute((int) Math.min(n + 1, SIZE));
+      }
+    }
+
+    private void recompute(int count) {
+      long[] sorted = new long[count];
+      for (int i = 0; i < count; i++) {
+        sorted[i] = samples.get(i);
+      }
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percentile / 100 * count) - 1;
+      percentileNanos = sorted[Math.max(0, index)];
+    }
+  }
+
+  /** Wraps {@code rpc} to accept requests which are already marshaled. */
+  private static <RequestM, ReplyM, ResponseT> Rpc<RequestM, RequestM, ResponseT, ReplyM> marshaled(
+      Rpc<?, RequestM, ResponseT, ReplyM> rpc) {
+    return new Rpc<>() {
+      @Override
+      public RequestM marshal(RequestM request) {
+        return request;
+      }
+
+      @Override
+      public ResponseT unmarshal(ReplyM reply) {
+        return rpc.unmarshal(reply);
+      }
+
+      @Override
+      public BiFunction<WeaviateBlockingStub, RequestM, ReplyM> method() {
+        return rpc.method();
+      }
+
+      @Override
+      public BiFunction<WeaviateFutureStub, RequestM, ListenableFuture<ReplyM>> methodAsync() {
+        return rpc.methodAsync();
+      }
+
+      @Override
+      public boolean isInsert() {
+        return rpc.isInsert();
+      }
+    };
+  }
+
+  @Override
+  public StreamObserver<ByteString> createStream(StreamObserver<WeaviateProtoBatch.BatchStreamReply> recv) {
+    return transport.createStream(recv);
+  }
+
+  @Override
+  public String host() {
+    return transport.host();
+  }
+
+  @Override
+  public OptionalInt maxMessageSizeBytes() {
+    return transport.maxMessageSizeBytes();
+  }
+
+  /** The underlying transport is owned by the client, not by this handle. */
+  @Override
+  public void close() throws Exception {
+  }
+}
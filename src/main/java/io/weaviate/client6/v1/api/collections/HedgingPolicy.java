@@ -0,0 +1,175 @@
+package io.weaviate.client6.v1.api.collections;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import io.weaviate.client6.v1.internal.ObjectBuilder;
+
+/**
+ * HedgingPolicy controls how a {@link CollectionHandle} repeats idempotent
+ * reads: searches, aggregations and tenant listings. Generative searches
+ * are never repeated.
+ *
+ * <p>
+ * A hedged read sends a second attempt if the first one has not completed
+ * within {@link #hedgeDelay}, takes whichever reply arrives first and cancels
+ * the other attempt. With {@link #hedgePercentile}, the delay follows the
+ * observed latency of each operation instead, e.g. the 95th percentile
+ * of recent searches.
+ *
+ * <p>
+ * An attempt which fails with {@code UNAVAILABLE} is retried up to
+ * {@link #maxRetries} times, delayed by exponential backoff with full jitter.
+ *
+ * @param operations      Operations the policy applies to.
+ * @param hedgeDelay      Delay before the hedged attempt is sent.
+ *                        Empty if reads are not hedged.
+ * @param hedgePercentile Latency percentile used as the hedge delay,
+ *                        once enough latencies have been recorded.
+ * @param maxRetries      Maximum number of retries per attempt.
+ * @param initialBackoff  Maximum delay of the first retry.
+ * @param maxBackoff      Upper bound of the retry delay.
+ */
+public record HedgingPolicy(
+    Set<Operation> operations,
+    Optional<Duration> hedgeDelay,
+    OptionalDouble hedgePercentile,
+    int maxRetries,
+    Duration initialBackoff,
+    Duration maxBackoff) {
+
+  /** Idempotent read operations which can be hedged and retried. */
+  public enum Operation {
+    SEARCH, AGGREGATE, TENANTS_GET;
+  }
+
+  /** Hedge delay used with {@link Builder#hedgeAtPercentile} if none is set. */
+  static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(100);
+
+  public static HedgingPolicy of(Function<Builder, ObjectBuilder<HedgingPolicy>> fn) {
+    return fn.apply(new Builder()).build();
+  }
+
+  /**
+   * @throws IllegalArgumentException if a delay or {@code maxRetries}
+   *                                  is negative, the percentile is not
+   *                                  between 0 and 100, or maxBackoff
+   *                                  is less than initialBackoff.
+   */
+  public HedgingPolicy {
+    requireNonNull(operations, "operations is null");
+    requireNonNull(hedgeDelay, "hedgeDelay is null");
+    requireNonNull(hedgePercentile, "hedgePercentile is null");
+    requireNonNull(initialBackoff, "initialBackoff is null");
+    requireNonNull(maxBackoff, "maxBackoff is null");
+
+    if (hedgeDelay.isPresent() && hedgeDelay.get().isNegative()) {
+      throw new IllegalArgumentException("hedgeDelay must not be negative, got " + hedgeDelay.get());
+    }
+    if (hedgePercentile.isPresent()
+        && !(hedgePercentile.getAsDouble() > 0 && hedgePercentile.getAsDouble() < 100)) {
+      throw new IllegalArgumentException(
+          "hedgePercentile must be between 0 and 100, got " + hedgePercentile.getAsDouble());
+    }
+    if (maxRetries < 0) {
+      throw new IllegalArgumentException("maxRetries must not be negative, got " + maxRetries);
+    }
+    if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+      throw new IllegalArgumentException(
+          "expected 0 <= initialBackoff <= maxBackoff, got %s and %s".formatted(initialBackoff, maxBackoff));
+    }
+    operations = Set.copyOf(operations);
+  }
+
+  public HedgingPolicy(Builder builder) {
+    this(
+        builder.operations,
+        Optional.ofNullable(builder.hedgeDelay != null || builder.hedgePercentile == null
+            ? builder.hedgeDelay
+            : DEFAULT_HEDGE_DELAY),
+        builder.hedgePercentile != null
+            ? OptionalDouble.of(builder.hedgePercentile)
+            : OptionalDouble.empty(),
+        builder.maxRetries,
+        builder.initialBackoff,
+        builder.maxBackoff);
+  }
+
+  public static final class Builder implements ObjectBuilder<HedgingPolicy> {
+    private Set<Operation> operations = EnumSet.allOf(Operation.class);
+    private Duration hedgeDelay;
+    private Double hedgePercentile;
+    private int maxRetries = 0;
+    private Duration initialBackoff = Duration.ofMillis(50);
+    private Duration maxBackoff = Duration.ofSeconds(1);
+
+    /** Apply the policy to these operations only. All of them by default. */
+    public Builder operations(Operation... operations) {
+      this.operations = operations.length == 0
+          ? EnumSet.noneOf(Operation.class)
+          : EnumSet.of(operations[0], operations);
+      return this;
+    }
+
+    /** Send a hedged attempt if the first one takes longer than {@code delay}. */
+    public Builder hedgeAfter(Duration delay) {
+      this.hedgeDelay = delay;
+      return this;
+    }
+
+    /**
+     * Send a hedged attempt if the first one takes longer than the
+     * {@code percentile} of recent latencies of the same operation, e.g. 95.
+     * Until enough latencies have been recorded, the delay set with
+     * {@link #hedgeAfter} is used, 100ms by default.
+     */
+    public Builder hedgeAtPercentile(double percentile) {
+      this.hedgePercentile = percentile;
+      return this;
+    }
+
+    /** Retry an attempt which fails with {@code UNAVAILABLE} up to {@code maxRetries} times. */
+    public Builder retry(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Delay retries using exponential backoff with full jitter: the n-th retry
+     * is delayed by a random duration between 0 and
+     * {@code min(maxDelay, initialDelay * 2^(n-1))}.
+     * Defaults to 50ms and 1s.
+     */
+    public Builder backoff(Duration initialDelay, Duration maxDelay) {
+      this.initialBackoff = initialDelay;
+      this.maxBackoff = maxDelay;
+      return this;
+    }
+
+    @Override
+    public HedgingPolicy build() {
+      return new HedgingPolicy(this);
+    }
+  }
+
+  /** Delay before the n-th retry (starting at 1), in nanoseconds. */
+  long backoffNanos(int retry) {
+    long initial = initialBackoff.toNanos();
+    if (initial == 0) {
+      return 0;
+    }
+    int attempt = Math.max(0, retry - 1);
+    long max = maxBackoff.toNanos();
+    long cap = attempt >= Long.numberOfLeadingZeros(initial) - 1
+        ? max
+        : Math.min(max, initial << attempt);
+    return ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+}
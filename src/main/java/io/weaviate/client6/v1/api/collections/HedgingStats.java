@@ -0,0 +1,13 @@
+package io.weaviate.client6.v1.api.collections;
+
+/**
+ * HedgingStats summarizes how many reads a {@link CollectionHandle}
+ * has repeated under its {@link HedgingPolicy}.
+ *
+ * @param hedges    Number of hedged attempts sent.
+ * @param hedgeWins Number of reads completed by the hedged attempt.
+ * @param retries   Number of attempts retried after failing
+ *                  with {@code UNAVAILABLE}.
+ */
+public record HedgingStats(long hedges, long hedgeWins, long retries) {
+}
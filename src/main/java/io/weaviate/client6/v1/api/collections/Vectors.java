@@ -1,6 +1,7 @@
 package io.weaviate.client6.v1.api.collections;
 
 import java.io.IOException;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -16,12 +17,18 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
+import io.weaviate.client6.v1.internal.grpc.EncodedVector;
+
 /**
  * Vectors is an abstraction over named vectors, which can store
  * both 1-dimensional and 2-dimensional vectors.
  */
 public class Vectors {
-  /** Elements of this map must only be {@code float[]} or {@code float[][]}. */
+  /**
+   * Elements of this map must only be {@code float[]}, {@code float[][]},
+   * or an {@link EncodedVector} which is decoded into either of those
+   * on first access.
+   */
   private final Map<String, Object> vectorsMap;
 
   /** Create a 1-dimensional vector. */
@@ -44,6 +51,24 @@ public class Vectors {
     return new Vectors(name, vector);
   }
 
+  /**
+   * Create a vector which will be decoded on first access.
+   *
+   * @see #of(String, EncodedVector)
+   */
+  public static Vectors of(EncodedVector vector) {
+    return of(VectorIndex.DEFAULT_VECTOR_NAME, vector);
+  }
+
+  /**
+   * Create a named vector which will be decoded on first access.
+   * Query results use this to avoid decoding vectors which the
+   * application never reads.
+   */
+  public static Vectors of(String name, EncodedVector vector) {
+    return new Vectors(name, vector);
+  }
+
   /**
    * Create a single named vector.
    *
@@ -76,7 +101,7 @@ public class Vectors {
   public Vectors(Vectors... vectors) {
     var namedVectors = new HashMap<String, Object>();
     for (var vec : vectors) {
-      namedVectors.putAll(vec.asMap());
+      namedVectors.putAll(vec.vectorsMap);
     }
     this.vectorsMap = namedVectors;
   }
@@ -116,7 +141,7 @@ public class Vectors {
    * @throws ClassCastException The underlying vector is not a {@code float[]}.
    */
   public float[] getSingle(String name) {
-    return (float[]) vectorsMap.get(name);
+    return (float[]) get(name);
   }
 
   /**
@@ -137,7 +162,7 @@ public class Vectors {
    *                            {@code float[][]}.
    */
   public float[][] getMulti(String name) {
-    return (float[][]) vectorsMap.get(name);
+    return (float[][]) get(name);
   }
 
   /**
@@ -151,6 +176,45 @@ public class Vectors {
     return getMulti(VectorIndex.DEFAULT_VECTOR_NAME);
   }
 
+  /**
+   * Get a read-only {@link FloatBuffer} over vector elements by name.
+   * For 2-dimensional vectors the buffer contains all inner vectors
+   * concatenated in order.
+   *
+   * <p>
+   * Vectors returned in query results are not decoded to read them
+   * through the buffer, which makes this the cheapest way to pass
+   * a vector on, e.g. to write it to a file or a socket.
+   *
+   * @return Vector elements or {@code null}.
+   */
+  public FloatBuffer getBuffer(String name) {
+    var vector = vectorsMap.get(name);
+    if (vector == null) {
+      return null;
+    } else if (vector instanceof EncodedVector encoded) {
+      return encoded.asFloatBuffer();
+    } else if (vector instanceof float[] single) {
+      return FloatBuffer.wrap(single).asReadOnlyBuffer();
+    }
+
+    var multi = (float[][]) vector;
+    var buffer = FloatBuffer.allocate(Arrays.stream(multi).mapToInt(v -> v.length).sum());
+    for (var v : multi) {
+      buffer.put(v);
+    }
+    return buffer.flip().asReadOnlyBuffer();
+  }
+
+  /**
+   * Get default vector as a read-only {@link FloatBuffer}.
+   *
+   * @see #getBuffer(String)
+   */
+  public FloatBuffer getDefaultBuffer() {
+    return getBuffer(VectorIndex.DEFAULT_VECTOR_NAME);
+  }
+
   /**
    * Get all vectors.
    * Each element is either a {@code float[]} or a {@code float[][]}.
@@ -159,7 +223,23 @@ public class Vectors {
    * @return Map of name-vector pairs. The returned map is immutable.
    */
   public Map<String, Object> asMap() {
-    return Map.copyOf(vectorsMap);
+    var decoded = new HashMap<String, Object>(vectorsMap.size());
+    for (var entry : vectorsMap.entrySet()) {
+      decoded.put(entry.getKey(), decode(entry.getValue()));
+    }
+    return Map.copyOf(decoded);
+  }
+
+  /** Get vector by name, decoding it if necessary. */
+  private Object get(String name) {
+    return decode(vectorsMap.get(name));
+  }
+
+  /** Decode {@link EncodedVector}. Other objects are returned as-is. */
+  private static Object decode(Object vector) {
+    return vector instanceof EncodedVector encoded
+        ? encoded.decode()
+        : vector;
   }
 
   @Override
@@ -167,7 +247,7 @@ public class Vectors {
     var vectorStrings = vectorsMap.entrySet().stream()
         .map(v -> {
           var name = v.getKey();
-          var value = v.getValue();
+          var value = decode(v.getValue());
           var array = (value instanceof float[])
               ? Arrays.toString((float[]) value)
               : Arrays.deepToString((float[][]) value);
@@ -194,7 +274,7 @@ public class Vectors {
 
         @Override
         public void write(JsonWriter out, Vectors value) throws IOException {
-          mapAdapter.write(out, value.vectorsMap);
+          mapAdapter.write(out, value.asMap());
         }
 
         @Override
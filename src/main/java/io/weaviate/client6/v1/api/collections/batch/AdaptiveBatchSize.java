@@ -0,0 +1,120 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * AdaptiveBatchSize tunes the number of items per batch using the
+ * additive-increase/multiplicative-decrease (AIMD) rule.
+ *
+ * <p>
+ * Every batch is timed from the moment it is sent until the server Acks it.
+ * If the latency stays within the {@link #targetLatency}, the size grows by a
+ * constant {@link #step}; a slower Ack halves it. The size is also halved
+ * when the server runs out of memory or begins to shut down.
+ *
+ * <p>
+ * The size never exceeds the {@link #ceiling} set by the server's
+ * {@link Event.Backoff} and does not grow after a batch that was
+ * sent before it reached its current size, e.g. because it was limited by
+ * {@link Batch#maxSizeBytes()} or flushed early: a larger limit would not
+ * have changed that batch.
+ */
+@ThreadSafe
+final class AdaptiveBatchSize {
+  /** Size is multiplied by this factor on congestion. */
+  static final double DECREASE_FACTOR = 0.5;
+
+  private final Duration targetLatency;
+  private final int step;
+  private final LongSupplier nanoTime;
+
+  /** Current batch size. */
+  @GuardedBy("this")
+  private int size;
+
+  /** Upper bound for the {@link #size}, set by {@link #onBackoff}. */
+  @GuardedBy("this")
+  private int ceiling = Integer.MAX_VALUE;
+
+  /** Time the last batch was sent at, as reported by {@link #nanoTime}. */
+  @GuardedBy("this")
+  private long sentAt;
+
+  /** Whether the last batch had reached the {@link #size}. */
+  @GuardedBy("this")
+  private boolean sentFull;
+
+  AdaptiveBatchSize(int initialSize, Duration targetLatency) {
+    this(initialSize, targetLatency, System::nanoTime);
+  }
+
+  AdaptiveBatchSize(int initialSize, Duration targetLatency, LongSupplier nanoTime) {
+    if (initialSize < 1) {
+      throw new IllegalArgumentException("initialSize must be at least 1, got " + initialSize);
+    }
+    this.targetLatency = requireNonNull(targetLatency, "targetLatency is null");
+    this.nanoTime = requireNonNull(nanoTime, "nanoTime is null");
+    this.size = initialSize;
+    this.step = Math.max(1, initialSize / 10);
+  }
+
+  /** Current batch size. */
+  synchronized int size() {
+    return size;
+  }
+
+  /** Start timing a batch of {@code items}. */
+  synchronized void onSend(int items) {
+    sentAt = nanoTime.getAsLong();
+    sentFull = items >= size;
+  }
+
+  /**
+   * Adjust the size based on the Ack latency of the last batch.
+   *
+   * @return New batch size.
+   */
+  synchronized int onAck() {
+    long latency = nanoTime.getAsLong() - sentAt;
+    if (latency > targetLatency.toNanos()) {
+      return decrease();
+    }
+    if (sentFull) {
+      size = (int) Math.min((long) size + step, ceiling);
+    }
+    return size;
+  }
+
+  /**
+   * Shrink the batch after the server has run out of memory
+   * or started to shut down.
+   *
+   * @return New batch size.
+   */
+  synchronized int onCongestion() {
+    return decrease();
+  }
+
+  /**
+   * Limit the size to the server's maximum.
+   *
+   * @return New batch size.
+   */
+  synchronized int onBackoff(int maxSize) {
+    ceiling = Math.max(1, maxSize);
+    size = Math.min(size, ceiling);
+    return size;
+  }
+
+  @GuardedBy("this")
+  private int decrease() {
+    size = Math.max(1, (int) (size * DECREASE_FACTOR));
+    return size;
+  }
+}
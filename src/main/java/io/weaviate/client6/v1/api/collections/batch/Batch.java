@@ -12,6 +12,7 @@ import java.util.ListIterator;
 import java.util.OptionalInt;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -47,13 +48,20 @@ import io.weaviate.client6.v1.internal.grpc.GrpcChannelOptions;
  */
 @ThreadSafe
 final class Batch {
+  /**
+   * Guards the batch's state. Batch is accessed from both the "sender" and
+   * the "receiver" threads, which may be virtual threads; unlike an object
+   * monitor, the lock does not pin the carrier thread while waiting.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
   /** Backlog MUST be confined to the "receiver" thread. */
   private final TreeSet<BacklogItem> backlog = new TreeSet<>(BacklogItem.comparator());
 
   /**
    * Items stored in this batch.
    */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   private final LinkedHashMap<String, Data> buffer;
 
   /**
@@ -63,7 +71,7 @@ final class Batch {
    * <p>
    * This is determined by the server's {@link Backoff} instruction.
    */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   private int maxSize;
 
   /**
@@ -73,15 +81,15 @@ final class Batch {
    * <p>
    * This is determined by the {@link GrpcChannelOptions#maxMessageSize()}.
    */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   private final int maxSizeBytes;
 
   /** Total serialized size of the items in the {@link #buffer}. */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   private long sizeBytes;
 
   /** An in-flight batch is unmodifiable. */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   private boolean inFlight = false;
 
   /**
@@ -90,7 +98,7 @@ final class Batch {
    * The value is non-empty when {@link #setMaxSize} is called
    * while the batch is {@link #inFlight}.
    */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   private OptionalInt pendingMaxSize = OptionalInt.empty();
 
   Batch(int maxSize, int maxSizeBytes) {
@@ -107,8 +115,13 @@ final class Batch {
    * Returns true if batch has reached its capacity, either in terms
    * of the item count or the batch's estimated size in bytes.
    */
-  synchronized boolean isFull() {
-    return buffer.size() == maxSize || sizeBytes == maxSizeBytes;
+  boolean isFull() {
+    lock.lock();
+    try {
+      return buffer.size() == maxSize || sizeBytes == maxSizeBytes;
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -116,8 +129,13 @@ final class Batch {
    * If it's primary buffer is empty, its backlog is guaranteed
    * to be empty as well.
    */
-  synchronized boolean isEmpty() {
-    return buffer.isEmpty(); // sizeBytes == 0 is guaranteed by class invariant.
+  boolean isEmpty() {
+    lock.lock();
+    try {
+      return buffer.isEmpty(); // sizeBytes == 0 is guaranteed by class invariant.
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -125,15 +143,16 @@ final class Batch {
    * "in-flight": an attempt to {@link #add} more items to it will be rejected
    * with an exception.
    */
-  synchronized Message prepare() {
-    checkInvariants();
+  DataFrame prepare() {
+    lock.lock();
+    try {
+      checkInvariants();
 
-    inFlight = true;
-    return builder -> {
-      buffer.forEach((__, data) -> {
-        data.appendTo(builder);
-      });
-    };
+      inFlight = true;
+      return new DataFrame(buffer.values());
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -154,35 +173,40 @@ final class Batch {
    *
    * @see #clear
    */
-  synchronized void setMaxSize(int maxSizeNew) {
-    // We do not checkInvariants() here, because setMaxSize may
-    // be called from clear() at the time when the batch is already
-    // open but before pendingMaxSize is set to OptionalInt.empty().
-
+  void setMaxSize(int maxSizeNew) {
+    lock.lock();
     try {
-      // In-flight batch cannot be modified.
-      // Store the requested maxSize for later;
-      // it will be applied on the next ack.
-      if (inFlight) {
-        pendingMaxSize = OptionalInt.of(maxSizeNew);
-        return;
-      }
+      // We do not checkInvariants() here, because setMaxSize may
+      // be called from clear() at the time when the batch is already
+      // open but before pendingMaxSize is set to OptionalInt.empty().
+
+      try {
+        // In-flight batch cannot be modified.
+        // Store the requested maxSize for later;
+        // it will be applied on the next ack.
+        if (inFlight) {
+          pendingMaxSize = OptionalInt.of(maxSizeNew);
+          return;
+        }
 
-      maxSize = maxSizeNew;
-      pendingMaxSize = OptionalInt.empty();
+        maxSize = maxSizeNew;
+        pendingMaxSize = OptionalInt.empty();
 
-      // Buffer still fits under the new limit.
-      if (buffer.size() <= maxSize) {
-        return;
-      }
+        // Buffer still fits under the new limit.
+        if (buffer.size() <= maxSize) {
+          return;
+        }
 
-      // Buffer exceeds the new limit. Move extra items to the backlog (LIFO).
-      ListIterator<String> extra = List.copyOf(buffer.keySet()).listIterator(buffer.size());
-      while (extra.hasPrevious() && buffer.size() > maxSize) {
-        addBacklog(buffer.remove(extra.previous()));
+        // Buffer exceeds the new limit. Move extra items to the backlog (LIFO).
+        ListIterator<String> extra = List.copyOf(buffer.keySet()).listIterator(buffer.size());
+        while (extra.hasPrevious() && buffer.size() > maxSize) {
+          addBacklog(buffer.remove(extra.previous()));
+        }
+      } finally {
+        checkInvariants();
       }
     } finally {
-      checkInvariants();
+      lock.unlock();
     }
   }
 
@@ -204,34 +228,39 @@ final class Batch {
    * @see #inFlight
    * @see #clear
    */
-  synchronized void add(Data data) throws IllegalStateException, DataTooBigException {
-    requireNonNull(data, "data is null");
-    checkInvariants();
-
+  void add(Data data) throws IllegalStateException, DataTooBigException {
+    lock.lock();
     try {
-      if (inFlight) {
-        throw new IllegalStateException("Batch is in-flight");
-      }
-      if (data.sizeBytes() > maxSizeBytes) {
-        throw new DataTooBigException(data, maxSizeBytes);
-      }
+      requireNonNull(data, "data is null");
+      checkInvariants();
 
-      long remainingBytes = maxSizeBytes - sizeBytes;
-      if (data.sizeBytes() <= remainingBytes && buffer.size() < maxSize) {
-        addSafe(data);
-        return;
+      try {
+        if (inFlight) {
+          throw new IllegalStateException("Batch is in-flight");
+        }
+        if (data.sizeBytes() > maxSizeBytes) {
+          throw new DataTooBigException(data, maxSizeBytes);
+        }
+
+        long remainingBytes = maxSizeBytes - sizeBytes;
+        if (data.sizeBytes() <= remainingBytes && buffer.size() < maxSize) {
+          addSafe(data);
+          return;
+        }
+        // One of the class's invariants is that the backlog must not contain
+        // any items unless the buffer is full. In case this item overflows
+        // the buffer, we put it in the backlog, but pretend the maxSizeBytes
+        // has been reached to satisfy the invariant.
+        // This doubles as a safeguard to ensure the caller cannot add any
+        // more items to the batch before flushing it.
+        addBacklog(data);
+        sizeBytes += remainingBytes;
+        assert isFull() : "batch must be full after an overflow";
+      } finally {
+        checkInvariants();
       }
-      // One of the class's invariants is that the backlog must not contain
-      // any items unless the buffer is full. In case this item overflows
-      // the buffer, we put it in the backlog, but pretend the maxSizeBytes
-      // has been reached to satisfy the invariant.
-      // This doubles as a safeguard to ensure the caller cannot add any
-      // more items to the batch before flushing it.
-      addBacklog(data);
-      sizeBytes += remainingBytes;
-      assert isFull() : "batch must be full after an overflow";
     } finally {
-      checkInvariants();
+      lock.unlock();
     }
   }
 
@@ -241,13 +270,15 @@ final class Batch {
    * This method does not check {@link Data#sizeBytes()}, so the caller
    * must ensure that this item will not overflow the batch.
    */
-  private synchronized void addSafe(Data data) {
+  @GuardedBy("lock")
+  private void addSafe(Data data) {
     buffer.put(data.id(), data);
     sizeBytes += data.sizeBytes();
   }
 
   /** Add a data item to the {@link #backlog}. */
-  private synchronized void addBacklog(Data data) {
+  @GuardedBy("lock")
+  private void addBacklog(Data data) {
     backlog.add(new BacklogItem(data));
   }
 
@@ -262,33 +293,38 @@ final class Batch {
    *
    * @return IDs removed from the buffer.
    */
-  synchronized Collection<String> clear() {
-    checkInvariants();
-
+  Collection<String> clear() {
+    lock.lock();
     try {
-      inFlight = false;
+      checkInvariants();
 
-      Set<String> removed = Set.copyOf(buffer.keySet());
-      buffer.clear();
-      sizeBytes = 0;
+      try {
+        inFlight = false;
 
-      if (pendingMaxSize.isPresent()) {
-        setMaxSize(pendingMaxSize.getAsInt());
-      }
+        Set<String> removed = Set.copyOf(buffer.keySet());
+        buffer.clear();
+        sizeBytes = 0;
 
-      // Populate internal buffer from the backlog.
-      // We don't need to check the return value of .add(),
-      // as all items in the backlog are guaranteed to not
-      // exceed maxSizeBytes.
-      Iterator<BacklogItem> backlogIterator = backlog.iterator();
-      while (backlogIterator.hasNext() && !isFull()) {
-        addSafe(backlogIterator.next().data());
-        backlogIterator.remove();
-      }
+        if (pendingMaxSize.isPresent()) {
+          setMaxSize(pendingMaxSize.getAsInt());
+        }
 
-      return removed;
+        // Populate internal buffer from the backlog.
+        // We don't need to check the return value of .add(),
+        // as all items in the backlog are guaranteed to not
+        // exceed maxSizeBytes.
+        Iterator<BacklogItem> backlogIterator = backlog.iterator();
+        while (backlogIterator.hasNext() && !isFull()) {
+          addSafe(backlogIterator.next().data());
+          backlogIterator.remove();
+        }
+
+        return removed;
+      } finally {
+        checkInvariants();
+      }
     } finally {
-      checkInvariants();
+      lock.unlock();
     }
   }
 
@@ -333,25 +369,46 @@ final class Batch {
   }
 
   /** Get total number of items in the batch. */
-  synchronized int size() {
-    return buffer.size() + backlog.size();
+  int size() {
+    lock.lock();
+    try {
+      return buffer.size() + backlog.size();
+    } finally {
+      lock.unlock();
+    }
   }
 
   /** Get current size of the batch in bytes. */
-  synchronized long sizeBytes() {
-    return sizeBytes;
+  long sizeBytes() {
+    lock.lock();
+    try {
+      return sizeBytes;
+    } finally {
+      lock.unlock();
+    }
   }
 
-  synchronized int maxSizeBytes() {
-    return maxSizeBytes;
+  int maxSizeBytes() {
+    lock.lock();
+    try {
+      return maxSizeBytes;
+    } finally {
+      lock.unlock();
+    }
   }
 
-  synchronized int maxSize() {
-    return maxSize;
+  int maxSize() {
+    lock.lock();
+    try {
+      return maxSize;
+    } finally {
+      lock.unlock();
+    }
   }
 
   /** Asserts the invariants of this class. */
-  private synchronized void checkInvariants() {
+  @GuardedBy("lock")
+  private void checkInvariants() {
     assert maxSize > 0 : "non-positive maxSize";
     assert maxSizeBytes > 0 : "non-positive maxSizeBytes";
     assert sizeBytes >= 0 : "negative sizeBytes";
@@ -0,0 +1,360 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * BatchJournal is an append-only log of the tasks accepted by a
+ * {@link BatchContext}, which lets the tasks outlive the JVM.
+ *
+ * <p>
+ * The journal is a sequence of memory-mapped segment files in a directory.
+ * Every task is appended to the latest segment before it is put on the queue;
+ * once the task is done, a "done" record is appended for its ID.
+ * Segments are deleted from the head of the journal as soon as all of their
+ * tasks are done. Tasks which weren't done when the journal was last closed
+ * (or when the process crashed) are {@link #recovered} when it's re-opened.
+ *
+ * <p>
+ * Because the segments are memory-mapped, an append is a copy to the page
+ * cache and the records survive a JVM crash. They are only forced to the
+ * storage device on {@link #close}, so they may not survive an OS crash.
+ *
+ * <h2>Record format</h2>
+ *
+ * <pre>
+ * | length: int | kind: byte | id length: short | id: UTF-8 | data |
+ * </pre>
+ *
+ * Data is stored exactly as {@link Data#encoded}, so reading it back does not
+ * decode it. Length covers everything after the length field itself.
+ * "Done" records have no data. The length is written last, so a record
+ * which has not been written fully reads as the end of the segment.
+ */
+@ThreadSafe
+final class BatchJournal implements Closeable {
+  static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final String SEGMENT_SUFFIX = ".journal";
+
+  private static final byte OBJECT = 1;
+  private static final byte REFERENCE = 2;
+  private static final byte DONE = 3;
+
+  /** Length, kind, and ID length. */
+  private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES + Short.BYTES;
+
+  private final Path directory;
+  private final int segmentSize;
+
+  /** Lock synchronizes writes to the {@link #segments}. */
+  private final Lock lock = new ReentrantLock();
+
+  /** Segments in the order they were created. The last one is {@link #current}. */
+  @GuardedBy("lock")
+  private final Deque<Segment> segments = new ArrayDeque<>();
+
+  /** Segment new records are appended to. */
+  @GuardedBy("lock")
+  private Segment current;
+
+  /** Sequence number of the next segment. */
+  @GuardedBy("lock")
+  private long nextSequence;
+
+  /** Entries for the tasks which are not done yet. */
+  private final ConcurrentMap<String, Entry> live = new ConcurrentHashMap<>();
+
+  /** Entries which weren't done when the journal was opened, in the order they were appended. */
+  private final List<Entry> recovered;
+
+  /**
+   * Location of a task's data in the journal.
+   *
+   * @param id        Task ID.
+   * @param reference Whether the data is a reference or an object.
+   */
+  record Entry(String id, boolean reference, Segment segment, int offset, int length) {
+
+    /** Same as {@link Data#sizeBytes} for the data. */
+    int sizeBytes() {
+      return length;
+    }
+  }
+
+  /** Memory-mapped segment file. */
+  static final class Segment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    /** Offset of the next record. */
+    @GuardedBy("BatchJournal.lock")
+    private int position;
+
+    /** Number of entries in this segment which are not done. */
+    @GuardedBy("BatchJournal.lock")
+    private int live;
+
+    private Segment(Path path, MappedByteBuffer buffer) {
+      this.path = path;
+      this.buffer = buffer;
+    }
+  }
+
+  /**
+   * Open the journal in the directory, creating the directory if it doesn't exist.
+   *
+   * @throws UncheckedIOException if the journal cannot be opened.
+   */
+  static BatchJournal open(Path directory) {
+    return open(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  static BatchJournal open(Path directory, int segmentSize) {
+    try {
+      return new BatchJournal(directory, segmentSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException("open journal in " + directory, e);
+    }
+  }
+
+  private BatchJournal(Path directory, int segmentSize) throws IOException {
+    if (segmentSize <= HEADER_BYTES) {
+      throw new IllegalArgumentException("segmentSize is too small: " + segmentSize);
+    }
+    this.directory = requireNonNull(directory, "directory is null");
+    this.segmentSize = segmentSize;
+
+    Files.createDirectories(directory);
+    List<Path> paths;
+    try (Stream<Path> files = Files.list(directory)) {
+      paths = files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+    }
+
+    Map<String, Entry> entries = new LinkedHashMap<>();
+    lock.lock();
+    try {
+      for (Path path : paths) {
+        String name = path.getFileName().toString();
+        long sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        Segment segment = new Segment(path, map(path, Files.size(path), false));
+        segments.add(segment);
+        replay(segment, entries);
+        nextSequence = sequence + 1;
+      }
+      live.putAll(entries);
+      truncate();
+    } finally {
+      lock.unlock();
+    }
+    this.recovered = List.copyOf(entries.values());
+  }
+
+  /** Read all complete records in the segment. */
+  @GuardedBy("lock")
+  private static void replay(Segment segment, Map<String, Entry> entries) {
+    MappedByteBuffer buffer = segment.buffer;
+    int pos = 0;
+    while (pos + HEADER_BYTES <= buffer.limit()) {
+      int length = buffer.getInt(pos);
+      if (length <= 0 || pos + Integer.BYTES + length > buffer.limit()) {
+        break;
+      }
+      byte kind = buffer.get(pos + Integer.BYTES);
+      byte[] id = new byte[buffer.getShort(pos + Integer.BYTES + Byte.BYTES)];
+      buffer.get(pos + HEADER_BYTES, id);
+      String taskId = new String(id, StandardCharsets.UTF_8);
+
+      if (kind == DONE) {
+        Entry done = entries.remove(taskId);
+        if (done != null) {
+          done.segment.live--;
+        }
+      } else {
+        int offset = pos + HEADER_BYTES + id.length;
+        int dataLength = pos + Integer.BYTES + length - offset;
+        entries.put(taskId, new Entry(taskId, kind == REFERENCE, segment, offset, dataLength));
+        segment.live++;
+      }
+      pos += Integer.BYTES + length;
+    }
+    segment.position = pos;
+  }
+
+  /** Tasks which weren't done when the journal was last closed, in the order they were added. */
+  List<Entry> recovered() {
+    return recovered;
+  }
+
+  /** Number of tasks which are not done. */
+  int size() {
+    return live.size();
+  }
+
+  /**
+   * Append the task to the journal.
+   *
+   * @throws UncheckedIOException if a new segment cannot be created.
+   */
+  Entry append(TaskHandle task) {
+    Data data = requireNonNull(task, "task is null").data();
+    boolean reference = data.type() == Data.Type.REFERENCE;
+    byte[] id = task.id().getBytes(StandardCharsets.UTF_8);
+    ByteString encoded = data.encoded();
+    int length = Byte.BYTES + Short.BYTES + id.length + encoded.size();
+
+    lock.lock();
+    try {
+      Segment segment = reserve(length);
+      int pos = segment.position;
+      int offset = pos + HEADER_BYTES + id.length;
+      writeHeader(segment.buffer, pos, reference ? REFERENCE : OBJECT, id);
+      encoded.copyTo(segment.buffer.slice(offset, encoded.size()));
+      segment.buffer.putInt(pos, length);
+      segment.position += Integer.BYTES + length;
+      segment.live++;
+
+      Entry entry = new Entry(task.id(), reference, segment, offset, encoded.size());
+      live.put(task.id(), entry);
+      return entry;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Mark the task done, so that it isn't recovered when the journal is re-opened. */
+  void ack(String id) {
+    Entry entry = live.remove(requireNonNull(id, "id is null"));
+    if (entry == null) {
+      return;
+    }
+    byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+    int length = Byte.BYTES + Short.BYTES + bytes.length;
+
+    lock.lock();
+    try {
+      entry.segment.live--;
+      Segment segment = reserve(length);
+      writeHeader(segment.buffer, segment.position, DONE, bytes);
+      segment.buffer.putInt(segment.position, length);
+      segment.position += Integer.BYTES + length;
+      truncate();
+    } catch (UncheckedIOException e) {
+      // The task will be recovered, which is safe, if wasteful.
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Read the task's data back from the journal. */
+  Data read(Entry entry) {
+    byte[] bytes = new byte[entry.length];
+    entry.segment.buffer.get(entry.offset, bytes);
+    ByteString encoded = UnsafeByteOperations.unsafeWrap(bytes);
+    return new Data(entry, entry.id, encoded, entry.reference ? Data.Type.REFERENCE : Data.Type.OBJECT);
+  }
+
+  /**
+   * Force the segments to the storage device. Segment files are deleted
+   * if all tasks are done, so that an empty journal leaves no files behind.
+   */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      if (live.isEmpty()) {
+        for (Segment segment : segments) {
+          Files.deleteIfExists(segment.path);
+        }
+        segments.clear();
+      } else {
+        segments.forEach(segment -> segment.buffer.force());
+      }
+      current = null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @GuardedBy("lock")
+  private static void writeHeader(MappedByteBuffer buffer, int pos, byte kind, byte[] id) {
+    buffer.put(pos + Integer.BYTES, kind);
+    buffer.putShort(pos + Integer.BYTES + Byte.BYTES, (short) id.length);
+    buffer.put(pos + HEADER_BYTES, id);
+  }
+
+  /**
+   * Get a segment with enough space for a record of the given length,
+   * starting a new one if necessary. Records are never split between segments.
+   */
+  @GuardedBy("lock")
+  private Segment reserve(int length) {
+    int required = Integer.BYTES + length;
+    if (current != null && current.buffer.limit() - current.position >= required) {
+      return current;
+    }
+    long sequence = nextSequence++;
+    Path path = directory.resolve("%020d%s".formatted(sequence, SEGMENT_SUFFIX));
+    try {
+      current = new Segment(path, map(path, Math.max(segmentSize, required), true));
+    } catch (IOException e) {
+      throw new UncheckedIOException("create journal segment " + path, e);
+    }
+    segments.add(current);
+    return current;
+  }
+
+  /**
+   * Delete the segments at the head of the journal which have no live entries.
+   * A "done" record always follows the entry it refers to, so every "done"
+   * record in a deleted segment refers to an entry in an already deleted one.
+   */
+  @GuardedBy("lock")
+  private void truncate() {
+    while (!segments.isEmpty() && segments.peekFirst() != current && segments.peekFirst().live == 0) {
+      Segment head = segments.removeFirst();
+      try {
+        Files.deleteIfExists(head.path);
+      } catch (IOException e) {
+        // The segment only contains finished tasks and
+        // will be deleted when the journal is re-opened.
+      }
+    }
+  }
+
+  private static MappedByteBuffer map(Path path, long size, boolean create) throws IOException {
+    var options = new ArrayList<StandardOpenOption>(List.of(StandardOpenOption.READ, StandardOpenOption.WRITE));
+    if (create) {
+      options.add(StandardOpenOption.CREATE_NEW);
+    }
+    try (FileChannel channel = FileChannel.open(path, options.toArray(StandardOpenOption[]::new))) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+}
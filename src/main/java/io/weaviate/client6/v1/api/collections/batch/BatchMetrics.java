@@ -0,0 +1,119 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * BatchMetrics records the activity of a single {@link BatchStream}:
+ * the items and bytes sent, Ack latencies, reconnects, and time spent in
+ * each {@link State}. Use {@link BatchContext#stats} to read them.
+ */
+@ThreadSafe
+final class BatchMetrics {
+  private final LongSupplier nanoTime;
+  private final long createdAt;
+
+  private final LongAdder objectsSent = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private final LongAdder reconnects = new LongAdder();
+
+  /** Ack latencies, bucketed by {@link BatchStats.Histogram#UPPER_BOUNDS}. */
+  private final AtomicLongArray ackLatency = new AtomicLongArray(BatchStats.Histogram.UPPER_BOUNDS.size());
+
+  /** Time the last batch was sent at, as reported by {@link #nanoTime}. */
+  private volatile long sentAt;
+
+  /** Time spent in the previous states, in nanoseconds. */
+  @GuardedBy("this")
+  private final Map<String, Long> stateNanos = new LinkedHashMap<>();
+
+  @GuardedBy("this")
+  private String state;
+
+  @GuardedBy("this")
+  private long stateEnteredAt;
+
+  BatchMetrics() {
+    this(System::nanoTime);
+  }
+
+  BatchMetrics(LongSupplier nanoTime) {
+    this.nanoTime = requireNonNull(nanoTime, "nanoTime is null");
+    this.createdAt = nanoTime.getAsLong();
+  }
+
+  long nanoTime() {
+    return nanoTime.getAsLong();
+  }
+
+  /** Time the metrics were created at, as reported by {@link #nanoTime}. */
+  long createdAt() {
+    return createdAt;
+  }
+
+  /** Record a batch of {@code items} sent to the server. */
+  void onSend(int items, long bytes) {
+    objectsSent.add(items);
+    bytesSent.add(bytes);
+    sentAt = nanoTime.getAsLong();
+  }
+
+  /** Record the Ack for the last batch. */
+  void onAck() {
+    long latency = nanoTime.getAsLong() - sentAt;
+    ackLatency.incrementAndGet(BatchStats.Histogram.bucket(latency));
+  }
+
+  void onReconnect() {
+    reconnects.increment();
+  }
+
+  /** Record a transition to the state with the name. */
+  synchronized void onStateChange(String next) {
+    long now = nanoTime.getAsLong();
+    if (state != null) {
+      stateNanos.merge(state, now - stateEnteredAt, Long::sum);
+    }
+    state = next;
+    stateEnteredAt = now;
+  }
+
+  long objectsSent() {
+    return objectsSent.sum();
+  }
+
+  long bytesSent() {
+    return bytesSent.sum();
+  }
+
+  long reconnects() {
+    return reconnects.sum();
+  }
+
+  BatchStats.Histogram ackLatency() {
+    long[] counts = new long[ackLatency.length()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = ackLatency.get(i);
+    }
+    return new BatchStats.Histogram(counts);
+  }
+
+  /** Time spent in each state, including the current one. */
+  synchronized Map<String, Duration> timeInState() {
+    var snapshot = new LinkedHashMap<String, Duration>();
+    stateNanos.forEach((name, nanos) -> snapshot.put(name, Duration.ofNanos(nanos)));
+    if (state != null) {
+      snapshot.merge(state, Duration.ofNanos(nanoTime.getAsLong() - stateEnteredAt), Duration::plus);
+    }
+    return snapshot;
+  }
+}
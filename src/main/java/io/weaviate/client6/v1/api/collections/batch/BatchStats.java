@@ -0,0 +1,180 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BatchStats is a snapshot of {@link BatchContext} activity.
+ * With multiple streams, the values are summed over all of them.
+ *
+ * @param objectsSent      Number of objects and references sent,
+ *                         including retries.
+ * @param bytesSent        Serialized size of the items sent.
+ * @param objectsPerSecond Items sent per second, averaged over the
+ *                         {@code interval}.
+ * @param bytesPerSecond   Bytes sent per second, averaged over the
+ *                         {@code interval}.
+ * @param interval         Period over which the rates are averaged: since the
+ *                         context was created for {@link BatchContext#stats},
+ *                         or since the previous report for the stats listener.
+ * @param queueDepth       Number of tasks on the queue.
+ * @param wip              Number of tasks sent or about to be sent,
+ *                         which have no result yet.
+ * @param batchSize        Current maximum number of items per batch.
+ * @param ackLatency       Time between sending a batch and receiving its Ack.
+ * @param timeInState      Time spent in each state, e.g. ACTIVE, IN_FLIGHT,
+ *                         OOM, SERVER_SHUTTING_DOWN, RECONNECTING.
+ * @param retries          Number of retried tasks.
+ * @param reconnects       Number of attempts to re-open the stream.
+ *
+ * @see BatchContext.Builder#statsListener
+ */
+public record BatchStats(
+    long objectsSent,
+    long bytesSent,
+    double objectsPerSecond,
+    double bytesPerSecond,
+    Duration interval,
+    int queueDepth,
+    int wip,
+    int batchSize,
+    Histogram ackLatency,
+    Map<String, Duration> timeInState,
+    long retries,
+    long reconnects) {
+
+  public BatchStats {
+    requireNonNull(interval, "interval is null");
+    requireNonNull(ackLatency, "ackLatency is null");
+    timeInState = Collections.unmodifiableMap(new LinkedHashMap<>(timeInState));
+  }
+
+  /** Compute the rates over the interval since the previous snapshot. */
+  BatchStats since(BatchStats prev) {
+    return new BatchStats(objectsSent, bytesSent,
+        perSecond(objectsSent - prev.objectsSent, interval.minus(prev.interval)),
+        perSecond(bytesSent - prev.bytesSent, interval.minus(prev.interval)),
+        interval.minus(prev.interval),
+        queueDepth, wip, batchSize, ackLatency, timeInState, retries, reconnects);
+  }
+
+  /** Add up the stats of multiple streams. */
+  static BatchStats sum(List<BatchStats> all, Duration interval) {
+    long objectsSent = 0, bytesSent = 0, retries = 0, reconnects = 0;
+    int queueDepth = 0, wip = 0, batchSize = 0;
+    Histogram ackLatency = Histogram.EMPTY;
+    var timeInState = new LinkedHashMap<String, Duration>();
+    for (var stats : all) {
+      objectsSent += stats.objectsSent;
+      bytesSent += stats.bytesSent;
+      retries += stats.retries;
+      reconnects += stats.reconnects;
+      queueDepth += stats.queueDepth;
+      wip += stats.wip;
+      batchSize += stats.batchSize;
+      ackLatency = ackLatency.plus(stats.ackLatency);
+      stats.timeInState.forEach((state, time) -> timeInState.merge(state, time, Duration::plus));
+    }
+    return new BatchStats(objectsSent, bytesSent,
+        perSecond(objectsSent, interval), perSecond(bytesSent, interval), interval,
+        queueDepth, wip, batchSize, ackLatency, timeInState, retries, reconnects);
+  }
+
+  static double perSecond(long count, Duration interval) {
+    long nanos = interval.toNanos();
+    return nanos > 0 ? count * 1e9 / nanos : 0;
+  }
+
+  /**
+   * Histogram with exponential buckets: the first bucket counts latencies of
+   * up to 1ms, every next bucket doubles the upper bound, and the last one
+   * counts everything above the previous bound.
+   *
+   * @param counts Number of recorded latencies in each bucket,
+   *               see {@link #UPPER_BOUNDS}.
+   */
+  public record Histogram(List<Long> counts) {
+    /** Inclusive upper bound of each bucket. */
+    public static final List<Duration> UPPER_BOUNDS;
+
+    static {
+      var bounds = new ArrayList<Duration>();
+      for (int i = 0; i < 20; i++) {
+        bounds.add(Duration.ofMillis(1L << i));
+      }
+      bounds.add(ChronoUnit.FOREVER.getDuration());
+      UPPER_BOUNDS = List.copyOf(bounds);
+    }
+
+    static final Histogram EMPTY = new Histogram(new long[UPPER_BOUNDS.size()]);
+
+    public Histogram {
+      counts = List.copyOf(counts);
+      if (counts.size() != UPPER_BOUNDS.size()) {
+        throw new IllegalArgumentException(
+            "expected %d buckets, got %d".formatted(UPPER_BOUNDS.size(), counts.size()));
+      }
+    }
+
+    Histogram(long[] counts) {
+      this(Arrays.stream(counts).boxed().toList());
+    }
+
+    /** Index of the bucket for the latency. */
+    static int bucket(long nanos) {
+      for (int i = 0; i < UPPER_BOUNDS.size() - 1; i++) {
+        if (nanos <= UPPER_BOUNDS.get(i).toNanos()) {
+          return i;
+        }
+      }
+      return UPPER_BOUNDS.size() - 1;
+    }
+
+    /** Total number of recorded latencies. */
+    public long count() {
+      return counts.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Estimate a percentile as the upper bound of the bucket it falls into.
+     *
+     * @param percentile Value between 0 and 100, e.g. 99.
+     * @return Upper bound of the bucket or {@link Duration#ZERO}
+     *         if nothing was recorded.
+     */
+    public Duration percentile(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("percentile must be between 0 and 100, got " + percentile);
+      }
+      long total = count();
+      if (total == 0) {
+        return Duration.ZERO;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+      long seen = 0;
+      for (int i = 0; i < counts.size(); i++) {
+        seen += counts.get(i);
+        if (seen >= rank) {
+          return UPPER_BOUNDS.get(i);
+        }
+      }
+      return UPPER_BOUNDS.get(UPPER_BOUNDS.size() - 1);
+    }
+
+    Histogram plus(Histogram other) {
+      long[] sum = new long[counts.size()];
+      for (int i = 0; i < sum.length; i++) {
+        sum[i] = counts.get(i) + other.counts.get(i);
+      }
+      return new Histogram(sum);
+    }
+  }
+}
@@ -0,0 +1,2067 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.api.collections.CollectionHandleDefaults;
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+import io.weaviate.client6.v1.api.collections.batch.Event.ClientError;
+import io.weaviate.client6.v1.api.collections.batch.Event.StreamHangup;
+import io.weaviate.client6.v1.api.collections.data.BatchReference;
+import io.weaviate.client6.v1.api.collections.data.InsertManyRequest;
+import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
+
+/**
+ * BatchStream runs a single batching stream of a {@link BatchContext}:
+ * it owns the task queue, the current batch, and the "sender" routine
+ * feeding them into the stream.
+ *
+ * <h2>Lifecycle</h2>
+ *
+ * The SSB implementation is based on gRPC bidi-streams, which are modeled as a
+ * pair of "observers" that define callbacks for inbound and outbound messages.
+ * We'll refer to them as "sender" (sending messages to the server) and "recv"
+ * (receiving and handing server-side events).
+ *
+ * <p>
+ * When the stream is started, the client exchanges a "recv" for a "sender",
+ * then stores in {@link #messages}. A {@link Send} process is started in the
+ * {@link #sendService} -- it will continue to run until the stream is closed
+ * either gracefully via {@link #beginClose} or abruptly via {@link #shutdownNow}.
+ *
+ * <p>
+ * A "recv" always runs on some internal gRPC thread. The "recv" process is
+ * expected to exit whenever server closes its half of the stream, and will
+ * be re-created if the stream is re-opened. {@link Recv} delegates most
+ * of the operations to its parent BatchStream.
+ *
+ * <p>
+ * {@link #send} and {@link #recv} futures track completion of the "sender"
+ * and "recv" routines.
+ *
+ * <h2>State</h2>
+ *
+ * BatchStream organized client-side work using the
+ * <a href= "https://refactoring.guru/design-patterns/state">State</a>
+ * pattern. These states are defined:
+ *
+ * <ul>
+ * <li>{@code null} -- context hasn't been {@link #start}ed yet. The context
+ * SHOULD NOT be used in this state, as it will likely result in an NPE.
+ * <li>AwaitStarted -- client's opened the stream, sent Start,
+ * and is now awaiting the server to respond with Started.
+ * <li>Active -- the server is ready to accept the next Data message.
+ * <li>InFlight -- the latest batch has been sent, awaiting Acks.
+ * <li>OOM -- server has OOM'ed and will not accept any more data.
+ * <li>ServerShuttingDown -- server's begun a graceful shutdown.
+ * <li>Reconnecting -- server's closed it's half of the stream; the client
+ * will try to reconnect to another instance up to {@link #maxReconnectRetries}
+ * times.
+ * </ul>
+ *
+ * <h2>Cancellation policy</h2>
+ * BatchStream does not rely on timing heuristics advance its state.
+ * Threads coordinate via {@link #stateChanged} conditional variable
+ * and interrupts, when appropriate.
+ *
+ * <h3>Graceful shutdown</h3>
+ * When {@link #beginClose} is called, the stream will stop accepting
+ * new items and start draining the remaining items in the {@link #queue}
+ * and {@link #batch} backlog. The client will then continue processing
+ * server-side events until stream's EOF. By the time context is closed
+ * all submitted tasks are expected to be completed successfully or otherwise.
+ *
+ * <br>
+ * N.B.: This may take an arbitrarily long amount time, as the client will
+ * continue to re-connect to other instances and re-submit WIP tasks in
+ * case the current stream is hung up or the server shuts down prematurely.
+ *
+ * <h3>Abrupt termination</h3>
+ * In the event of an internal client error (e.g. in the "sender" or "recv"
+ * threads), the client's half of the stream is closed immediately, and the
+ * "sender" processed is cancelled. A subsequent call to {@link #awaitClosed} will
+ * re-throw the causing exception as {@link IOException}. The stream can be
+ * terminated at any time, including during a graceful shutdown.
+ * In case the context if terminated <i>before</i> a graceful shutdown begins,
+ * the parent thread is also interrupted to prevent {@link #add} from blocking
+ * indefinitely, "sender" will not be there to pop items from the task queue).
+ *
+ * <p>
+ * To prevent data loss, re-submit all incomplete tasks
+ * to the next batch context.
+ *
+ * <h2>Encoding stage</h2>
+ * By default, objects are serialized on the thread calling {@link #add}.
+ * If {@link BatchContext.Builder#encodingExecutor} is set, they are serialized on that
+ * executor instead, and an "encoder" routine running in {@link #encodeService}
+ * hands them off to the {@link #queue} in the order they were added.
+ * At most {@link BatchContext.Builder#encodingWindow} tasks can be in the encoding stage
+ * at any time; {@link #add} blocks when the window is full.
+ *
+ * <h2>Adaptive batch size</h2>
+ * If {@link BatchContext.Builder#targetLatency} is set, the {@link #batch} size is tuned
+ * by {@link AdaptiveBatchSize} rather than only following the server's
+ * {@link Event.Backoff}, which still sets the upper bound.
+ *
+ * <h2>Journal</h2>
+ * If the context is journaled, every task is written to the {@link #journal}
+ * before it's put on the queue, and the journal records when the task is done.
+ * Instead of blocking when the queue is full or the memory budget is exhausted,
+ * {@link #add} spills the task: it's kept in {@link #pending} without its data,
+ * which is read back from the journal once there's space on the queue.
+ *
+ * @param <PropertiesT> the shape of properties for inserted objects.
+ *
+ * @see StreamObserver
+ * @see State
+ * @see #shutdownNow
+ * @see TaskHandle#done()
+ */
+final class BatchStream<PropertiesT> {
+  private static final Logger log = LoggerFactory.getLogger(BatchStream.class);
+
+  private final CollectionDescriptor<PropertiesT> collectionDescriptor;
+  private final CollectionHandleDefaults collectionHandleDefaults;
+
+  /**
+   * Tally of the failed items. This value is written to from
+   * {@link #retryService} thread, which processes the incoming
+   * {@link Event.Results}, and from the {@link #encodingExecutor}
+   * threads when an object cannot be encoded.
+   */
+  private final LongAdder numberOfErrors = new LongAdder();
+
+  /** Tally of the successfully completed items. */
+  private final LongAdder numberOfSuccesses = new LongAdder();
+
+  /** Tally of the failed items, by their tenant. */
+  private final ConcurrentMap<String, LongAdder> numberOfErrorsByTenant = new ConcurrentHashMap<>();
+
+  /** Tally of the retries, including delayed ones. */
+  private final LongAdder numberOfRetries = new LongAdder();
+
+  /** Activity of the stream. */
+  private final BatchMetrics metrics = new BatchMetrics();
+
+  /**
+   * Receives failed tasks submitted with {@link #submit}.
+   * {@code null} if failures are only counted.
+   */
+  private final Consumer<TaskError> errorSink;
+
+  /** Shared completion callback for all tasks. */
+  private final BiConsumer<TaskHandle, Throwable> onDone = this::onDone;
+
+  /** Shared retry callback for all tasks. */
+  private final Consumer<String> onRetry = this::retry;
+
+  /**
+   * Internal execution service. Its lifecycle is bound to that of the
+   * BatchStream: it's started when the stream is initialized
+   * and shutdown on {@link #beginClose}.
+   *
+   * <p>
+   * In the event of abrupt stream termination ({@link Recv#onError} is called),
+   * the "recv" thread MAY shutdown this service in order to interrupt the "send"
+   * thread; the latter may be blocked on {@link State#awaitCanSend} or
+   * {@link State#awaitCanPrepareNext}.
+   */
+  private final ExecutorService sendService;
+
+  /**
+   * Scheduled thread pool for delayed tasks.
+   *
+   * @see Oom
+   * @see Reconnecting
+   */
+  private final ScheduledExecutorService scheduledService;
+
+  /** Executor for processing {@link Event.Results} and enqueing retried items. */
+  private final ExecutorService retryService;
+
+  /** The thread that created the stream, i.e. the context. */
+  private final Thread parent = Thread.currentThread();
+
+  /** Stream factory creates new streams. */
+  private final StreamFactory<Message, Event> streamFactory;
+
+  /**
+   * Queue publishes insert tasks from the main thread to the "sender".
+   *
+   * <p>
+   * Send {@link TaskHandle#POISON} to gracefully shut down the "sender"
+   * thread. The same queue may be re-used with a different "sender",
+   * e.g. after {@link #reconnect}, but only when the new thread is known
+   * to have started. Otherwise, the thread trying to put an item on
+   * the queue will block indefinitely.
+   */
+  private final BlockingQueue<TaskHandle> queue;
+
+  /**
+   * Work-in-progress items.
+   *
+   * <p>
+   * An item is added to the wip map after the "sender" successfully
+   * adds it to the {@link #batch} and is removed once the server reports
+   * back the result (whether success of failure).
+   */
+  private final ConcurrentMap<String, TaskHandle> wip = new ConcurrentHashMap<>();
+
+  /**
+   * Current batch.
+   *
+   * <p>
+   * An item is added to the batch after the "sender" pulls it
+   * from the queue and remains there until it's Ack'ed.
+   */
+  private final Batch batch;
+
+  /**
+   * Tunes the {@link #batch} size based on the Ack latency.
+   * {@code null} if the size is only set by the server's {@link Event.Backoff}.
+   */
+  private final AdaptiveBatchSize adaptiveBatchSize;
+
+  /**
+   * State encapsulates state-dependent behavior of the {@link BatchStream}.
+   * Before reading state, a thread MUST acquire {@link #lock}.
+   */
+  @GuardedBy("lock")
+  private State state;
+
+  /** lock synchronizes access to {@link #state}. */
+  private final Lock lock = new ReentrantLock();
+
+  /** stateChanged notifies threads about a state transition. */
+  private final Condition stateChanged = lock.newCondition();
+
+  /**
+   * Client-side part of the current stream, created on {@link #start}.
+   * Other threads MAY use stream but MUST NOT update this field on their own.
+   */
+  private volatile StreamObserver<Message> messages;
+
+  /**
+   * Handle for the "sender" routine.
+   * Cancel this future to interrupt the "sender".
+   */
+  private volatile Future<?> send;
+
+  /**
+   * Indicates completion of the "recv" routine.
+   * Canceling this future will have no effect.
+   */
+  private volatile CompletableFuture<?> recv;
+
+  /**
+   * Retry policy controls if and how many times
+   * a {@link RetriableTask} can be retried.
+   * Its retry budget is shared between all streams of the context.
+   *
+   * @see RetryPolicy#forContext
+   */
+  private final RetryPolicy retryPolicy;
+
+  /**
+   * Maximum number of times the client will attempt to re-open the stream
+   * before terminating the context.
+   */
+  private final int maxReconnectRetries;
+
+  /** closing completes the stream. */
+  private final CompletableFuture<Void> closing = new CompletableFuture<>();
+
+  /** Executor for performing graceful shutdown sequence. */
+  private final ExecutorService shutdownService;
+
+  /** Lightweight check to ensure users cannot send on a closed context. */
+  private volatile boolean closed;
+
+  /**
+   * closeLock makes {@link #markClosed} atomic with respect to
+   * {@link #shutdownNow} interrupting the parent thread.
+   */
+  private final Lock closeLock = new ReentrantLock();
+
+  /**
+   * Independent contexts, one per stream, that this context delegates to.
+   * Empty if the context manages its own stream.
+   */
+
+  /**
+   * Executor for the optional encoding stage. When set, {@link #add(String, WeaviateObject)}
+   * builds the object's protobuf message on this executor rather than on the
+   * caller's thread. The executor is owned by the user and is not shut down
+   * when the context is closed.
+   */
+  private final Executor encodingExecutor;
+
+  /**
+   * Bounds the number of tasks which have been added
+   * but not yet handed off to the {@link #queue}.
+   * {@code null} if there's no encoding stage.
+   */
+  private final Semaphore encodingWindow;
+
+  /**
+   * Tasks in the encoding stage, in the order they were added.
+   * The "encoder" awaits each of them in turn and moves them to the
+   * {@link #queue}, so the "sender" observes the same order as it would
+   * without the encoding stage. Its size is bounded by the {@link #encodingWindow}.
+   */
+  private final BlockingQueue<CompletableFuture<TaskHandle>> encoding = new LinkedBlockingQueue<>();
+
+  /** Informs the "encoder" that no more tasks will be added. */
+  private static final CompletableFuture<TaskHandle> END_ENCODING = CompletableFuture
+      .completedFuture(TaskHandle.POISON);
+
+  /**
+   * Tasks added via {@link #addAsync} while the queue was full, in the order
+   * they were added. These are moved to the queue by whichever thread frees
+   * up space in it: the "sender" after taking a task from the {@link #queue}
+   * or the "encoder" after releasing a permit.
+   */
+  private final Queue<Pending<PropertiesT>> pending = new ConcurrentLinkedQueue<>();
+
+  /** Only one thread can move {@link #pending} tasks at a time. */
+  private final ReentrantLock pendingLock = new ReentrantLock();
+
+  /**
+   * Memory budget for the tasks in the {@link #queue}, {@link #batch} and
+   * {@link #wip}. Shared between all streams of the context.
+   */
+  private final ByteBudget budget;
+
+  /** Set when a producer is waiting for the {@link #budget}. */
+  private volatile boolean flushRequested;
+
+  /**
+   * Throw {@link BudgetExceededException} from {@link #add} instead of
+   * blocking when the {@link #budget} is exhausted.
+   */
+  private final boolean failFast;
+
+  /**
+   * Write-ahead log for the accepted tasks, shared between all streams of the context.
+   * {@code null} if the context is not journaled.
+   */
+  private final BatchJournal journal;
+
+  /**
+   * Executor for completing {@link #addAsync} futures, so that user
+   * callbacks never run on the "sender" or the "encoder" threads.
+   */
+  private final ExecutorService callbackService;
+
+  /** Executor for the "encoder" routine. */
+  private final ExecutorService encodeService;
+
+  /**
+   * Handle for the "encoder" routine.
+   * Cancel this future to interrupt the "encoder".
+   */
+  private volatile Future<?> encode;
+
+  /**
+   * @param queueSize   Capacity of this stream's queue.
+   * @param budget      Memory budget shared by the context's streams.
+   * @param journal     Journal shared by the context's streams, or {@code null}.
+   * @param retryPolicy Retry policy shared by the context's streams.
+   */
+  BatchStream(BatchContext.Builder<PropertiesT> builder, int queueSize,
+      ByteBudget budget, BatchJournal journal, RetryPolicy retryPolicy) {
+    this.collectionDescriptor = requireNonNull(builder.collectionDescriptor, "collectionDescriptor is null");
+    this.collectionHandleDefaults = requireNonNull(builder.collectionHandleDefaults,
+        "collectionHandleDefaults is null");
+    this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy is null");
+    this.streamFactory = requireNonNull(builder.streamFactory, "streamFactory is null");
+
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.batch = new Batch(builder.batchSize, builder.maxSizeBytes);
+    this.adaptiveBatchSize = builder.targetLatency != null
+        ? new AdaptiveBatchSize(builder.batchSize, builder.targetLatency)
+        : null;
+    this.maxReconnectRetries = builder.maxReconnectRetries;
+    this.budget = requireNonNull(budget, "budget is null");
+    this.failFast = builder.failFast;
+    this.journal = journal;
+    this.errorSink = builder.errorSink;
+
+    // Threads are only started once the executor receives its first task,
+    // so the services which a stream never uses do not cost a thread.
+    ThreadFactory threadFactory = builder.threadFactory;
+    this.sendService = Executors.newSingleThreadExecutor(threadFactory);
+    this.encodeService = Executors.newSingleThreadExecutor(threadFactory);
+    this.scheduledService = Executors.newScheduledThreadPool(1, threadFactory);
+    this.scheduledReconnectService = Executors.newScheduledThreadPool(1, threadFactory);
+    this.retryService = Executors.newSingleThreadExecutor(threadFactory);
+    this.shutdownService = Executors.newSingleThreadExecutor(threadFactory);
+    this.callbackService = Executors.newSingleThreadExecutor(threadFactory);
+
+    this.encodingExecutor = builder.encodingExecutor;
+    this.encodingWindow = builder.encodingExecutor != null
+        ? new Semaphore(builder.encodingWindow)
+        : null;
+
+    // The budget is shared between the streams: bytes released by any of them
+    // may unblock this one, and any of them may be holding the bytes this one
+    // is waiting for.
+    budget.onRelease(() -> {
+      if (!pending.isEmpty()) {
+        drainPending();
+      }
+    });
+    budget.onExhausted(this::requestFlush);
+
+    setState(AWAIT_STARTED);
+  }
+
+  /** @see BatchContext#add(String, WeaviateObject) */
+  TaskHandle add(String tenant, WeaviateObject<PropertiesT> object) throws InterruptedException {
+    return add(prepare(object, tenant, null));
+  }
+
+  /** @see BatchContext#add(String, BatchReference) */
+  TaskHandle add(String tenant, BatchReference reference) throws InterruptedException {
+    return add(prepare(reference, tenant, null));
+  }
+
+  /** @see BatchContext#submit(String, WeaviateObject) */
+  void submit(String tenant, WeaviateObject<PropertiesT> object) throws InterruptedException {
+    add(prepare(object, tenant, onDone));
+  }
+
+  /** @see BatchContext#submit(String, BatchReference) */
+  void submit(String tenant, BatchReference reference) throws InterruptedException {
+    add(prepare(reference, tenant, onDone));
+  }
+
+  private TaskHandle add(Pending<PropertiesT> task) throws InterruptedException {
+    register(task.handle());
+    if (journal != null) {
+      journal(task);
+    } else {
+      enqueue(task);
+    }
+    return task.handle();
+  }
+
+  /** @see BatchContext#tryAdd(String, WeaviateObject) */
+  Optional<TaskHandle> tryAdd(String tenant, WeaviateObject<PropertiesT> object) {
+    checkNotClosed();
+    if (journal != null) {
+      Pending<PropertiesT> task = prepare(object, tenant, null);
+      register(task.handle());
+      journal(task);
+      return Optional.of(task.handle());
+    }
+    if (!pending.isEmpty() || !hasCapacity()) {
+      return Optional.empty();
+    }
+    Pending<PropertiesT> task = prepare(object, tenant, null);
+    register(task.handle());
+    return tryEnqueue(task) ? Optional.of(task.handle()) : Optional.empty();
+  }
+
+  /** @see BatchContext#addAsync(String, WeaviateObject) */
+  CompletableFuture<TaskHandle> addAsync(String tenant, WeaviateObject<PropertiesT> object) {
+    Pending<PropertiesT> task;
+    try {
+      task = prepare(object, tenant, null);
+      register(task.handle());
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    if (journal != null) {
+      journal(task);
+      return CompletableFuture.completedFuture(task.handle());
+    }
+    if (pending.isEmpty() && tryEnqueue(task)) {
+      return CompletableFuture.completedFuture(task.handle());
+    }
+    task = new Pending<>(task.handle(), task.unencoded(), new CompletableFuture<>());
+    pending.add(task);
+    drainPending();
+    return task.added();
+  }
+
+  /**
+   * Number of tasks the context can accept before the producer is expected to
+   * wait. This is the queue size, but no more than the number of items the
+   * server is ready to accept in a single batch, as adjusted by
+   * {@link Event.Backoff}.
+   */
+  int demand() {
+    return Math.min(queue.size() + queue.remainingCapacity(), batch.maxSize());
+  }
+
+  /**
+   * Task which has been accepted by the context but is not on the queue yet.
+   *
+   * @param handle    Task handle.
+   * @param unencoded Object to encode in the encoding stage or {@code null}
+   *                  if the handle already has data.
+   * @param added     Completes once the handle is put on the queue,
+   *                  or {@code null} if nobody is awaiting it.
+   * @param spilled   Journal entry to read the data from, if the handle
+   *                  has dropped it, or {@code null}.
+   */
+  private record Pending<PropertiesT>(
+      TaskHandle handle,
+      WeaviateObject<PropertiesT> unencoded,
+      CompletableFuture<TaskHandle> added,
+      BatchJournal.Entry spilled) {
+
+    Pending(TaskHandle handle, WeaviateObject<PropertiesT> unencoded, CompletableFuture<TaskHandle> added) {
+      this(handle, unencoded, added, null);
+    }
+
+    /** Size of the task's data, whether it's loaded or not. */
+    int sizeBytes() {
+      return spilled != null ? spilled.sizeBytes() : handle.data().sizeBytes();
+    }
+  }
+
+  /**
+   * Create a task handle for the object, encoding it unless there's an encoding stage.
+   *
+   * @param tenant   Tenant to write the object to, or {@code null}.
+   * @param listener Completion callback for a detached handle,
+   *                 or {@code null} to track completion with a future.
+   */
+  private Pending<PropertiesT> prepare(WeaviateObject<PropertiesT> object, String tenant,
+      BiConsumer<TaskHandle, Throwable> listener) {
+    if (encodingExecutor != null) {
+      return new Pending<>(TaskHandle.unencoded(object, tenant, retryPolicy, onRetry, listener), object, null);
+    }
+    TaskHandle handle = TaskHandle.of(
+        object,
+        InsertManyRequest.buildObject(object, collectionDescriptor, Optional.ofNullable(tenant)), tenant,
+        retryPolicy, onRetry, listener);
+    return new Pending<>(handle, null, null);
+  }
+
+  private Pending<PropertiesT> prepare(BatchReference reference, String tenant,
+      BiConsumer<TaskHandle, Throwable> listener) {
+    TaskHandle handle = TaskHandle.of(
+        reference,
+        InsertManyRequest.buildReference(reference, Optional.ofNullable(tenant)), tenant,
+        retryPolicy, onRetry, listener);
+    return new Pending<>(handle, null, null);
+  }
+
+  /**
+   * Write the task to the {@link #journal} and put it on the {@link #queue}.
+   * If the queue is full or the budget is exhausted, spill the task to
+   * {@link #pending} without its data instead of blocking.
+   */
+  private void journal(Pending<PropertiesT> task) {
+    TaskHandle handle = task.handle();
+    BatchJournal.Entry entry = journal.append(handle);
+    if (pending.isEmpty() && tryEnqueue(task)) {
+      return;
+    }
+    handle.setData(null);
+    pending.add(new Pending<>(handle, null, task.added(), entry));
+    drainPending();
+  }
+
+  /**
+   * Re-submit a task which wasn't done when the journal was last closed.
+   * Like any other spilled task, its data is only read once there's space
+   * for it on the queue.
+   */
+  TaskHandle recover(BatchJournal.Entry entry) {
+    TaskHandle handle = TaskHandle.recovered(entry.id(), retryPolicy, onRetry);
+    register(handle);
+    pending.add(new Pending<>(handle, null, null, entry));
+    drainPending();
+    return handle;
+  }
+
+  /** Read the data of a spilled task back from the {@link #journal}. */
+  private void load(Pending<PropertiesT> task) {
+    if (task.spilled() != null) {
+      task.handle().setData(journal.read(task.spilled()));
+    }
+  }
+
+  /**
+   * Put the task on the {@link #queue}, or submit it to the encoding stage
+   * if there is one. Blocks until there's space for the task.
+   */
+  private void enqueue(Pending<PropertiesT> task) throws InterruptedException {
+    enqueue(task, failFast);
+  }
+
+  /**
+   * @param failFast Throw {@link BudgetExceededException} instead of
+   *                 blocking until the {@link #budget} permits the task.
+   */
+  private void enqueue(Pending<PropertiesT> task, boolean failFast) throws InterruptedException {
+    if (encodingExecutor != null) {
+      encodingWindow.acquire();
+      encode(task);
+      return;
+    }
+
+    TaskHandle handle = task.handle();
+    long sizeBytes = task.sizeBytes();
+    acquireBudget(handle, sizeBytes, failFast);
+    load(task);
+
+    handle.reserve(sizeBytes);
+    try {
+      queue.put(handle);
+    } catch (InterruptedException e) {
+      handle.reserve(0);
+      budget.release(sizeBytes);
+      throw e;
+    }
+  }
+
+  /** Same as {@link #enqueue}, but returns false instead of blocking. */
+  private boolean tryEnqueue(Pending<PropertiesT> task) {
+    if (encodingExecutor != null) {
+      if (!encodingWindow.tryAcquire()) {
+        return false;
+      }
+      encode(task);
+      return true;
+    }
+
+    TaskHandle handle = task.handle();
+    long sizeBytes = task.sizeBytes();
+    if (!budget.tryAcquire(sizeBytes)) {
+      budget.exhausted();
+      return false;
+    }
+    load(task);
+    handle.reserve(sizeBytes);
+    if (!queue.offer(handle)) {
+      if (task.spilled() != null) {
+        handle.setData(null);
+      }
+      handle.reserve(0);
+      budget.release(sizeBytes);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Acquire the task's bytes from the {@link #budget}. If the budget is
+   * exhausted, ask the "sender" to flush the current batch, as otherwise
+   * a partially filled batch could hold on to the budget indefinitely.
+   *
+   * @param failFast Throw {@link BudgetExceededException} instead of blocking.
+   */
+  private void acquireBudget(TaskHandle handle, long sizeBytes, boolean failFast) throws InterruptedException {
+    if (budget.tryAcquire(sizeBytes)) {
+      return;
+    }
+    budget.exhausted();
+    if (failFast) {
+      throw new BudgetExceededException(handle, budget.used(), budget.limit());
+    }
+    budget.acquire(sizeBytes);
+  }
+
+  /**
+   * Ask the "sender" to flush the current batch. The flag is checked every
+   * time the "sender" finds the queue empty; {@link TaskHandle#FLUSH}
+   * wakes it up if it's already waiting. If the queue is full, the pill can
+   * be dropped, as the "sender" has items to take.
+   */
+  private void requestFlush() {
+    flushRequested = true;
+    queue.offer(TaskHandle.FLUSH);
+  }
+
+  /** Check if {@link #tryEnqueue} is likely to succeed. */
+  private boolean hasCapacity() {
+    return encodingExecutor != null
+        ? encodingWindow.availablePermits() > 0
+        : queue.remainingCapacity() > 0;
+  }
+
+  /** Check if {@link #tryEnqueue} is likely to succeed for the task. */
+  private boolean hasCapacity(Pending<PropertiesT> task) {
+    if (task == null || !hasCapacity()) {
+      return false;
+    }
+    return encodingExecutor != null || budget.canAcquire(task.sizeBytes());
+  }
+
+  /**
+   * Submit the task to the encoding stage. The caller MUST hold a permit
+   * from the {@link #encodingWindow}. Handles which already have data
+   * go through the stage to preserve the order of the tasks.
+   *
+   * <p>
+   * If the object cannot be encoded, the handle fails
+   * immediately and is not retried.
+   */
+  private void encode(Pending<PropertiesT> task) {
+    TaskHandle handle = task.handle();
+    WeaviateObject<PropertiesT> object = task.unencoded();
+    if (object == null) {
+      encoding.add(CompletableFuture.completedFuture(handle));
+      return;
+    }
+
+    CompletableFuture<TaskHandle> encoded;
+    try {
+      encoded = CompletableFuture.supplyAsync(() -> {
+        handle.setData(object,
+            InsertManyRequest.buildObject(object, collectionDescriptor, Optional.ofNullable(handle.tenant())));
+        return handle;
+      }, encodingExecutor).handle((__, t) -> {
+        if (t == null) {
+          return handle;
+        }
+        handle.abort(t instanceof CompletionException ? t.getCause() : t);
+        return null;
+      });
+    } catch (RejectedExecutionException e) {
+      encodingWindow.release();
+      handle.abort(e);
+      throw e;
+    }
+    encoding.add(encoded);
+  }
+
+  /**
+   * Move as many {@link #pending} tasks to the queue as it can fit.
+   *
+   * <p>
+   * The method does not block: if another thread is already draining,
+   * it returns immediately. The thread holding the lock re-checks the
+   * capacity after releasing it, so a concurrent attempt is never lost.
+   */
+  private void drainPending() {
+    // Releasing the budget after a failed offer may call back into this method.
+    if (pendingLock.isHeldByCurrentThread()) {
+      return;
+    }
+    do {
+      if (!pendingLock.tryLock()) {
+        return;
+      }
+      try {
+        Pending<PropertiesT> next;
+        while ((next = pending.peek()) != null) {
+          try {
+            if (!tryEnqueue(next)) {
+              break;
+            }
+          } catch (RejectedExecutionException e) {
+            pending.poll();
+            if (next.added() != null) {
+              next.added().completeExceptionally(e);
+            }
+            continue;
+          }
+          pending.poll();
+          complete(next);
+        }
+      } finally {
+        pendingLock.unlock();
+      }
+    } while (hasCapacity(pending.peek()));
+  }
+
+  /**
+   * Put all {@link #pending} tasks on the queue, blocking if necessary.
+   * Called once the context is closed, so no new tasks will be added.
+   */
+  private void flushPending() throws InterruptedException {
+    pendingLock.lock();
+    try {
+      Pending<PropertiesT> next;
+      while ((next = pending.poll()) != null) {
+        enqueue(next, false);
+        complete(next);
+      }
+    } finally {
+      pendingLock.unlock();
+    }
+  }
+
+  /** Complete {@link Pending#added} on the {@link #callbackService}. */
+  private void complete(Pending<PropertiesT> task) {
+    if (task.added() != null) {
+      task.added().completeAsync(task::handle, callbackService);
+    }
+  }
+
+  private void register(final TaskHandle taskHandle) {
+    checkNotClosed();
+    requireNonNull(taskHandle, "taskHandle is null");
+
+    TaskHandle existing = wip.get(taskHandle.id());
+    if (existing != null) {
+      throw new DuplicateTaskException(taskHandle, existing);
+    }
+
+    // Detached handles call onDone directly.
+    // Note, that TaskHandle::done future only completes
+    // exceptionally after all retries have been exhausted.
+    if (!taskHandle.isDetached()) {
+      taskHandle.done().whenComplete((__, t) -> onDone(taskHandle, t));
+    }
+  }
+
+  /**
+   * Clean up after a task is done, successfully or otherwise.
+   *
+   * <ul>
+   * <li>Remove the task from the WIP list.
+   * <li>Release its bytes back to the {@link #budget}. The task remains in the
+   * queue, the batch, or the WIP map until then.
+   * <li>Mark the task done in the {@link #journal} once the server reports its
+   * result. Tasks which could not be sent at all, e.g. because the context
+   * was terminated abruptly, remain in the journal.
+   * <li>Report a detached task's failure to the {@link #errorSink}.
+   * </ul>
+   */
+  private void onDone(TaskHandle handle, Throwable t) {
+    Throwable cause = t instanceof CompletionException ? t.getCause() : t;
+    if (cause == null) {
+      numberOfSuccesses.increment();
+    } else {
+      numberOfErrors.increment();
+      if (handle.tenant() != null) {
+        numberOfErrorsByTenant.computeIfAbsent(handle.tenant(), __ -> new LongAdder()).increment();
+      }
+    }
+
+    wip.remove(handle.id());
+    if (handle.reservedBytes() > 0) {
+      budget.release(handle.reservedBytes());
+    }
+    if (journal != null && (cause == null || cause instanceof ServerException)) {
+      journal.ack(handle.id());
+    }
+    if (cause != null && handle.isDetached() && errorSink != null) {
+      errorSink.accept(new TaskError(handle.id(), handle.tenant(), cause));
+    }
+  }
+
+  /** Number of tasks which have failed and can no longer be retried. */
+  long numberOfErrors() {
+    return numberOfErrors.sum();
+  }
+
+  /** Number of failed tasks, by their tenant. */
+  Map<String, Long> numberOfErrorsByTenant() {
+    var byTenant = new HashMap<String, Long>();
+    numberOfErrorsByTenant.forEach((tenant, errors) -> byTenant.put(tenant, errors.sum()));
+    return byTenant;
+  }
+
+  /** Number of successfully completed tasks. */
+  long numberOfSuccesses() {
+    return numberOfSuccesses.sum();
+  }
+
+  /** Number of retries, including delayed ones. */
+  long numberOfRetries() {
+    return numberOfRetries.sum();
+  }
+
+  /** Stats of the stream, without the rates. */
+  BatchStats stats() {
+    return new BatchStats(
+        metrics.objectsSent(), metrics.bytesSent(), 0, 0, Duration.ZERO,
+        queueDepth(), wip.size(), batch.maxSize(),
+        metrics.ackLatency(), metrics.timeInState(),
+        numberOfRetries.sum(), metrics.reconnects());
+  }
+
+  /** Number of tasks on the queue, not counting the pills. */
+  private int queueDepth() {
+    int depth = 0;
+    for (TaskHandle task : queue) {
+      if (task != TaskHandle.POISON && task != TaskHandle.END_RESULTS && task != TaskHandle.FLUSH) {
+        depth++;
+      }
+    }
+    return depth;
+  }
+
+  private void checkNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("context is closed");
+    }
+  }
+
+  /** Open the stream and start the "sender" and the "encoder" routines. */
+  void start() {
+    checkNotClosed();
+    openStream();
+    if (encodingExecutor != null) {
+      encode = encodeService.submit(new Encode());
+    }
+    send = sendService.submit(new Send());
+  }
+
+  /**
+   * Reconnect re-creates the stream and renews the {@link #recv} future.
+   *
+   * <p>
+   * Unlike {@link #start} it does not trigger a state transition, and
+   * {@link Reconnecting} will should continue to handle events until
+   * the stream is renewed successfully or {@link #maxReconnectRetries}
+   * is reached.
+   */
+  void reconnect() throws InterruptedException, ExecutionException {
+    // The "sender" survives reconnects and will not call countDown
+    // until it's interrupted or the context is closed.
+    // The "recv" thread is guaranteed to have already exited, because
+    // the context can only transition into the Reconnecting state
+    // after the server half of the stream is closed (EOF or hangup).
+    recv.get();
+    metrics.onReconnect();
+    openStream();
+  }
+
+  /**
+   * Retry a task.
+   *
+   * <p>
+   * BatchStream does not impose any limit on the number of times a task can
+   * be retried -- it is up to the user to select an appropriate retry policy.
+   *
+   * <p>
+   * If the policy delays the retry, the task is put back on the queue from the
+   * {@link #retryService} once the delay has elapsed, followed by
+   * {@link TaskHandle#END_RESULTS}, so that {@link Send#drainWip} does not
+   * keep waiting for more Results after the last delayed retry.
+   *
+   * @see TaskHandle#timesRetried
+   * @see RetryPolicy#backoff
+   */
+  private void retry(String id) {
+    try {
+      requireNonNull(id, "id is null");
+
+      TaskHandle taskHandle = wip.get(id);
+      assert taskHandle != null : taskHandle + " is not wip";
+      numberOfRetries.increment();
+
+      long delayNanos = retryPolicy.delayNanos(taskHandle);
+      if (delayNanos > 0) {
+        scheduledService.schedule(
+            () -> retryService.execute(() -> requeue(taskHandle)),
+            delayNanos, TimeUnit.NANOSECONDS);
+        return;
+      }
+
+      // Put the handle back on the queue directly, circumventing
+      // the checks closed- and duplicate items checks we do for
+      // public methods. The retried task is guaranteed to be present
+      // in the WIP list and may be retried well after the context
+      // is closed to the user.
+      queue.put(taskHandle);
+    } catch (InterruptedException e) {
+      // Preserve interrupted state without throwing the exception.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Put a task back on the queue after a delayed retry. */
+  private void requeue(TaskHandle taskHandle) {
+    try {
+      queue.put(taskHandle);
+      queue.put(TaskHandle.END_RESULTS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stop accepting new tasks and start a graceful shutdown: the remaining
+   * tasks are sent in the background. Call {@link #awaitClosed} to wait
+   * for the shutdown to complete.
+   */
+  void beginClose() {
+    boolean closedBefore = markClosed();
+
+    // If we'd been interrupted by shutdownNow, closing would've been
+    // completed exceptionally prior to that. If that's not the case
+    // but the current thread is interrupted, then we must propagate
+    // the interrupt. But first, we should dispose of the services.
+    if (Thread.interrupted() && !closing.isCompletedExceptionally()) {
+      shutdownExecutors();
+      Thread.currentThread().interrupt();
+    }
+
+    log.atDebug()
+        .addKeyValue("closed_before", closedBefore)
+        .log("Close stream");
+
+    if (!closedBefore) {
+      shutdown();
+    }
+  }
+
+  /**
+   * Mark the context as closed. Returns the previous value.
+   *
+   * <p>
+   * The value is updated atomically to make sure shutdownNow
+   * does not unnecessarily interrupt this thread.
+   */
+  private boolean markClosed() {
+    closeLock.lock();
+    try {
+      boolean closedBefore = closed;
+      closed = true;
+      return closedBefore;
+    } finally {
+      closeLock.unlock();
+    }
+  }
+
+  /** Wait for the graceful shutdown to complete and dispose of the services. */
+  void awaitClosed() throws IOException {
+    try {
+      closing.get();
+    } catch (InterruptedException | ExecutionException e) {
+      if (e instanceof InterruptedException ||
+          e.getCause() instanceof InterruptedException) {
+        log.atInfo().addKeyValue("thread", Thread::currentThread).log("Interrupted");
+        Thread.currentThread().interrupt();
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      shutdownExecutors();
+    }
+  }
+
+  /** Start a graceful context shutdown. */
+  private void shutdown() {
+    log.atInfo()
+        .addKeyValue("wip_tasks", wip::size)
+        .addKeyValue("queued_tasks", queue::size)
+        .log("Initiate graceful shutdown");
+
+    shutdownService.execute(() -> {
+      try {
+        // Poison the queue -- this will signal "send" to drain the remaining
+        // items in the batch and in the backlog and exit.
+        //
+        // If shutdownNow has been called previously and the "send" routine
+        // has been interrupted, this would block indefinitely.
+        // Luckily, shutdownNow resolves the `closing` future as well.
+        // Tasks added with addAsync have been accepted by the context
+        // and must be sent before the queue is poisoned.
+        flushPending();
+
+        // Hand off the remaining tasks from the encoding stage first,
+        // so that none of them arrive after the POISON.
+        if (encode != null) {
+          log.debug("Drain the encoding stage");
+          encoding.put(END_ENCODING);
+          encode.get();
+        }
+
+        log.debug("Poison the queue");
+        queue.put(TaskHandle.POISON);
+
+        // Wait for both "send" to exit; "send" will not exit until "recv" completes.
+        if (send != null) {
+          send.get();
+        }
+        closing.complete(null);
+      } catch (Exception e) {
+        closing.completeExceptionally(e);
+      }
+    });
+  }
+
+  /** Emit exception as {@link Event.ClientError}. */
+  private void throwInternal(Exception e) {
+    onEvent(new Event.ClientError(e));
+  }
+
+  /** Terminate context abruptly. */
+  private void shutdownNow(Exception e) {
+    log.atInfo()
+        .addKeyValue("thread", Thread::currentThread)
+        .log("Initiate immediate shutdown");
+
+    // Now report this error to the server and terminate the stream.
+    closing.completeExceptionally(e);
+
+    // Tasks which never made it to the queue will not be sent.
+    Pending<PropertiesT> next;
+    while ((next = pending.poll()) != null) {
+      next.handle().abort(e);
+      if (next.added() != null) {
+        next.added().completeExceptionally(e);
+      }
+    }
+    messages.onError(Status.INTERNAL.withCause(e).asRuntimeException());
+
+    // Interrupt the "encode" routine.
+    if (encode != null) {
+      log.debug("Interrupt 'encode' routine");
+      encode.cancel(true);
+    }
+
+    // Interrupt the "send" routine.
+    if (send != null) {
+      log.debug("Interrupt 'send' routine");
+      send.cancel(true);
+    }
+
+    // Since shutdownNow is never triggered by the "main" thread,
+    // it may be blocked on trying to add to the queue. While batch
+    // context is active, we own this thread and may interrupt it.
+    // We must be able to guarantee that shutdownNow never interrupts
+    // an in-progress close and we also don't want to potentially block
+    // the gRPC thread on which shutdownNow may be executing; we use
+    // the doubly-checked locking pattern to helps us achieve that.
+    if (closed) {
+      return;
+    }
+    closeLock.lock();
+    try {
+      if (!closed) {
+        log.atDebug()
+            .addKeyValue("thread", Thread::currentThread)
+            .addKeyValue("closed", closed)
+            .log("Interrupt parent thread");
+        parent.interrupt();
+      }
+    } finally {
+      closeLock.unlock();
+    }
+
+  }
+
+  private void shutdownExecutors() {
+    sendService.shutdownNow();
+    encodeService.shutdownNow();
+    scheduledService.shutdownNow();
+    retryService.shutdownNow();
+    shutdownService.shutdownNow();
+    // Let the already scheduled callbacks run.
+    callbackService.shutdown();
+    scheduledReconnectService.shutdownNow();
+  }
+
+  /** Set the new state and notify awaiting threads. */
+  void setState(State nextState) {
+    requireNonNull(nextState, "nextState is null");
+
+    lock.lock();
+    try {
+      log.atDebug()
+          .addKeyValue("thread", Thread::currentThread)
+          .addKeyValue("prev_state", state)
+          .addKeyValue("next_state", nextState)
+          .log("set next state");
+
+      State prev = state;
+      state = nextState;
+      metrics.onStateChange(nextState.toString());
+      state.onEnter(prev);
+      stateChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until a change in {@link #state} causes the predicate to be true.
+   *
+   * <p>
+   * It is safe to acquire {@link #lock} before calling awaitState.
+   * If a state that satisfies the predicate need to be awaited,
+   * the {@link #stateChanged} will release the lock to let another
+   * thread update the state.
+   *
+   * @param predicate Determines if condition is satisfied.
+   * @param desc      Short description of the predicate for debug logs.
+   */
+  private void awaitState(Predicate<State> predicate, String desc) throws InterruptedException {
+    requireNonNull(predicate, "predicate is null");
+
+    log.atDebug()
+        .addKeyValue("thread", Thread::currentThread)
+        .addKeyValue("predicate", desc)
+        .log("entered");
+
+    lock.lock();
+    try {
+      while (!predicate.test(state)) {
+        stateChanged.await();
+      }
+    } finally {
+      lock.unlock();
+
+      log.atDebug()
+          .addKeyValue("thread", Thread::currentThread)
+          .addKeyValue("predicate", desc)
+          .log("fulfilled");
+    }
+  }
+
+  /** Open a new batching stream. */
+  void openStream() {
+    Recv events = new Recv(this);
+    recv = events;
+    messages = streamFactory.createStream(events);
+    messages.onNext(Message.start(collectionHandleDefaults.consistencyLevel()));
+  }
+
+  /** Close the client half of the stream. */
+  void closeStream() {
+    log.atDebug()
+        .addKeyValue("thread", Thread::currentThread)
+        .log("Close client half of the stream");
+
+    log.atTrace()
+        .addKeyValue("thread", Thread::currentThread)
+        .log("Send STOP");
+    messages.onNext(Message.stop());
+
+    log.atTrace()
+        .addKeyValue("thread", Thread::currentThread)
+        .log("Close client half of the stream");
+    messages.onCompleted();
+  }
+
+  /**
+   * onEvent delegates event handling to {@link #state}.
+   *
+   * <p>
+   * Be mindful that most of the time this callback will run in a hot path
+   * on a gRPC thread. {@link State} implementations SHOULD offload any
+   * blocking operations to one of the provided executors. Because onEvent
+   * will hold the {@link #lock}, no state changes are guaranteed to happen
+   * until {@link State#onEvent} returns.
+   *
+   * @see #scheduledService
+   */
+  private void onEvent(Event event) {
+    requireNonNull(event, "event is null");
+
+    lock.lock();
+    try {
+      log.atDebug()
+          .addKeyValue("thread", Thread::currentThread)
+          .addKeyValue("state", state)
+          .addKeyValue("event", event)
+          .log("Incoming server message");
+
+      state.onEvent(event);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Encode routine moves tasks from the encoding stage to the {@link #queue}
+   * in the order they were added, until it encounters {@link #END_ENCODING}
+   * or is otherwise interrupted. Tasks that failed to encode are skipped.
+   */
+  private final class Encode implements Runnable {
+
+    @Override
+    public void run() {
+      String threadName = Thread.currentThread().getName();
+      Thread.currentThread().setName("encoder");
+      try {
+        CompletableFuture<TaskHandle> next;
+        while ((next = encoding.take()) != END_ENCODING) {
+          TaskHandle task = next.get();
+          if (task != null) {
+            // The encoder cannot fail fast, as the caller
+            // has already returned; it applies backpressure
+            // through the encoding window instead.
+            long sizeBytes = task.data().sizeBytes();
+            acquireBudget(task, sizeBytes, false);
+            task.reserve(sizeBytes);
+            try {
+              queue.put(task);
+            } catch (InterruptedException e) {
+              task.reserve(0);
+              budget.release(sizeBytes);
+              throw e;
+            }
+          }
+          encodingWindow.release();
+          if (!pending.isEmpty()) {
+            drainPending();
+          }
+        }
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        throwInternal(e);
+      } finally {
+        Thread.currentThread().setName(threadName);
+      }
+    }
+  }
+
+  private final class Send implements Runnable {
+
+    @Override
+    public void run() {
+      String threadName = Thread.currentThread().getName();
+      Thread.currentThread().setName("sender");
+      try {
+        trySend();
+      } finally {
+        Thread.currentThread().setName(threadName);
+      }
+    }
+
+    /**
+     * trySend consumes {@link #queue} tasks and sends them in batches until it
+     * encounters a {@link TaskHandle#POISON} or is otherwise interrupted.
+     */
+    private void trySend() {
+      try {
+        awaitState(State::canPrepareNext, "can prepare next");
+
+        while (!Thread.currentThread().isInterrupted()) {
+          send(); // Only sends if the batch is full.
+
+          TaskHandle task = queue.poll();
+          if (task == null) {
+            flushIfRequested();
+            task = queue.take();
+          }
+          if (!pending.isEmpty() && encodingExecutor == null) {
+            drainPending();
+          }
+
+          if (task == TaskHandle.END_RESULTS) {
+            // This marker is only relevant when sent after POISON,
+            // as we process retried items in drainWip.
+            continue;
+          } else if (task == TaskHandle.FLUSH) {
+            continue;
+          } else if (task == TaskHandle.POISON) {
+            assert closed : "queue poisoned before the context is closed";
+
+            log.debug("Took poison");
+
+            drainWip();
+            assert wip.isEmpty() : "wip is not empty after drainWip";
+
+            closeStream();
+
+            // The SSB protocol requires the client to continue reading the stream
+            // until EOF. In the happy case, the server will close its half having
+            // processed all previous requests; the WIP buffer is empty in that case.
+            //
+            // It is possible that the server will be restarted or the stream will be
+            // hung up before client receives all Results, in which case we might need
+            // to re-submit the items remaining in the WIP buffer.
+            //
+            // N.B.: By its nature, drainWip ensures that we've received all results.
+            // Awaiting recv is a show of good faith and ensures correct shutdown sequence.
+            recv.get();
+
+            log.info("All tasks completed, no more data to send");
+            return;
+          }
+
+          batch.add(task.data());
+
+          // Retried tasks already exist in the WIP list, replacing them is redundant.
+          wip.putIfAbsent(task.id(), task);
+        }
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        throwInternal(e);
+      }
+    }
+
+    /**
+     * Send the current batch if another thread is waiting for the memory budget.
+     * Items in the batch hold on to the budget until the server reports results
+     * for them, so a partially filled batch could otherwise block that thread
+     * indefinitely.
+     *
+     * <p>
+     * Only call this once the queue is empty: the request is cleared here,
+     * so every task enqueued before it must already be in the batch.
+     *
+     * @see #requestFlush
+     */
+    private void flushIfRequested() throws InterruptedException {
+      if (flushRequested) {
+        flushRequested = false;
+        if (!batch.isEmpty()) {
+          flush();
+        }
+      }
+    }
+
+    /**
+     * Send the current portion of batch items. After this method returns, the batch
+     * is guaranteed to have space for at least one the next item (not full).
+     *
+     * <p>
+     * Calling this on a non-full batch is a no-op; the side-effect of the condition
+     * in the while-loop is that nothing is sent <i>unless</i> the batch is full.
+     */
+    private void send() throws InterruptedException {
+      // Continue flushing until we get the batch to not a "not full" state.
+      // This is to account for the backlog, which might re-fill the batch
+      // after .clear().
+      while (batch.isFull()) {
+        log.atInfo()
+            .addKeyValue("batch_size_items", batch::size)
+            .addKeyValue("batch_size_total_bytes", batch::sizeBytes)
+            .log("Send next batch");
+        flush();
+      }
+      assert !batch.isFull() : "batch is full after send";
+    }
+
+    /**
+     * Send all remainign items in the batch. Then continue processing any
+     * retried tasks until {@link #wip} is empty.
+     */
+    private void drainWip() throws InterruptedException {
+      drain();
+      assert batch.isEmpty() : "batch not empty after drain";
+
+      // At this point we are certain that the queue will only be populated
+      // by failed items from previous batches scheduled for retry. Unlike
+      // user-supplied items, these will arrive in batches, as the server
+      // returns results for the previously sent items, i.e. via Event.Results.
+      //
+      // A single Results message might not have enough failed items to fill up
+      // the entire batch. To avoid sending half-empty batches, we will continue
+      // accumulating items until the batch is full or the WIP list is empty.
+      while (!wip.isEmpty()) {
+        log.atTrace()
+            .addKeyValue("batch_size_total_items", batch::size)
+            .addKeyValue("wip_tasks", wip::size)
+            .log("Await Results");
+
+        TaskHandle task;
+        while ((task = queue.take()) != TaskHandle.END_RESULTS) {
+          if (task != TaskHandle.FLUSH) {
+            batch.add(task.data());
+          }
+        }
+
+        assert batch.size() <= wip.size() : "batch has more items than wip";
+
+        if (batch.size() == wip.size()) {
+          // This means the batch already contains all items in WIP,
+          // and no more tasks will be added to the queue until the
+          // current ones are sent.
+          drain();
+        } else {
+          // Only sends if the batch is full. If the batch is not full,
+          // then we can keep accumulating items from the failed tasks.
+          send();
+        }
+      }
+    }
+
+    /**
+     * Send all remaining items in the batch. After this method returns, the batch
+     * is guaranteed to be empty.
+     */
+    private void drain() throws InterruptedException {
+      log.atInfo()
+          .addKeyValue("batch_size_total_items", batch::size)
+          .addKeyValue("message_size_max_items", batch::maxSize)
+          .addKeyValue("message_size_max_bytes", batch::maxSizeBytes)
+          .log("Flush remaining items");
+
+      // To correctly drain the batch, we flush repeatedly
+      // until the batch becomes empty, as clearing a batch
+      // after an ACK might re-populate it from its internal backlog.
+      while (!batch.isEmpty()) {
+        flush();
+      }
+      assert batch.isEmpty() : "batch not empty after drain";
+    }
+
+    /**
+     * Block until the current state allows {@link State#canSendNext},
+     * then prepare the batch, send it, and set InFlight state.
+     * Block until the current state allows {@link State#canPrepareNext}.
+     *
+     * <br>
+     * Depending on the BatchStream lifecycle, the semantics of
+     * "await can prepare next" can be one of "message is ACK'ed"
+     * "the stream has started", or, more generally,
+     * "it is safe to take a next item from the queue and add it to the batch".
+     *
+     * @see Batch#prepare
+     * @see #IN_FLIGHT
+     */
+    private void flush() throws InterruptedException {
+      lock.lock();
+      try {
+        awaitState(State::canSendNext, "can send next");
+
+        // Send and transition to IN_FLIGHT MUST be done atomically.
+        //
+        // Without synchronization, there's a potential race
+        // where the server Acks the next batch _before_ IN_FLIGHT state
+        // is set, so when finally set it may block forever. This will most
+        // likely only manifest in tests, where batches are acked instantly,
+        // but it's good to have the extra safety layer.
+        log.atTrace()
+            .addKeyValue("message_size_max_items", batch::maxSize)
+            .addKeyValue("batch_size_total_bytes", batch::sizeBytes)
+            .log("Prepare and send next batch");
+        DataFrame frame = batch.prepare();
+        if (adaptiveBatchSize != null) {
+          adaptiveBatchSize.onSend(frame.size());
+        }
+        retryPolicy.onSend(frame.size());
+        metrics.onSend(frame.size(), frame.sizeBytes());
+        messages.onNext(frame);
+        setState(IN_FLIGHT);
+      } finally {
+        lock.unlock();
+      }
+
+      awaitState(State::canPrepareNext, "can prepare next");
+    }
+
+  }
+
+  private static final class Recv extends CompletableFuture<Void> implements StreamObserver<Event> {
+    private final BatchStream<?> context;
+
+    private Recv(BatchStream<?> context) {
+      this.context = context;
+    }
+
+    @Override
+    public void onNext(Event event) {
+      try {
+        if (event == Event.EOF) {
+          // Handle synthetic EOF which the Oom state can send to initiate a shutdown.
+          onCompleted();
+        } else {
+          context.onEvent(event);
+        }
+      } catch (Exception e) {
+        context.onEvent(new Event.ClientError(e));
+      }
+    }
+
+    /**
+     * EOF for the server-side stream.
+     * By the time this is called, the client-side of the stream had been closed
+     * and the "send" thread has either exited or is on its way there.
+     */
+    @Override
+    public void onCompleted() {
+      try {
+        context.onEvent(Event.EOF);
+      } finally {
+        complete(null);
+      }
+    }
+
+    /** An exception occurred either on our end or in the channel internals. */
+    @Override
+    public void onError(Throwable t) {
+      try {
+        context.onEvent(Event.StreamHangup.fromThrowable(t));
+      } finally {
+        complete(null);
+      }
+    }
+  }
+
+  private final State AWAIT_STARTED = new BaseState("AWAIT_STARTED", BaseState.Action.PREPARE_NEXT);
+  private final State ACTIVE = new BaseState("ACTIVE", BaseState.Action.PREPARE_NEXT, BaseState.Action.SEND_NEXT);
+  private final State IN_FLIGHT = new BaseState("IN_FLIGHT");
+
+  /** BaseState implements default handlers for all {@link Event} subclasses. */
+  private class BaseState implements State {
+    /** State's display name for logging. */
+    private final String name;
+    /** Actions permitted in this state. */
+    private final EnumSet<Action> permitted;
+
+    enum Action {
+      /**
+       * Thy system is allowed to accept new items from the user
+       * and populate the next batch.
+       */
+      PREPARE_NEXT,
+
+      /** The system is allowed to send the next batch once it's ready. */
+      SEND_NEXT;
+    }
+
+    /**
+     * @param name      Display name.
+     * @param permitted Actions permitted in this state.
+     */
+    protected BaseState(String name, Action... permitted) {
+      this.name = name;
+      this.permitted = requireNonNull(permitted, "actions is null").length == 0
+          ? EnumSet.noneOf(Action.class)
+          : EnumSet.copyOf(Arrays.asList(permitted));
+    }
+
+    @Override
+    public void onEnter(State prev) {
+    }
+
+    @Override
+    public boolean canSendNext() {
+      return permitted.contains(Action.SEND_NEXT);
+    }
+
+    @Override
+    public boolean canPrepareNext() {
+      return permitted.contains(Action.PREPARE_NEXT);
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      if (event == Event.STARTED) {
+        onStarted();
+      } else if (event instanceof Event.Acks acks) {
+        onAcks(acks);
+      } else if (event instanceof Event.Oom oom) {
+        onOom(oom);
+      } else if (event instanceof Event.Results results) {
+        onResults(results);
+      } else if (event instanceof Event.Backoff backoff) {
+        onBackoff(backoff);
+      } else if (event == Event.SHUTTING_DOWN) {
+        onShuttingDown();
+      } else if (event instanceof Event.StreamHangup || event == Event.EOF) {
+        onStreamClosed(event);
+      } else if (event instanceof Event.ClientError error) {
+        onClientError(error);
+      } else {
+        throw new AssertionError("unreachable with event " + event);
+      }
+    }
+
+    private void onStarted() {
+      setState(ACTIVE);
+    }
+
+    private void onAcks(Event.Acks acks) {
+      log.atInfo()
+          .addKeyValue("count_acks", acks.acked().size())
+          .addKeyValue("wip_tasks", wip::size)
+          .log("Received Acks");
+
+      metrics.onAck();
+
+      // The batch is still in-flight, so the new size
+      // will be applied once it's cleared.
+      if (adaptiveBatchSize != null) {
+        batch.setMaxSize(adaptiveBatchSize.onAck());
+      }
+      Collection<String> removed = batch.clear();
+      if (!acks.acked().containsAll(removed)) {
+        throwInternal(ProtocolViolationException.incompleteAcks(List.copyOf(removed)));
+      }
+      setState(ACTIVE);
+    }
+
+    private void onResults(Event.Results results) {
+      log.atInfo()
+          .addKeyValue("count_success", results.successful().size())
+          .addKeyValue("count_errors", results.errors().size())
+          .addKeyValue("wip_tasks", wip::size)
+          .log("Received Results");
+
+      // Scheduling items to be retried may block temporarily if the queue is not
+      // adequately sized. Offload the next step to a different thread to avoid
+      // blocking the internal gRPC thread on which this callback is running.
+      retryService.execute(() -> {
+        // Mark successfully completed tasks in the WIP list.
+        // The whenComplete hook added in .add() will remove them from WIP.
+        results.successful().stream()
+            .map(wip::get).filter(Objects::nonNull)
+            .forEach(TaskHandle::setSuccess);
+
+        // Report errors for failed tasks. Do NOT remove them from the WIP list.
+        results.errors().keySet().stream()
+            .map(wip::get).filter(Objects::nonNull)
+            .forEach(taskHandle -> taskHandle.setError(
+                new ServerException(results.errors().get(taskHandle.id()))));
+
+        try {
+          queue.put(TaskHandle.END_RESULTS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+
+    private void onBackoff(Event.Backoff backoff) {
+      log.atInfo()
+          .addKeyValue("prev_max_size", batch::maxSize)
+          .addKeyValue("next_max_size", backoff::maxSize)
+          .log("Received Backoff");
+
+      batch.setMaxSize(adaptiveBatchSize != null
+          ? adaptiveBatchSize.onBackoff(backoff.maxSize())
+          : backoff.maxSize());
+    }
+
+    private void onOom(Event.Oom oom) {
+      log.atInfo()
+          .addKeyValue("wip_tasks", wip::size)
+          .log("Server is out of memory");
+
+      if (adaptiveBatchSize != null) {
+        batch.setMaxSize(adaptiveBatchSize.onCongestion());
+      }
+      setState(new Oom(oom.delaySeconds()));
+    }
+
+    private void onShuttingDown() {
+      if (adaptiveBatchSize != null) {
+        batch.setMaxSize(adaptiveBatchSize.onCongestion());
+      }
+      setState(new ServerShuttingDown(this));
+    }
+
+    private void onStreamClosed(Event event) {
+      log.info("Server closed its half of the stream");
+
+      if (event instanceof Event.StreamHangup hangup) {
+        log.atWarn()
+            .addKeyValue("cause", hangup::exception)
+            .log("Stream hangup");
+      }
+
+      log.atDebug()
+          .addKeyValue("closed", closed)
+          .addKeyValue("wip_tasks", wip::size)
+          .log("Client will reconnect if any tasks are pending");
+
+      // The only time we should not try to reconnect is if the context
+      // is gracefully shutting down after a call to close() and the server
+      // has returned Results for all previous batches.
+      if (closed && wip.isEmpty()) {
+        log.info("All tasks completed, no more events are expected");
+        return;
+      }
+      setState(new Reconnecting(maxReconnectRetries));
+    }
+
+    private void onClientError(Event.ClientError error) {
+      log.atError()
+          .addKeyValue("cause", error::exception)
+          .log("Internal error, context will be terminated");
+
+      shutdownNow(error.exception());
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  /**
+   * Oom waits for {@link Event#SHUTTING_DOWN} up to a specified amount of time,
+   * after which it will force stream termination by imitating server shutdown.
+   */
+  private final class Oom extends BaseState {
+    private final long shutdownAfterSeconds;
+    private ScheduledFuture<?> shutdown;
+
+    private Oom(long shutdownAfterSeconds) {
+      super("OOM");
+      this.shutdownAfterSeconds = shutdownAfterSeconds;
+
+      log.atDebug()
+          .addKeyValue("grace_period", shutdownAfterSeconds)
+          .log("Server is out of memory");
+    }
+
+    @Override
+    public void onEnter(State prev) {
+      shutdown = scheduledService.schedule(this::initiateShutdown, shutdownAfterSeconds, TimeUnit.SECONDS);
+    }
+
+    /** Imitate server shutdown sequence. */
+    private void initiateShutdown() {
+      log.info("No update from the server after {}s, context will be forcibly restarted", shutdownAfterSeconds);
+
+      // We cannot route event handling via normal BatchStream#onEvent, because
+      // it delegates to the current state, which is Oom. If Oom#onEvent were to
+      // receive an Event.SHUTTING_DOWN, it would cancel this execution of this
+      // very sequence. Instead, we delegate to our parent BaseState which normally
+      // handles these events.
+      final Recv events = (Recv) recv;
+      if (!Thread.currentThread().isInterrupted()) {
+        events.onNext(Event.SHUTTING_DOWN);
+      }
+      if (!Thread.currentThread().isInterrupted()) {
+        events.onNext(Event.EOF);
+      }
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      if (event instanceof StreamHangup ||
+          event instanceof ClientError) {
+        shutdown.cancel(true);
+        try {
+          shutdown.get();
+        } catch (CancellationException ignored) {
+          log.atDebug().addKeyValue("thread", Thread::currentThread).log("Canceled");
+        } catch (InterruptedException ignored) {
+          // "recv" is running on a thread from gRPC's internal thread pool,
+          // so, while onEvent allows InterruptedException to stay responsive,
+          // in practice this thread will only be interrupted by the thread pool,
+          // which already knows it's being shut down.
+          log.atDebug().addKeyValue("thread", Thread::currentThread).log("Interrupted");
+        } catch (ExecutionException e) {
+          throwInternal(e);
+        }
+      }
+      super.onEvent(event);
+    }
+  }
+
+  /**
+   * ServerShuttingDown allows preparing the next batch
+   * unless the server's OOM'ed on the previous one.
+   * Once set, the state will shutdown {@link BatchStream#sendService}
+   * to instruct the "send" thread to close our part of the stream.
+   */
+  private final class ServerShuttingDown extends BaseState {
+    private final boolean canPrepareNext;
+
+    private ServerShuttingDown(State prev) {
+      super("SERVER_SHUTTING_DOWN");
+      this.canPrepareNext = prev == null || !Oom.class.isAssignableFrom(prev.getClass());
+
+      log.atDebug()
+          .addKeyValue("prev_state", prev)
+          .addKeyValue("can_prepare_next", canPrepareNext)
+          .log("Server is shutting down");
+    }
+
+    @Override
+    public boolean canPrepareNext() {
+      return canPrepareNext;
+    }
+
+    @Override
+    public boolean canSendNext() {
+      return false;
+    }
+
+    @Override
+    public void onEnter(State prev) {
+      closeStream();
+    }
+  }
+
+  /**
+   * Reconnecting state is entered either by the server finishing a shutdown
+   * and closing its end of the stream or an unexpected stream hangup.
+   *
+   * @see Recv#onCompleted graceful server shutdown
+   * @see Recv#onError stream hangup
+   */
+  private final class Reconnecting extends BaseState {
+    private final int maxRetries;
+    private int retries = 0;
+
+    private Reconnecting(int maxRetries) {
+      super("RECONNECTING", Action.PREPARE_NEXT);
+      this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public void onEnter(State prev) {
+      log.atInfo()
+          .addKeyValue("prev_state", prev)
+          .addKeyValue("max_retries", maxRetries)
+          .log("Trying to reconnect");
+
+      if (!ServerShuttingDown.class.isAssignableFrom(prev.getClass())) {
+        // This is NOT an orderly shutdown, we're reconnecting after a stream hangup.
+        // Assume all WIP items have been lost and re-submit everything.
+        // All items in the batch are contained in WIP, so it is safe to discard the
+        // batch entirely and re-populate from WIP.
+        while (!batch.isEmpty()) {
+          batch.clear();
+        }
+
+        // Unlike during normal operation, we will not stop when batch.isFull().
+        // Batch#add guarantees that data will not be discarded in the event of
+        // an overflow -- all extra items are placed into the backlog, which is
+        // unbounded.
+        wip.values().forEach(task -> batch.add(task.data()));
+      }
+
+      reconnectNow();
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      assert retries <= maxRetries : "maxRetries exceeded";
+
+      if (event == Event.STARTED) {
+        log.info("Reconnected after {} retries", retries);
+
+        setState(ACTIVE);
+      } else if (event instanceof Event.StreamHangup) {
+
+        if (retries == maxRetries) {
+          throwInternal(new IOException("Server unavailable"));
+          return;
+        }
+
+        long nextDelay = (long) Math.pow(2, retries);
+        log.atInfo()
+            .addKeyValue("max_retries", maxRetries)
+            .addKeyValue("remaining_retries", maxRetries - retries)
+            .log("Retry after {}s", nextDelay);
+
+        reconnectAfter(nextDelay);
+
+      } else if (event == Event.EOF) {
+        throwInternal(ProtocolViolationException.illegalStateTransition(this, event));
+      } else {
+        super.onEvent(event);
+      }
+
+      assert retries <= maxRetries : "maxRetries exceeded";
+    }
+
+    /** Reconnect with no delay. */
+    private void reconnectNow() {
+      reconnectAfter(0);
+    }
+
+    /**
+     * Schedule a task to {@link #reconnect} after a delay.
+     *
+     * <p>
+     * The task is scheduled on {@link #scheduledService} even if
+     * {@code delaySeconds == 0} to avoid blocking gRPC worker
+     * thread,
+     * where the {@link BatchStream#onEvent} callback runs.
+     *
+     * @param delaySeconds Delay in seconds.
+     */
+    private void reconnectAfter(long delaySeconds) {
+      retries++;
+
+      scheduledService.schedule(() -> {
+        try {
+          reconnect();
+        } catch (InterruptedException e) {
+          log.atDebug().addKeyValue("thread", Thread::currentThread).log("Interrupted");
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          throwInternal(e);
+        }
+      }, delaySeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  // --------------------------------------------------------------------------
+
+  /** Scheduled thread pool for regular reconnects. */
+  private final ScheduledExecutorService scheduledReconnectService;
+
+  void scheduleReconnect(int reconnectIntervalSeconds) {
+    log.atDebug()
+        .addKeyValue("interval_seconds", reconnectIntervalSeconds)
+        .log("Scheduled regular context reconnects");
+
+    scheduledReconnectService.scheduleWithFixedDelay(() -> {
+      log.debug("Imitating server shutdown");
+
+      final Recv events = (Recv) recv;
+
+      if (!Thread.currentThread().isInterrupted()) {
+        log.trace("Send synthetic SHUTTING_DOWN");
+        events.onNext(Event.SHUTTING_DOWN);
+      }
+
+      if (!Thread.currentThread().isInterrupted()) {
+        log.trace("Send synthetic EOF");
+        events.onNext(Event.EOF);
+      }
+
+      // We want to count down from the moment we re-opened the stream,
+      // not from the moment we initialized the sequence.
+      try {
+        awaitState(ACTIVE::equals, "ACTIVE");
+      } catch (InterruptedException ignored) {
+        // Let the process exit normally.
+        log.atDebug().addKeyValue("thread", Thread::currentThread).log("Interrupted");
+      }
+    }, reconnectIntervalSeconds, reconnectIntervalSeconds, TimeUnit.SECONDS);
+  }
+
+}
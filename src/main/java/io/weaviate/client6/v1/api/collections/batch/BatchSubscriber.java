@@ -0,0 +1,152 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+
+/**
+ * BatchSubscriber adds objects from a {@link Flow.Publisher} to a
+ * {@link BatchContext}. The items are either the objects themselves,
+ * see {@link BatchContext#subscriber()}, or carry an object and its tenant,
+ * see {@link BatchContext#subscriber(java.util.function.Function, java.util.function.Function)}.
+ *
+ * <p>
+ * Demand is driven by the context: the subscriber keeps at most
+ * {@link BatchContext#demand} objects requested but not yet on the queue.
+ * As the server acknowledges batches and the queue frees up, the subscriber
+ * requests more objects. If the server sends a Backoff, the demand shrinks
+ * accordingly.
+ *
+ * <p>
+ * The subscriber does not close the context. Use {@link #completion} to
+ * await all objects to be added, then close the context as usual to
+ * flush the remaining batches and await the results.
+ *
+ * <pre>{@code
+ * try (var context = things.batch.start()) {
+ *   var subscriber = context.subscriber();
+ *   publisher.subscribe(subscriber);
+ *   subscriber.completion().join();
+ * }
+ * }</pre>
+ *
+ * @param <T> the type of items received from the publisher.
+ */
+@ThreadSafe
+public final class BatchSubscriber<T> implements Flow.Subscriber<T> {
+  private final BatchContext<?> context;
+  /** Adds the item's object to the {@link #context}. */
+  private final Function<T, CompletableFuture<TaskHandle>> add;
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+  private volatile Flow.Subscription subscription;
+
+  /** Objects requested from the publisher which are not on the queue yet. */
+  private final AtomicLong inFlight = new AtomicLong();
+
+  /** Objects received from the publisher which are not on the queue yet. */
+  private final AtomicLong incomplete = new AtomicLong();
+
+  /** Serializes {@link #requestMore} without blocking. */
+  private final AtomicInteger requesting = new AtomicInteger();
+
+  private volatile boolean upstreamCompleted;
+
+  BatchSubscriber(BatchContext<?> context, Function<T, CompletableFuture<TaskHandle>> add) {
+    this.context = requireNonNull(context, "context is null");
+    this.add = requireNonNull(add, "add is null");
+  }
+
+  /**
+   * Completes when the publisher has completed and every received object
+   * has been added to the context. Completes exceptionally if the publisher
+   * signals an error or an object could not be added to the context.
+   *
+   * <p>
+   * Objects that have been added may still be waiting to be sent.
+   * Close the context to flush them.
+   */
+  public CompletableFuture<Void> completion() {
+    return completion;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    requireNonNull(subscription, "subscription is null");
+    if (this.subscription != null) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    requestMore();
+  }
+
+  @Override
+  public void onNext(T item) {
+    requireNonNull(item, "item is null");
+    incomplete.incrementAndGet();
+    CompletableFuture<TaskHandle> added;
+    try {
+      added = add.apply(item);
+    } catch (RuntimeException e) {
+      added = CompletableFuture.failedFuture(e);
+    }
+    added.whenComplete((__, t) -> {
+      inFlight.decrementAndGet();
+      if (t != null) {
+        subscription.cancel();
+        completion.completeExceptionally(t);
+        return;
+      }
+      incomplete.decrementAndGet();
+      tryComplete();
+      requestMore();
+    });
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    completion.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    upstreamCompleted = true;
+    tryComplete();
+  }
+
+  private void tryComplete() {
+    if (upstreamCompleted && incomplete.get() == 0) {
+      completion.complete(null);
+    }
+  }
+
+  /**
+   * Request as many objects as necessary to bring {@link #inFlight}
+   * up to the context's current demand. Re-entrant calls, e.g. from
+   * a publisher which delivers items synchronously from
+   * {@link Flow.Subscription#request}, are collapsed into a loop.
+   */
+  private void requestMore() {
+    if (requesting.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      if (completion.isDone()) {
+        return;
+      }
+      long n = context.demand() - inFlight.get();
+      if (n > 0) {
+        inFlight.addAndGet(n);
+        subscription.request(n);
+      }
+    } while (requesting.decrementAndGet() != 0);
+  }
+}
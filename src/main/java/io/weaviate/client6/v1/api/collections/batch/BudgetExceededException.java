@@ -0,0 +1,18 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import io.weaviate.client6.v1.api.WeaviateException;
+
+/**
+ * BudgetExceededException is thrown when a task cannot be added to the
+ * batch without exceeding its memory budget, and the context is configured
+ * to fail fast rather than block.
+ *
+ * @see BatchContext.Builder#maxBufferedBytes
+ * @see BatchContext.Builder#failFast
+ */
+public class BudgetExceededException extends WeaviateException {
+  BudgetExceededException(TaskHandle task, long usedBytes, long maxBytes) {
+    super("%s cannot be added to the batch: %dB of %dB memory budget in use".formatted(
+        task, usedBytes, maxBytes));
+  }
+}
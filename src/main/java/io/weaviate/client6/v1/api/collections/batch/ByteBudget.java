@@ -0,0 +1,140 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * ByteBudget limits the total size of tasks buffered by a {@link BatchContext},
+ * i.e. tasks in the queue, in the batch, and in the WIP map. Bytes are acquired
+ * when a task is put on the queue and released once the task is done.
+ *
+ * <p>
+ * A single task larger than the {@link #limit} can still be acquired
+ * if nothing else is buffered, as otherwise it would never be admitted.
+ */
+@ThreadSafe
+final class ByteBudget {
+  /** Budget which only tracks usage and never blocks. */
+  static ByteBudget unlimited() {
+    return new ByteBudget(Long.MAX_VALUE);
+  }
+
+  private final long limit;
+
+  @GuardedBy("lock")
+  private long used;
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+
+  /**
+   * Callbacks to run after the bytes are released. Unlike threads blocked
+   * in {@link #acquire}, callers of {@link #tryAcquire} are not notified
+   * of the released bytes otherwise.
+   */
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+  /** Callbacks to run when a caller finds the budget exhausted. */
+  private final List<Runnable> exhaustedListeners = new CopyOnWriteArrayList<>();
+
+  ByteBudget(long limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive, got " + limit);
+    }
+    this.limit = limit;
+  }
+
+  /** Maximum number of bytes which can be acquired. */
+  long limit() {
+    return limit;
+  }
+
+  /** Number of bytes currently acquired. */
+  long used() {
+    lock.lock();
+    try {
+      return used;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Block until {@code bytes} can be acquired. */
+  void acquire(long bytes) throws InterruptedException {
+    lock.lock();
+    try {
+      while (!fits(bytes)) {
+        released.await();
+      }
+      used += bytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Acquire {@code bytes} if it can be done without blocking. */
+  boolean tryAcquire(long bytes) {
+    lock.lock();
+    try {
+      if (!fits(bytes)) {
+        return false;
+      }
+      used += bytes;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Check if {@link #tryAcquire} is likely to succeed. */
+  boolean canAcquire(long bytes) {
+    lock.lock();
+    try {
+      return fits(bytes);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Release previously acquired bytes and notify the listeners. */
+  void release(long bytes) {
+    lock.lock();
+    try {
+      assert used >= bytes : "released more bytes than acquired";
+      used -= bytes;
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    listeners.forEach(Runnable::run);
+  }
+
+  /** Run the callback every time some bytes are released. */
+  void onRelease(Runnable listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Notify the listeners that a caller is waiting for the budget, so that
+   * the holders can release it sooner.
+   */
+  void exhausted() {
+    exhaustedListeners.forEach(Runnable::run);
+  }
+
+  /** Run the callback every time a caller finds the budget exhausted. */
+  void onExhausted(Runnable listener) {
+    exhaustedListeners.add(listener);
+  }
+
+  @GuardedBy("lock")
+  private boolean fits(long bytes) {
+    return used == 0 || used + bytes <= limit;
+  }
+}
@@ -2,10 +2,17 @@ package io.weaviate.client6.v1.api.collections.batch;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import javax.annotation.concurrent.Immutable;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.GeneratedMessage;
 import com.google.protobuf.GeneratedMessageV3;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 
 import io.weaviate.client6.v1.api.collections.WeaviateObject;
 import io.weaviate.client6.v1.api.collections.data.ObjectReference;
@@ -30,13 +37,19 @@ class Data implements Message {
   private final String id;
 
   /**
-   * Serialized representation of the {@link #raw}. This valus is immutable
-   * for the entire lifecycle of the handle.
+   * Serialized representation of the {@link #raw}, framed as an element of
+   * the {@code values} field in {@link WeaviateProtoBatch.BatchStreamRequest.Data.Objects}
+   * or {@link WeaviateProtoBatch.BatchStreamRequest.Data.References}, i.e. with
+   * the field's tag and length. This value is computed once and is immutable
+   * for the entire lifecycle of the handle, so re-sending the data never
+   * re-encodes it.
+   *
+   * @see DataFrame
    */
-  private final GeneratedMessage.ExtendableMessage<GeneratedMessageV3> message;
+  private final ByteString encoded;
 
-  /** Estimated size of the {@link #message} when serialized. */
-  private final int sizeBytes;
+  /** Whether {@link #encoded} is an object or a reference. */
+  private final Type type;
 
   enum Type {
     OBJECT(WeaviateProtoBatch.BatchStreamRequest.Data.OBJECTS_FIELD_NUMBER),
@@ -53,37 +66,67 @@ class Data implements Message {
     }
   }
 
-  private Data(Object raw, String id, GeneratedMessage.ExtendableMessage<GeneratedMessageV3> message, int sizeBytes) {
+  Data(Object raw, String id, GeneratedMessage.ExtendableMessage<GeneratedMessageV3> message,
+      Type type) {
+    this(raw, id, encode(message, type), type);
+  }
+
+  /** Constructor for data which has already been encoded, see {@link #encoded}. */
+  Data(Object raw, String id, ByteString encoded, Type type) {
     this.raw = requireNonNull(raw, "raw is null");
     this.id = requireNonNull(id, "id is null");
-    this.message = requireNonNull(message, "message is null");
-
-    assert sizeBytes >= 0;
-    this.sizeBytes = sizeBytes;
+    this.encoded = requireNonNull(encoded, "encoded is null");
+    this.type = requireNonNull(type, "type is null");
   }
 
-  Data(Object raw, String id, GeneratedMessage.ExtendableMessage<GeneratedMessageV3> message,
-      Type type) {
-    this(raw, id, message, MessageSizeUtil.ofDataField(message, type));
+  private static ByteString encode(GeneratedMessage.ExtendableMessage<GeneratedMessageV3> message, Type type) {
+    requireNonNull(message, "message is null");
+    byte[] bytes = new byte[MessageSizeUtil.ofDataField(message, type)];
+    CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+    try {
+      out.writeMessage(VALUES_FIELD_NUMBER, message);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // Writing to an array does not throw.
+    }
+    out.checkNoSpaceLeft();
+    return UnsafeByteOperations.unsafeWrap(bytes);
   }
 
+  /**
+   * Field number of the repeated {@code values} field, which
+   * is the same for both objects and references.
+   */
+  private static final int VALUES_FIELD_NUMBER = WeaviateProtoBatch.BatchStreamRequest.Data.Objects.VALUES_FIELD_NUMBER;
+
   String id() {
     return id;
   }
 
   /** Serialized data size in bytes. */
   int sizeBytes() {
-    return sizeBytes;
+    return encoded.size();
+  }
+
+  /** Serialized data, see {@link #encoded}. */
+  ByteString encoded() {
+    return encoded;
+  }
+
+  Type type() {
+    return type;
   }
 
   @Override
   public void appendTo(WeaviateProtoBatch.BatchStreamRequest.Builder builder) {
     WeaviateProtoBatch.BatchStreamRequest.Data.Builder data = requireNonNull(builder, "builder is null")
         .getDataBuilder();
-    if (message instanceof WeaviateProtoBatch.BatchObject object) {
-      data.getObjectsBuilder().addValues(object);
-    } else if (message instanceof WeaviateProtoBatch.BatchReference ref) {
-      data.getReferencesBuilder().addValues(ref);
+    try {
+      switch (type) {
+        case OBJECT -> data.getObjectsBuilder().mergeFrom(encoded);
+        case REFERENCE -> data.getReferencesBuilder().mergeFrom(encoded);
+      }
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException("invalid encoded data for " + id, e);
     }
   }
 
@@ -0,0 +1,101 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
+
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+
+/**
+ * DataFrame is a {@link WeaviateProtoBatch.BatchStreamRequest} with
+ * a Data message, framed from the {@link Data#encoded} items.
+ *
+ * <p>
+ * Each item is already serialized as an element of a repeated field,
+ * so the request is a concatenation of the items, prefixed with the tags
+ * and the lengths of the enclosing messages:
+ *
+ * <pre>
+ * BatchStreamRequest.data
+ *   Data.objects    [item, item, ...]
+ *   Data.references [item, item, ...]
+ * </pre>
+ *
+ * The concatenation does not copy the items, see {@link ByteString#copyFrom(Iterable)}.
+ */
+@Immutable
+final class DataFrame implements Message {
+  private final List<Data> items;
+
+  DataFrame(Collection<Data> items) {
+    this.items = List.copyOf(requireNonNull(items, "items is null"));
+  }
+
+  /** Number of items in the frame. */
+  int size() {
+    return items.size();
+  }
+
+  /** Total serialized size of the items, excluding the framing. */
+  long sizeBytes() {
+    long total = 0;
+    for (Data data : items) {
+      total += data.sizeBytes();
+    }
+    return total;
+  }
+
+  @Override
+  public void appendTo(WeaviateProtoBatch.BatchStreamRequest.Builder builder) {
+    requireNonNull(builder, "builder is null").getDataBuilder();
+    items.forEach(data -> data.appendTo(builder));
+  }
+
+  @Override
+  public ByteString toByteString() {
+    List<ByteString> objects = new ArrayList<>(items.size());
+    List<ByteString> references = new ArrayList<>();
+    for (Data data : items) {
+      (data.type() == Data.Type.OBJECT ? objects : references).add(data.encoded());
+    }
+
+    ByteString data = field(Data.Type.OBJECT.fieldNumber(), objects)
+        .concat(field(Data.Type.REFERENCE.fieldNumber(), references));
+    return tag(WeaviateProtoBatch.BatchStreamRequest.DATA_FIELD_NUMBER, data.size()).concat(data);
+  }
+
+  /** Frame the values as an embedded message field. Empty fields are omitted. */
+  private static ByteString field(int fieldNumber, List<ByteString> values) {
+    if (values.isEmpty()) {
+      return ByteString.EMPTY;
+    }
+    ByteString value = ByteString.copyFrom(values);
+    return tag(fieldNumber, value.size()).concat(value);
+  }
+
+  /** Encode the tag and the length of an embedded message field. */
+  private static ByteString tag(int fieldNumber, int length) {
+    byte[] bytes = new byte[CodedOutputStream.computeTagSize(fieldNumber)
+        + CodedOutputStream.computeUInt32SizeNoTag(length)];
+    CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+    try {
+      out.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+      out.writeUInt32NoTag(length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // Writing to an array does not throw.
+    }
+    out.checkNoSpaceLeft();
+    return UnsafeByteOperations.unsafeWrap(bytes);
+  }
+}
@@ -77,7 +77,7 @@ sealed interface Event
    * all messages it produces, including the one being prepared,
    * do not exceed the size limit indicated by {@link #maxSize}
    * until the server sends another Backoff message. The limit
-   * MUST also be respected after a {@link BatchContext#reconnect}.
+   * MUST also be respected after a {@link BatchStream#reconnect}.
    *
    * <p>
    * The client MAY use the latest {@link #maxSize} as the default
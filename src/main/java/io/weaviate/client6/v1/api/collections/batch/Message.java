@@ -4,6 +4,8 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Optional;
 
+import com.google.protobuf.ByteString;
+
 import io.weaviate.client6.v1.api.collections.query.ConsistencyLevel;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
 
@@ -11,6 +13,17 @@ import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
 interface Message {
   void appendTo(WeaviateProtoBatch.BatchStreamRequest.Builder builder);
 
+  /**
+   * Serialize the message as a {@link WeaviateProtoBatch.BatchStreamRequest}.
+   * Messages which keep their contents pre-encoded SHOULD override this method
+   * to avoid building the request.
+   */
+  default ByteString toByteString() {
+    WeaviateProtoBatch.BatchStreamRequest.Builder builder = WeaviateProtoBatch.BatchStreamRequest.newBuilder();
+    appendTo(builder);
+    return builder.build().toByteString();
+  }
+
   /** Create a Start message. */
   static Message start(Optional<ConsistencyLevel> consistencyLevel) {
     requireNonNull(consistencyLevel, "consistencyLevel is null");
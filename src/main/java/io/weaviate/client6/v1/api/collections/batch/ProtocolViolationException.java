@@ -24,7 +24,7 @@ public class ProtocolViolationException extends WeaviateException {
    * Protocol violated because an event arrived while the client is in a state
    * which doesn't expect to handle this event.
    *
-   * @param current Current {@link BatchContext} state.
+   * @param current Current {@link BatchStream} state.
    * @param event   Server-side event.
    * @return ProtocolViolationException with a formatted message.
    */
@@ -5,25 +5,48 @@ import static java.util.Objects.requireNonNull;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
+import javax.annotation.concurrent.GuardedBy;
+
 abstract class RetriableTask {
   private final String id;
+  private final RetryPolicy retryPolicy;
+  private final Consumer<String> onRetry;
+
+  /** Completes when the task is done. {@code null} if the task is detached. */
   private final CompletableFuture<Void> root;
 
-  private volatile CompletableFuture<Void> current = new CompletableFuture<>();
+  private volatile CompletableFuture<Void> current;
   private volatile int retries = 0;
 
+  /** Set once a detached task is done. */
+  @GuardedBy("this")
+  private boolean completed;
+
   protected RetriableTask(String id, RetryPolicy retryPolicy, Consumer<String> onRetry) {
+    this(id, retryPolicy, onRetry, false);
+  }
+
+  /**
+   * @param detached If true, the task does not allocate any futures to track
+   *                 its completion; {@link #onDone} is called instead
+   *                 and {@link #done} cannot be used.
+   */
+  protected RetriableTask(String id, RetryPolicy retryPolicy, Consumer<String> onRetry, boolean detached) {
     this.id = requireNonNull(id, "id is null");
-    this.root = retry(current, retryPolicy, onRetry);
+    this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy is null");
+    this.onRetry = requireNonNull(onRetry, "onRetry is null");
+
+    if (detached) {
+      this.current = null;
+      this.root = null;
+    } else {
+      this.current = new CompletableFuture<>();
+      this.root = retry(current);
+    }
   }
 
-  private final CompletableFuture<Void> retry(
-      CompletableFuture<Void> f,
-      RetryPolicy retryPolicy,
-      Consumer<String> onRetry) {
+  private final CompletableFuture<Void> retry(CompletableFuture<Void> f) {
     requireNonNull(f, "f is null");
-    requireNonNull(retryPolicy, "retryPolicy is null");
-    requireNonNull(onRetry, "onRetry is null");
 
     return f.exceptionallyCompose(t -> {
       if (!retryPolicy.canRetry(this, t)) {
@@ -32,7 +55,7 @@ abstract class RetriableTask {
       retries++;
       current = new CompletableFuture<>();
       onRetry.accept(id);
-      return retry(current, retryPolicy, onRetry);
+      return retry(current);
     });
   }
 
@@ -51,6 +74,9 @@ abstract class RetriableTask {
    * {@link #setError} afterwards will have no effect.
    */
   public final boolean setSuccess() {
+    if (isDetached()) {
+      return complete(null);
+    }
     return current.complete(null);
   }
 
@@ -64,7 +90,65 @@ abstract class RetriableTask {
    *          status for the task; prefer {@link #setSuccess} in that case.
    */
   public final boolean setError(Throwable t) {
-    return current.completeExceptionally(t);
+    if (!isDetached()) {
+      return current.completeExceptionally(t);
+    }
+
+    boolean retry;
+    synchronized (this) {
+      if (completed) {
+        return false;
+      }
+      retry = retryPolicy.canRetry(this, t);
+      if (retry) {
+        retries++;
+      } else {
+        completed = true;
+      }
+    }
+    if (retry) {
+      onRetry.accept(id);
+    } else {
+      onDone(t);
+    }
+    return true;
+  }
+
+  /**
+   * Fail the task without consulting its retry policy.
+   * Use this for tasks which could not be sent to the server at all.
+   */
+  final boolean abort(Throwable t) {
+    if (isDetached()) {
+      return complete(t);
+    }
+    return root.completeExceptionally(t);
+  }
+
+  /** Complete a detached task. */
+  private boolean complete(Throwable t) {
+    synchronized (this) {
+      if (completed) {
+        return false;
+      }
+      completed = true;
+    }
+    onDone(t);
+    return true;
+  }
+
+  /**
+   * Called once a detached task is done: the server has reported success,
+   * its {@link RetryPolicy} no longer permits retrying it, or it's been aborted.
+   *
+   * @param t Cause of the failure or {@code null} if the task succeeded.
+   */
+  protected void onDone(Throwable t) {
+  }
+
+  /** Returns true if the task does not track its completion with {@link #done}. */
+  final boolean isDetached() {
+    return root == null;
   }
 
   /**
@@ -73,8 +157,12 @@ abstract class RetriableTask {
    * @return A future which completes when the server reports success
    *         for this tasks or the applied {@link RetryPolicy}
    *         no longer permits retrying the task.
+   * @throws IllegalStateException if the task is detached.
    */
   public final CompletableFuture<Void> done() {
+    if (isDetached()) {
+      throw new IllegalStateException("task " + id + " is detached");
+    }
     return root;
   }
 }
@@ -0,0 +1,128 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * RetryBudget limits retries to a fraction of the items sent within a time
+ * window, so that a burst of transient errors does not turn into a retry
+ * storm.
+ *
+ * <p>
+ * The counts of the previous window are carried over, weighted by how much
+ * of it still overlaps with a sliding window ending now, so the budget does
+ * not drop to zero at the start of each window. A reserve of
+ * {@code minRetries} per window is permitted on top of the ratio, so that
+ * a client which sends few items can still retry some of them.
+ */
+@ThreadSafe
+final class RetryBudget {
+  private final double ratio;
+  private final int minRetries;
+  private final long windowNanos;
+  private final LongSupplier nanoTime;
+
+  @GuardedBy("this")
+  private long windowStart;
+
+  /** Items sent in the current window. */
+  @GuardedBy("this")
+  private long sent;
+
+  /** Retries permitted in the current window. */
+  @GuardedBy("this")
+  private long retries;
+
+  /** Items sent in the previous window. */
+  @GuardedBy("this")
+  private long prevSent;
+
+  /** Retries permitted in the previous window. */
+  @GuardedBy("this")
+  private long prevRetries;
+
+  /** Retries denied since the budget was created. */
+  @GuardedBy("this")
+  private long exhausted;
+
+  RetryBudget(double ratio, int minRetries, Duration window) {
+    this(ratio, minRetries, window, System::nanoTime);
+  }
+
+  RetryBudget(double ratio, int minRetries, Duration window, LongSupplier nanoTime) {
+    if (ratio < 0 || ratio > 1) {
+      throw new IllegalArgumentException("ratio must be between 0 and 1, got " + ratio);
+    }
+    if (minRetries < 0) {
+      throw new IllegalArgumentException("minRetries must not be negative, got " + minRetries);
+    }
+    requireNonNull(window, "window is null");
+    if (window.isZero() || window.isNegative()) {
+      throw new IllegalArgumentException("window must be positive, got " + window);
+    }
+    this.ratio = ratio;
+    this.minRetries = minRetries;
+    this.windowNanos = window.toNanos();
+    this.nanoTime = requireNonNull(nanoTime, "nanoTime is null");
+    this.windowStart = nanoTime.getAsLong();
+  }
+
+  /** Record the number of items sent to the server, including retries. */
+  synchronized void onSend(int items) {
+    roll(nanoTime.getAsLong());
+    sent += items;
+  }
+
+  /**
+   * Withdraw one retry from the budget.
+   *
+   * @return true if the retry is within budget.
+   */
+  synchronized boolean tryRetry() {
+    long now = nanoTime.getAsLong();
+    roll(now);
+
+    // Share of the previous window which overlaps with the sliding one.
+    double overlap = 1 - (double) (now - windowStart) / windowNanos;
+    double sent = this.sent + prevSent * overlap;
+    double retries = this.retries + prevRetries * overlap;
+    if (retries + 1 > minRetries + sent * ratio) {
+      exhausted++;
+      return false;
+    }
+    this.retries++;
+    return true;
+  }
+
+  /** Number of retries denied because the budget was exhausted. */
+  synchronized long exhausted() {
+    return exhausted;
+  }
+
+  /** Start a new window if the current one has elapsed. */
+  @GuardedBy("this")
+  private void roll(long now) {
+    long elapsed = now - windowStart;
+    if (elapsed < windowNanos) {
+      return;
+    }
+    if (elapsed < 2 * windowNanos) {
+      // The current window becomes the previous one.
+      windowStart += windowNanos;
+      prevSent = sent;
+      prevRetries = retries;
+    } else {
+      // Nothing has happened for more than a window.
+      windowStart = now;
+      prevSent = 0;
+      prevRetries = 0;
+    }
+    sent = 0;
+    retries = 0;
+  }
+}
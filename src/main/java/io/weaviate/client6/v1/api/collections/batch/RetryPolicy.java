@@ -2,15 +2,53 @@ package io.weaviate.client6.v1.api.collections.batch;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
+import io.weaviate.client6.v1.internal.ObjectBuilder;
+
+/**
+ * RetryPolicy decides whether a failed task can be retried and how long
+ * to wait before retrying it.
+ *
+ * <p>
+ * By default, tasks are retried immediately. Use {@link Builder#backoff}
+ * to delay retries exponentially and {@link Builder#budget} to cap the share
+ * of retries among the sent items. The policy is immutable and can be shared
+ * between contexts; each context keeps its own retry budget.
+ *
+ * <pre>{@code
+ * RetryPolicy.of(3, retry -> retry
+ *     .backoff(Duration.ofMillis(100), Duration.ofSeconds(5))
+ *     .budget(0.1, 10, Duration.ofSeconds(10)));
+ * }</pre>
+ */
 public class RetryPolicy {
   /** Create a retry policy that never permits retrying a task. */
   static RetryPolicy never() {
     return new RetryPolicy(__ -> false);
   }
 
+  /** Create a retry policy that retries up to a certain number of times. */
+  public static RetryPolicy of(int maxRetries, Function<Builder, ObjectBuilder<RetryPolicy>> fn) {
+    return fn.apply(new Builder(maxRetries)).build();
+  }
+
+  /** Create a retry policy with a custom predicate. */
+  public static RetryPolicy of(Predicate<RetriableTask> retry, Function<Builder, ObjectBuilder<RetryPolicy>> fn) {
+    return fn.apply(new Builder(retry)).build();
+  }
+
   private final Predicate<RetriableTask> retry;
+  private final Duration initialDelay;
+  private final Duration maxDelay;
+
+  private final double budgetRatio;
+  private final int budgetMinRetries;
+  /** Window of the retry budget, {@code null} if retries are not budgeted. */
+  private final Duration budgetWindow;
 
   /**
    * Construct a simple RetryPolicy that retries up to a certain number of times.
@@ -18,7 +56,7 @@ public class RetryPolicy {
    * @param maxRetries Maximum number of retries.
    */
   public RetryPolicy(int maxRetries) {
-    this(task -> task.timesRetried() < maxRetries);
+    this(new Builder(maxRetries));
   }
 
   /**
@@ -27,7 +65,87 @@ public class RetryPolicy {
    * @param retry Predicate that returns true if the task should be retried.
    */
   public RetryPolicy(Predicate<RetriableTask> retry) {
-    this.retry = requireNonNull(retry, "retry is null");
+    this(new Builder(retry));
+  }
+
+  /**
+   * @throws IllegalArgumentException if either delay is negative,
+   *                                  maxDelay is less than initialDelay,
+   *                                  or the budget is invalid.
+   */
+  public RetryPolicy(Builder builder) {
+    this.retry = requireNonNull(builder.retry, "retry is null");
+    this.initialDelay = requireNonNull(builder.initialDelay, "initialDelay is null");
+    this.maxDelay = requireNonNull(builder.maxDelay, "maxDelay is null");
+    if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) {
+      throw new IllegalArgumentException(
+          "expected 0 <= initialDelay <= maxDelay, got %s and %s".formatted(initialDelay, maxDelay));
+    }
+
+    this.budgetRatio = builder.budgetRatio;
+    this.budgetMinRetries = builder.budgetMinRetries;
+    this.budgetWindow = builder.budgetWindow;
+    if (budgetWindow != null) {
+      if (budgetRatio < 0 || budgetRatio > 1) {
+        throw new IllegalArgumentException("budget ratio must be between 0 and 1, got " + budgetRatio);
+      }
+      if (budgetMinRetries < 0) {
+        throw new IllegalArgumentException("budget minRetries must not be negative, got " + budgetMinRetries);
+      }
+      if (budgetWindow.isZero() || budgetWindow.isNegative()) {
+        throw new IllegalArgumentException("budget window must be positive, got " + budgetWindow);
+      }
+    }
+  }
+
+  public static class Builder implements ObjectBuilder<RetryPolicy> {
+    private final Predicate<RetriableTask> retry;
+    private Duration initialDelay = Duration.ZERO;
+    private Duration maxDelay = Duration.ZERO;
+    private double budgetRatio;
+    private int budgetMinRetries;
+    private Duration budgetWindow;
+
+    /** Retry a task up to {@code maxRetries} times. */
+    public Builder(int maxRetries) {
+      this(task -> task.timesRetried() < maxRetries);
+    }
+
+    /** Retry a task while the predicate returns true. */
+    public Builder(Predicate<RetriableTask> retry) {
+      this.retry = requireNonNull(retry, "retry is null");
+    }
+
+    /**
+     * Delay retries using exponential backoff with full jitter: the n-th retry
+     * is delayed by a random duration between 0 and
+     * {@code min(maxDelay, initialDelay * 2^(n-1))}.
+     */
+    public Builder backoff(Duration initialDelay, Duration maxDelay) {
+      this.initialDelay = initialDelay;
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * Permit at most {@code ratio} retries per item sent within a sliding
+     * window, plus {@code minRetries} per window, e.g.
+     * {@code budget(0.1, 10, Duration.ofSeconds(10))} lets up to 10% of the
+     * items sent in 10 seconds be retries, and at least 10 retries
+     * in 10 seconds. Tasks which would exceed the budget fail instead
+     * of being retried.
+     */
+    public Builder budget(double ratio, int minRetries, Duration window) {
+      this.budgetRatio = ratio;
+      this.budgetMinRetries = minRetries;
+      this.budgetWindow = window;
+      return this;
+    }
+
+    @Override
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
   }
 
   /**
@@ -40,4 +158,79 @@ public class RetryPolicy {
   boolean canRetry(RetriableTask task, Throwable t) {
     return canRetryThrowable(t) && retry.test(task);
   }
+
+  /**
+   * Delay before the next retry of the task, in nanoseconds.
+   * Call this after {@link RetriableTask#timesRetried} has been incremented.
+   */
+  long delayNanos(RetriableTask task) {
+    long initial = initialDelay.toNanos();
+    if (initial == 0) {
+      return 0;
+    }
+    int attempt = Math.max(0, task.timesRetried() - 1);
+    long max = maxDelay.toNanos();
+    long cap = attempt >= Long.numberOfLeadingZeros(initial) - 1
+        ? max
+        : Math.min(max, initial << attempt);
+    return ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+
+  /** Record the number of items sent to the server. */
+  void onSend(int items) {
+  }
+
+  /** Number of retries denied because the {@link Builder#budget} was exhausted. */
+  long budgetExhausted() {
+    return 0;
+  }
+
+  /**
+   * Create the policy for a single context. If retries are budgeted,
+   * the returned policy keeps its own {@link RetryBudget}, so that contexts
+   * sharing this policy do not draw from the same budget.
+   */
+  RetryPolicy forContext() {
+    if (budgetWindow == null) {
+      return this;
+    }
+    return new Budgeted(this, new RetryBudget(budgetRatio, budgetMinRetries, budgetWindow));
+  }
+
+  /** RetryPolicy which draws retries permitted by the delegate from a budget. */
+  private static final class Budgeted extends RetryPolicy {
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+
+    private Budgeted(RetryPolicy policy, RetryBudget budget) {
+      super(__ -> false);
+      this.policy = policy;
+      this.budget = budget;
+    }
+
+    @Override
+    boolean canRetry(RetriableTask task, Throwable t) {
+      return policy.canRetry(task, t) && budget.tryRetry();
+    }
+
+    @Override
+    long delayNanos(RetriableTask task) {
+      return policy.delayNanos(task);
+    }
+
+    @Override
+    void onSend(int items) {
+      budget.onSend(items);
+    }
+
+    @Override
+    long budgetExhausted() {
+      return budget.exhausted();
+    }
+
+    @Override
+    RetryPolicy forContext() {
+      return this;
+    }
+  }
 }
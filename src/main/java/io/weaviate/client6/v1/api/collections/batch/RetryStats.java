@@ -0,0 +1,14 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+/**
+ * RetryStats summarizes how many failed tasks a {@link BatchContext}
+ * has retried.
+ *
+ * @param retries         Number of retries, including delayed ones
+ *                        that have not been sent yet.
+ * @param budgetExhausted Number of tasks which failed instead of being
+ *                        retried because the {@link RetryPolicy#budget}
+ *                        was exhausted.
+ */
+public record RetryStats(long retries, long budgetExhausted) {
+}
@@ -33,9 +33,9 @@ interface State {
    *
    * <p>
    * How the event is handled is up to the concrete implementation.
-   * It may modify {@link BatchContext} internal state, via one of it's
+   * It may modify {@link BatchStream} internal state, via one of it's
    * package-private methods, including transitioning the context to a
-   * different state via {@link BatchContext#setState(State)}, or start
+   * different state via {@link BatchStream#setState(State)}, or start
    * a separate process, e.g. the OOM timer.
    */
   void onEvent(Event event);
@@ -0,0 +1,19 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * TaskError reports a task submitted with {@link BatchContext#submit}
+ * which has failed and can no longer be retried.
+ *
+ * @param id     Task ID: object UUID or reference beacon.
+ * @param tenant Tenant the task was written to; {@code null} if none.
+ * @param cause  The last error for the task, e.g. {@link ServerException}.
+ *
+ * @see BatchContext.Builder#errorSink
+ */
+public record TaskError(String id, String tenant, Throwable cause) {
+  public TaskError {
+    requireNonNull(id, "id is null");
+  }
+}
@@ -3,6 +3,7 @@ package io.weaviate.client6.v1.api.collections.batch;
 import static java.util.Objects.requireNonNull;
 
 import java.time.Instant;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -27,6 +28,11 @@ public final class TaskHandle extends RetriableTask {
    * will be added to the queue until the next message arrives.
    */
   static final TaskHandle END_RESULTS = new TaskHandle("END_RESULTS");
+  /**
+   * Flush pill wakes up the "sender" to send the current batch even if it's not
+   * full, because a producer is waiting for the memory budget to be released.
+   */
+  static final TaskHandle FLUSH = new TaskHandle("FLUSH");
 
   /**
    * Input value as passed by the user.
@@ -36,33 +42,112 @@ public final class TaskHandle extends RetriableTask {
    * in the {@link TaskHandle} (e.g. the serialized version is not updated),
    * so users SHOULD treat items passed to and retrieved from {@link TaskHandle}
    * as effectively unmodifiable.
+   *
+   * <p>
+   * For handles created by the encoding stage, data is set exactly once
+   * via {@link #setData} before the handle is put on the "sender" queue.
+   * Handles spilled to the {@link BatchJournal} drop their data until
+   * they are put on the queue.
    */
-  private final Data data;
+  private volatile Data data;
 
   /** Task creation timestamp. */
   private final Instant createdAt = Instant.now();
 
-  /** Constructor for {@link WeaviateObject}. */
-  TaskHandle(
+  /**
+   * Completion callback for a detached handle, see {@link #isDetached}.
+   * {@code null} if the handle tracks its completion with {@link #done}.
+   */
+  private final BiConsumer<TaskHandle, Throwable> listener;
+
+  /** Bytes acquired from the context's memory budget for this task. */
+  private volatile long reservedBytes;
+
+  /**
+   * Tenant the task writes to, or {@code null} if the collection
+   * is not multi-tenant or the task was recovered from the {@link BatchJournal}.
+   */
+  private final String tenant;
+
+  /** Create a task for {@link WeaviateObject}. */
+  static TaskHandle of(
       WeaviateObject<?> object,
       GeneratedMessage.ExtendableMessage<GeneratedMessageV3> data,
       RetryPolicy retryPolicy, Consumer<String> onRetry) {
-    this(new Data(object, object.uuid(), data, Data.Type.OBJECT),
-        retryPolicy, onRetry);
+    return of(object, data, null, retryPolicy, onRetry, null);
+  }
+
+  /**
+   * Create a task for {@link WeaviateObject}.
+   *
+   * @param tenant   Tenant the object is written to; may be null.
+   * @param listener Completion callback; if not null, the handle is detached.
+   */
+  static TaskHandle of(
+      WeaviateObject<?> object,
+      GeneratedMessage.ExtendableMessage<GeneratedMessageV3> data, String tenant,
+      RetryPolicy retryPolicy, Consumer<String> onRetry,
+      BiConsumer<TaskHandle, Throwable> listener) {
+    var d = new Data(object, object.uuid(), data, Data.Type.OBJECT);
+    return new TaskHandle(d.id(), d, tenant, retryPolicy, onRetry, listener);
   }
 
-  /** Constructor for {@link BatchReference}. */
-  TaskHandle(
+  /** Create a task for {@link BatchReference}. */
+  static TaskHandle of(
       BatchReference reference,
       GeneratedMessage.ExtendableMessage<GeneratedMessageV3> data,
       RetryPolicy retryPolicy, Consumer<String> onRetry) {
-    this(new Data(reference, reference.target().beacon(), data, Data.Type.REFERENCE),
-        retryPolicy, onRetry);
+    return of(reference, data, null, retryPolicy, onRetry, null);
   }
 
-  private TaskHandle(Data data, RetryPolicy retryPolicy, Consumer<String> onRetry) {
-    super(requireNonNull(data, "data is null").id(), retryPolicy, onRetry);
-    this.data = requireNonNull(data, "data is null");
+  /**
+   * Create a task for {@link BatchReference}.
+   *
+   * @param tenant   Tenant the reference is written to; may be null.
+   * @param listener Completion callback; if not null, the handle is detached.
+   */
+  static TaskHandle of(
+      BatchReference reference,
+      GeneratedMessage.ExtendableMessage<GeneratedMessageV3> data, String tenant,
+      RetryPolicy retryPolicy, Consumer<String> onRetry,
+      BiConsumer<TaskHandle, Throwable> listener) {
+    var d = new Data(reference, reference.target().beacon(), data, Data.Type.REFERENCE);
+    return new TaskHandle(d.id(), d, tenant, retryPolicy, onRetry, listener);
+  }
+
+  /**
+   * Create a task for {@link WeaviateObject} which is yet to be encoded.
+   * The handle MUST NOT be sent until its data is set via {@link #setData}.
+   *
+   * @param tenant   Tenant the object is written to; may be null.
+   * @param listener Completion callback; if not null, the handle is detached.
+   */
+  static TaskHandle unencoded(WeaviateObject<?> object, String tenant,
+      RetryPolicy retryPolicy, Consumer<String> onRetry,
+      BiConsumer<TaskHandle, Throwable> listener) {
+    requireNonNull(object, "object is null");
+    return new TaskHandle(object.uuid(), null, tenant, retryPolicy, onRetry, listener);
+  }
+
+  /**
+   * Create a task recovered from the {@link BatchJournal}.
+   * The handle MUST NOT be sent until its data is set via {@link #setData}.
+   */
+  static TaskHandle recovered(String id, RetryPolicy retryPolicy, Consumer<String> onRetry) {
+    return new TaskHandle(id, null, null, retryPolicy, onRetry, null);
+  }
+
+  /**
+   * @param data     Serialized task; null until {@link #setData} is called.
+   * @param tenant   Tenant the task writes to; may be null.
+   * @param listener Completion callback; if not null, the handle is detached.
+   */
+  private TaskHandle(String id, Data data, String tenant, RetryPolicy retryPolicy, Consumer<String> onRetry,
+      BiConsumer<TaskHandle, Throwable> listener) {
+    super(id, retryPolicy, onRetry, listener != null);
+    this.data = data;
+    this.tenant = tenant;
+    this.listener = listener;
   }
 
   /**
@@ -75,18 +160,54 @@ public final class TaskHandle extends RetriableTask {
    * {@link NullPointerException} being thrown.
    */
   private TaskHandle(String name) {
-    super(name, RetryPolicy.never(), __ -> {
-    });
-    this.data = null;
+    this(name, null, null, RetryPolicy.never(), __ -> {
+    }, null);
   }
 
   Data data() {
     return data;
   }
 
+  /** Set serialized data for a handle created without it. */
+  void setData(WeaviateObject<?> object, GeneratedMessage.ExtendableMessage<GeneratedMessageV3> data) {
+    assert this.data == null : this + " already has data";
+    this.data = new Data(object, object.uuid(), data, Data.Type.OBJECT);
+  }
+
+  /**
+   * Set data read back from the {@link BatchJournal}. Pass {@code null}
+   * to drop the data while the task is spilled to the journal.
+   */
+  void setData(Data data) {
+    this.data = data;
+  }
+
+  /** Tenant the task writes to, or {@code null}. */
+  String tenant() {
+    return tenant;
+  }
+
+  /** Bytes acquired from the memory budget, released once the task is done. */
+  long reservedBytes() {
+    return reservedBytes;
+  }
+
+  /**
+   * Record the bytes acquired from the memory budget. Called before the handle
+   * is put on the queue, so that the bytes are known by the time it's done.
+   */
+  void reserve(long bytes) {
+    this.reservedBytes = bytes;
+  }
+
+  @Override
+  protected void onDone(Throwable t) {
+    listener.accept(this, t);
+  }
+
   @Override
   public String toString() {
-    if (this == POISON || this == END_RESULTS) {
+    if (this == POISON || this == END_RESULTS || this == FLUSH) {
       return "TaskHandle<%s>".formatted(id());
     }
     return "TaskHandle<id=%s, retried=%d, created=%s>".formatted(id(), timesRetried(), createdAt);
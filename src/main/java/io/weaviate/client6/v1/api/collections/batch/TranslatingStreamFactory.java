@@ -7,6 +7,8 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.protobuf.ByteString;
+
 import io.grpc.stub.StreamObserver;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
@@ -22,10 +24,9 @@ import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchStr
  * @see Event
  */
 class TranslatingStreamFactory implements StreamFactory<Message, Event> {
-  private final StreamFactory<WeaviateProtoBatch.BatchStreamRequest, WeaviateProtoBatch.BatchStreamReply> protoFactory;
+  private final StreamFactory<ByteString, WeaviateProtoBatch.BatchStreamReply> protoFactory;
 
-  TranslatingStreamFactory(
-      StreamFactory<WeaviateProtoBatch.BatchStreamRequest, WeaviateProtoBatch.BatchStreamReply> protoFactory) {
+  TranslatingStreamFactory(StreamFactory<ByteString, WeaviateProtoBatch.BatchStreamReply> protoFactory) {
     this.protoFactory = requireNonNull(protoFactory, "protoFactory is null");
   }
 
@@ -60,20 +61,18 @@ class TranslatingStreamFactory implements StreamFactory<Message, Event> {
   }
 
   /**
-   * Messeger translates client's messages into batch stream requests.
+   * Messeger translates client's messages into serialized batch stream requests.
    *
-   * @see Message
+   * @see Message#toByteString
    */
-  private final class Messenger extends DelegatingStreamObserver<WeaviateProtoBatch.BatchStreamRequest, Message> {
-    private Messenger(StreamObserver<WeaviateProtoBatch.BatchStreamRequest> delegate) {
+  private final class Messenger extends DelegatingStreamObserver<ByteString, Message> {
+    private Messenger(StreamObserver<ByteString> delegate) {
       super(delegate);
     }
 
     @Override
     public void onNext(Message message) {
-      WeaviateProtoBatch.BatchStreamRequest.Builder builder = WeaviateProtoBatch.BatchStreamRequest.newBuilder();
-      message.appendTo(builder);
-      delegate.onNext(builder.build());
+      delegate.onNext(message.toByteString());
     }
   }
 
@@ -1,6 +1,5 @@
 package io.weaviate.client6.v1.api.collections.query;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +14,7 @@ import io.weaviate.client6.v1.api.collections.Vectors;
 import io.weaviate.client6.v1.api.collections.WeaviateObject;
 import io.weaviate.client6.v1.internal.DateUtil;
 import io.weaviate.client6.v1.internal.grpc.ByteStringUtil;
+import io.weaviate.client6.v1.internal.grpc.EncodedVector;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet;
 import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
@@ -138,12 +138,17 @@ public record QueryResponse<PropertiesT>(
     if (metadataResult != null) {
       var metadataBuilder = new QueryMetadata.Builder();
 
-      uuid = metadataResult.getId();
+      // Prefer the binary UUID if the server sent one:
+      // it is formatted without decoding a UTF-8 string.
+      uuid = ByteStringUtil.decodeUuid(metadataResult.getIdAsBytes());
+      if (uuid == null) {
+        uuid = metadataResult.getId();
+      }
 
+      // Vectors are decoded lazily, on first access.
       // Read legacy (unnamed) vector.
       if (metadataResult.getVectorBytes() != null && !metadataResult.getVectorBytes().isEmpty()) {
-        var unnamed = ByteStringUtil.decodeVectorSingle(metadataResult.getVectorBytes());
-        vectors = Vectors.of(unnamed);
+        vectors = Vectors.of(EncodedVector.single(metadataResult.getVectorBytes()));
       } else {
         var namedVectors = new Vectors[metadataResult.getVectorsList().size()];
         var i = 0;
@@ -152,10 +157,10 @@ public record QueryResponse<PropertiesT>(
           var vbytes = vector.getVectorBytes();
           switch (vector.getType()) {
             case VECTOR_TYPE_SINGLE_FP32:
-              namedVectors[i++] = Vectors.of(vectorName, ByteStringUtil.decodeVectorSingle(vbytes));
+              namedVectors[i++] = Vectors.of(vectorName, EncodedVector.single(vbytes));
               break;
             case VECTOR_TYPE_MULTI_FP32:
-              namedVectors[i++] = Vectors.of(vectorName, ByteStringUtil.decodeVectorMulti(vbytes));
+              namedVectors[i++] = Vectors.of(vectorName, EncodedVector.multi(vbytes));
               break;
             default:
               continue;
@@ -181,7 +186,9 @@ public record QueryResponse<PropertiesT>(
 
   static <PropertiesT> void setProperty(String property, WeaviateProtoProperties.Value value,
       PropertiesBuilder<PropertiesT> builder, CollectionDescriptor<PropertiesT> descriptor) {
-    if (value.hasNullValue()) {
+    if (builder.setValue(property, value)) {
+      return;
+    } else if (value.hasNullValue()) {
       builder.setNull(property);
     } else if (value.hasTextValue()) {
       builder.setText(property, value.getTextValue());
@@ -217,15 +224,9 @@ public record QueryResponse<PropertiesT>(
       if (list.hasTextValues()) {
         builder.setTextArray(property, list.getTextValues().getValuesList());
       } else if (list.hasIntValues()) {
-        var ints = Arrays.stream(
-            ByteStringUtil.decodeIntValues(list.getIntValues().getValues()))
-            .boxed().toList();
-        builder.setLongArray(property, ints);
+        builder.setLongArray(property, ByteStringUtil.decodeIntValues(list.getIntValues().getValues()));
       } else if (list.hasNumberValues()) {
-        var numbers = Arrays.stream(
-            ByteStringUtil.decodeNumberValues(list.getNumberValues().getValues()))
-            .boxed().toList();
-        builder.setDoubleArray(property, numbers);
+        builder.setDoubleArray(property, ByteStringUtil.decodeNumberValues(list.getNumberValues().getValues()));
       } else if (list.hasUuidValues()) {
         var uuids = list.getUuidValues().getValuesList().stream()
             .map(UUID::fromString).toList();
@@ -0,0 +1,158 @@
+package io.weaviate.client6.v1.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Transport resources which can be shared between several clients,
+ * e.g. clients connected to different clusters. Pass the same instance
+ * to every client's {@code Config} to share:
+ *
+ * <ul>
+ * <li>the Netty event loop group which serves gRPC connections,
+ * <li>the I/O reactor of the async HTTP client,
+ * <li>gRPC channels to the same host, which are reference-counted
+ * and shut down when the last client using them is closed.
+ * </ul>
+ *
+ * <p>
+ * TransportResources is owned by the caller. Close it once every
+ * client using it has been closed.
+ */
+@ThreadSafe
+public final class TransportResources implements AutoCloseable {
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+  private final EventLoopGroup eventLoopGroup;
+
+  @GuardedBy("this")
+  private final Map<Object, Shared<?>> shared = new HashMap<>();
+
+  @GuardedBy("this")
+  private boolean closed;
+
+  /** Create resources with Netty's default number of event loop threads. */
+  public TransportResources() {
+    this(0);
+  }
+
+  /**
+   * @param eventLoopThreads Number of gRPC event loop threads.
+   *                         0 uses Netty's default.
+   * @throws IllegalArgumentException if {@code eventLoopThreads < 0}.
+   */
+  public TransportResources(int eventLoopThreads) {
+    if (eventLoopThreads < 0) {
+      throw new IllegalArgumentException("eventLoopThreads must not be negative, got " + eventLoopThreads);
+    }
+    this.eventLoopGroup = new NioEventLoopGroup(eventLoopThreads,
+        new DefaultThreadFactory("weaviate-grpc-nio", true));
+  }
+
+  /** Event loop group for gRPC channels. */
+  public EventLoopGroup eventLoopGroup() {
+    return eventLoopGroup;
+  }
+
+  /** Shared resource and the number of transports using it. */
+  private static final class Shared<T> {
+    private final T resource;
+    private final Consumer<? super T> dispose;
+    private int refs;
+
+    private Shared(T resource, Consumer<? super T> dispose) {
+      this.resource = resource;
+      this.dispose = dispose;
+    }
+  }
+
+  /**
+   * Get the resource stored under the key, creating it if it does not exist.
+   * Every call must be paired with a {@link #release} once the caller
+   * no longer uses the resource.
+   *
+   * @param key     Resource key, compared with {@link Object#equals}.
+   * @param factory Creates the resource on first use.
+   * @param dispose Disposes of the resource when its last user releases it
+   *                or when these resources are closed.
+   * @throws IllegalStateException if these resources are closed.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> T acquire(Object key, Supplier<T> factory, Consumer<? super T> dispose) {
+    requireNonNull(key, "key is null");
+    requireNonNull(factory, "factory is null");
+    requireNonNull(dispose, "dispose is null");
+
+    if (closed) {
+      throw new IllegalStateException("transport resources are closed");
+    }
+    var entry = (Shared<T>) shared.get(key);
+    if (entry == null) {
+      entry = new Shared<>(requireNonNull(factory.get(), "factory returned null"), dispose);
+      shared.put(key, entry);
+    }
+    entry.refs++;
+    return entry.resource;
+  }
+
+  /**
+   * Release the resource acquired with {@link #acquire},
+   * disposing of it if this was its last user.
+   */
+  public void release(Object key) {
+    requireNonNull(key, "key is null");
+
+    Shared<?> released;
+    synchronized (this) {
+      var entry = shared.get(key);
+      if (entry == null || --entry.refs > 0) {
+        return;
+      }
+      released = shared.remove(key);
+    }
+    dispose(released);
+  }
+
+  /** Number of shared resources currently in use. */
+  public synchronized int size() {
+    return shared.size();
+  }
+
+  private static <T> void dispose(Shared<T> entry) {
+    entry.dispose.accept(entry.resource);
+  }
+
+  /**
+   * Dispose of the shared resources which are still in use
+   * and shut down the event loop group.
+   */
+  @Override
+  public void close() throws Exception {
+    Map<Object, Shared<?>> remaining;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      remaining = new HashMap<>(shared);
+      shared.clear();
+    }
+    for (var entry : remaining.values()) {
+      dispose(entry);
+    }
+    eventLoopGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+}
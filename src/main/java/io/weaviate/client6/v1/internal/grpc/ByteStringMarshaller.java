@@ -0,0 +1,87 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.google.protobuf.ByteString;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+
+/**
+ * ByteStringMarshaller sends messages which have already been serialized.
+ * The stream it returns reports its length and is drained straight into
+ * gRPC's framer, so the bytes are copied exactly once, into the transport buffer.
+ */
+final class ByteStringMarshaller implements MethodDescriptor.Marshaller<ByteString> {
+  static final ByteStringMarshaller INSTANCE = new ByteStringMarshaller();
+
+  private ByteStringMarshaller() {
+  }
+
+  @Override
+  public InputStream stream(ByteString value) {
+    return new ByteStringInputStream(requireNonNull(value, "value is null"));
+  }
+
+  @Override
+  public ByteString parse(InputStream stream) {
+    try {
+      return ByteString.readFrom(stream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class ByteStringInputStream extends InputStream implements KnownLength, Drainable {
+    private final ByteString value;
+
+    /** Stream over the value, created on the first read. */
+    private InputStream in;
+
+    /** Set once the value is drained. */
+    private boolean drained;
+
+    private ByteStringInputStream(ByteString value) {
+      this.value = value;
+    }
+
+    @Override
+    public int drainTo(OutputStream target) throws IOException {
+      if (in != null || drained) {
+        // Only drain what hasn't been read yet.
+        return (int) stream().transferTo(target);
+      }
+      drained = true;
+      value.writeTo(target);
+      return value.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+      return stream().read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return stream().read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return stream().available();
+    }
+
+    private InputStream stream() {
+      if (in == null) {
+        in = drained ? InputStream.nullInputStream() : value.newInput();
+      }
+      return in;
+    }
+  }
+}
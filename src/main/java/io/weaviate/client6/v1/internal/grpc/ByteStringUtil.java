@@ -2,11 +2,13 @@ package io.weaviate.client6.v1.internal.grpc;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
-import java.util.Arrays;
+import java.nio.LongBuffer;
 import java.util.UUID;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 
 public class ByteStringUtil {
   /** Prevent public initialization. */
@@ -17,25 +19,42 @@ public class ByteStringUtil {
 
   /** Decode ByteString to UUID. */
   public static String decodeUuid(ByteString bs) {
+    var uuid = decodeUuidValue(bs);
+    return uuid != null ? uuid.toString() : null;
+  }
+
+  /**
+   * Decode ByteString to {@link UUID}. The UUID is read directly from
+   * the underlying bytes (big-endian), without copying or parsing.
+   *
+   * @return UUID or {@code null} if ByteString size is not 16 bytes.
+   */
+  public static UUID decodeUuidValue(ByteString bs) {
     if (bs.size() != Long.BYTES * 2) {
       return null;
     }
-    var buf = ByteBuffer.wrap(bs.toByteArray());
+    var buf = bs.asReadOnlyByteBuffer(); // big-endian by default
     var most = buf.getLong();
     var least = buf.getLong();
-    return new UUID(most, least).toString();
+    return new UUID(most, least);
   }
 
-  /** Encode float[] to ByteString. */
+  /**
+   * Encode float[] to ByteString.
+   *
+   * <p>
+   * The vector is copied into the backing array with a single bulk
+   * {@link FloatBuffer#put(float[])} and the array is then wrapped
+   * without copying. This is safe because the array never escapes
+   * this method, so the resulting ByteString remains immutable.
+   */
   public static ByteString encodeVectorSingle(float[] vector) {
     if (vector == null || vector.length == 0) {
       return ByteString.EMPTY;
     }
-    ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(BYTE_ORDER);
-    for (final var f : vector) {
-      buffer.putFloat(f);
-    }
-    return ByteString.copyFrom(buffer.array());
+    byte[] bytes = new byte[vector.length * Float.BYTES];
+    ByteBuffer.wrap(bytes).order(BYTE_ORDER).asFloatBuffer().put(vector);
+    return UnsafeByteOperations.unsafeWrap(bytes);
   }
 
   /**
@@ -53,14 +72,17 @@ public class ByteStringUtil {
     short dimensions = (short) vectors[0].length;
     int capacity = /* vector dimensions */ Short.BYTES +
     /* concatenated elements */ (n * dimensions * Float.BYTES);
-    ByteBuffer buffer = ByteBuffer.allocate(capacity).order(BYTE_ORDER)
-        .putShort(dimensions);
-    Arrays.stream(vectors).forEach(vector -> {
-      for (final var f : vector) {
-        buffer.putFloat(f);
-      }
-    });
-    return ByteString.copyFrom(buffer.array());
+    byte[] bytes = new byte[capacity];
+    ByteBuffer buffer = ByteBuffer.wrap(bytes).order(BYTE_ORDER).putShort(dimensions);
+
+    // FloatBuffer view starts at the current position, i.e. after the
+    // 2-byte prefix, so the vectors are written with bulk puts.
+    FloatBuffer floats = buffer.asFloatBuffer();
+    for (final var vector : vectors) {
+      floats.put(vector);
+    }
+    // See encodeVectorSingle: the array never escapes this method.
+    return UnsafeByteOperations.unsafeWrap(bytes);
   }
 
   /**
@@ -121,34 +143,86 @@ public class ByteStringUtil {
   }
 
   /**
-   * Decode ByteString to {@code long[]}.
+   * Get a read-only view over integer values encoded in a ByteString.
+   * The view shares memory with the ByteString and does not copy it.
    *
    * @throws IllegalArgumentException if ByteString size is not
    *                                  a multiple of {@link Long#BYTES}.
    */
-  public static long[] decodeIntValues(ByteString bs) {
+  public static LongBuffer asIntValues(ByteString bs) {
     if (bs.size() % Long.BYTES != 0) {
       throw new IllegalArgumentException(
           "ByteString size " + bs.size() + " is not a multiple of " + String.valueOf(Long.BYTES) + " (Long.BYTES)");
     }
-    long[] vector = new long[bs.size() / Long.BYTES];
-    bs.asReadOnlyByteBuffer().order(BYTE_ORDER).asLongBuffer().get(vector);
-    return vector;
+    return bs.asReadOnlyByteBuffer().order(BYTE_ORDER).asLongBuffer();
   }
 
   /**
-   * Decode ByteString to {@code double[]}.
+   * Get a read-only view over number values encoded in a ByteString.
+   * The view shares memory with the ByteString and does not copy it.
    *
    * @throws IllegalArgumentException if ByteString size is not
    *                                  a multiple of {@link Double#BYTES}.
    */
-  public static double[] decodeNumberValues(ByteString bs) {
+  public static DoubleBuffer asNumberValues(ByteString bs) {
     if (bs.size() % Double.BYTES != 0) {
       throw new IllegalArgumentException(
           "ByteString size " + bs.size() + " is not a multiple of " + String.valueOf(Double.BYTES) + " (Double.BYTES)");
     }
-    double[] vector = new double[bs.size() / Double.BYTES];
-    bs.asReadOnlyByteBuffer().order(BYTE_ORDER).asDoubleBuffer().get(vector);
+    return bs.asReadOnlyByteBuffer().order(BYTE_ORDER).asDoubleBuffer();
+  }
+
+  /**
+   * Decode ByteString to {@code long[]}.
+   *
+   * @throws IllegalArgumentException if ByteString size is not
+   *                                  a multiple of {@link Long#BYTES}.
+   */
+  public static long[] decodeIntValues(ByteString bs) {
+    var buf = asIntValues(bs);
+    long[] vector = new long[buf.remaining()];
+    buf.get(vector);
+    return vector;
+  }
+
+  /**
+   * Decode ByteString to {@code double[]}.
+   *
+   * @throws IllegalArgumentException if ByteString size is not
+   *                                  a multiple of {@link Double#BYTES}.
+   */
+  public static double[] decodeNumberValues(ByteString bs) {
+    var buf = asNumberValues(bs);
+    double[] vector = new double[buf.remaining()];
+    buf.get(vector);
     return vector;
   }
+
+  /**
+   * Encode {@code long[]} to ByteString.
+   * Each element is written as 8 bytes in little-endian order.
+   */
+  public static ByteString encodeIntValues(long[] values) {
+    if (values == null || values.length == 0) {
+      return ByteString.EMPTY;
+    }
+    byte[] bytes = new byte[values.length * Long.BYTES];
+    ByteBuffer.wrap(bytes).order(BYTE_ORDER).asLongBuffer().put(values);
+    // See encodeVectorSingle: the array never escapes this method.
+    return UnsafeByteOperations.unsafeWrap(bytes);
+  }
+
+  /**
+   * Encode {@code double[]} to ByteString.
+   * Each element is written as 8 bytes in little-endian order.
+   */
+  public static ByteString encodeNumberValues(double[] values) {
+    if (values == null || values.length == 0) {
+      return ByteString.EMPTY;
+    }
+    byte[] bytes = new byte[values.length * Double.BYTES];
+    ByteBuffer.wrap(bytes).order(BYTE_ORDER).asDoubleBuffer().put(values);
+    // See encodeVectorSingle: the array never escapes this method.
+    return UnsafeByteOperations.unsafeWrap(bytes);
+  }
 }
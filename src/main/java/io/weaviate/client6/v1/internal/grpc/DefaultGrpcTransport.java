@@ -2,38 +2,57 @@ package io.weaviate.client6.v1.internal.grpc;
 
 import static java.util.Objects.requireNonNull;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+import javax.annotation.concurrent.GuardedBy;
 import javax.net.ssl.SSLException;
+import javax.net.ssl.TrustManagerFactory;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
 import io.grpc.HttpConnectProxiedSocketAddress;
 import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
 import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
 import io.grpc.stub.AbstractStub;
+import io.grpc.stub.ClientCalls;
 import io.grpc.stub.MetadataUtils;
 import io.grpc.stub.StreamObserver;
 import io.weaviate.client6.v1.api.WeaviateApiException;
 import io.weaviate.client6.v1.internal.Proxy;
+import io.weaviate.client6.v1.internal.TransportResources;
+import io.weaviate.client6.v1.internal.grpc.ShardRouter.RoutingKey;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateBlockingStub;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateFutureStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateStub;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchStreamReply;
-import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchStreamRequest;
-
-import javax.net.ssl.SSLException;
-import java.net.InetSocketAddress;
-import java.net.SocketAddress;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 public final class DefaultGrpcTransport implements GrpcTransport {
   /**
@@ -42,11 +61,66 @@ public final class DefaultGrpcTransport implements GrpcTransport {
    */
   private static final Executor FUTURE_CALLBACK_EXECUTOR = Runnable::run;
 
+  /**
+   * {@link WeaviateGrpc#getBatchStreamMethod} which sends pre-encoded requests.
+   *
+   * @see #createStream
+   */
+  private static final MethodDescriptor<ByteString, BatchStreamReply> BATCH_STREAM = WeaviateGrpc
+      .getBatchStreamMethod()
+      .toBuilder(ByteStringMarshaller.INSTANCE, WeaviateGrpc.getBatchStreamMethod().getResponseMarshaller())
+      .build();
+
   private final GrpcChannelOptions transportOptions;
-  private final ManagedChannel channel;
 
-  private final WeaviateBlockingStub blockingStub;
-  private final WeaviateFutureStub futureStub;
+  /**
+   * Channels for unary requests. Each channel maintains its own HTTP/2
+   * connection, so spreading requests between several channels lifts
+   * the limit on concurrent streams per connection.
+   */
+  private final List<PooledChannel> pool;
+
+  /**
+   * Channel for long-lived batch streams. If the pool has more than one
+   * channel, this is a separate channel which unary requests do not use.
+   */
+  private final ManagedChannel streamChannel;
+
+  /** Round-robin offset for picking the least-loaded channel. */
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * Executor for unmarshaling async replies and completing their futures.
+   * Unless {@link GrpcChannelOptions#offloadExecutor} is set or virtual threads
+   * are enabled, this is {@link #FUTURE_CALLBACK_EXECUTOR}.
+   */
+  private final Executor offloadExecutor;
+
+  /**
+   * Keys of the channels acquired from {@link GrpcChannelOptions#resources},
+   * which must be released on {@link #close}.
+   */
+  private final List<ChannelKey> sharedChannels = new ArrayList<>();
+
+  /**
+   * Picks the node for tenant-scoped requests, or {@code null}
+   * if {@link GrpcChannelOptions#shardRouting} is disabled.
+   */
+  private final ShardRouter router;
+
+  /**
+   * Channels to the nodes picked by the {@link #router}. Channels to nodes
+   * which no longer hold any known shard are closed, see {@link #evictNodeChannels}.
+   */
+  @GuardedBy("this")
+  private final Map<InetSocketAddress, PooledChannel> nodeChannels = new HashMap<>();
+
+  /** Set on {@link #close}; no node channels are opened afterwards. */
+  @GuardedBy("this")
+  private boolean closed;
+
+  /** Executor for call callbacks; {@code null} to use the default one. */
+  private final Executor channelExecutor;
 
   private TokenCallCredentials callCredentials;
 
@@ -58,9 +132,234 @@ public final class DefaultGrpcTransport implements GrpcTransport {
       this.callCredentials = new TokenCallCredentials(transportOptions.tokenProvider());
     }
 
-    this.channel = buildChannel(transportOptions);
-    this.blockingStub = configure(WeaviateGrpc.newBlockingStub(channel));
-    this.futureStub = configure(WeaviateGrpc.newFutureStub(channel));
+    Executor virtualThreads = transportOptions.virtualThreads() ? virtualThreadPerTask() : null;
+    this.channelExecutor = transportOptions.channelExecutor() != null
+        ? transportOptions.channelExecutor()
+        : virtualThreads;
+    this.offloadExecutor = transportOptions.offloadExecutor() != null
+        ? transportOptions.offloadExecutor()
+        : virtualThreads != null ? virtualThreads : FUTURE_CALLBACK_EXECUTOR;
+
+    var pool = new ArrayList<PooledChannel>(transportOptions.channelPoolSize());
+    for (int i = 0; i < transportOptions.channelPoolSize(); i++) {
+      pool.add(new PooledChannel(openChannel(channelExecutor, i)));
+    }
+    this.pool = Collections.unmodifiableList(pool);
+    this.streamChannel = pool.size() > 1
+        ? openChannel(channelExecutor, STREAM_SLOT)
+        : pool.get(0).channel;
+    this.router = transportOptions.shardRouting() != null
+        ? new ShardRouter(transportOptions.shardRouting(), this::evictNodeChannels)
+        : null;
+  }
+
+  /** {@link ChannelKey#slot} of the dedicated batch stream channel. */
+  private static final int STREAM_SLOT = -1;
+
+  /**
+   * Identifies a channel shared via {@link TransportResources}. Headers,
+   * credentials, and message size limits are applied to the stubs,
+   * so transports which differ only in those can share channels.
+   *
+   * <p>
+   * Every client creates its own virtual thread executor and
+   * {@link NodeDiscovery}, so those are compared by value: channels
+   * with discovery are shared by transports with the same seed host
+   * and refresh interval, and the channel keeps using the discovery
+   * of the transport which has created it.
+   *
+   * @param node              Address of the node picked by the {@link #router},
+   *                          or {@code null} for the configured host.
+   * @param builder           Builder for non-Netty channels, compared by identity.
+   * @param executor          Explicitly configured channel executor,
+   *                          compared by identity.
+   * @param virtualThreads    Whether the channel executor is
+   *                          a virtual thread per task.
+   * @param discoveryInterval Node discovery refresh interval,
+   *                          or {@code null} if discovery is disabled.
+   * @param slot              Position of the channel in the pool, or {@link #STREAM_SLOT}.
+   */
+  private record ChannelKey(String host, int port, InetSocketAddress node, boolean secure,
+      TrustManagerFactory trustManagerFactory, Proxy proxy, GrpcChannelOptions.ChannelBuilder builder,
+      Executor executor, boolean virtualThreads, Duration discoveryInterval, int slot) {
+  }
+
+  /**
+   * Build a new channel or, if the transport uses shared
+   * {@link TransportResources}, acquire a shared one.
+   */
+  private ManagedChannel openChannel(Executor executor, int slot) {
+    TransportResources resources = transportOptions.resources();
+    if (resources == null) {
+      return buildChannel(transportOptions, null, executor);
+    }
+    var key = channelKey(null, slot);
+    var channel = resources.acquire(key, () -> buildChannel(transportOptions, null, executor),
+        ManagedChannel::shutdown);
+    sharedChannels.add(key);
+    return channel;
+  }
+
+  /** Node channels do not use discovery, they connect to a single node. */
+  private ChannelKey channelKey(InetSocketAddress node, int slot) {
+    Executor explicit = transportOptions.channelExecutor();
+    NodeDiscovery discovery = node == null ? transportOptions.nodeDiscovery() : null;
+    return new ChannelKey(transportOptions.host(), transportOptions.port(), node, transportOptions.isSecure(),
+        transportOptions.trustManagerFactory(), transportOptions.proxy(), transportOptions.channelBuilder(),
+        explicit,
+        explicit == null && transportOptions.virtualThreads(),
+        discovery != null ? discovery.refreshInterval() : null, slot);
+  }
+
+  /**
+   * Build a new channel to the node or, if the transport uses shared
+   * {@link TransportResources}, acquire a shared one.
+   * The channel must be closed with {@link #closeNodeChannel}.
+   */
+  private PooledChannel openNodeChannel(InetSocketAddress node) {
+    TransportResources resources = transportOptions.resources();
+    if (resources == null) {
+      return new PooledChannel(buildChannel(transportOptions, node, channelExecutor));
+    }
+    return new PooledChannel(resources.acquire(channelKey(node, 0),
+        () -> buildChannel(transportOptions, node, channelExecutor), ManagedChannel::shutdown));
+  }
+
+  private void closeNodeChannel(InetSocketAddress node, PooledChannel routed) {
+    if (transportOptions.resources() != null) {
+      transportOptions.resources().release(channelKey(node, 0));
+    } else {
+      routed.channel.shutdown();
+    }
+  }
+
+  /**
+   * Close the channels to the nodes which are missing from the latest
+   * sharding state. Channels with requests in flight are kept until
+   * the next eviction: a request may have acquired the channel
+   * without having started the call yet.
+   *
+   * @param nodes Nodes which hold the shards known to the {@link #router}.
+   */
+  private synchronized void evictNodeChannels(Set<InetSocketAddress> nodes) {
+    for (var it = nodeChannels.entrySet().iterator(); it.hasNext();) {
+      var entry = it.next();
+      if (!nodes.contains(entry.getKey()) && entry.getValue().inFlight.get() == 0) {
+        it.remove();
+        closeNodeChannel(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Create an executor which starts a new virtual thread for every task.
+   * Unlike an {@link java.util.concurrent.ExecutorService}, it does not need
+   * to be shut down. The client is compiled for Java 17, hence reflection.
+   *
+   * @throws IllegalStateException if virtual threads are not supported.
+   */
+  private static Executor virtualThreadPerTask() {
+    ThreadFactory factory;
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("virtual threads require Java 21 or newer", e);
+    }
+    return command -> factory.newThread(command).start();
+  }
+
+  /**
+   * Channel in the pool along with its stubs and the number
+   * of requests currently in flight.
+   */
+  private final class PooledChannel {
+    private final ManagedChannel channel;
+    private final WeaviateBlockingStub blockingStub;
+    private final WeaviateFutureStub futureStub;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private PooledChannel(ManagedChannel channel) {
+      this.channel = channel;
+      this.blockingStub = configure(WeaviateGrpc.newBlockingStub(channel));
+      this.futureStub = configure(WeaviateGrpc.newFutureStub(channel));
+    }
+  }
+
+  /**
+   * Pick the channel with the fewest requests in flight.
+   * The scan starts at a rotating offset, so that the load
+   * is spread in a round-robin fashion when the channels are tied.
+   */
+  private PooledChannel acquire() {
+    int size = pool.size();
+    if (size == 1) {
+      var only = pool.get(0);
+      only.inFlight.incrementAndGet();
+      return only;
+    }
+
+    int offset = Math.floorMod(next.getAndIncrement(), size);
+    PooledChannel best = pool.get(offset);
+    for (int i = 1; i < size && best.inFlight.get() > 0; i++) {
+      var candidate = pool.get((offset + i) % size);
+      if (candidate.inFlight.get() < best.inFlight.get()) {
+        best = candidate;
+      }
+    }
+    best.inFlight.incrementAndGet();
+    return best;
+  }
+
+  /**
+   * Pick the channel to the node which holds the request's shard.
+   * If the request cannot be routed, pick a channel from the pool.
+   */
+  private PooledChannel acquire(RoutingKey key) {
+    InetSocketAddress node = key != null ? router.route(key) : null;
+    if (node == null) {
+      return acquire();
+    }
+    var routed = acquire(node);
+    return routed != null ? routed : acquire();
+  }
+
+  /**
+   * Pick the channel to the node, opening it if necessary.
+   * The request is counted in flight under the same lock as
+   * {@link #evictNodeChannels}, so the channel is not closed
+   * before the request has started.
+   *
+   * @return Channel to the node or {@code null} if the transport is closed.
+   */
+  private synchronized PooledChannel acquire(InetSocketAddress node) {
+    if (closed) {
+      return null;
+    }
+    var routed = nodeChannels.computeIfAbsent(node, this::openNodeChannel);
+    routed.inFlight.incrementAndGet();
+    return routed;
+  }
+
+  private RoutingKey routingKey(Object message) {
+    return router != null ? ShardRouter.routingKey(message) : null;
+  }
+
+  /**
+   * Drop cached sharding state after a routed request has failed.
+   *
+   * @return true if the request can be retried via the coordinator:
+   *         it is an idempotent read and the node was unavailable.
+   *         Inserts are never retried, because an UNAVAILABLE status
+   *         does not guarantee that the node has not applied them.
+   */
+  private boolean onRoutedFailure(RoutingKey key, Rpc<?, ?, ?, ?> rpc, WeaviateApiException e) {
+    router.invalidate(key.collection());
+    return !rpc.isInsert() && Status.Code.UNAVAILABLE.name().equals(e.grpcStatusCode());
+  }
+
+  private boolean isRouted(PooledChannel channel) {
+    return router != null && !pool.contains(channel);
   }
 
   private <StubT extends AbstractStub<StubT>> StubT applyTimeout(StubT stub, Rpc<?, ?, ?, ?> rpc) {
@@ -82,13 +381,30 @@ public final class DefaultGrpcTransport implements GrpcTransport {
   public <RequestT, RequestM, ReplyM, ResponseT> ResponseT performRequest(RequestT request,
       Rpc<RequestT, RequestM, ResponseT, ReplyM> rpc) {
     var message = rpc.marshal(request);
+    var key = routingKey(message);
+    var channel = acquire(key);
+    try {
+      return send(channel, message, rpc);
+    } catch (WeaviateApiException e) {
+      if (isRouted(channel) && onRoutedFailure(key, rpc, e)) {
+        return send(acquire(), message, rpc);
+      }
+      throw e;
+    }
+  }
+
+  /** Send the request over the channel, which has been acquired for it. */
+  private <RequestT, RequestM, ReplyM, ResponseT> ResponseT send(PooledChannel channel, RequestM message,
+      Rpc<RequestT, RequestM, ResponseT, ReplyM> rpc) {
     var method = rpc.method();
-    var stub = applyTimeout(blockingStub, rpc);
+    var stub = applyTimeout(channel.blockingStub, rpc);
     try {
       var reply = method.apply(stub, message);
       return rpc.unmarshal(reply);
     } catch (io.grpc.StatusRuntimeException e) {
       throw WeaviateApiException.gRPC(e);
+    } finally {
+      channel.inFlight.decrementAndGet();
     }
   }
 
@@ -96,25 +412,98 @@ public final class DefaultGrpcTransport implements GrpcTransport {
   public <RequestT, RequestM, ReplyM, ResponseT> CompletableFuture<ResponseT> performRequestAsync(RequestT request,
       Rpc<RequestT, RequestM, ResponseT, ReplyM> rpc) {
     var message = rpc.marshal(request);
+    var key = routingKey(message);
+    var channel = acquire(key);
+    var response = sendAsync(channel, message, rpc);
+    if (!isRouted(channel)) {
+      return response;
+    }
+
+    // Cancelling the returned future cancels the current attempt.
+    var attempt = new AtomicReference<CompletableFuture<ResponseT>>(response);
+    var rerouted = new CompletableFuture<ResponseT>();
+    rerouted.whenComplete((__, t) -> {
+      if (rerouted.isCancelled()) {
+        attempt.get().cancel(true);
+      }
+    });
+    response.whenComplete((result, t) -> {
+      if (t == null) {
+        rerouted.complete(result);
+        return;
+      }
+      var cause = t instanceof CompletionException ? t.getCause() : t;
+      if (rerouted.isDone() || !(cause instanceof WeaviateApiException e && onRoutedFailure(key, rpc, e))) {
+        rerouted.completeExceptionally(cause);
+        return;
+      }
+      CompletableFuture<ResponseT> retry;
+      try {
+        retry = sendAsync(acquire(), message, rpc);
+      } catch (RuntimeException ex) {
+        rerouted.completeExceptionally(ex);
+        return;
+      }
+      attempt.set(retry);
+      if (rerouted.isCancelled()) {
+        retry.cancel(true);
+      }
+      retry.whenComplete((retried, ex) -> {
+        if (ex == null) {
+          rerouted.complete(retried);
+        } else {
+          rerouted.completeExceptionally(ex instanceof CompletionException ? ex.getCause() : ex);
+        }
+      });
+    });
+    return rerouted;
+  }
+
+  /** Send the request over the channel, which has been acquired for it. */
+  private <RequestT, RequestM, ReplyM, ResponseT> CompletableFuture<ResponseT> sendAsync(PooledChannel channel,
+      RequestM message, Rpc<RequestT, RequestM, ResponseT, ReplyM> rpc) {
     var method = rpc.methodAsync();
-    var stub = applyTimeout(futureStub, rpc);
-    var reply = method.apply(stub, message);
-    return toCompletableFuture(reply).thenApply(rpc::unmarshal);
+    var stub = applyTimeout(channel.futureStub, rpc);
+    ListenableFuture<ReplyM> reply;
+    try {
+      reply = method.apply(stub, message);
+    } catch (RuntimeException e) {
+      channel.inFlight.decrementAndGet();
+      throw e;
+    }
+    reply.addListener(channel.inFlight::decrementAndGet, FUTURE_CALLBACK_EXECUTOR);
+    return toCompletableFuture(reply, rpc::unmarshal, offloadExecutor);
   }
 
   /**
-   * Convets {@link ListenableFuture} to {@link CompletableFuture}
-   * reusing the thread in which the original future is completed.
+   * Convets {@link ListenableFuture} to {@link CompletableFuture},
+   * unmarshaling the result on the executor. If the executor rejects
+   * the callback, the future fails with {@link RejectedExecutionException}.
+   * Cancelling the returned future cancels the call.
    */
-  private static final <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenable) {
+  private static final <T, R> CompletableFuture<R> toCompletableFuture(ListenableFuture<T> listenable,
+      Function<T, R> unmarshal, Executor executor) {
     requireNonNull(listenable, "listenable is null");
+    requireNonNull(unmarshal, "unmarshal is null");
+    requireNonNull(executor, "executor is null");
 
-    CompletableFuture<T> completable = new CompletableFuture<>();
+    CompletableFuture<R> completable = new CompletableFuture<>();
+    Executor rejecting = command -> {
+      try {
+        executor.execute(command);
+      } catch (RejectedExecutionException e) {
+        completable.completeExceptionally(e);
+      }
+    };
     Futures.addCallback(listenable, new FutureCallback<T>() {
 
       @Override
       public void onSuccess(T result) {
-        completable.complete(result);
+        try {
+          completable.complete(unmarshal.apply(result));
+        } catch (RuntimeException e) {
+          completable.completeExceptionally(e);
+        }
       }
 
       @Override
@@ -126,21 +515,58 @@ public final class DefaultGrpcTransport implements GrpcTransport {
         completable.completeExceptionally(t);
       }
 
-    }, FUTURE_CALLBACK_EXECUTOR);
+    }, rejecting);
+    completable.whenComplete((__, t) -> {
+      if (completable.isCancelled()) {
+        listenable.cancel(true);
+      }
+    });
     return completable;
   }
 
-  private static ManagedChannel buildChannel(GrpcChannelOptions transportOptions) {
+  /**
+   * @param node     Address of the node to connect to; {@code null} to connect
+   *                 to the configured host. Node channels keep the configured
+   *                 host as their authority, which is used to verify the
+   *                 server's certificate.
+   * @param executor Executor for call callbacks; {@code null} to use the default one.
+   */
+  @SuppressWarnings("deprecation") // nameResolverFactory is the only per-channel way to set a resolver.
+  private static ManagedChannel buildChannel(GrpcChannelOptions transportOptions, InetSocketAddress node,
+      Executor executor) {
     requireNonNull(transportOptions, "transportOptions is null");
 
-    NettyChannelBuilder channel = NettyChannelBuilder.forAddress(transportOptions.host(), transportOptions.port());
+    ManagedChannelBuilder<?> channel;
+    NodeDiscovery discovery = transportOptions.nodeDiscovery();
+    GrpcChannelOptions.ChannelBuilder channelBuilder = transportOptions.channelBuilder() != null
+        ? transportOptions.channelBuilder()
+        : NettyChannelBuilder::forAddress;
+    if (node != null) {
+      channel = channelBuilder.forAddress(node.getHostString(), node.getPort())
+          .overrideAuthority(transportOptions.host() + ":" + transportOptions.port());
+    } else if (discovery != null) {
+      channel = NettyChannelBuilder
+          .forTarget(NodeDiscoveryNameResolver.target(transportOptions.host(), transportOptions.port()))
+          .nameResolverFactory(NodeDiscoveryNameResolver.factory())
+          .setNameResolverArg(NodeDiscoveryNameResolver.DISCOVERY, discovery)
+          .defaultServiceConfig(NodeDiscoveryNameResolver.serviceConfig(discovery));
+    } else {
+      channel = channelBuilder.forAddress(transportOptions.host(), transportOptions.port());
+    }
+    if (transportOptions.resources() != null && channel instanceof NettyChannelBuilder netty) {
+      netty.eventLoopGroup(transportOptions.resources().eventLoopGroup())
+          .channelType(NioSocketChannel.class);
+    }
+    if (executor != null) {
+      channel.executor(executor);
+    }
     if (transportOptions.isSecure()) {
       channel.useTransportSecurity();
     } else {
       channel.usePlaintext();
     }
 
-    if (transportOptions.trustManagerFactory() != null) {
+    if (transportOptions.trustManagerFactory() != null && channel instanceof NettyChannelBuilder netty) {
       SslContext sslCtx;
       try {
         sslCtx = GrpcSslContexts.forClient()
@@ -150,7 +576,7 @@ public final class DefaultGrpcTransport implements GrpcTransport {
         // todo: rethrow as WeaviateConnectionException
         throw new RuntimeException("create grpc transport", e);
       }
-      channel.sslContext(sslCtx);
+      netty.sslContext(sslCtx);
     }
 
     if (transportOptions.proxy() != null) {
@@ -174,13 +600,19 @@ public final class DefaultGrpcTransport implements GrpcTransport {
       }
     }
 
-    channel.intercept(MetadataUtils.newAttachHeadersInterceptor(transportOptions.headers()));
+    // Shared channels serve transports with different headers,
+    // which are attached to the stubs instead, see configure().
+    if (transportOptions.resources() == null) {
+      channel.intercept(MetadataUtils.newAttachHeadersInterceptor(transportOptions.headers()));
+    }
     return channel.build();
   }
 
   @Override
-  public StreamObserver<BatchStreamRequest> createStream(StreamObserver<BatchStreamReply> recv) {
-    return configure(WeaviateGrpc.newStub(channel)).batchStream(recv);
+  public StreamObserver<ByteString> createStream(StreamObserver<BatchStreamReply> recv) {
+    WeaviateStub stub = configure(WeaviateGrpc.newStub(streamChannel));
+    return ClientCalls.asyncBidiStreamingCall(
+        stub.getChannel().newCall(BATCH_STREAM, stub.getCallOptions()), recv);
   }
 
   /** Apply common configuration to a stub. */
@@ -200,7 +632,24 @@ public final class DefaultGrpcTransport implements GrpcTransport {
 
   @Override
   public void close() throws Exception {
-    channel.shutdown();
+    synchronized (this) {
+      closed = true;
+      nodeChannels.forEach(this::closeNodeChannel);
+      nodeChannels.clear();
+    }
+    if (transportOptions.resources() != null) {
+      for (var key : sharedChannels) {
+        transportOptions.resources().release(key);
+      }
+      sharedChannels.clear();
+    } else {
+      for (var pooled : pool) {
+        pooled.channel.shutdown();
+      }
+      if (streamChannel != pool.get(0).channel) {
+        streamChannel.shutdown();
+      }
+    }
     if (callCredentials != null) {
       callCredentials.close();
     }
@@ -0,0 +1,94 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * EncodedVector holds the raw bytes of a vector returned in a query result
+ * and decodes them into {@code float[]} or {@code float[][]} on first access.
+ *
+ * <p>
+ * Applications which never read the vectors, or only need to pass them on,
+ * do not pay for decoding. {@link #asFloatBuffer} provides a read-only view
+ * over the encoded elements which does not copy them at all.
+ *
+ * @see ByteStringUtil#decodeVectorSingle
+ * @see ByteStringUtil#decodeVectorMulti
+ * @see io.weaviate.client6.v1.api.collections.Vectors#of(String, EncodedVector)
+ */
+@ThreadSafe
+public final class EncodedVector {
+  private final ByteString bytes;
+  private final boolean multi;
+
+  /** Decoded vector. Either {@code float[]} or {@code float[][]}. */
+  private volatile Object decoded;
+
+  /** Create a lazily decoded 1-dimensional vector. */
+  public static EncodedVector single(ByteString bytes) {
+    return new EncodedVector(bytes, false);
+  }
+
+  /** Create a lazily decoded 2-dimensional vector. */
+  public static EncodedVector multi(ByteString bytes) {
+    return new EncodedVector(bytes, true);
+  }
+
+  private EncodedVector(ByteString bytes, boolean multi) {
+    this.bytes = requireNonNull(bytes, "bytes is null");
+    this.multi = multi;
+  }
+
+  /** Returns true if this is a 2-dimensional vector. */
+  public boolean isMulti() {
+    return multi;
+  }
+
+  /**
+   * Get decoded vector. The vector is decoded on the first call
+   * and the same array is returned on every subsequent call.
+   *
+   * @return {@code float[]} or {@code float[][]}.
+   * @throws IllegalArgumentException if the underlying bytes
+   *                                  are not a valid vector.
+   */
+  public Object decode() {
+    var vector = decoded;
+    if (vector == null) {
+      synchronized (this) {
+        vector = decoded;
+        if (vector == null) {
+          vector = multi
+              ? ByteStringUtil.decodeVectorMulti(bytes)
+              : ByteStringUtil.decodeVectorSingle(bytes);
+          decoded = vector;
+        }
+      }
+    }
+    return vector;
+  }
+
+  /**
+   * Get a read-only view over vector elements. For 2-dimensional vectors
+   * the buffer contains all inner vectors concatenated, without the
+   * dimensionality prefix.
+   *
+   * <p>
+   * The buffer shares memory with the query reply and does not
+   * allocate a {@code float[]}. Each call returns a new buffer
+   * with independent position and limit.
+   */
+  public FloatBuffer asFloatBuffer() {
+    var buf = bytes.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    if (multi && buf.remaining() >= Short.BYTES) {
+      buf.position(buf.position() + Short.BYTES);
+    }
+    return buf.asFloatBuffer();
+  }
+}
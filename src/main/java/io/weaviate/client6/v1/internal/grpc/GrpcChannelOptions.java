@@ -2,38 +2,200 @@ package io.weaviate.client6.v1.internal.grpc;
 
 import java.util.Map;
 import java.util.OptionalInt;
+import java.util.concurrent.Executor;
 
 import javax.net.ssl.TrustManagerFactory;
 
+import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
 import io.weaviate.client6.v1.internal.Proxy;
 import io.weaviate.client6.v1.internal.Timeout;
 import io.weaviate.client6.v1.internal.TokenProvider;
 import io.weaviate.client6.v1.internal.TransportOptions;
+import io.weaviate.client6.v1.internal.TransportResources;
 
 public class GrpcChannelOptions extends TransportOptions<Metadata> {
   private final OptionalInt maxMessageSize;
+  private final int channelPoolSize;
+  private final Executor channelExecutor;
+  private final Executor offloadExecutor;
+  private final boolean virtualThreads;
+  private final TransportResources resources;
+  private final NodeDiscovery nodeDiscovery;
+  private final ShardRouting shardRouting;
+  private final ChannelBuilder channelBuilder;
+
+  /** Creates a builder for the channel to the host and port. */
+  @FunctionalInterface
+  public interface ChannelBuilder {
+    ManagedChannelBuilder<?> forAddress(String host, int port);
+  }
 
   public GrpcChannelOptions(String scheme, String host, int port, Map<String, String> headers,
       TokenProvider tokenProvider, TrustManagerFactory tmf, Timeout timeout, Proxy proxy) {
-    this(scheme, host, port, buildMetadata(headers), tokenProvider, tmf, OptionalInt.empty(), timeout, proxy);
+    this(scheme, host, port, buildMetadata(headers), tokenProvider, tmf, OptionalInt.empty(), 1,
+        null, null, false, null, null, null, null, timeout, proxy);
   }
 
   private GrpcChannelOptions(String scheme, String host, int port, Metadata headers,
-      TokenProvider tokenProvider, TrustManagerFactory tmf, OptionalInt maxMessageSize, Timeout timeout, Proxy proxy) {
+      TokenProvider tokenProvider, TrustManagerFactory tmf, OptionalInt maxMessageSize, int channelPoolSize,
+      Executor channelExecutor, Executor offloadExecutor, boolean virtualThreads,
+      TransportResources resources, NodeDiscovery nodeDiscovery, ShardRouting shardRouting,
+      ChannelBuilder channelBuilder, Timeout timeout, Proxy proxy) {
     super(scheme, host, port, headers, tokenProvider, tmf, timeout, proxy);
     this.maxMessageSize = maxMessageSize;
+    this.channelPoolSize = channelPoolSize;
+    this.channelExecutor = channelExecutor;
+    this.offloadExecutor = offloadExecutor;
+    this.virtualThreads = virtualThreads;
+    this.resources = resources;
+    this.nodeDiscovery = nodeDiscovery;
+    this.shardRouting = shardRouting;
+    this.channelBuilder = channelBuilder;
   }
 
   public GrpcChannelOptions withMaxMessageSize(int maxMessageSize) {
     return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
-        OptionalInt.of(maxMessageSize), timeout, proxy);
+        OptionalInt.of(maxMessageSize), channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Set the number of channels used for unary requests.
+   *
+   * @throws IllegalArgumentException if {@code channelPoolSize < 1}.
+   */
+  public GrpcChannelOptions withChannelPoolSize(int channelPoolSize) {
+    if (channelPoolSize < 1) {
+      throw new IllegalArgumentException("channelPoolSize must be at least 1, got " + channelPoolSize);
+    }
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Set the executor for gRPC call callbacks. A {@code null} executor
+   * uses gRPC's default cached thread pool.
+   */
+  public GrpcChannelOptions withChannelExecutor(Executor channelExecutor) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Set the executor for unmarshaling async replies and completing
+   * their futures. A {@code null} executor does it on the thread
+   * which has received the reply.
+   */
+  public GrpcChannelOptions withOffloadExecutor(Executor offloadExecutor) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Use a virtual thread per task for the {@link #channelExecutor} and
+   * the {@link #offloadExecutor}, unless they are set explicitly.
+   */
+  public GrpcChannelOptions withVirtualThreads(boolean virtualThreads) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Share the event loop group and channels with other transports
+   * which use the same resources. A {@code null} value creates
+   * dedicated channels with gRPC's default event loop group.
+   */
+  public GrpcChannelOptions withResources(TransportResources resources) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Spread requests across the cluster nodes reported by the discovery,
+   * using the configured host as the seed. A {@code null} value
+   * connects to the configured host only.
+   */
+  public GrpcChannelOptions withNodeDiscovery(NodeDiscovery nodeDiscovery) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Send tenant-scoped searches and batch inserts directly to the nodes
+   * which hold the tenant's shard. A {@code null} value sends every
+   * request to the configured host.
+   */
+  public GrpcChannelOptions withShardRouting(ShardRouting shardRouting) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
+  }
+
+  /**
+   * Build channels with {@code channelBuilder} rather than Netty, e.g. to
+   * connect to an in-process server. Node discovery always uses Netty,
+   * since the discovered nodes are socket addresses. A {@code null} value
+   * uses Netty for every channel.
+   */
+  public GrpcChannelOptions withChannelBuilder(ChannelBuilder channelBuilder) {
+    return new GrpcChannelOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory,
+        maxMessageSize, channelPoolSize, channelExecutor, offloadExecutor, virtualThreads, resources,
+        nodeDiscovery, shardRouting, channelBuilder, timeout, proxy);
   }
 
   public OptionalInt maxMessageSize() {
     return maxMessageSize;
   }
 
+  /**
+   * Number of channels used for unary requests. When greater than 1,
+   * batch streams get a separate dedicated channel.
+   */
+  public int channelPoolSize() {
+    return channelPoolSize;
+  }
+
+  /** Executor for gRPC call callbacks, or {@code null} for the default one. */
+  public Executor channelExecutor() {
+    return channelExecutor;
+  }
+
+  /** Executor for unmarshaling async replies, or {@code null} to use the callback thread. */
+  public Executor offloadExecutor() {
+    return offloadExecutor;
+  }
+
+  public boolean virtualThreads() {
+    return virtualThreads;
+  }
+
+  /** Shared transport resources, or {@code null} if the transport owns its channels. */
+  public TransportResources resources() {
+    return resources;
+  }
+
+  /** Node discovery for client-side load balancing, or {@code null} if disabled. */
+  public NodeDiscovery nodeDiscovery() {
+    return nodeDiscovery;
+  }
+
+  /** Shard-aware routing, or {@code null} if disabled. */
+  public ShardRouting shardRouting() {
+    return shardRouting;
+  }
+
+  /** Builder for non-Netty channels, or {@code null} to use Netty. */
+  public ChannelBuilder channelBuilder() {
+    return channelBuilder;
+  }
+
   private static final Metadata buildMetadata(Map<String, String> headers) {
     var metadata = new Metadata();
     for (var header : headers.entrySet()) {
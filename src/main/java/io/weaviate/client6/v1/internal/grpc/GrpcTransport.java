@@ -3,6 +3,8 @@ package io.weaviate.client6.v1.internal.grpc;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 
+import com.google.protobuf.ByteString;
+
 import io.grpc.stub.StreamObserver;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
 
@@ -20,8 +22,12 @@ public interface GrpcTransport extends AutoCloseable {
    * Batch insertion is presently the only operation performed over a
    * StreamStream connection, which is why we do not parametrize this
    * method.
+   *
+   * <p>
+   * Requests are sent as serialized {@link WeaviateProtoBatch.BatchStreamRequest}
+   * messages, which lets the caller build them from pre-encoded parts.
    */
-  StreamObserver<WeaviateProtoBatch.BatchStreamRequest> createStream(
+  StreamObserver<ByteString> createStream(
       StreamObserver<WeaviateProtoBatch.BatchStreamReply> recv);
 
   String host();
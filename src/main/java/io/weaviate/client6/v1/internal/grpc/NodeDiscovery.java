@@ -0,0 +1,31 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Source of cluster node addresses for client-side load balancing.
+ *
+ * @param nodes           Lists the addresses of healthy nodes. The addresses
+ *                        may be unresolved, in which case they are resolved
+ *                        before they are passed to the channel.
+ * @param refreshInterval How often the node list is refreshed.
+ */
+public record NodeDiscovery(Supplier<CompletableFuture<List<InetSocketAddress>>> nodes, Duration refreshInterval) {
+
+  /**
+   * @throws IllegalArgumentException if {@code refreshInterval} is not positive.
+   */
+  public NodeDiscovery {
+    requireNonNull(nodes, "nodes is null");
+    requireNonNull(refreshInterval, "refreshInterval is null");
+    if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+      throw new IllegalArgumentException("refreshInterval must be positive, got " + refreshInterval);
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.ChannelLogger;
+import io.grpc.ChannelLogger.ChannelLogLevel;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import io.grpc.NameResolverRegistry;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+
+/**
+ * NameResolver which spreads a channel across the cluster nodes reported
+ * by {@link NodeDiscovery}. The node list is refreshed periodically
+ * and whenever the load balancer asks for it, e.g. after losing
+ * the connection to one of the nodes.
+ *
+ * <p>
+ * If the discovery fails or reports no nodes, the resolver keeps the last
+ * known node list. If the first discovery fails, the channel connects
+ * to the configured host only until a later one succeeds.
+ *
+ * <p>
+ * Use {@link #target}, {@link #factory} and {@link #serviceConfig} to create a channel:
+ * the latter enables {@code round_robin} load balancing with outlier detection,
+ * which temporarily ejects nodes that fail most of their requests.
+ */
+final class NodeDiscoveryNameResolver extends NameResolver {
+  static final String SCHEME = "weaviate-nodes";
+
+  /** Channel argument which carries the {@link NodeDiscovery}. */
+  static final NameResolver.Args.Key<NodeDiscovery> DISCOVERY = NameResolver.Args.Key.create("weaviate-node-discovery");
+
+  /**
+   * Registry which holds only this resolver's provider. Channels get it
+   * via {@link #factory}, so the provider is never added to the JVM-wide
+   * default registry, which every other channel in the process uses.
+   */
+  private static final NameResolverRegistry REGISTRY = new NameResolverRegistry();
+
+  static {
+    REGISTRY.register(new Provider());
+  }
+
+  private final String authority;
+  private final InetSocketAddress seed;
+  private final NodeDiscovery discovery;
+  private final SynchronizationContext syncContext;
+  private final ScheduledExecutorService scheduler;
+  private final Executor offloadExecutor;
+  private final ChannelLogger logger;
+
+  // All fields below are accessed in the syncContext only.
+  private Listener2 listener;
+  private ScheduledFuture<?> refreshTask;
+  private boolean resolving;
+  private boolean shutdown;
+  /** Addresses passed to the listener, {@code null} until the first result. */
+  private List<InetSocketAddress> current;
+
+  private NodeDiscoveryNameResolver(String host, int port, NodeDiscovery discovery, Args args) {
+    this.authority = host + ":" + port;
+    this.seed = InetSocketAddress.createUnresolved(host, port);
+    this.discovery = discovery;
+    this.syncContext = args.getSynchronizationContext();
+    this.scheduler = args.getScheduledExecutorService();
+    this.offloadExecutor = requireNonNull(args.getOffloadExecutor(), "offloadExecutor is null");
+    this.logger = args.getChannelLogger();
+  }
+
+  /** Channel target which is resolved with {@link NodeDiscoveryNameResolver}. */
+  static String target(String host, int port) {
+    return SCHEME + ":///" + host + ":" + port;
+  }
+
+  /** Name resolver factory for channels created for the {@link #target}. */
+  static NameResolver.Factory factory() {
+    return REGISTRY.asFactory();
+  }
+
+  /**
+   * Service config for channels which use node discovery. Outlier detection
+   * runs every {@link NodeDiscovery#refreshInterval} and ejects a node which
+   * fails at least half of its requests, but no more than half of the nodes.
+   */
+  static Map<String, ?> serviceConfig(NodeDiscovery discovery) {
+    String interval = discovery.refreshInterval().toMillis() / 1000.0 + "s";
+    return Map.of("loadBalancingConfig", List.of(Map.of(
+        "outlier_detection_experimental", Map.of(
+            "interval", interval,
+            "baseEjectionTime", interval,
+            "maxEjectionPercent", 50.0,
+            "failurePercentageEjection", Map.of(
+                "threshold", 50.0,
+                "enforcementPercentage", 100.0,
+                "minimumHosts", 2.0,
+                "requestVolume", 5.0),
+            "childPolicy", List.of(Map.of("round_robin", Map.of()))))));
+  }
+
+  @Override
+  public String getServiceAuthority() {
+    return authority;
+  }
+
+  @Override
+  public void start(Listener2 listener) {
+    this.listener = requireNonNull(listener, "listener is null");
+    long interval = discovery.refreshInterval().toMillis();
+    this.refreshTask = scheduler.scheduleWithFixedDelay(
+        () -> syncContext.execute(this::resolve), interval, interval, TimeUnit.MILLISECONDS);
+    resolve();
+  }
+
+  @Override
+  public void refresh() {
+    resolve();
+  }
+
+  private void resolve() {
+    if (resolving || shutdown) {
+      return;
+    }
+    resolving = true;
+
+    CompletableFuture<List<InetSocketAddress>> nodes;
+    try {
+      nodes = discovery.nodes().get();
+    } catch (RuntimeException e) {
+      nodes = CompletableFuture.failedFuture(e);
+    }
+
+    nodes
+        .handle((list, error) -> {
+          if (error != null) {
+            logger.log(ChannelLogLevel.WARNING, "Node discovery failed: {0}", error);
+          }
+          return list != null ? list : List.<InetSocketAddress>of();
+        })
+        // Resolving hostnames may block, so it's done on the offload executor.
+        .thenApplyAsync(list -> {
+          var resolved = resolveAll(list);
+          return new Resolution(resolved, resolved.isEmpty() ? resolveAll(List.of(seed)) : List.of());
+        }, offloadExecutor)
+        .whenComplete((resolution, error) -> syncContext.execute(() -> {
+          resolving = false;
+          onResolved(error == null ? resolution : new Resolution(List.of(), List.of()));
+        }));
+  }
+
+  /**
+   * @param nodes    Discovered node addresses.
+   * @param fallback Seed address, if no nodes were discovered.
+   */
+  private record Resolution(List<InetSocketAddress> nodes, List<InetSocketAddress> fallback) {
+  }
+
+  private void onResolved(Resolution resolution) {
+    if (shutdown) {
+      return;
+    }
+    if (!resolution.nodes.isEmpty()) {
+      publish(resolution.nodes);
+    } else if (current == null) {
+      if (!resolution.fallback.isEmpty()) {
+        publish(resolution.fallback);
+      } else {
+        listener.onError(Status.UNAVAILABLE.withDescription("cannot resolve " + authority));
+      }
+    }
+  }
+
+  private void publish(List<InetSocketAddress> addresses) {
+    if (addresses.equals(current)) {
+      return;
+    }
+    current = addresses;
+
+    var groups = new ArrayList<EquivalentAddressGroup>(addresses.size());
+    for (var address : addresses) {
+      groups.add(new EquivalentAddressGroup(address));
+    }
+    logger.log(ChannelLogLevel.INFO, "Discovered nodes: {0}", addresses);
+    listener.onResult(ResolutionResult.newBuilder().setAddresses(groups).build());
+  }
+
+  /** Resolve hostnames, skipping addresses which cannot be resolved. */
+  private static List<InetSocketAddress> resolveAll(List<InetSocketAddress> addresses) {
+    Set<InetSocketAddress> resolved = new LinkedHashSet<>();
+    for (var address : addresses) {
+      if (address.isUnresolved()) {
+        address = new InetSocketAddress(address.getHostString(), address.getPort());
+      }
+      if (!address.isUnresolved()) {
+        resolved.add(address);
+      }
+    }
+    return List.copyOf(resolved);
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    if (refreshTask != null) {
+      refreshTask.cancel(false);
+    }
+  }
+
+  /**
+   * Creates {@link NodeDiscoveryNameResolver} for {@link #target targets}
+   * of channels which set the {@link #DISCOVERY} argument.
+   */
+  private static final class Provider extends NameResolverProvider {
+
+    @Override
+    public NameResolver newNameResolver(URI targetUri, Args args) {
+      if (!SCHEME.equals(targetUri.getScheme()) || args.getArg(DISCOVERY) == null) {
+        return null;
+      }
+      var hostPort = URI.create("//" + targetUri.getPath().substring(1));
+      return new NodeDiscoveryNameResolver(hostPort.getHost(), hostPort.getPort(), args.getArg(DISCOVERY), args);
+    }
+
+    @Override
+    public String getDefaultScheme() {
+      return SCHEME;
+    }
+
+    @Override
+    protected boolean isAvailable() {
+      return true;
+    }
+
+    /** The provider is alone in its registry, so the priority does not matter. */
+    @Override
+    protected int priority() {
+      return 1;
+    }
+
+    @Override
+    public Collection<Class<? extends SocketAddress>> getProducedSocketAddressTypes() {
+      return List.of(InetSocketAddress.class);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchObjectsRequest;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+
+/**
+ * Picks the node which holds the shard of a tenant-scoped request.
+ * In a multi-tenant collection every tenant has its own shard,
+ * named after the tenant.
+ *
+ * <p>
+ * Sharding state is cached per collection and fetched in the background,
+ * so that requests are never delayed by it: until the state is known,
+ * they go through the coordinator. Failed lookups are cached too,
+ * to avoid repeating them on every request.
+ *
+ * <p>
+ * Whenever a lookup completes, the router reports the nodes which hold
+ * any of the known shards, so that connections to other nodes can be closed.
+ */
+@ThreadSafe
+final class ShardRouter {
+  private final ShardRouting routing;
+  private final long ttlNanos;
+  private final LongSupplier nanoClock;
+  private final Consumer<Set<InetSocketAddress>> onNodes;
+
+  private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+  /** Round-robin offset for picking between the replicas. */
+  private final AtomicInteger next = new AtomicInteger();
+
+  /** Collection and tenant a request is scoped to. */
+  record RoutingKey(String collection, String tenant) {
+  }
+
+  /** Sharding state of a collection, keyed by shard name. */
+  private record Entry(CompletableFuture<Map<String, List<InetSocketAddress>>> shards, long expiresAt) {
+  }
+
+  ShardRouter(ShardRouting routing) {
+    this(routing, nodes -> {
+    });
+  }
+
+  /**
+   * @param onNodes Receives the nodes which hold the known shards
+   *                after every completed lookup.
+   */
+  ShardRouter(ShardRouting routing, Consumer<Set<InetSocketAddress>> onNodes) {
+    this(routing, onNodes, System::nanoTime);
+  }
+
+  ShardRouter(ShardRouting routing, LongSupplier nanoClock) {
+    this(routing, nodes -> {
+    }, nanoClock);
+  }
+
+  ShardRouter(ShardRouting routing, Consumer<Set<InetSocketAddress>> onNodes, LongSupplier nanoClock) {
+    this.routing = requireNonNull(routing, "routing is null");
+    this.onNodes = requireNonNull(onNodes, "onNodes is null");
+    this.nanoClock = requireNonNull(nanoClock, "nanoClock is null");
+    this.ttlNanos = routing.cacheTtl().toNanos();
+  }
+
+  /**
+   * Get the routing key of a request message.
+   *
+   * @return Routing key or {@code null} if the message is not a search
+   *         or a batch insert scoped to a single tenant.
+   */
+  static RoutingKey routingKey(Object message) {
+    if (message instanceof SearchRequest search) {
+      return search.getTenant().isEmpty()
+          ? null
+          : new RoutingKey(search.getCollection(), search.getTenant());
+    }
+    if (message instanceof BatchObjectsRequest batch && batch.getObjectsCount() > 0) {
+      var first = batch.getObjects(0);
+      if (first.getTenant().isEmpty()) {
+        return null;
+      }
+      for (var object : batch.getObjectsList()) {
+        if (!first.getTenant().equals(object.getTenant())
+            || !first.getCollection().equals(object.getCollection())) {
+          return null;
+        }
+      }
+      return new RoutingKey(first.getCollection(), first.getTenant());
+    }
+    return null;
+  }
+
+  /**
+   * Pick a replica of the tenant's shard, alternating between the replicas.
+   *
+   * @return Node address or {@code null} if the request should
+   *         go through the coordinator.
+   */
+  InetSocketAddress route(RoutingKey key) {
+    requireNonNull(key, "key is null");
+
+    var shards = lookup(key.collection());
+    if (shards == null) {
+      return null;
+    }
+    var replicas = shards.get(key.tenant());
+    if (replicas == null || replicas.isEmpty()) {
+      return null;
+    }
+    return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+  }
+
+  /**
+   * Get cached sharding state, starting a lookup if it's missing or expired.
+   *
+   * @return Sharding state or {@code null} if it's not known yet.
+   */
+  private Map<String, List<InetSocketAddress>> lookup(String collection) {
+    long now = nanoClock.getAsLong();
+    var entry = cache.get(collection);
+    if (entry == null || now - entry.expiresAt >= 0) {
+      var fresh = new Entry(new CompletableFuture<>(), now + ttlNanos);
+      boolean won = entry == null
+          ? cache.putIfAbsent(collection, fresh) == null
+          : cache.replace(collection, entry, fresh);
+      if (won) {
+        fetch(collection, fresh.shards);
+      }
+      return null;
+    }
+    return entry.shards.isDone() ? entry.shards.join() : null;
+  }
+
+  private void fetch(String collection, CompletableFuture<Map<String, List<InetSocketAddress>>> shards) {
+    CompletableFuture<Map<String, List<InetSocketAddress>>> lookup;
+    try {
+      lookup = routing.shards().apply(collection);
+    } catch (RuntimeException e) {
+      lookup = CompletableFuture.failedFuture(e);
+    }
+    lookup.whenComplete((state, error) -> {
+      shards.complete(error == null && state != null ? state : Map.of());
+      onNodes.accept(nodes());
+    });
+  }
+
+  /** Nodes which hold any of the shards whose state is known. */
+  Set<InetSocketAddress> nodes() {
+    var nodes = new HashSet<InetSocketAddress>();
+    for (var entry : cache.values()) {
+      if (entry.shards.isDone()) {
+        entry.shards.join().values().forEach(nodes::addAll);
+      }
+    }
+    return nodes;
+  }
+
+  /**
+   * Drop cached sharding state of the collection, e.g. after a request
+   * routed to one of its shards has failed. The next request starts a new lookup.
+   */
+  void invalidate(String collection) {
+    cache.remove(collection);
+  }
+}
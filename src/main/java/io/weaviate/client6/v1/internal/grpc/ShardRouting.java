@@ -0,0 +1,33 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Source of collection sharding state for routing tenant-scoped requests
+ * directly to the nodes which hold the tenant's shard.
+ *
+ * @param shards   Lists the replica addresses of every shard
+ *                 in the collection, keyed by shard name.
+ * @param cacheTtl How long the sharding state of a collection is cached.
+ */
+public record ShardRouting(Function<String, CompletableFuture<Map<String, List<InetSocketAddress>>>> shards,
+    Duration cacheTtl) {
+
+  /**
+   * @throws IllegalArgumentException if {@code cacheTtl} is not positive.
+   */
+  public ShardRouting {
+    requireNonNull(shards, "shards is null");
+    requireNonNull(cacheTtl, "cacheTtl is null");
+    if (cacheTtl.isNegative() || cacheTtl.isZero()) {
+      throw new IllegalArgumentException("cacheTtl must be positive, got " + cacheTtl);
+    }
+  }
+}
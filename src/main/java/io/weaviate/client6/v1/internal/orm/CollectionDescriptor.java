@@ -7,6 +7,7 @@ import com.google.gson.reflect.TypeToken;
 
 import io.weaviate.client6.v1.api.collections.CollectionConfig;
 import io.weaviate.client6.v1.internal.ObjectBuilder;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
 
 public sealed interface CollectionDescriptor<PropertiesT> permits MapDescriptor, PojoDescriptor {
   String collectionName();
@@ -17,6 +18,19 @@ public sealed interface CollectionDescriptor<PropertiesT> permits MapDescriptor,
 
   PropertiesBuilder<PropertiesT> propertiesBuilder();
 
+  /**
+   * Write properties into a batch object.
+   *
+   * <p>
+   * By default, property types are resolved at runtime for every value.
+   * Descriptors which know their property types in advance should
+   * override this method.
+   */
+  default void writeProperties(PropertiesT properties, WeaviateProtoBatch.BatchObject.Properties.Builder out) {
+    propertiesReader(properties).readProperties()
+        .forEach((property, value) -> ProtoProperties.writeValue(out, property, value));
+  }
+
   default Function<CollectionConfig.Builder, ObjectBuilder<CollectionConfig>> configFn() {
     return ObjectBuilder.identity();
   }
@@ -26,6 +40,6 @@ public sealed interface CollectionDescriptor<PropertiesT> permits MapDescriptor,
   }
 
   static <PropertiesT extends Record> CollectionDescriptor<PropertiesT> ofClass(Class<PropertiesT> cls) {
-    return new PojoDescriptor<>(cls);
+    return PojoDescriptor.of(cls);
   }
 }
@@ -1,11 +1,7 @@
 package io.weaviate.client6.v1.internal.orm;
 
-import java.lang.reflect.Constructor;
 import java.time.OffsetDateTime;
-import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -14,71 +10,25 @@ import io.weaviate.client6.v1.api.collections.GeoCoordinates;
 import io.weaviate.client6.v1.api.collections.PhoneNumber;
 
 final class PojoBuilder<PropertiesT extends Record> implements PropertiesBuilder<PropertiesT> {
-  private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS;
+  private final RecordCodec<PropertiesT> codec;
+  private final Object[] args;
 
-  static {
-    PRIMITIVE_DEFAULTS = Map.of(
-        boolean.class, false,
-        short.class, (short) 0,
-        int.class, 0,
-        long.class, 0L,
-        float.class, 0f,
-        double.class, 0d);
-  }
-
-  private final PojoDescriptor<PropertiesT> descriptor;
-  private final Constructor<PropertiesT> ctor;
-  private final Map<String, Arg> ctorArgs;
-
-  static record Arg(Class<?> type, Object value) {
-    /**
-     * Create a new Arg, replacing a null value with
-     * default if the type is a known primitive class.
-     */
-    static Arg withPrimitiveDefault(Class<?> type, Object value) {
-      if (PRIMITIVE_DEFAULTS.containsKey(type)) {
-        return new Arg(type, PRIMITIVE_DEFAULTS.get(type));
-      }
-      return new Arg(type, value);
-    }
-
-    Arg withValue(Object value) {
-      return new Arg(this.type, value);
-    }
-  }
-
-  PojoBuilder(PojoDescriptor<PropertiesT> descriptor) {
-    this.descriptor = descriptor;
-
-    var args = descriptor._class().getRecordComponents();
-    ctorArgs = new LinkedHashMap<String, Arg>(args.length);
-
-    var componentTypes = Arrays.stream(args)
-        .map(arg -> {
-          // LinkedHashMap allows null values.
-          var type = arg.getType();
-          ctorArgs.put(arg.getName(), Arg.withPrimitiveDefault(type, null));
-          return type;
-        })
-        .toArray(Class<?>[]::new);
-    try {
-      ctor = descriptor._class().getDeclaredConstructor(componentTypes);
-    } catch (NoSuchMethodException | SecurityException e) {
-      throw new RuntimeException(e);
-    }
+  PojoBuilder(RecordCodec<PropertiesT> codec) {
+    this.codec = codec;
+    this.args = codec.defaultArgs();
   }
 
   private void setValue(String propertyName, Object value) {
-    var fieldName = descriptor.fieldName(propertyName);
-    if (!ctorArgs.containsKey(fieldName)) {
+    var component = codec.component(propertyName);
+    if (component == null) {
       return;
     }
-    var arg = ctorArgs.get(fieldName);
-    ctorArgs.put(fieldName, arg.withValue(value));
+    args[component.index()] = value;
   }
 
   private Class<?> getArgType(String propertyName) {
-    return ctorArgs.get(descriptor.fieldName(propertyName)).type();
+    var component = codec.component(propertyName);
+    return component != null ? component.type() : Object.class;
   }
 
   private boolean isArray(String propertyName, Class<?>... classes) {
@@ -111,7 +61,11 @@ final class PojoBuilder<PropertiesT extends Record> implements PropertiesBuilder
 
   @Override
   public void setNull(String propertyName) {
-    setValue(propertyName, null);
+    var component = codec.component(propertyName);
+    if (component != null) {
+      // Primitive components cannot be null and fall back to their default value.
+      args[component.index()] = component.defaultValue();
+    }
   }
 
   @Override
@@ -205,6 +159,44 @@ final class PojoBuilder<PropertiesT extends Record> implements PropertiesBuilder
     }
   }
 
+  @Override
+  public void setLongArray(String propertyName, long[] value) {
+    if (isArray(propertyName, long.class)) {
+      setValue(propertyName, value);
+    } else if (isArray(propertyName, int.class)) {
+      var ints = new int[value.length];
+      for (int i = 0; i < ints.length; i++) {
+        ints[i] = (int) value[i];
+      }
+      setValue(propertyName, ints);
+    } else if (isArray(propertyName, short.class)) {
+      var shorts = new short[value.length];
+      for (int i = 0; i < shorts.length; i++) {
+        shorts[i] = (short) value[i];
+      }
+      setValue(propertyName, shorts);
+    } else if (codec.component(propertyName) != null) {
+      // Boxed arrays and lists cannot avoid boxing.
+      PropertiesBuilder.super.setLongArray(propertyName, value);
+    }
+  }
+
+  @Override
+  public void setDoubleArray(String propertyName, double[] value) {
+    if (isArray(propertyName, double.class)) {
+      setValue(propertyName, value);
+    } else if (isArray(propertyName, float.class)) {
+      var floats = new float[value.length];
+      for (int i = 0; i < floats.length; i++) {
+        floats[i] = (float) value[i];
+      }
+      setValue(propertyName, floats);
+    } else if (codec.component(propertyName) != null) {
+      // Boxed arrays and lists cannot avoid boxing.
+      PropertiesBuilder.super.setDoubleArray(propertyName, value);
+    }
+  }
+
   @Override
   public void setUuidArray(String propertyName, List<UUID> value) {
     setValue(propertyName, isArray(propertyName)
@@ -252,12 +244,6 @@ final class PojoBuilder<PropertiesT extends Record> implements PropertiesBuilder
 
   @Override
   public PropertiesT build() {
-    Object[] args = ctorArgs.values().stream().map(Arg::value).toArray();
-    try {
-      ctor.setAccessible(true);
-      return ctor.newInstance(args);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return codec.newInstance(args);
   }
 }
@@ -4,14 +4,12 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.time.OffsetDateTime;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -21,6 +19,7 @@ import io.weaviate.client6.v1.api.collections.PhoneNumber;
 import io.weaviate.client6.v1.api.collections.Property;
 import io.weaviate.client6.v1.api.collections.annotations.Collection;
 import io.weaviate.client6.v1.internal.ObjectBuilder;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
 
 final class PojoDescriptor<T extends Record> implements CollectionDescriptor<T> {
   private static final Map<Class<?>, Function<String, Property>> CTORS;
@@ -75,17 +74,154 @@ final class PojoDescriptor<T extends Record> implements CollectionDescriptor<T>
     CTORS = Collections.unmodifiableMap(ctors);
   }
 
+  /** Writes a record component into a batch object. */
+  @FunctionalInterface
+  private interface PropertyWriter {
+    void write(WeaviateProtoBatch.BatchObject.Properties.Builder out, String property, Object value);
+  }
+
+  /** Writers for supported component types. */
+  private static final Map<Class<?>, PropertyWriter> WRITERS;
+
+  /** Writers for {@code List} components, by element type. */
+  private static final Map<Class<?>, PropertyWriter> LIST_WRITERS;
+
+  static {
+    Map<Class<?>, PropertyWriter> writers = new HashMap<>() {
+      {
+        put(String.class, (out, p, v) -> ProtoProperties.writeText(out, p, (String) v));
+        put(UUID.class, (out, p, v) -> ProtoProperties.writeUuid(out, p, (UUID) v));
+        put(OffsetDateTime.class, (out, p, v) -> ProtoProperties.writeDate(out, p, (OffsetDateTime) v));
+        put(PhoneNumber.class, (out, p, v) -> ProtoProperties.writePhoneNumber(out, p, (PhoneNumber) v));
+        put(GeoCoordinates.class, (out, p, v) -> ProtoProperties.writeGeoCoordinates(out, p, (GeoCoordinates) v));
+        put(boolean.class, (out, p, v) -> ProtoProperties.writeBoolean(out, p, (boolean) v));
+        put(short.class, (out, p, v) -> ProtoProperties.writeShort(out, p, (short) v));
+        put(int.class, (out, p, v) -> ProtoProperties.writeInt(out, p, (int) v));
+        put(long.class, (out, p, v) -> ProtoProperties.writeLong(out, p, (long) v));
+        put(float.class, (out, p, v) -> ProtoProperties.writeFloat(out, p, (float) v));
+        put(double.class, (out, p, v) -> ProtoProperties.writeDouble(out, p, (double) v));
+        put(Boolean.class, (out, p, v) -> ProtoProperties.writeBooleanBoxed(out, p, (Boolean) v));
+        put(Short.class, (out, p, v) -> ProtoProperties.writeShortBoxed(out, p, (Short) v));
+        put(Integer.class, (out, p, v) -> ProtoProperties.writeIntBoxed(out, p, (Integer) v));
+        put(Long.class, (out, p, v) -> ProtoProperties.writeLongBoxed(out, p, (Long) v));
+        put(Float.class, (out, p, v) -> ProtoProperties.writeFloatBoxed(out, p, (Float) v));
+        put(Double.class, (out, p, v) -> ProtoProperties.writeDoubleBoxed(out, p, (Double) v));
+        put(String[].class, (out, p, v) -> ProtoProperties.writeTextArray(out, p, (String[]) v));
+        put(UUID[].class, (out, p, v) -> ProtoProperties.writeUuidArray(out, p, (UUID[]) v));
+        put(OffsetDateTime[].class, (out, p, v) -> ProtoProperties.writeDateArray(out, p, (OffsetDateTime[]) v));
+        put(boolean[].class, (out, p, v) -> ProtoProperties.writeBooleanArray(out, p, (boolean[]) v));
+        put(short[].class, (out, p, v) -> ProtoProperties.writeShortArray(out, p, (short[]) v));
+        put(int[].class, (out, p, v) -> ProtoProperties.writeIntArray(out, p, (int[]) v));
+        put(long[].class, (out, p, v) -> ProtoProperties.writeLongArray(out, p, (long[]) v));
+        put(float[].class, (out, p, v) -> ProtoProperties.writeFloatArray(out, p, (float[]) v));
+        put(double[].class, (out, p, v) -> ProtoProperties.writeDoubleArray(out, p, (double[]) v));
+        put(Boolean[].class, (out, p, v) -> ProtoProperties.writeBooleanBoxedArray(out, p, (Boolean[]) v));
+        put(Short[].class, (out, p, v) -> ProtoProperties.writeShortBoxedArray(out, p, (Short[]) v));
+        put(Integer[].class, (out, p, v) -> ProtoProperties.writeIntBoxedArray(out, p, (Integer[]) v));
+        put(Long[].class, (out, p, v) -> ProtoProperties.writeLongBoxedArray(out, p, (Long[]) v));
+        put(Float[].class, (out, p, v) -> ProtoProperties.writeFloatBoxedArray(out, p, (Float[]) v));
+        put(Double[].class, (out, p, v) -> ProtoProperties.writeDoubleBoxedArray(out, p, (Double[]) v));
+      }
+    };
+    WRITERS = Collections.unmodifiableMap(writers);
+
+    @SuppressWarnings("unchecked")
+    Map<Class<?>, PropertyWriter> listWriters = new HashMap<>() {
+      {
+        put(String.class, (out, p, v) -> ProtoProperties.writeTextList(out, p, (List<String>) v));
+        put(UUID.class, (out, p, v) -> ProtoProperties.writeUuidList(out, p, (List<UUID>) v));
+        put(OffsetDateTime.class, (out, p, v) -> ProtoProperties.writeDateList(out, p, (List<OffsetDateTime>) v));
+        put(Boolean.class, (out, p, v) -> ProtoProperties.writeBooleanList(out, p, (List<Boolean>) v));
+        put(Short.class, (out, p, v) -> ProtoProperties.writeShortList(out, p, (List<Short>) v));
+        put(Integer.class, (out, p, v) -> ProtoProperties.writeIntList(out, p, (List<Integer>) v));
+        put(Long.class, (out, p, v) -> ProtoProperties.writeLongList(out, p, (List<Long>) v));
+        put(Float.class, (out, p, v) -> ProtoProperties.writeFloatList(out, p, (List<Float>) v));
+        put(Double.class, (out, p, v) -> ProtoProperties.writeDoubleList(out, p, (List<Double>) v));
+      }
+    };
+    LIST_WRITERS = Collections.unmodifiableMap(listWriters);
+  }
+
+  /** Descriptors are immutable, so we only need to create one per class. */
+  private static final ClassValue<PojoDescriptor<?>> CACHE = new ClassValue<>() {
+    @Override
+    protected PojoDescriptor<?> computeValue(Class<?> type) {
+      return new PojoDescriptor<>(type.asSubclass(Record.class));
+    }
+  };
+
   private final Class<T> cls;
-  private final Map<String, String> propertyToField;
+  private final String collectionName;
+  private final RecordCodec<T> codec;
 
-  PojoDescriptor(Class<T> cls) {
+  /** Codec generated at compile time, or {@code null} if none exists. */
+  private final PropertiesCodec<T> generated;
+
+  /** Property writers, indexed by record component. */
+  private final PropertyWriter[] writers;
+
+  /** Get a cached descriptor for a record class. */
+  @SuppressWarnings("unchecked")
+  static <T extends Record> PojoDescriptor<T> of(Class<T> cls) {
+    return (PojoDescriptor<T>) CACHE.get(cls);
+  }
+
+  private PojoDescriptor(Class<T> cls) {
     this.cls = cls;
-    this.propertyToField = Arrays.stream(cls.getDeclaredFields())
-        .collect(Collectors.toUnmodifiableMap(PojoDescriptor::propertyName, Field::getName));
+    this.codec = RecordCodec.of(cls);
+    this.generated = generatedCodec(cls);
+    this.writers = codec.components().stream()
+        .map(PojoDescriptor::resolveWriter)
+        .toArray(PropertyWriter[]::new);
+
+    var annotation = cls.getAnnotation(Collection.class);
+    this.collectionName = annotation != null
+        ? annotation.value()
+        : cls.getSimpleName();
+  }
+
+  RecordCodec<T> codec() {
+    return codec;
+  }
+
+  /**
+   * Find the codec generated for this class by
+   * {@link io.weaviate.client6.v1.internal.orm.processor.CollectionCodecProcessor}.
+   *
+   * @return Codec instance or {@code null} if the class was compiled
+   *         without the annotation processor.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> PropertiesCodec<T> generatedCodec(Class<T> cls) {
+    var codecName = cls.getName().replace('$', '_') + PropertiesCodec.CODEC_SUFFIX;
+    try {
+      var codecClass = Class.forName(codecName, true, cls.getClassLoader());
+      if (!PropertiesCodec.class.isAssignableFrom(codecClass)) {
+        return null;
+      }
+      return (PropertiesCodec<T>) codecClass.getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("cannot create generated codec " + codecName, e);
+    }
   }
 
-  Class<T> _class() {
-    return cls;
+  /**
+   * Resolve a writer for a record component. Components of unknown types,
+   * e.g. nested objects, are resolved at runtime with
+   * {@link ProtoProperties#writeValue}.
+   */
+  private static PropertyWriter resolveWriter(RecordCodec.Component component) {
+    PropertyWriter writer = null;
+    if (component.type() == List.class
+        && component.genericType() instanceof ParameterizedType ptype
+        && ptype.getActualTypeArguments()[0] instanceof Class<?> element) {
+      writer = LIST_WRITERS.get(element);
+    } else {
+      writer = WRITERS.get(component.type());
+    }
+    return writer != null ? writer : ProtoProperties::writeValue;
   }
 
   /** Get collection property name for a class field. */
@@ -98,18 +234,9 @@ final class PojoDescriptor<T extends Record> implements CollectionDescriptor<T>
     return propertyName;
   }
 
-  /** Get class field name for a collection property. */
-  String fieldName(String propertyName) {
-    return propertyToField.getOrDefault(propertyName, propertyName);
-  }
-
   @Override
   public String collectionName() {
-    var annotation = cls.getAnnotation(Collection.class);
-    if (annotation != null) {
-      return annotation.value();
-    }
-    return cls.getSimpleName();
+    return collectionName;
   }
 
   @Override
@@ -119,12 +246,29 @@ final class PojoDescriptor<T extends Record> implements CollectionDescriptor<T>
 
   @Override
   public PropertiesReader<T> propertiesReader(T properties) {
-    return new PojoReader<>(properties);
+    if (generated != null) {
+      return generated.propertiesReader(properties);
+    }
+    return new PojoReader<>(codec, properties);
   }
 
   @Override
   public PropertiesBuilder<T> propertiesBuilder() {
-    return new PojoBuilder<>(this);
+    if (generated != null) {
+      return generated.propertiesBuilder();
+    }
+    return new PojoBuilder<>(codec);
+  }
+
+  @Override
+  public void writeProperties(T properties, WeaviateProtoBatch.BatchObject.Properties.Builder out) {
+    if (generated != null) {
+      generated.writeProperties(properties, out);
+      return;
+    }
+    for (var component : codec.components()) {
+      writers[component.index()].write(out, component.propertyName(), codec.get(properties, component));
+    }
   }
 
   @Override
@@ -139,13 +283,13 @@ final class PojoDescriptor<T extends Record> implements CollectionDescriptor<T>
     }
 
     // Add properties
-    for (var field : cls.getDeclaredFields()) {
-      var propertyName = propertyName(field);
+    for (var component : codec.components()) {
+      var propertyName = component.propertyName();
       Function<String, Property> ctor;
-      var type = field.getType();
+      var type = component.type();
 
       if (type == List.class) {
-        var ptype = (ParameterizedType) field.getGenericType();
+        var ptype = (ParameterizedType) component.genericType();
         var argtype = (Class<?>) ptype.getActualTypeArguments()[0];
         var arr = Array.newInstance(argtype, 0).getClass();
         ctor = CTORS.get(arr);
@@ -1,11 +1,13 @@
 package io.weaviate.client6.v1.internal.orm;
 
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 import io.weaviate.client6.v1.api.collections.GeoCoordinates;
 import io.weaviate.client6.v1.api.collections.PhoneNumber;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties;
 
 public interface PropertiesBuilder<T> {
   void setNull(String property);
@@ -30,6 +32,22 @@ public interface PropertiesBuilder<T> {
 
   void setDoubleArray(String property, List<Double> value);
 
+  /**
+   * Set integer array property from decoded values.
+   * The default implementation boxes the values into a {@code List}.
+   */
+  default void setLongArray(String property, long[] value) {
+    setLongArray(property, Arrays.stream(value).boxed().toList());
+  }
+
+  /**
+   * Set number array property from decoded values.
+   * The default implementation boxes the values into a {@code List}.
+   */
+  default void setDoubleArray(String property, double[] value) {
+    setDoubleArray(property, Arrays.stream(value).boxed().toList());
+  }
+
   void setUuidArray(String property, List<UUID> value);
 
   void setBooleanArray(String property, List<Boolean> value);
@@ -44,5 +62,20 @@ public interface PropertiesBuilder<T> {
 
   void setGeoCoordinates(String property, GeoCoordinates value);
 
+  /**
+   * Set property from its protobuf representation.
+   *
+   * <p>
+   * Builders which can consume {@link WeaviateProtoProperties.Value}
+   * directly override this method to skip the intermediate conversion
+   * to Java types performed by the typed setters.
+   *
+   * @return {@code true} if the value was consumed, {@code false} if
+   *         it should be set via one of the typed setters instead.
+   */
+  default boolean setValue(String property, WeaviateProtoProperties.Value value) {
+    return false;
+  }
+
   T build();
 }
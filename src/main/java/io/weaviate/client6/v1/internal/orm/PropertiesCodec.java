@@ -0,0 +1,26 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+
+/**
+ * PropertiesCodec reads and writes properties of a record class without
+ * reflection. Implementations are generated at compile time by
+ * {@link io.weaviate.client6.v1.internal.orm.processor.CollectionCodecProcessor}
+ * and picked up by {@link CollectionDescriptor#ofClass} if present.
+ *
+ * @param <T> Record class.
+ */
+public interface PropertiesCodec<T> {
+  /**
+   * Suffix of generated codec names: a codec for {@code com.example.Songs.Song}
+   * is named {@code com.example.Songs_Song_WeaviateCodec}.
+   */
+  String CODEC_SUFFIX = "_WeaviateCodec";
+
+  PropertiesReader<T> propertiesReader(T properties);
+
+  PropertiesBuilder<T> propertiesBuilder();
+
+  /** Write record properties directly into a batch object. */
+  void writeProperties(T properties, WeaviateProtoBatch.BatchObject.Properties.Builder out);
+}
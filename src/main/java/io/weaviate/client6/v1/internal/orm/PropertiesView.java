@@ -0,0 +1,88 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * PropertiesView is a read-only map over the properties of a record.
+ * Values are read from the record whenever they are accessed, so creating
+ * a view does not copy them. Codecs generated by
+ * {@link io.weaviate.client6.v1.internal.orm.processor.CollectionCodecProcessor}
+ * return it from their {@link PropertiesReader}.
+ */
+public final class PropertiesView extends AbstractMap<String, Object> {
+  private final String[] properties;
+  private final IntFunction<Object> values;
+
+  /**
+   * @param properties Property names.
+   * @param values     Reads the value of the i-th property.
+   */
+  public PropertiesView(String[] properties, IntFunction<Object> values) {
+    this.properties = requireNonNull(properties, "properties is null");
+    this.values = requireNonNull(values, "values is null");
+  }
+
+  @Override
+  public int size() {
+    return properties.length;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public Object get(Object key) {
+    int i = indexOf(key);
+    return i >= 0 ? values.apply(i) : null;
+  }
+
+  private int indexOf(Object key) {
+    for (int i = 0; i < properties.length; i++) {
+      if (properties[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public int size() {
+        return properties.length;
+      }
+
+      @Override
+      public Iterator<Map.Entry<String, Object>> iterator() {
+        return new Iterator<>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < properties.length;
+          }
+
+          @Override
+          public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            int i = next++;
+            return new SimpleImmutableEntry<>(properties[i], values.apply(i));
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,975 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.weaviate.client6.v1.api.collections.GeoCoordinates;
+import io.weaviate.client6.v1.api.collections.PhoneNumber;
+import io.weaviate.client6.v1.internal.DateUtil;
+import io.weaviate.client6.v1.internal.grpc.ByteStringUtil;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBase;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchObject;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties.ListValue;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties.Value;
+
+/**
+ * Typed read / write helpers for record properties.
+ *
+ * <p>
+ * Each property type supported by the ORM has a pair of methods:
+ * {@code write<Kind>} puts a value into {@link BatchObject.Properties}
+ * and {@code read<Kind>} extracts it from a {@link Value} returned in
+ * a query result. The {@code Kind} is derived from the Java type:
+ *
+ * <ul>
+ * <li>{@code Text}, {@code Uuid}, {@code Date}, {@code PhoneNumber},
+ * {@code GeoCoordinates} for the corresponding reference types;
+ * <li>{@code Boolean}, {@code Short}, {@code Int}, {@code Long},
+ * {@code Float}, {@code Double} for primitives, with {@code Boxed}
+ * suffix for their wrapper types;
+ * <li>{@code Array} suffix for arrays, e.g. {@code IntArray} is
+ * {@code int[]} and {@code IntBoxedArray} is {@code Integer[]};
+ * <li>{@code List} suffix for lists, e.g. {@code TextList} is
+ * {@code List<String>}.
+ * </ul>
+ *
+ * <p>
+ * Code generated by
+ * {@link io.weaviate.client6.v1.internal.orm.processor.CollectionCodecProcessor}
+ * relies on these names, so they must not be changed.
+ *
+ * <p>
+ * Writers use the typed array fields of {@link BatchObject.Properties}
+ * (integer, number, text and boolean arrays) where the protocol provides
+ * them, so primitive arrays are never boxed element by element. Empty
+ * lists are sent by name only. Everything else is written into the
+ * {@code non_ref_properties} Struct.
+ *
+ * <p>
+ * Writers skip {@code null} values. Readers return {@code null} for missing
+ * values, or the default value if the target type is a primitive.
+ */
+public final class ProtoProperties {
+  /** Prevent public initialization. */
+  private ProtoProperties() {
+  }
+
+  // Writers -----------------------------------------------------------------
+
+  private static void put(BatchObject.Properties.Builder out, String property,
+      com.google.protobuf.Value.Builder value) {
+    out.getNonRefPropertiesBuilder().putFields(property, value.build());
+  }
+
+  private static com.google.protobuf.Value.Builder string(String value) {
+    return com.google.protobuf.Value.newBuilder().setStringValue(value);
+  }
+
+  private static com.google.protobuf.Value.Builder number(double value) {
+    return com.google.protobuf.Value.newBuilder().setNumberValue(value);
+  }
+
+  private static com.google.protobuf.Value.Builder bool(boolean value) {
+    return com.google.protobuf.Value.newBuilder().setBoolValue(value);
+  }
+
+  private static void putList(BatchObject.Properties.Builder out, String property,
+      com.google.protobuf.ListValue.Builder list) {
+    put(out, property, com.google.protobuf.Value.newBuilder().setListValue(list));
+  }
+
+  /**
+   * Empty lists carry no element type, so they are sent by name
+   * and Weaviate infers the data type from the collection schema.
+   */
+  private static void putEmptyList(BatchObject.Properties.Builder out, String property) {
+    out.addEmptyListProps(property);
+  }
+
+  private static WeaviateProtoBase.IntArrayProperties.Builder intArray(
+      BatchObject.Properties.Builder out, String property) {
+    return out.addIntArrayPropertiesBuilder().setPropName(property);
+  }
+
+  private static void putNumberArray(BatchObject.Properties.Builder out, String property, double[] values) {
+    out.addNumberArrayPropertiesBuilder()
+        .setPropName(property)
+        .setValuesBytes(ByteStringUtil.encodeNumberValues(values));
+  }
+
+  public static void writeText(BatchObject.Properties.Builder out, String property, String value) {
+    if (value != null) {
+      put(out, property, string(value));
+    }
+  }
+
+  public static void writeUuid(BatchObject.Properties.Builder out, String property, UUID value) {
+    if (value != null) {
+      put(out, property, string(value.toString()));
+    }
+  }
+
+  public static void writeDate(BatchObject.Properties.Builder out, String property, OffsetDateTime value) {
+    if (value != null) {
+      put(out, property, string(value.toString()));
+    }
+  }
+
+  public static void writeBoolean(BatchObject.Properties.Builder out, String property, boolean value) {
+    put(out, property, bool(value));
+  }
+
+  public static void writeBooleanBoxed(BatchObject.Properties.Builder out, String property, Boolean value) {
+    if (value != null) {
+      put(out, property, bool(value));
+    }
+  }
+
+  public static void writeShort(BatchObject.Properties.Builder out, String property, short value) {
+    put(out, property, number(value));
+  }
+
+  public static void writeInt(BatchObject.Properties.Builder out, String property, int value) {
+    put(out, property, number(value));
+  }
+
+  public static void writeLong(BatchObject.Properties.Builder out, String property, long value) {
+    put(out, property, number(value));
+  }
+
+  public static void writeFloat(BatchObject.Properties.Builder out, String property, float value) {
+    put(out, property, number(value));
+  }
+
+  public static void writeDouble(BatchObject.Properties.Builder out, String property, double value) {
+    put(out, property, number(value));
+  }
+
+  private static void writeNumberBoxed(BatchObject.Properties.Builder out, String property, Number value) {
+    if (value != null) {
+      put(out, property, number(value.doubleValue()));
+    }
+  }
+
+  public static void writeShortBoxed(BatchObject.Properties.Builder out, String property, Short value) {
+    writeNumberBoxed(out, property, value);
+  }
+
+  public static void writeIntBoxed(BatchObject.Properties.Builder out, String property, Integer value) {
+    writeNumberBoxed(out, property, value);
+  }
+
+  public static void writeLongBoxed(BatchObject.Properties.Builder out, String property, Long value) {
+    writeNumberBoxed(out, property, value);
+  }
+
+  public static void writeFloatBoxed(BatchObject.Properties.Builder out, String property, Float value) {
+    writeNumberBoxed(out, property, value);
+  }
+
+  public static void writeDoubleBoxed(BatchObject.Properties.Builder out, String property, Double value) {
+    writeNumberBoxed(out, property, value);
+  }
+
+  public static void writePhoneNumber(BatchObject.Properties.Builder out, String property, PhoneNumber value) {
+    if (value != null) {
+      put(out, property, marshalPhoneNumber(value));
+    }
+  }
+
+  public static void writeGeoCoordinates(BatchObject.Properties.Builder out, String property,
+      GeoCoordinates value) {
+    if (value != null) {
+      put(out, property, marshalGeoCoordinates(value));
+    }
+  }
+
+  public static void writeTextArray(BatchObject.Properties.Builder out, String property, String[] value) {
+    if (value != null) {
+      writeTextList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeTextList(BatchObject.Properties.Builder out, String property, List<String> value) {
+    if (value == null) {
+      return;
+    } else if (value.isEmpty()) {
+      putEmptyList(out, property);
+      return;
+    }
+    out.addTextArrayPropertiesBuilder()
+        .setPropName(property)
+        .addAllValues(value);
+  }
+
+  public static void writeUuidArray(BatchObject.Properties.Builder out, String property, UUID[] value) {
+    if (value != null) {
+      writeUuidList(out, property, Arrays.asList(value));
+    }
+  }
+
+  /** UUID arrays have no typed field and are sent as a list of strings. */
+  public static void writeUuidList(BatchObject.Properties.Builder out, String property, List<UUID> value) {
+    if (value == null) {
+      return;
+    }
+    var list = com.google.protobuf.ListValue.newBuilder();
+    for (var v : value) {
+      list.addValues(string(v.toString()));
+    }
+    putList(out, property, list);
+  }
+
+  public static void writeDateArray(BatchObject.Properties.Builder out, String property, OffsetDateTime[] value) {
+    if (value != null) {
+      writeDateList(out, property, Arrays.asList(value));
+    }
+  }
+
+  /** Date arrays have no typed field and are sent as a list of strings. */
+  public static void writeDateList(BatchObject.Properties.Builder out, String property,
+      List<OffsetDateTime> value) {
+    if (value == null) {
+      return;
+    }
+    var list = com.google.protobuf.ListValue.newBuilder();
+    for (var v : value) {
+      list.addValues(string(v.toString()));
+    }
+    putList(out, property, list);
+  }
+
+  public static void writeBooleanArray(BatchObject.Properties.Builder out, String property, boolean[] value) {
+    if (value == null) {
+      return;
+    } else if (value.length == 0) {
+      putEmptyList(out, property);
+      return;
+    }
+    var array = out.addBooleanArrayPropertiesBuilder().setPropName(property);
+    for (var v : value) {
+      array.addValues(v);
+    }
+  }
+
+  public static void writeBooleanBoxedArray(BatchObject.Properties.Builder out, String property,
+      Boolean[] value) {
+    if (value != null) {
+      writeBooleanList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeBooleanList(BatchObject.Properties.Builder out, String property, List<Boolean> value) {
+    if (value == null) {
+      return;
+    } else if (value.isEmpty()) {
+      putEmptyList(out, property);
+      return;
+    }
+    out.addBooleanArrayPropertiesBuilder()
+        .setPropName(property)
+        .addAllValues(value);
+  }
+
+  public static void writeShortArray(BatchObject.Properties.Builder out, String property, short[] value) {
+    if (value == null) {
+      return;
+    } else if (value.length == 0) {
+      putEmptyList(out, property);
+      return;
+    }
+    var array = intArray(out, property);
+    for (var v : value) {
+      array.addValues(v);
+    }
+  }
+
+  public static void writeIntArray(BatchObject.Properties.Builder out, String property, int[] value) {
+    if (value == null) {
+      return;
+    } else if (value.length == 0) {
+      putEmptyList(out, property);
+      return;
+    }
+    var array = intArray(out, property);
+    for (var v : value) {
+      array.addValues(v);
+    }
+  }
+
+  public static void writeLongArray(BatchObject.Properties.Builder out, String property, long[] value) {
+    if (value == null) {
+      return;
+    } else if (value.length == 0) {
+      putEmptyList(out, property);
+      return;
+    }
+    var array = intArray(out, property);
+    for (var v : value) {
+      array.addValues(v);
+    }
+  }
+
+  public static void writeFloatArray(BatchObject.Properties.Builder out, String property, float[] value) {
+    if (value == null) {
+      return;
+    } else if (value.length == 0) {
+      putEmptyList(out, property);
+      return;
+    }
+    var doubles = new double[value.length];
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = value[i];
+    }
+    putNumberArray(out, property, doubles);
+  }
+
+  public static void writeDoubleArray(BatchObject.Properties.Builder out, String property, double[] value) {
+    if (value == null) {
+      return;
+    } else if (value.length == 0) {
+      putEmptyList(out, property);
+      return;
+    }
+    putNumberArray(out, property, value);
+  }
+
+  private static void writeIntegerList(BatchObject.Properties.Builder out, String property,
+      List<? extends Number> value) {
+    if (value == null) {
+      return;
+    } else if (value.isEmpty()) {
+      putEmptyList(out, property);
+      return;
+    }
+    var array = intArray(out, property);
+    for (var v : value) {
+      array.addValues(v.longValue());
+    }
+  }
+
+  private static void writeNumberList(BatchObject.Properties.Builder out, String property,
+      List<? extends Number> value) {
+    if (value == null) {
+      return;
+    } else if (value.isEmpty()) {
+      putEmptyList(out, property);
+      return;
+    }
+    var doubles = new double[value.size()];
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = value.get(i).doubleValue();
+    }
+    putNumberArray(out, property, doubles);
+  }
+
+  public static void writeShortBoxedArray(BatchObject.Properties.Builder out, String property, Short[] value) {
+    if (value != null) {
+      writeIntegerList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeIntBoxedArray(BatchObject.Properties.Builder out, String property, Integer[] value) {
+    if (value != null) {
+      writeIntegerList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeLongBoxedArray(BatchObject.Properties.Builder out, String property, Long[] value) {
+    if (value != null) {
+      writeIntegerList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeFloatBoxedArray(BatchObject.Properties.Builder out, String property, Float[] value) {
+    if (value != null) {
+      writeNumberList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeDoubleBoxedArray(BatchObject.Properties.Builder out, String property, Double[] value) {
+    if (value != null) {
+      writeNumberList(out, property, Arrays.asList(value));
+    }
+  }
+
+  public static void writeShortList(BatchObject.Properties.Builder out, String property, List<Short> value) {
+    writeIntegerList(out, property, value);
+  }
+
+  public static void writeIntList(BatchObject.Properties.Builder out, String property, List<Integer> value) {
+    writeIntegerList(out, property, value);
+  }
+
+  public static void writeLongList(BatchObject.Properties.Builder out, String property, List<Long> value) {
+    writeIntegerList(out, property, value);
+  }
+
+  public static void writeFloatList(BatchObject.Properties.Builder out, String property, List<Float> value) {
+    writeNumberList(out, property, value);
+  }
+
+  public static void writeDoubleList(BatchObject.Properties.Builder out, String property, List<Double> value) {
+    writeNumberList(out, property, value);
+  }
+
+  /**
+   * Write a property whose type is only known at runtime.
+   *
+   * <p>
+   * Primitive arrays are written to their typed fields. Other values,
+   * including lists, whose element type cannot be known in advance,
+   * are marshaled into {@link BatchObject.Properties#getNonRefProperties}.
+   */
+  public static void writeValue(BatchObject.Properties.Builder out, String property, Object value) {
+    if (value == null) {
+      return;
+    } else if (value instanceof int[] v) {
+      writeIntArray(out, property, v);
+    } else if (value instanceof long[] v) {
+      writeLongArray(out, property, v);
+    } else if (value instanceof short[] v) {
+      writeShortArray(out, property, v);
+    } else if (value instanceof double[] v) {
+      writeDoubleArray(out, property, v);
+    } else if (value instanceof float[] v) {
+      writeFloatArray(out, property, v);
+    } else if (value instanceof boolean[] v) {
+      writeBooleanArray(out, property, v);
+    } else {
+      out.getNonRefPropertiesBuilder().putFields(property, marshalValue(value));
+    }
+  }
+
+  private static com.google.protobuf.Value.Builder marshalPhoneNumber(PhoneNumber phone) {
+    var phoneProto = com.google.protobuf.Struct.newBuilder();
+    if (phone.rawInput() != null) {
+      phoneProto.putFields("input", string(phone.rawInput()).build());
+    }
+    if (phone.defaultCountry() != null) {
+      phoneProto.putFields("defaultCountry", string(phone.defaultCountry()).build());
+    }
+    return com.google.protobuf.Value.newBuilder().setStructValue(phoneProto);
+  }
+
+  private static com.google.protobuf.Value.Builder marshalGeoCoordinates(GeoCoordinates geo) {
+    return com.google.protobuf.Value.newBuilder().setStructValue(
+        com.google.protobuf.Struct.newBuilder()
+            .putFields("latitude", number(geo.latitude()).build())
+            .putFields("longitude", number(geo.longitude()).build()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static com.google.protobuf.Struct marshalRecord(Record r) {
+    var descriptor = (CollectionDescriptor<? super Record>) CollectionDescriptor.ofClass(r.getClass());
+    return marshalStruct(descriptor.propertiesReader(r).readProperties());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static com.google.protobuf.Value marshalValue(Object value) {
+    var protoValue = com.google.protobuf.Value.newBuilder();
+
+    if (value instanceof String v) {
+      protoValue.setStringValue(v);
+    } else if (value instanceof UUID v) {
+      protoValue.setStringValue(v.toString());
+    } else if (value instanceof OffsetDateTime v) {
+      protoValue.setStringValue(v.toString());
+    } else if (value instanceof Boolean v) {
+      protoValue.setBoolValue(v.booleanValue());
+    } else if (value instanceof Number v) {
+      protoValue.setNumberValue(v.doubleValue());
+    } else if (value instanceof PhoneNumber phone) {
+      protoValue = marshalPhoneNumber(phone);
+    } else if (value instanceof GeoCoordinates geo) {
+      protoValue = marshalGeoCoordinates(geo);
+    } else if (value instanceof List<?> v) {
+      var list = com.google.protobuf.ListValue.newBuilder();
+      for (var listValue : v) {
+        var protoListValue = com.google.protobuf.Value.newBuilder();
+        if (listValue instanceof String lv) {
+          protoListValue.setStringValue(lv);
+        } else if (listValue instanceof UUID lv) {
+          protoListValue.setStringValue(lv.toString());
+        } else if (listValue instanceof OffsetDateTime lv) {
+          protoListValue.setStringValue(lv.toString());
+        } else if (listValue instanceof Boolean lv) {
+          protoListValue.setBoolValue(lv);
+        } else if (listValue instanceof Number lv) {
+          protoListValue.setNumberValue(lv.doubleValue());
+        } else if (listValue instanceof Map<?, ?> properties) {
+          protoListValue.setStructValue(marshalStruct((Map<String, Object>) properties));
+        } else if (listValue instanceof Record r) {
+          protoListValue.setStructValue(marshalRecord(r));
+        } else {
+          throw new IllegalArgumentException("data type " + value.getClass() + " is not supported");
+        }
+        list.addValues(protoListValue);
+      }
+      protoValue.setListValue(list);
+    } else if (value.getClass().isArray()) {
+      var list = com.google.protobuf.ListValue.newBuilder();
+
+      if (value instanceof String[] v) {
+        for (var lv : v) {
+          list.addValues(string(lv));
+        }
+      } else if (value instanceof UUID[] v) {
+        for (var lv : v) {
+          list.addValues(string(lv.toString()));
+        }
+      } else if (value instanceof OffsetDateTime[] v) {
+        for (var lv : v) {
+          list.addValues(string(lv.toString()));
+        }
+      } else if (value instanceof Boolean[] v) {
+        for (var lv : v) {
+          list.addValues(bool(lv));
+        }
+      } else if (value instanceof boolean[] v) {
+        for (var lv : v) {
+          list.addValues(bool(lv));
+        }
+      } else if (value instanceof short[] v) {
+        for (var lv : v) {
+          list.addValues(number(lv));
+        }
+      } else if (value instanceof int[] v) {
+        for (var lv : v) {
+          list.addValues(number(lv));
+        }
+      } else if (value instanceof long[] v) {
+        for (var lv : v) {
+          list.addValues(number(lv));
+        }
+      } else if (value instanceof float[] v) {
+        for (var lv : v) {
+          list.addValues(number(lv));
+        }
+      } else if (value instanceof double[] v) {
+        for (var lv : v) {
+          list.addValues(number(lv));
+        }
+      } else if (value instanceof Number[] v) {
+        for (var lv : v) {
+          list.addValues(number(lv.doubleValue()));
+        }
+      } else if (value instanceof Map[] v) {
+        for (var lv : v) {
+          list.addValues(com.google.protobuf.Value.newBuilder()
+              .setStructValue(marshalStruct((Map<String, Object>) lv)));
+        }
+      } else if (value instanceof Record[] v) {
+        // Get the descriptor for each element in case the array is heterogenous.
+        for (var lv : v) {
+          list.addValues(com.google.protobuf.Value.newBuilder().setStructValue(marshalRecord(lv)));
+        }
+      } else {
+        throw new IllegalArgumentException("array type " + value.getClass() + " is not supported");
+      }
+      protoValue.setListValue(list);
+    } else if (value instanceof Map<?, ?> properties) {
+      protoValue.setStructValue(marshalStruct((Map<String, Object>) properties));
+    } else if (value instanceof Record r) {
+      protoValue.setStructValue(marshalRecord(r));
+    } else {
+      throw new IllegalArgumentException("data type " + value.getClass() + " is not supported");
+    }
+
+    return protoValue.build();
+  }
+
+  /** Marshal nested object properties into a Struct. Null values are skipped. */
+  public static com.google.protobuf.Struct marshalStruct(Map<String, Object> properties) {
+    var struct = com.google.protobuf.Struct.newBuilder();
+    properties.forEach((property, value) -> {
+      if (value != null) {
+        struct.putFields(property, marshalValue(value));
+      }
+    });
+    return struct.build();
+  }
+
+  // Readers -----------------------------------------------------------------
+
+  public static String readText(Value value) {
+    if (value.hasTextValue()) {
+      return value.getTextValue();
+    } else if (value.hasBlobValue()) {
+      return value.getBlobValue();
+    }
+    return null;
+  }
+
+  public static UUID readUuid(Value value) {
+    if (value.hasUuidValue()) {
+      return UUID.fromString(value.getUuidValue());
+    } else if (value.hasTextValue()) {
+      return UUID.fromString(value.getTextValue());
+    }
+    return null;
+  }
+
+  public static OffsetDateTime readDate(Value value) {
+    return value.hasDateValue() ? DateUtil.fromISO8601(value.getDateValue()) : null;
+  }
+
+  public static boolean readBoolean(Value value) {
+    return value.getBoolValue();
+  }
+
+  public static Boolean readBooleanBoxed(Value value) {
+    return value.hasBoolValue() ? value.getBoolValue() : null;
+  }
+
+  private static boolean isNumber(Value value) {
+    return value.hasIntValue() || value.hasNumberValue();
+  }
+
+  private static long longValue(Value value) {
+    return value.hasIntValue() ? value.getIntValue() : (long) value.getNumberValue();
+  }
+
+  private static double doubleValue(Value value) {
+    return value.hasNumberValue() ? value.getNumberValue() : value.getIntValue();
+  }
+
+  public static short readShort(Value value) {
+    return (short) longValue(value);
+  }
+
+  public static int readInt(Value value) {
+    return (int) longValue(value);
+  }
+
+  public static long readLong(Value value) {
+    return longValue(value);
+  }
+
+  public static float readFloat(Value value) {
+    return (float) doubleValue(value);
+  }
+
+  public static double readDouble(Value value) {
+    return doubleValue(value);
+  }
+
+  public static Short readShortBoxed(Value value) {
+    return isNumber(value) ? readShort(value) : null;
+  }
+
+  public static Integer readIntBoxed(Value value) {
+    return isNumber(value) ? readInt(value) : null;
+  }
+
+  public static Long readLongBoxed(Value value) {
+    return isNumber(value) ? readLong(value) : null;
+  }
+
+  public static Float readFloatBoxed(Value value) {
+    return isNumber(value) ? readFloat(value) : null;
+  }
+
+  public static Double readDoubleBoxed(Value value) {
+    return isNumber(value) ? readDouble(value) : null;
+  }
+
+  public static PhoneNumber readPhoneNumber(Value value) {
+    if (!value.hasPhoneValue()) {
+      return null;
+    }
+    var phone = value.getPhoneValue();
+    return new PhoneNumber(
+        phone.getInput(),
+        phone.getDefaultCountry(),
+        Long.valueOf(phone.getCountryCode()).intValue(),
+        phone.getInternationalFormatted(),
+        Long.valueOf(phone.getNational()).intValue(),
+        phone.getNationalFormatted(),
+        phone.getValid());
+  }
+
+  public static GeoCoordinates readGeoCoordinates(Value value) {
+    if (!value.hasGeoValue()) {
+      return null;
+    }
+    var geo = value.getGeoValue();
+    return new GeoCoordinates(geo.getLatitude(), geo.getLongitude());
+  }
+
+  /** Get list value or {@code null} if the value is not a list. */
+  private static ListValue list(Value value) {
+    return value.hasListValue() ? value.getListValue() : null;
+  }
+
+  public static List<String> readTextList(Value value) {
+    var list = list(value);
+    return list != null ? list.getTextValues().getValuesList() : null;
+  }
+
+  public static String[] readTextArray(Value value) {
+    var list = readTextList(value);
+    return list != null ? list.toArray(String[]::new) : null;
+  }
+
+  public static List<UUID> readUuidList(Value value) {
+    var list = list(value);
+    if (list == null) {
+      return null;
+    }
+    var values = list.hasUuidValues()
+        ? list.getUuidValues().getValuesList()
+        : list.getTextValues().getValuesList();
+    var uuids = new ArrayList<UUID>(values.size());
+    for (var v : values) {
+      uuids.add(UUID.fromString(v));
+    }
+    return uuids;
+  }
+
+  public static UUID[] readUuidArray(Value value) {
+    var list = readUuidList(value);
+    return list != null ? list.toArray(UUID[]::new) : null;
+  }
+
+  public static List<OffsetDateTime> readDateList(Value value) {
+    var list = list(value);
+    if (list == null) {
+      return null;
+    }
+    var values = list.getDateValues().getValuesList();
+    var dates = new ArrayList<OffsetDateTime>(values.size());
+    for (var v : values) {
+      dates.add(DateUtil.fromISO8601(v));
+    }
+    return dates;
+  }
+
+  public static OffsetDateTime[] readDateArray(Value value) {
+    var list = readDateList(value);
+    return list != null ? list.toArray(OffsetDateTime[]::new) : null;
+  }
+
+  public static List<Boolean> readBooleanList(Value value) {
+    var list = list(value);
+    return list != null ? list.getBoolValues().getValuesList() : null;
+  }
+
+  public static Boolean[] readBooleanBoxedArray(Value value) {
+    var list = readBooleanList(value);
+    return list != null ? list.toArray(Boolean[]::new) : null;
+  }
+
+  public static boolean[] readBooleanArray(Value value) {
+    var list = readBooleanList(value);
+    if (list == null) {
+      return null;
+    }
+    var array = new boolean[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  /** Decode integer list. Number lists are truncated to integers. */
+  private static long[] longs(ListValue list) {
+    if (list.hasIntValues()) {
+      return ByteStringUtil.decodeIntValues(list.getIntValues().getValues());
+    } else if (list.hasNumberValues()) {
+      var doubles = ByteStringUtil.decodeNumberValues(list.getNumberValues().getValues());
+      var longs = new long[doubles.length];
+      for (int i = 0; i < longs.length; i++) {
+        longs[i] = (long) doubles[i];
+      }
+      return longs;
+    }
+    return new long[0];
+  }
+
+  /** Decode number list. Integer lists are widened to doubles. */
+  private static double[] doubles(ListValue list) {
+    if (list.hasNumberValues()) {
+      return ByteStringUtil.decodeNumberValues(list.getNumberValues().getValues());
+    } else if (list.hasIntValues()) {
+      var longs = ByteStringUtil.decodeIntValues(list.getIntValues().getValues());
+      var doubles = new double[longs.length];
+      for (int i = 0; i < doubles.length; i++) {
+        doubles[i] = longs[i];
+      }
+      return doubles;
+    }
+    return new double[0];
+  }
+
+  public static long[] readLongArray(Value value) {
+    var list = list(value);
+    return list != null ? longs(list) : null;
+  }
+
+  /**
+   * Read int[] from the encoded values, without decoding
+   * them into an intermediate {@code long[]}.
+   */
+  public static int[] readIntArray(Value value) {
+    var list = list(value);
+    if (list == null) {
+      return null;
+    }
+    int[] array;
+    if (list.hasIntValues()) {
+      var buf = ByteStringUtil.asIntValues(list.getIntValues().getValues());
+      array = new int[buf.remaining()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = (int) buf.get(i);
+      }
+    } else {
+      var longs = longs(list);
+      array = new int[longs.length];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = (int) longs[i];
+      }
+    }
+    return array;
+  }
+
+  /** Read short[] from the encoded values. See {@link #readIntArray}. */
+  public static short[] readShortArray(Value value) {
+    var list = list(value);
+    if (list == null) {
+      return null;
+    }
+    short[] array;
+    if (list.hasIntValues()) {
+      var buf = ByteStringUtil.asIntValues(list.getIntValues().getValues());
+      array = new short[buf.remaining()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = (short) buf.get(i);
+      }
+    } else {
+      var longs = longs(list);
+      array = new short[longs.length];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = (short) longs[i];
+      }
+    }
+    return array;
+  }
+
+  public static double[] readDoubleArray(Value value) {
+    var list = list(value);
+    return list != null ? doubles(list) : null;
+  }
+
+  /** Read float[] from the encoded values. See {@link #readIntArray}. */
+  public static float[] readFloatArray(Value value) {
+    var list = list(value);
+    if (list == null) {
+      return null;
+    }
+    float[] array;
+    if (list.hasNumberValues()) {
+      var buf = ByteStringUtil.asNumberValues(list.getNumberValues().getValues());
+      array = new float[buf.remaining()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = (float) buf.get(i);
+      }
+    } else {
+      var doubles = doubles(list);
+      array = new float[doubles.length];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = (float) doubles[i];
+      }
+    }
+    return array;
+  }
+
+  public static Long[] readLongBoxedArray(Value value) {
+    var longs = readLongArray(value);
+    if (longs == null) {
+      return null;
+    }
+    var array = new Long[longs.length];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = longs[i];
+    }
+    return array;
+  }
+
+  public static Integer[] readIntBoxedArray(Value value) {
+    var longs = readLongArray(value);
+    if (longs == null) {
+      return null;
+    }
+    var array = new Integer[longs.length];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (int) longs[i];
+    }
+    return array;
+  }
+
+  public static Short[] readShortBoxedArray(Value value) {
+    var longs = readLongArray(value);
+    if (longs == null) {
+      return null;
+    }
+    var array = new Short[longs.length];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (short) longs[i];
+    }
+    return array;
+  }
+
+  public static Double[] readDoubleBoxedArray(Value value) {
+    var doubles = readDoubleArray(value);
+    if (doubles == null) {
+      return null;
+    }
+    var array = new Double[doubles.length];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = doubles[i];
+    }
+    return array;
+  }
+
+  public static Float[] readFloatBoxedArray(Value value) {
+    var doubles = readDoubleArray(value);
+    if (doubles == null) {
+      return null;
+    }
+    var array = new Float[doubles.length];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (float) doubles[i];
+    }
+    return array;
+  }
+
+  public static List<Long> readLongList(Value value) {
+    var array = readLongBoxedArray(value);
+    return array != null ? List.of(array) : null;
+  }
+
+  public static List<Integer> readIntList(Value value) {
+    var array = readIntBoxedArray(value);
+    return array != null ? List.of(array) : null;
+  }
+
+  public static List<Short> readShortList(Value value) {
+    var array = readShortBoxedArray(value);
+    return array != null ? List.of(array) : null;
+  }
+
+  public static List<Double> readDoubleList(Value value) {
+    var array = readDoubleBoxedArray(value);
+    return array != null ? List.of(array) : null;
+  }
+
+  public static List<Float> readFloatList(Value value) {
+    var array = readFloatBoxedArray(value);
+    return array != null ? List.of(array) : null;
+  }
+}
@@ -0,0 +1,232 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import io.weaviate.client6.v1.api.collections.GeoCoordinates;
+import io.weaviate.client6.v1.api.collections.PhoneNumber;
+import io.weaviate.client6.v1.internal.grpc.ByteStringUtil;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties.ListValue;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties.Value;
+
+/**
+ * Base class for builders which read {@link Value} directly.
+ *
+ * <p>
+ * Subclasses only implement {@link #setValue} and {@link #build}.
+ * Typed setters are supported for completeness: each of them converts
+ * its argument to a {@link Value} and delegates to {@link #setValue}.
+ * Values for unknown properties are ignored.
+ *
+ * @param <T> Record class.
+ */
+public abstract class ProtoPropertiesBuilder<T> implements PropertiesBuilder<T> {
+
+  @Override
+  public abstract boolean setValue(String property, Value value);
+
+  private void set(String property, Value.Builder value) {
+    setValue(property, value.build());
+  }
+
+  private void setList(String property, ListValue.Builder list) {
+    set(property, Value.newBuilder().setListValue(list));
+  }
+
+  @Override
+  public void setNull(String property) {
+    set(property, Value.newBuilder().setNullValueValue(0));
+  }
+
+  @Override
+  public void setText(String property, String value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setTextValue(value));
+  }
+
+  @Override
+  public void setBoolean(String property, Boolean value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setBoolValue(value));
+  }
+
+  @Override
+  public void setLong(String property, Long value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setIntValue(value));
+  }
+
+  @Override
+  public void setDouble(String property, Double value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setNumberValue(value));
+  }
+
+  @Override
+  public void setBlob(String property, String value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setBlobValue(value));
+  }
+
+  @Override
+  public void setOffsetDateTime(String property, OffsetDateTime value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setDateValue(value.toString()));
+  }
+
+  @Override
+  public void setUuid(String property, UUID value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setUuidValue(value.toString()));
+  }
+
+  @Override
+  public void setTextArray(String property, List<String> value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    setList(property, ListValue.newBuilder().setTextValues(
+        WeaviateProtoProperties.TextValues.newBuilder().addAllValues(value)));
+  }
+
+  @Override
+  public void setLongArray(String property, List<Long> value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    var longs = new long[value.size()];
+    for (int i = 0; i < longs.length; i++) {
+      longs[i] = value.get(i);
+    }
+    setLongArray(property, longs);
+  }
+
+  @Override
+  public void setLongArray(String property, long[] value) {
+    setList(property, ListValue.newBuilder().setIntValues(
+        WeaviateProtoProperties.IntValues.newBuilder().setValues(ByteStringUtil.encodeIntValues(value))));
+  }
+
+  @Override
+  public void setDoubleArray(String property, List<Double> value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    var doubles = new double[value.size()];
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = value.get(i);
+    }
+    setDoubleArray(property, doubles);
+  }
+
+  @Override
+  public void setDoubleArray(String property, double[] value) {
+    setList(property, ListValue.newBuilder().setNumberValues(
+        WeaviateProtoProperties.NumberValues.newBuilder().setValues(ByteStringUtil.encodeNumberValues(value))));
+  }
+
+  @Override
+  public void setUuidArray(String property, List<UUID> value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    var uuids = WeaviateProtoProperties.UuidValues.newBuilder();
+    value.forEach(uuid -> uuids.addValues(uuid.toString()));
+    setList(property, ListValue.newBuilder().setUuidValues(uuids));
+  }
+
+  @Override
+  public void setBooleanArray(String property, List<Boolean> value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    setList(property, ListValue.newBuilder().setBoolValues(
+        WeaviateProtoProperties.BoolValues.newBuilder().addAllValues(value)));
+  }
+
+  @Override
+  public void setOffsetDateTimeArray(String property, List<OffsetDateTime> value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    var dates = WeaviateProtoProperties.DateValues.newBuilder();
+    value.forEach(date -> dates.addValues(date.toString()));
+    setList(property, ListValue.newBuilder().setDateValues(dates));
+  }
+
+  /** Nested objects are not supported by generated codecs and are ignored. */
+  @Override
+  public void setNestedObject(String property, Object value) {
+  }
+
+  /** Nested objects are not supported by generated codecs and are ignored. */
+  @Override
+  public void setNestedObjectArray(String property, List<? extends Object> value) {
+  }
+
+  @Override
+  public void setPhoneNumber(String property, PhoneNumber value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    var phone = WeaviateProtoProperties.PhoneNumber.newBuilder()
+        .setCountryCode(value.countryCode() != null ? value.countryCode() : 0)
+        .setNational(value.national() != null ? value.national() : 0)
+        .setValid(value.valid() != null && value.valid());
+    if (value.rawInput() != null) {
+      phone.setInput(value.rawInput());
+    }
+    if (value.defaultCountry() != null) {
+      phone.setDefaultCountry(value.defaultCountry());
+    }
+    if (value.internationalFormatted() != null) {
+      phone.setInternationalFormatted(value.internationalFormatted());
+    }
+    if (value.nationalFormatted() != null) {
+      phone.setNationalFormatted(value.nationalFormatted());
+    }
+    set(property, Value.newBuilder().setPhoneValue(phone));
+  }
+
+  @Override
+  public void setGeoCoordinates(String property, GeoCoordinates value) {
+    if (value == null) {
+      setNull(property);
+      return;
+    }
+    set(property, Value.newBuilder().setGeoValue(
+        WeaviateProtoProperties.GeoCoordinate.newBuilder()
+            .setLatitude(value.latitude())
+            .setLongitude(value.longitude())));
+  }
+}
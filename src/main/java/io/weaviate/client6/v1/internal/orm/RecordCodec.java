@@ -0,0 +1,173 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * RecordCodec holds everything needed to read and instantiate a record class:
+ * its components, their property names, and method handles for the
+ * component accessors and the canonical constructor.
+ *
+ * <p>
+ * Inspecting a class with reflection is expensive, so a codec is created
+ * once per class and cached for the lifetime of the class (see
+ * {@link #of}). Reading and creating records through a codec involves
+ * no reflection lookups, annotation scans, or access checks.
+ */
+@Immutable
+final class RecordCodec<T extends Record> {
+  private static final ClassValue<RecordCodec<?>> CACHE = new ClassValue<>() {
+    @Override
+    protected RecordCodec<?> computeValue(Class<?> type) {
+      return new RecordCodec<>(type.asSubclass(Record.class));
+    }
+  };
+
+  /** Default values for primitive types, as record components cannot be null. */
+  private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(
+      boolean.class, false,
+      short.class, (short) 0,
+      int.class, 0,
+      long.class, 0L,
+      float.class, 0f,
+      double.class, 0d);
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType CTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  /** Record component and its prebound accessor. */
+  record Component(
+      int index,
+      String name,
+      String propertyName,
+      Class<?> type,
+      Type genericType,
+      MethodHandle getter) {
+
+    /** Default value for this component, which is non-null for primitive types. */
+    Object defaultValue() {
+      return PRIMITIVE_DEFAULTS.get(type);
+    }
+  }
+
+  private final Class<T> cls;
+  private final List<Component> components;
+  private final Map<String, Component> byPropertyName;
+  private final Object[] defaults;
+
+  /** Canonical constructor adapted to {@code (Object[]) -> Object}. */
+  private final MethodHandle ctor;
+
+  /** Get a cached codec for a record class. */
+  @SuppressWarnings("unchecked")
+  static <T extends Record> RecordCodec<T> of(Class<T> cls) {
+    return (RecordCodec<T>) CACHE.get(cls);
+  }
+
+  private RecordCodec(Class<T> cls) {
+    this.cls = cls;
+
+    var lookup = MethodHandles.lookup();
+    var recordComponents = cls.getRecordComponents();
+    var componentTypes = new Class<?>[recordComponents.length];
+    var components = new Component[recordComponents.length];
+    var byPropertyName = new HashMap<String, Component>();
+    this.defaults = new Object[recordComponents.length];
+
+    try {
+      for (int i = 0; i < recordComponents.length; i++) {
+        var rc = recordComponents[i];
+        var accessor = rc.getAccessor();
+        accessor.setAccessible(true);
+
+        var field = cls.getDeclaredField(rc.getName());
+        var component = new Component(i,
+            rc.getName(),
+            PojoDescriptor.propertyName(field),
+            rc.getType(),
+            rc.getGenericType(),
+            lookup.unreflect(accessor).asType(GETTER_TYPE));
+
+        components[i] = component;
+        componentTypes[i] = rc.getType();
+        defaults[i] = component.defaultValue();
+        byPropertyName.put(component.propertyName(), component);
+      }
+
+      var canonical = cls.getDeclaredConstructor(componentTypes);
+      canonical.setAccessible(true);
+      this.ctor = lookup.unreflectConstructor(canonical)
+          .asSpreader(Object[].class, componentTypes.length)
+          .asType(CTOR_TYPE);
+    } catch (ReflectiveOperationException | SecurityException e) {
+      throw new IllegalArgumentException("cannot create codec for " + cls.getName(), e);
+    }
+
+    this.components = List.of(components);
+    this.byPropertyName = Collections.unmodifiableMap(byPropertyName);
+  }
+
+  Class<T> recordClass() {
+    return cls;
+  }
+
+  /** Record components in declaration order. */
+  List<Component> components() {
+    return components;
+  }
+
+  /**
+   * Get record component which maps to a collection property.
+   *
+   * @return Record component or {@code null} if the record does not
+   *         have a component for this property.
+   */
+  Component component(String propertyName) {
+    return byPropertyName.get(propertyName);
+  }
+
+  /**
+   * Get an array of constructor arguments pre-filled with default values.
+   * The caller owns the returned array.
+   */
+  Object[] defaultArgs() {
+    return Arrays.copyOf(defaults, defaults.length);
+  }
+
+  /** Read the value of a record component. */
+  Object get(T record, Component component) {
+    try {
+      return (Object) component.getter().invokeExact((Object) record);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  /**
+   * Create a new record instance.
+   *
+   * @param args Constructor arguments in declaration order.
+   *             See {@link #defaultArgs}.
+   */
+  @SuppressWarnings("unchecked")
+  T newInstance(Object[] args) {
+    try {
+      return (T) (Object) ctor.invokeExact(args);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+}
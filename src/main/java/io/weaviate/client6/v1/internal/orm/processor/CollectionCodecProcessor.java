@@ -0,0 +1,330 @@
+package io.weaviate.client6.v1.internal.orm.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import io.weaviate.client6.v1.api.collections.annotations.Collection;
+import io.weaviate.client6.v1.api.collections.annotations.Property;
+import io.weaviate.client6.v1.internal.orm.PropertiesCodec;
+
+/**
+ * CollectionCodecProcessor generates a
+ * {@link io.weaviate.client6.v1.internal.orm.PropertiesCodec} for every
+ * record annotated with {@link Collection}.
+ *
+ * <p>
+ * Generated codecs read and write record properties with plain accessor
+ * and constructor calls: there is no reflection, no intermediate
+ * {@code Map}, and primitive components are never boxed. The
+ * {@link io.weaviate.client6.v1.internal.orm.PropertiesReader} contract
+ * does return a {@code Map}, so generated readers return a
+ * {@link io.weaviate.client6.v1.internal.orm.PropertiesView} which reads
+ * the record's accessors on access instead of copying them. A codec for
+ * {@code com.example.Songs.Song} is named
+ * {@code com.example.Songs_Song_WeaviateCodec}.
+ * {@link io.weaviate.client6.v1.internal.orm.CollectionDescriptor#ofClass}
+ * uses the generated codec if it finds one and falls back to the
+ * reflection-based implementation otherwise.
+ *
+ * <p>
+ * The processor is opt-in and is not registered for automatic discovery.
+ * To enable it with Maven, add it to the compiler plugin configuration:
+ *
+ * <pre>{@code
+ * <annotationProcessors>
+ *   <annotationProcessor>
+ *     io.weaviate.client6.v1.internal.orm.processor.CollectionCodecProcessor
+ *   </annotationProcessor>
+ * </annotationProcessors>
+ * }</pre>
+ *
+ * <p>
+ * Records which cannot be handled by a generated codec are skipped with
+ * a warning. These are private records (or records nested in a private
+ * class), generic records, and records with components of unsupported
+ * types, e.g. nested objects.
+ */
+@SupportedAnnotationTypes("io.weaviate.client6.v1.api.collections.annotations.Collection")
+public class CollectionCodecProcessor extends AbstractProcessor {
+  private static final String PROTO_PROPERTIES = "io.weaviate.client6.v1.internal.orm.ProtoProperties";
+  private static final String BATCH_PROPERTIES = "io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchObject.Properties.Builder";
+  private static final String PROPERTIES_VIEW = "io.weaviate.client6.v1.internal.orm.PropertiesView";
+  private static final String PROTO_VALUE = "io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties.Value";
+
+  /**
+   * Maps supported Java types to the suffix of {@code ProtoProperties}
+   * read / write methods. Keys are produced by {@link #typeKey}.
+   */
+  private static final Map<String, String> KINDS = new HashMap<>();
+
+  static {
+    KINDS.put("java.lang.String", "Text");
+    KINDS.put("java.util.UUID", "Uuid");
+    KINDS.put("java.time.OffsetDateTime", "Date");
+    KINDS.put("io.weaviate.client6.v1.api.collections.PhoneNumber", "PhoneNumber");
+    KINDS.put("io.weaviate.client6.v1.api.collections.GeoCoordinates", "GeoCoordinates");
+
+    KINDS.put("boolean", "Boolean");
+    KINDS.put("short", "Short");
+    KINDS.put("int", "Int");
+    KINDS.put("long", "Long");
+    KINDS.put("float", "Float");
+    KINDS.put("double", "Double");
+
+    KINDS.put("java.lang.Boolean", "BooleanBoxed");
+    KINDS.put("java.lang.Short", "ShortBoxed");
+    KINDS.put("java.lang.Integer", "IntBoxed");
+    KINDS.put("java.lang.Long", "LongBoxed");
+    KINDS.put("java.lang.Float", "FloatBoxed");
+    KINDS.put("java.lang.Double", "DoubleBoxed");
+
+    KINDS.put("java.lang.String[]", "TextArray");
+    KINDS.put("java.util.UUID[]", "UuidArray");
+    KINDS.put("java.time.OffsetDateTime[]", "DateArray");
+    KINDS.put("boolean[]", "BooleanArray");
+    KINDS.put("short[]", "ShortArray");
+    KINDS.put("int[]", "IntArray");
+    KINDS.put("long[]", "LongArray");
+    KINDS.put("float[]", "FloatArray");
+    KINDS.put("double[]", "DoubleArray");
+    KINDS.put("java.lang.Boolean[]", "BooleanBoxedArray");
+    KINDS.put("java.lang.Short[]", "ShortBoxedArray");
+    KINDS.put("java.lang.Integer[]", "IntBoxedArray");
+    KINDS.put("java.lang.Long[]", "LongBoxedArray");
+    KINDS.put("java.lang.Float[]", "FloatBoxedArray");
+    KINDS.put("java.lang.Double[]", "DoubleBoxedArray");
+
+    KINDS.put("java.util.List<java.lang.String>", "TextList");
+    KINDS.put("java.util.List<java.util.UUID>", "UuidList");
+    KINDS.put("java.util.List<java.time.OffsetDateTime>", "DateList");
+    KINDS.put("java.util.List<java.lang.Boolean>", "BooleanList");
+    KINDS.put("java.util.List<java.lang.Short>", "ShortList");
+    KINDS.put("java.util.List<java.lang.Integer>", "IntList");
+    KINDS.put("java.util.List<java.lang.Long>", "LongList");
+    KINDS.put("java.util.List<java.lang.Float>", "FloatList");
+    KINDS.put("java.util.List<java.lang.Double>", "DoubleList");
+  }
+
+  /** Record component as seen by the code generator. */
+  private record Component(String name, String propertyName, String type, String kind) {
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (var element : roundEnv.getElementsAnnotatedWith(Collection.class)) {
+      if (element.getKind() != ElementKind.RECORD) {
+        continue;
+      }
+      var record = (TypeElement) element;
+      var components = inspect(record);
+      if (components == null) {
+        continue;
+      }
+      try {
+        generate(record, components);
+      } catch (IOException e) {
+        error(record, "cannot generate codec: " + e.getMessage());
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collect record components.
+   *
+   * @return Record components or {@code null} if no codec
+   *         can be generated for the record.
+   */
+  private List<Component> inspect(TypeElement record) {
+    if (!record.getTypeParameters().isEmpty()) {
+      warn(record, "generic records are not supported");
+      return null;
+    }
+    for (Element e = record; e instanceof TypeElement t; e = e.getEnclosingElement()) {
+      if (t.getModifiers().contains(Modifier.PRIVATE)
+          || t.getNestingKind() == NestingKind.LOCAL
+          || t.getNestingKind() == NestingKind.ANONYMOUS) {
+        warn(record, "record is not accessible from its package");
+        return null;
+      }
+    }
+
+    var fields = new HashMap<String, Element>();
+    for (var field : ElementFilter.fieldsIn(record.getEnclosedElements())) {
+      fields.put(field.getSimpleName().toString(), field);
+    }
+
+    var components = new ArrayList<Component>();
+    for (var rc : record.getRecordComponents()) {
+      var name = rc.getSimpleName().toString();
+      var type = rc.asType();
+      var key = typeKey(type);
+      var kind = key != null ? KINDS.get(key) : null;
+      if (kind == null) {
+        warn(record, "property " + name + " of type " + type + " is not supported");
+        return null;
+      }
+
+      var propertyName = name;
+      var field = fields.get(name);
+      var annotation = field != null ? field.getAnnotation(Property.class) : null;
+      if (annotation != null) {
+        propertyName = annotation.value();
+      }
+      components.add(new Component(name, propertyName, key, kind));
+    }
+    return components;
+  }
+
+  /**
+   * Get a type name which is both a key in {@link #KINDS} and valid Java
+   * source. Type annotations are not part of the key.
+   *
+   * @return Type name or {@code null} if the type cannot be supported.
+   */
+  private static String typeKey(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return type.getKind().name().toLowerCase();
+    } else if (type.getKind() == TypeKind.ARRAY) {
+      var component = typeKey(((ArrayType) type).getComponentType());
+      return component != null ? component + "[]" : null;
+    } else if (type.getKind() == TypeKind.DECLARED) {
+      var declared = (DeclaredType) type;
+      var name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+      var args = declared.getTypeArguments();
+      if (args.isEmpty()) {
+        return name;
+      } else if (args.size() == 1 && name.equals("java.util.List")) {
+        var arg = typeKey(args.get(0));
+        return arg != null ? name + "<" + arg + ">" : null;
+      }
+    }
+    return null;
+  }
+
+  private void generate(TypeElement record, List<Component> components) throws IOException {
+    var elements = processingEnv.getElementUtils();
+    var packageName = elements.getPackageOf(record).getQualifiedName().toString();
+    var binaryName = elements.getBinaryName(record).toString();
+    var codecName = binaryName.replace('$', '_') + PropertiesCodec.CODEC_SUFFIX;
+    var simpleName = packageName.isEmpty() ? codecName : codecName.substring(packageName.length() + 1);
+    var recordType = record.getQualifiedName().toString();
+
+    var file = processingEnv.getFiler().createSourceFile(codecName, record);
+    try (var out = new PrintWriter(file.openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.println("package " + packageName + ";");
+        out.println();
+      }
+      out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+      out.println("public final class " + simpleName
+          + " implements io.weaviate.client6.v1.internal.orm.PropertiesCodec<" + recordType + "> {");
+
+      // propertiesReader
+      out.println();
+      out.println("  private static final String[] PROPERTIES = {");
+      for (var c : components) {
+        out.println("      " + literal(c.propertyName()) + ",");
+      }
+      out.println("  };");
+      out.println();
+      out.println("  @Override");
+      out.println("  public io.weaviate.client6.v1.internal.orm.PropertiesReader<" + recordType
+          + "> propertiesReader(" + recordType + " properties) {");
+      out.println("    return () -> new " + PROPERTIES_VIEW + "(PROPERTIES, i -> switch (i) {");
+      for (int i = 0; i < components.size(); i++) {
+        out.println("      case " + i + " -> properties." + components.get(i).name() + "();");
+      }
+      out.println("      default -> throw new IndexOutOfBoundsException(i);");
+      out.println("    });");
+      out.println("  }");
+
+      // writeProperties
+      out.println();
+      out.println("  @Override");
+      out.println("  public void writeProperties(" + recordType + " properties, " + BATCH_PROPERTIES + " out) {");
+      for (var c : components) {
+        out.println("    " + PROTO_PROPERTIES + ".write" + c.kind() + "(out, " + literal(c.propertyName())
+            + ", properties." + c.name() + "());");
+      }
+      out.println("  }");
+
+      // propertiesBuilder
+      out.println();
+      out.println("  @Override");
+      out.println("  public io.weaviate.client6.v1.internal.orm.PropertiesBuilder<" + recordType
+          + "> propertiesBuilder() {");
+      out.println("    return new Builder();");
+      out.println("  }");
+
+      out.println();
+      out.println("  private static final class Builder extends io.weaviate.client6.v1.internal.orm.ProtoPropertiesBuilder<"
+          + recordType + "> {");
+      for (var c : components) {
+        out.println("    private " + c.type() + " " + c.name() + ";");
+      }
+      out.println();
+      out.println("    @Override");
+      out.println("    public boolean setValue(String property, " + PROTO_VALUE + " value) {");
+      out.println("      switch (property) {");
+      for (var c : components) {
+        out.println("        case " + literal(c.propertyName()) + ":");
+        out.println("          this." + c.name() + " = " + PROTO_PROPERTIES + ".read" + c.kind() + "(value);");
+        out.println("          break;");
+      }
+      out.println("        default:");
+      out.println("          // Properties not mapped by the record are ignored.");
+      out.println("          break;");
+      out.println("      }");
+      out.println("      return true;");
+      out.println("    }");
+      out.println();
+      out.println("    @Override");
+      out.println("    public " + recordType + " build() {");
+      var args = components.stream().map(Component::name).toList();
+      out.println("      return new " + recordType + "(" + String.join(", ", args) + ");");
+      out.println("    }");
+      out.println("  }");
+      out.println("}");
+    }
+  }
+
+  private String literal(String value) {
+    return processingEnv.getElementUtils().getConstantExpression(value);
+  }
+
+  private void warn(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+        "Weaviate codec not generated: " + message, element);
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -20,6 +20,7 @@ import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
 import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
 import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ClassicHttpRequest;
@@ -28,17 +29,35 @@ import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.http.message.BasicHeader;
 import org.apache.hc.core5.io.CloseMode;
 
 import io.weaviate.client6.v1.api.WeaviateApiException;
 import io.weaviate.client6.v1.api.WeaviateTransportException;
 import io.weaviate.client6.v1.internal.Proxy;
+import io.weaviate.client6.v1.internal.TransportResources;
 
 public class DefaultRestTransport implements RestTransport {
+  /** Key of the async HTTP client in {@link TransportResources}. */
+  private static final String SHARED_CLIENT_ASYNC = DefaultRestTransport.class.getName() + ".httpClientAsync";
+
+  /**
+   * {@link HttpClientContext} attribute which carries the
+   * {@link AuthenticationInterceptor} of the transport
+   * that has sent the request via the shared async HTTP client.
+   */
+  private static final String AUTH_ATTRIBUTE = DefaultRestTransport.class.getName() + ".auth";
+
   private final CloseableHttpClient httpClient;
   private final CloseableHttpAsyncClient httpClientAsync;
   private final RestTransportOptions transportOptions;
 
+  /**
+   * Per-request configuration for the shared async HTTP client,
+   * or {@code null} if the transport owns its async client.
+   */
+  private final RequestConfig sharedRequestConfig;
+
   private AuthenticationInterceptor authInterceptor;
 
   public DefaultRestTransport(RestTransportOptions transportOptions) {
@@ -77,12 +96,13 @@ public class DefaultRestTransport implements RestTransport {
       httpClientAsync.setProxy(proxyHost);
     }
 
+    RequestConfig requestConfig = RequestConfig.DEFAULT;
     if (transportOptions.timeout() != null) {
-      var config = RequestConfig.custom()
+      requestConfig = RequestConfig.custom()
           .setResponseTimeout(transportOptions.timeout().querySeconds(), TimeUnit.SECONDS)
           .build();
-      httpClient.setDefaultRequestConfig(config);
-      httpClientAsync.setDefaultRequestConfig(config);
+      httpClient.setDefaultRequestConfig(requestConfig);
+      httpClientAsync.setDefaultRequestConfig(requestConfig);
     }
 
     if (transportOptions.tokenProvider() != null) {
@@ -92,8 +112,42 @@ public class DefaultRestTransport implements RestTransport {
     }
 
     this.httpClient = httpClient.build();
-    this.httpClientAsync = httpClientAsync.build();
-    this.httpClientAsync.start();
+
+    // TLS and proxy settings belong to the connection manager and the client,
+    // so only the transports which use neither can share the async client.
+    if (isShareable(transportOptions)) {
+      this.sharedRequestConfig = requestConfig;
+      this.httpClientAsync = transportOptions.resources().acquire(SHARED_CLIENT_ASYNC,
+          DefaultRestTransport::createSharedClientAsync, client -> client.close(CloseMode.GRACEFUL));
+    } else {
+      this.sharedRequestConfig = null;
+      this.httpClientAsync = httpClientAsync.build();
+      this.httpClientAsync.start();
+    }
+  }
+
+  private static boolean isShareable(RestTransportOptions transportOptions) {
+    return transportOptions.resources() != null
+        && transportOptions.trustManagerFactory() == null
+        && transportOptions.proxy() == null;
+  }
+
+  /**
+   * Create an async HTTP client which can be shared between transports.
+   * Headers, timeouts, and the Authorization header are applied to each request.
+   */
+  private static CloseableHttpAsyncClient createSharedClientAsync() {
+    var client = HttpAsyncClients.custom().useSystemProperties()
+        .addExecInterceptorFirst("auth", (request, entityProducer, scope, chain, callback) -> {
+          if (scope.clientContext.getAttribute(AUTH_ATTRIBUTE) instanceof AuthenticationInterceptor auth) {
+            auth.execute(request, entityProducer, scope, chain, callback);
+          } else {
+            chain.proceed(request, entityProducer, scope, callback);
+          }
+        })
+        .build();
+    client.start();
+    return client;
   }
 
   private <RequestT> String uri(Endpoint<RequestT, ?> ep, RequestT req) {
@@ -138,8 +192,19 @@ public class DefaultRestTransport implements RestTransport {
       Endpoint<RequestT, ResponseT> endpoint) {
     var req = prepareSimpleRequest(request, endpoint);
 
+    var context = HttpClientContext.create();
+    if (sharedRequestConfig != null) {
+      context.setRequestConfig(sharedRequestConfig);
+      for (BasicHeader header : transportOptions.headers()) {
+        req.addHeader(header);
+      }
+      if (authInterceptor != null) {
+        context.setAttribute(AUTH_ATTRIBUTE, authInterceptor);
+      }
+    }
+
     var completable = new CompletableFuture<SimpleHttpResponse>();
-    this.httpClientAsync.execute(req, new FutureCallback<>() {
+    this.httpClientAsync.execute(req, context, new FutureCallback<>() {
 
       @Override
       public void completed(SimpleHttpResponse result) {
@@ -210,7 +275,11 @@ public class DefaultRestTransport implements RestTransport {
   @Override
   public void close() throws Exception {
     httpClient.close();
-    httpClientAsync.close(CloseMode.GRACEFUL);
+    if (sharedRequestConfig != null) {
+      transportOptions.resources().release(SHARED_CLIENT_ASYNC);
+    } else {
+      httpClientAsync.close(CloseMode.GRACEFUL);
+    }
     if (authInterceptor != null) {
       authInterceptor.close();
     }
@@ -12,26 +12,49 @@ import io.weaviate.client6.v1.internal.Proxy;
 import io.weaviate.client6.v1.internal.Timeout;
 import io.weaviate.client6.v1.internal.TokenProvider;
 import io.weaviate.client6.v1.internal.TransportOptions;
+import io.weaviate.client6.v1.internal.TransportResources;
 
 public final class RestTransportOptions extends TransportOptions<Collection<BasicHeader>> {
   private static final String API_VERSION = "v1";
 
+  private final TransportResources resources;
+
   public RestTransportOptions(String scheme, String host, int port, Map<String, String> headers,
       TokenProvider tokenProvider, TrustManagerFactory trust, Timeout timeout, Proxy proxy) {
     super(scheme, host, port, buildHeaders(headers), tokenProvider, trust, timeout, proxy);
+    this.resources = null;
   }
 
   private RestTransportOptions(String scheme, String host, int port, Collection<BasicHeader> headers,
-      TokenProvider tokenProvider, TrustManagerFactory trust, Timeout timeout, Proxy proxy) {
+      TokenProvider tokenProvider, TrustManagerFactory trust, Timeout timeout, Proxy proxy,
+      TransportResources resources) {
     super(scheme, host, port, headers, tokenProvider, trust, timeout, proxy);
+    this.resources = resources;
   }
 
   public RestTransportOptions(String http, String localhost, Integer localPort, Map<String, String> headers, Object tokenProvider, Object trust, Timeout timeout) {
     super(http, localhost, localPort, buildHeaders(headers), (TokenProvider) tokenProvider, (TrustManagerFactory) trust, timeout, null);
+    this.resources = null;
   }
 
   public final RestTransportOptions withTimeout(Timeout timeout) {
-    return new RestTransportOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory, timeout, proxy);
+    return new RestTransportOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory, timeout, proxy,
+        resources);
+  }
+
+  /**
+   * Share the async HTTP client's I/O reactor with other transports
+   * which use the same resources. A {@code null} value creates
+   * a dedicated async HTTP client.
+   */
+  public final RestTransportOptions withResources(TransportResources resources) {
+    return new RestTransportOptions(scheme, host, port, headers, tokenProvider, trustManagerFactory, timeout, proxy,
+        resources);
+  }
+
+  /** Shared transport resources, or {@code null} if the transport owns its HTTP clients. */
+  public TransportResources resources() {
+    return resources;
   }
 
   private static final Collection<BasicHeader> buildHeaders(Map<String, String> headers) {
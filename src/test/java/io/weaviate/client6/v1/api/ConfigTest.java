@@ -1,8 +1,18 @@
 package io.weaviate.client6.v1.api;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
+import io.weaviate.client6.v1.internal.Timeout;
+import io.weaviate.client6.v1.internal.TransportResources;
+import io.weaviate.client6.v1.internal.grpc.GrpcChannelOptions;
+
 public class ConfigTest {
 
   private static final String HEADER_KEY = "X-Weaviate-Client";
@@ -21,4 +31,106 @@ public class ConfigTest {
     Assertions.assertThat(config.headers()).containsKey(HEADER_KEY);
     Assertions.assertThat(config.headers().get(HEADER_KEY)).isNotEmpty();
   }
+
+  @Test
+  public void testGrpcChannelPoolSize() {
+    Config config = new Config.Local().build();
+    Assertions.assertThat(config.grpcTransportOptions().channelPoolSize())
+        .as("default pool size").isEqualTo(1);
+
+    config = new Config.Local().grpcChannelPoolSize(4).build();
+    Assertions.assertThat(config.grpcTransportOptions().channelPoolSize())
+        .as("custom pool size").isEqualTo(4);
+
+    Assertions.assertThatThrownBy(() -> new Config.Local().grpcChannelPoolSize(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testGrpcExecutors() {
+    Config config = new Config.Local().build();
+    Assertions.assertThat(config.grpcTransportOptions())
+        .returns(null, GrpcChannelOptions::channelExecutor)
+        .returns(null, GrpcChannelOptions::offloadExecutor)
+        .returns(false, GrpcChannelOptions::virtualThreads);
+
+    Executor channel = Runnable::run;
+    Executor offload = Runnable::run;
+    config = new Config.Local()
+        .grpcChannelExecutor(channel)
+        .grpcOffloadExecutor(offload)
+        .grpcVirtualThreads(true)
+        .build();
+    Assertions.assertThat(config.grpcTransportOptions())
+        .returns(channel, GrpcChannelOptions::channelExecutor)
+        .returns(offload, GrpcChannelOptions::offloadExecutor)
+        .returns(true, GrpcChannelOptions::virtualThreads);
+  }
+
+  @Test
+  public void testTransportResources() throws Exception {
+    Config config = new Config.Local().build();
+    Assertions.assertThat(config.restTransportOptions().resources()).as("rest").isNull();
+    Assertions.assertThat(config.grpcTransportOptions().resources()).as("grpc").isNull();
+
+    try (var resources = new TransportResources(1)) {
+      config = new Config.Local().transportResources(resources).build();
+      Assertions.assertThat(config.restTransportOptions().resources()).as("rest").isSameAs(resources);
+      Assertions.assertThat(config.grpcTransportOptions().resources()).as("grpc").isSameAs(resources);
+    }
+  }
+
+  @Test
+  public void testNodeDiscovery() {
+    Config config = new Config.Local().build();
+    Assertions.assertThat(config.transport().nodeDiscoveryInterval()).as("disabled by default").isNull();
+
+    config = new Config.Local().nodeDiscovery(Duration.ofSeconds(30)).build();
+    Assertions.assertThat(config.transport().nodeDiscoveryInterval()).isEqualTo(Duration.ofSeconds(30));
+
+    Assertions.assertThatThrownBy(() -> new Config.Local().nodeDiscovery(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testShardRouting() {
+    Config config = new Config.Local().build();
+    Assertions.assertThat(config.transport().shardRoutingCacheTtl()).as("disabled by default").isNull();
+
+    config = new Config.Local().shardRouting(Duration.ofMinutes(1)).build();
+    Assertions.assertThat(config.transport().shardRoutingCacheTtl()).isEqualTo(Duration.ofMinutes(1));
+
+    Assertions.assertThatThrownBy(() -> new Config.Local().shardRouting(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testTransportSettings() {
+    var config = new Config("http", "localhost", 8080, "localhost", 50051,
+        Map.of(), null, null, new Timeout(), null);
+    Assertions.assertThat(config.transport()).as("previous constructor")
+        .isEqualTo(Config.TransportSettings.DEFAULT);
+    Assertions.assertThat(new Config.Local().build().transport()).as("builder defaults")
+        .isEqualTo(Config.TransportSettings.DEFAULT);
+  }
+
+  @Test
+  public void testNodeAddress_perFeature() {
+    Function<String, InetSocketAddress> discovery = name -> InetSocketAddress.createUnresolved(name, 1);
+    Function<String, InetSocketAddress> routing = name -> InetSocketAddress.createUnresolved(name, 2);
+
+    var config = new Config.Local()
+        .nodeDiscovery(Duration.ofSeconds(30), discovery)
+        .shardRouting(Duration.ofMinutes(1), routing)
+        .build();
+    Assertions.assertThat(config.transport().nodeDiscoveryAddress()).as("node discovery").isSameAs(discovery);
+    Assertions.assertThat(config.transport().shardRoutingAddress()).as("shard routing").isSameAs(routing);
+
+    config = new Config.Local()
+        .shardRouting(Duration.ofMinutes(1), routing)
+        .nodeDiscovery(Duration.ofSeconds(30))
+        .build();
+    Assertions.assertThat(config.transport().nodeDiscoveryAddress()).as("node discovery default").isNull();
+    Assertions.assertThat(config.transport().shardRoutingAddress()).as("shard routing kept").isSameAs(routing);
+  }
 }
@@ -0,0 +1,53 @@
+package io.weaviate.client6.v1.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import io.weaviate.testutil.transport.MockGrpcTransport;
+import io.weaviate.testutil.transport.MockRestTransport;
+
+public class SharedTransportsTest {
+  private final List<String> closed = new CopyOnWriteArrayList<>();
+
+  private final MockRestTransport rest = new MockRestTransport() {
+    @Override
+    public void close() throws IOException {
+      closed.add("rest");
+    }
+  };
+
+  @Test
+  public void test_release() throws Exception {
+    var shared = new SharedTransports(rest, new MockGrpcTransport() {
+      @Override
+      public void close() throws IOException {
+        closed.add("grpc");
+      }
+    });
+    shared.retain();
+
+    shared.release();
+    Assertions.assertThat(closed).as("still in use").isEmpty();
+
+    shared.release();
+    Assertions.assertThat(closed).as("gRPC closed before REST").containsExactly("grpc", "rest");
+    Assertions.assertThatThrownBy(shared::retain).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void test_release_grpcFails() throws Exception {
+    var shared = new SharedTransports(rest, new MockGrpcTransport() {
+      @Override
+      public void close() throws IOException {
+        throw new IOException("whaam!");
+      }
+    });
+
+    Assertions.assertThatThrownBy(shared::release).isInstanceOf(IOException.class);
+    Assertions.assertThat(closed).as("REST closed anyway").containsExactly("rest");
+  }
+}
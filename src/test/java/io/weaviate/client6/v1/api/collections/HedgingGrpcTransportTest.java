@@ -0,0 +1,148 @@
+package io.weaviate.client6.v1.api.collections;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.WeaviateApiException;
+import io.weaviate.client6.v1.api.collections.HedgingPolicy.Operation;
+import io.weaviate.client6.v1.internal.ObjectBuilder;
+import io.weaviate.client6.v1.internal.grpc.DefaultGrpcTransport;
+import io.weaviate.client6.v1.internal.grpc.Rpc;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoGenerative.GenerativeSearch;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
+import io.weaviate.testutil.transport.MockGrpcServer;
+import io.weaviate.testutil.transport.MockGrpcTransport;
+import io.weaviate.testutil.transport.MockRestTransport;
+
+public class HedgingGrpcTransportTest {
+  private static final Rpc<SearchRequest, SearchRequest, SearchReply, SearchReply> SEARCH = MockGrpcServer.SEARCH;
+  private static final SearchRequest REQUEST = MockGrpcServer.REQUEST;
+
+  private MockGrpcServer server;
+  private DefaultGrpcTransport transport;
+
+  @Before
+  public void startServer() throws Exception {
+    server = MockGrpcServer.inProcess();
+    transport = new DefaultGrpcTransport(server.options());
+  }
+
+  @After
+  public void stopServer() throws Exception {
+    transport.close();
+    server.close();
+  }
+
+  private HedgingGrpcTransport hedging(Function<HedgingPolicy.Builder, ObjectBuilder<HedgingPolicy>> fn) {
+    return new HedgingGrpcTransport(transport, HedgingPolicy.of(fn));
+  }
+
+  @Test
+  public void test_hedge() throws Exception {
+    server.hanging.set(1);
+    var hedging = hedging(h -> h.hedgeAfter(Duration.ofMillis(50)));
+
+    hedging.performRequest(REQUEST, SEARCH);
+
+    Assertions.assertThat(server.requests).as("requests").hasValue(2);
+    Assertions.assertThat(hedging.stats()).as("stats").isEqualTo(new HedgingStats(1, 1, 0));
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (server.cancelled.get() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    Assertions.assertThat(server.cancelled).as("loser cancelled").hasValue(1);
+  }
+
+  @Test
+  public void test_hedgeAsync() throws Exception {
+    server.hanging.set(1);
+    var hedging = hedging(h -> h.hedgeAfter(Duration.ofMillis(50)));
+
+    hedging.performRequestAsync(REQUEST, SEARCH).get(5, TimeUnit.SECONDS);
+
+    Assertions.assertThat(hedging.stats()).as("stats").isEqualTo(new HedgingStats(1, 1, 0));
+  }
+
+  @Test
+  public void test_noHedgeForFastReply() throws Exception {
+    var hedging = hedging(h -> h.hedgeAfter(Duration.ofSeconds(5)));
+
+    hedging.performRequest(REQUEST, SEARCH);
+
+    Assertions.assertThat(server.requests).as("requests").hasValue(1);
+    Assertions.assertThat(hedging.stats()).as("stats").isEqualTo(new HedgingStats(0, 0, 0));
+  }
+
+  @Test
+  public void test_retryUnavailable() throws Exception {
+    server.unavailable.set(2);
+    var hedging = hedging(h -> h.retry(2).backoff(Duration.ofMillis(1), Duration.ofMillis(5)));
+
+    hedging.performRequest(REQUEST, SEARCH);
+
+    Assertions.assertThat(server.requests).as("requests").hasValue(3);
+    Assertions.assertThat(hedging.stats()).as("stats").isEqualTo(new HedgingStats(0, 0, 2));
+  }
+
+  @Test
+  public void test_retriesExhausted() throws Exception {
+    server.unavailable.set(10);
+    var hedging = hedging(h -> h.retry(1).backoff(Duration.ofMillis(1), Duration.ofMillis(5)));
+
+    Assertions.assertThatThrownBy(() -> hedging.performRequest(REQUEST, SEARCH))
+        .isInstanceOfSatisfying(WeaviateApiException.class,
+            e -> Assertions.assertThat(e.grpcStatusCode()).isEqualTo("UNAVAILABLE"));
+    Assertions.assertThat(server.requests).as("requests").hasValue(2);
+  }
+
+  @Test
+  public void test_notRetried() throws Exception {
+    server.unavailable.set(10);
+    var generative = REQUEST.toBuilder().setGenerative(GenerativeSearch.getDefaultInstance()).build();
+    var hedging = hedging(h -> h.retry(3));
+    var aggregateOnly = hedging(h -> h.retry(3).operations(Operation.AGGREGATE));
+
+    Assertions.assertThatThrownBy(() -> hedging.performRequest(generative, SEARCH))
+        .as("generative search").isInstanceOf(WeaviateApiException.class);
+    Assertions.assertThatThrownBy(() -> aggregateOnly.performRequest(REQUEST, SEARCH))
+        .as("operation not covered").isInstanceOf(WeaviateApiException.class);
+    Assertions.assertThat(server.requests).as("requests").hasValue(2);
+  }
+
+  @Test
+  public void test_policy() {
+    var percentile = HedgingPolicy.of(h -> h.hedgeAtPercentile(95));
+    Assertions.assertThat(percentile.hedgeDelay()).as("default hedge delay")
+        .contains(HedgingPolicy.DEFAULT_HEDGE_DELAY);
+    Assertions.assertThat(HedgingPolicy.of(ObjectBuilder.identity()).hedgeDelay()).as("no hedging").isEmpty();
+
+    Assertions.assertThatThrownBy(() -> HedgingPolicy.of(h -> h.hedgeAtPercentile(100)))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThatThrownBy(() -> HedgingPolicy.of(h -> h.retry(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    Assertions.assertThatThrownBy(() -> HedgingPolicy.of(h -> h.backoff(Duration.ofSeconds(1), Duration.ZERO)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void test_collectionHandle() throws Exception {
+    try (var rest = new MockRestTransport(); var grpc = new MockGrpcTransport()) {
+      var things = new CollectionHandle<>(rest, grpc, CollectionDescriptor.ofMap("Things"),
+          CollectionHandleDefaults.of(CollectionHandleDefaults.none()));
+      Assertions.assertThat(things.hedgingStats()).as("not hedged").isEmpty();
+
+      var hedged = things.withHedging(h -> h.retry(1));
+      Assertions.assertThat(hedged.hedgingStats()).as("hedged").isPresent();
+      Assertions.assertThat(hedged.withTenant("john").hedgingStats()).as("derived handle").isPresent();
+    }
+  }
+}
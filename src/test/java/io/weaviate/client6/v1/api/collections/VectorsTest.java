@@ -3,6 +3,9 @@ package io.weaviate.client6.v1.api.collections;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
+import io.weaviate.client6.v1.internal.grpc.ByteStringUtil;
+import io.weaviate.client6.v1.internal.grpc.EncodedVector;
+
 public class VectorsTest {
   @Test
   public void testToString_1d() {
@@ -26,4 +29,35 @@ public class VectorsTest {
     var got = vectors.toString();
     Assertions.assertThat(got).isEqualTo("Vectors(title=[1.0, 2.0, 3.0], body=[[1.0, 2.0, 3.0], [1.0, 2.0, 3.0]])");
   }
+
+  @Test
+  public void testEncoded_1d() {
+    var want = new float[] { 1, 2, 3 };
+    var vectors = Vectors.of(EncodedVector.single(ByteStringUtil.encodeVectorSingle(want)));
+
+    var buffer = vectors.getDefaultBuffer();
+    Assertions.assertThat(buffer.isReadOnly()).as("read-only buffer").isTrue();
+    var elements = new float[buffer.remaining()];
+    buffer.get(elements);
+    Assertions.assertThat(elements).as("buffer").containsExactly(want);
+
+    Assertions.assertThat(vectors.getDefaultSingle()).as("decoded").containsExactly(want);
+    Assertions.assertThat(vectors.getDefaultSingle()).as("decoded once").isSameAs(vectors.getDefaultSingle());
+  }
+
+  @Test
+  public void testEncoded_2d() {
+    var want = new float[][] { { 1, 2, 3 }, { 4, 5, 6 } };
+    var vectors = Vectors.of("colbert", EncodedVector.multi(ByteStringUtil.encodeVectorMulti(want)));
+
+    var buffer = vectors.getBuffer("colbert");
+    var elements = new float[buffer.remaining()];
+    buffer.get(elements);
+    Assertions.assertThat(elements).as("buffer").containsExactly(1, 2, 3, 4, 5, 6);
+
+    Assertions.assertThat(vectors.getMulti("colbert")).as("decoded").isDeepEqualTo(want);
+    Assertions.assertThat(vectors.asMap()).as("asMap").containsOnlyKeys("colbert")
+        .extractingByKey("colbert").isInstanceOf(float[][].class);
+    Assertions.assertThat(vectors.toString()).isEqualTo("Vectors(colbert=[[1.0, 2.0, 3.0], [4.0, 5.0, 6.0]])");
+  }
 }
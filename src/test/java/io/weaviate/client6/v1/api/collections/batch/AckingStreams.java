@@ -0,0 +1,149 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.junit.rules.ExternalResource;
+
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.api.collections.CollectionHandleDefaults;
+import io.weaviate.client6.v1.api.collections.query.ConsistencyLevel;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
+
+/**
+ * AckingStreams serves {@link BatchContext} streams with {@link AckingStream},
+ * which acknowledges every batch immediately. Unlike the harness in
+ * {@link BatchContextTest}, the test does not drive the server side.
+ *
+ * <pre>{@code
+ * @Rule
+ * public final AckingStreams server = new AckingStreams();
+ * }</pre>
+ */
+final class AckingStreams extends ExternalResource {
+  static final CollectionDescriptor<Map<String, Object>> DESCRIPTOR = CollectionDescriptor
+      .ofMap("AckingStreams");
+  static final CollectionHandleDefaults DEFAULTS = new CollectionHandleDefaults(
+      Optional.of(ConsistencyLevel.ONE), Optional.empty());
+
+  static final int MAX_SIZE_BYTES = 2 * 1024;
+
+  /** Streams in the order they were created. */
+  final List<AckingStream> streams = new CopyOnWriteArrayList<>();
+
+  /** IDs of the objects the server should report as failed. */
+  final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+  private final List<ExecutorService> eventThreads = new CopyOnWriteArrayList<>();
+
+  @Override
+  protected void after() {
+    eventThreads.forEach(ExecutorService::shutdownNow);
+  }
+
+  StreamObserver<Message> createStream(StreamObserver<Event> recv) {
+    var eventThread = Executors.newSingleThreadExecutor();
+    eventThreads.add(eventThread);
+
+    var stream = new AckingStream(recv, eventThread);
+    streams.add(stream);
+    return stream;
+  }
+
+  /** Create a builder with small batches and queues. */
+  BatchContext.Builder<Map<String, Object>> builder() {
+    return new BatchContext.Builder<>(this::createStream, MAX_SIZE_BYTES, DESCRIPTOR, DEFAULTS)
+        .batchSize(5)
+        .queueSize(5);
+  }
+
+  BatchContext<Map<String, Object>> startContext(int streams) {
+    return startContext(b -> b.streams(streams));
+  }
+
+  BatchContext<Map<String, Object>> startContext(
+      Function<BatchContext.Builder<Map<String, Object>>, BatchContext.Builder<Map<String, Object>>> fn) {
+    var context = fn.apply(builder()).build();
+    context.start();
+    return context;
+  }
+
+  /** Object IDs and the tenants they were written to, over all streams. */
+  Map<String, String> tenants() {
+    Map<String, String> tenants = new HashMap<>();
+    streams.forEach(stream -> tenants.putAll(stream.tenants));
+    return tenants;
+  }
+
+  /**
+   * AckingStream responds to Start with Started, acknowledges every
+   * Data message and reports results for all of its items immediately,
+   * and closes the server half of the stream on Stop.
+   */
+  final class AckingStream implements StreamObserver<Message> {
+    private final StreamObserver<Event> recv;
+    private final ExecutorService eventThread;
+
+    final List<String> received = new CopyOnWriteArrayList<>();
+    /** Object IDs and the tenants they were written to. */
+    final Map<String, String> tenants = new ConcurrentHashMap<>();
+    final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    volatile boolean stopped;
+
+    AckingStream(StreamObserver<Event> recv, ExecutorService eventThread) {
+      this.recv = recv;
+      this.eventThread = eventThread;
+    }
+
+    @Override
+    public void onNext(Message message) {
+      var builder = WeaviateProtoBatch.BatchStreamRequest.newBuilder();
+      message.appendTo(builder);
+      var req = builder.build();
+
+      switch (req.getMessageCase()) {
+        case START -> eventThread.execute(() -> recv.onNext(Event.STARTED));
+        case DATA -> {
+          List<String> ids = req.getData().getObjects().getValuesList().stream()
+              .map(WeaviateProtoBatch.BatchObject::getUuid)
+              .toList();
+          received.addAll(ids);
+          req.getData().getObjects().getValuesList()
+              .forEach(object -> tenants.put(object.getUuid(), object.getTenant()));
+          batchSizes.add(ids.size());
+
+          List<String> successful = ids.stream().filter(id -> !failing.contains(id)).toList();
+          Map<String, String> errors = new HashMap<>();
+          ids.stream().filter(failing::contains).forEach(id -> errors.put(id, "whaam!"));
+
+          eventThread.execute(() -> {
+            recv.onNext(new Event.Acks(ids));
+            recv.onNext(new Event.Results(successful, errors));
+          });
+        }
+        case STOP -> {
+          stopped = true;
+          eventThread.execute(recv::onCompleted);
+        }
+        default -> throw new IllegalArgumentException("unexpected message " + req.getMessageCase());
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class AdaptiveBatchSizeTest {
+  private static final Duration TARGET = Duration.ofMillis(100);
+
+  /** Fake clock, in nanoseconds. */
+  private final AtomicLong now = new AtomicLong();
+
+  private AdaptiveBatchSize newSize(int initialSize) {
+    return new AdaptiveBatchSize(initialSize, TARGET, now::get);
+  }
+
+  /** Send a batch of {@code items} and Ack it after {@code latency}. */
+  private int sendAndAck(AdaptiveBatchSize size, int items, Duration latency) {
+    size.onSend(items);
+    now.addAndGet(latency.toNanos());
+    return size.onAck();
+  }
+
+  @Test
+  public void test_additiveIncrease() {
+    var size = newSize(100);
+
+    Assertions.assertThat(sendAndAck(size, 100, Duration.ofMillis(10))).isEqualTo(110);
+    Assertions.assertThat(sendAndAck(size, 110, Duration.ofMillis(10))).isEqualTo(120);
+  }
+
+  @Test
+  public void test_multiplicativeDecrease() {
+    var size = newSize(100);
+
+    Assertions.assertThat(sendAndAck(size, 100, Duration.ofSeconds(1))).isEqualTo(50);
+    Assertions.assertThat(size.onCongestion()).as("OOM").isEqualTo(25);
+    Assertions.assertThat(size.onCongestion()).as("shutting down").isEqualTo(12);
+  }
+
+  @Test
+  public void test_minSize() {
+    var size = newSize(1);
+
+    Assertions.assertThat(size.onCongestion()).isEqualTo(1);
+    Assertions.assertThat(sendAndAck(size, 1, Duration.ofMillis(10))).as("step is at least 1").isEqualTo(2);
+  }
+
+  @Test
+  public void test_partialBatch() {
+    var size = newSize(100);
+
+    // The batch was flushed early or limited by its size in bytes:
+    // a larger limit would not have made a difference.
+    Assertions.assertThat(sendAndAck(size, 60, Duration.ofMillis(10))).isEqualTo(100);
+    Assertions.assertThat(sendAndAck(size, 60, Duration.ofSeconds(1))).as("still shrinks").isEqualTo(50);
+  }
+
+  @Test
+  public void test_backoffCeiling() {
+    var size = newSize(100);
+
+    Assertions.assertThat(size.onBackoff(80)).as("shrink to server's maximum").isEqualTo(80);
+    Assertions.assertThat(sendAndAck(size, 80, Duration.ofMillis(10))).as("capped").isEqualTo(80);
+
+    Assertions.assertThat(size.onBackoff(200)).as("grow gradually").isEqualTo(80);
+    Assertions.assertThat(sendAndAck(size, 80, Duration.ofMillis(10))).isEqualTo(90);
+  }
+}
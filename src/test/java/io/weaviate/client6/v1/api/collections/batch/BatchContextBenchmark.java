@@ -0,0 +1,180 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.api.collections.CollectionHandleDefaults;
+import io.weaviate.client6.v1.api.collections.Vectors;
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
+
+/**
+ * Measures {@link BatchContext#add} and {@link BatchContext#submit}
+ * throughput from a single producer thread
+ * for objects with a 1536-dimensional vector and 20 text properties.
+ * The server acknowledges every batch as soon as it arrives.
+ *
+ * <p>
+ * {@code executor=caller} encodes objects on the producer thread,
+ * {@code executor=forkjoin} uses the encoding stage backed by
+ * {@link ForkJoinPool#commonPool}. On JDK 21+ pass
+ * {@code -p executor=virtual} to use a virtual thread per task.
+ *
+ * <p>
+ * {@code journal=true} writes every object to a {@link BatchJournal}
+ * in a temporary directory (only with {@code executor=caller}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchContextBenchmark {
+  private static final int DIMENSIONS = 1536;
+  private static final int TEXT_PROPERTIES = 20;
+
+  @Param({ "caller", "forkjoin" })
+  public String executor;
+
+  @Param({ "false" })
+  public boolean journal;
+
+  private final float[] vector = new float[DIMENSIONS];
+  private final Map<String, Object> properties = new HashMap<>();
+
+  /** Emits server-side events. */
+  private ExecutorService eventThread;
+  private ExecutorService virtualThreads;
+  private Path journalDirectory;
+  private BatchContext<Map<String, Object>> context;
+  private long sequence;
+
+  public BatchContextBenchmark() {
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) Math.sin(i);
+    }
+    for (int i = 0; i < TEXT_PROPERTIES; i++) {
+      properties.put("text_" + i, "Lorem ipsum dolor sit amet, consectetur adipiscing elit " + i);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void startContext() throws Exception {
+    eventThread = Executors.newSingleThreadExecutor();
+    var builder = new BatchContext.Builder<>(
+        this::createStream, 16 * 1024 * 1024,
+        CollectionDescriptor.ofMap("Benchmark"), CollectionHandleDefaults.of(d -> d));
+
+    switch (executor) {
+      case "caller" -> {
+      }
+      case "forkjoin" -> builder.encodingExecutor(ForkJoinPool.commonPool());
+      case "virtual" -> {
+        virtualThreads = (ExecutorService) Executors.class
+            .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        builder.encodingExecutor(virtualThreads);
+      }
+      default -> throw new IllegalArgumentException(executor);
+    }
+
+    if (journal) {
+      journalDirectory = Files.createTempDirectory("batch-journal");
+      builder.journal(journalDirectory);
+    }
+
+    context = builder.build();
+    context.start();
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeContext() throws IOException {
+    context.close();
+    eventThread.shutdown();
+    if (virtualThreads != null) {
+      virtualThreads.shutdown();
+    }
+    if (journalDirectory != null) {
+      Files.deleteIfExists(journalDirectory);
+    }
+  }
+
+  @Benchmark
+  public TaskHandle add() throws InterruptedException {
+    String uuid = new UUID(0, sequence++).toString();
+    return context.add(WeaviateObject.of(obj -> obj
+        .uuid(uuid)
+        .properties(properties)
+        .vectors(Vectors.of(vector))));
+  }
+
+  @Benchmark
+  public void submit() throws InterruptedException {
+    String uuid = new UUID(0, sequence++).toString();
+    context.submit(WeaviateObject.of(obj -> obj
+        .uuid(uuid)
+        .properties(properties)
+        .vectors(Vectors.of(vector))));
+  }
+
+  /** Create a stream which acknowledges every batch as soon as it arrives. */
+  private StreamObserver<Message> createStream(StreamObserver<Event> recv) {
+    return new StreamObserver<>() {
+      @Override
+      public void onNext(Message message) {
+        var builder = WeaviateProtoBatch.BatchStreamRequest.newBuilder();
+        message.appendTo(builder);
+        var req = builder.build();
+
+        switch (req.getMessageCase()) {
+          case START -> eventThread.execute(() -> recv.onNext(Event.STARTED));
+          case DATA -> {
+            List<String> ids = req.getData().getObjects().getValuesList().stream()
+                .map(WeaviateProtoBatch.BatchObject::getUuid)
+                .toList();
+            eventThread.execute(() -> {
+              recv.onNext(new Event.Acks(ids));
+              recv.onNext(new Event.Results(ids, Map.of()));
+            });
+          }
+          case STOP -> eventThread.execute(recv::onCompleted);
+          default -> {
+          }
+        }
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onCompleted() {
+      }
+    };
+  }
+}
@@ -0,0 +1,58 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for the memory budget of {@link BatchContext}, see {@link BatchContext.Builder#maxBufferedBytes}. */
+public class BatchContextBudgetTest {
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_maxBufferedBytes() throws Exception {
+    // The budget fits about 2 objects, so a batch can never fill up
+    // and is flushed whenever the producer runs out of budget.
+    var context = server.startContext(b -> b
+        .batchSize(100).queueSize(100)
+        .streams(2)
+        .maxBufferedBytes(100));
+
+    List<TaskHandle> tasks = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      tasks.add(context.add(WeaviateObject.of()));
+    }
+    context.close();
+
+    Assertions.assertThat(tasks).extracting(TaskHandle::done)
+        .allMatch(CompletableFuture::isDone)
+        .noneMatch(CompletableFuture::isCompletedExceptionally);
+    Assertions.assertThat(context.bufferedBytes()).as("all bytes released").isZero();
+  }
+
+  @Test
+  public void test_maxBufferedBytes_failFast() throws Exception {
+    var context = server.startContext(b -> b
+        .batchSize(100)
+        .maxBufferedBytes(1)
+        .failFast(true));
+
+    // The first object is admitted even though it exceeds the budget
+    // and stays in the batch until the next add triggers a flush.
+    var first = context.add(WeaviateObject.of());
+    Assertions.assertThat(context.bufferedBytes()).isPositive();
+    Assertions.assertThatThrownBy(() -> context.add(WeaviateObject.of()))
+        .isInstanceOf(BudgetExceededException.class);
+
+    first.done().get(5, TimeUnit.SECONDS);
+    context.close();
+    Assertions.assertThat(context.bufferedBytes()).isZero();
+  }
+}
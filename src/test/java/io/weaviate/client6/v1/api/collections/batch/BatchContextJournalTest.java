@@ -0,0 +1,87 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+import io.weaviate.client6.v1.api.collections.data.InsertManyRequest;
+
+/** Tests for {@link BatchContext} with a {@link BatchJournal}. */
+public class BatchContextJournalTest {
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Rule
+  public final TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void test_journal_spill() throws Exception {
+    Path directory = tmp.newFolder().toPath();
+    var context = server.startContext(b -> b.streams(2).journal(directory));
+
+    // The queues only fit 10 tasks, the rest are spilled to the journal.
+    List<TaskHandle> tasks = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      tasks.add(context.add(WeaviateObject.of()));
+    }
+    context.close();
+
+    Assertions.assertThat(tasks).extracting(TaskHandle::done)
+        .allMatch(CompletableFuture::isDone)
+        .noneMatch(CompletableFuture::isCompletedExceptionally);
+    Assertions.assertThat(server.streams).flatExtracting(s -> s.received)
+        .containsExactlyInAnyOrderElementsOf(tasks.stream().map(TaskHandle::id).toList());
+    try (var files = Files.list(directory)) {
+      Assertions.assertThat(files).as("journal is empty").isEmpty();
+    }
+  }
+
+  @Test
+  public void test_journal_recover() throws Exception {
+    Path directory = tmp.newFolder().toPath();
+
+    // Simulate a crash: tasks are written to the journal but never acked.
+    List<String> unacked = new ArrayList<>();
+    try (var journal = BatchJournal.open(directory)) {
+      for (int i = 0; i < 20; i++) {
+        var object = WeaviateObject.<Map<String, Object>>of();
+        journal.append(TaskHandle.of(object,
+            InsertManyRequest.buildObject(object, AckingStreams.DESCRIPTOR, AckingStreams.DEFAULTS),
+            RetryPolicy.never(), __ -> {
+            }));
+        unacked.add(object.uuid());
+      }
+    }
+
+    var context = server.startContext(b -> b.streams(2).journal(directory));
+    var recovered = context.recovered();
+    var added = context.add(WeaviateObject.of());
+    context.close();
+
+    Assertions.assertThat(recovered).extracting(TaskHandle::id).containsExactlyElementsOf(unacked);
+    Assertions.assertThat(recovered).extracting(TaskHandle::done)
+        .allMatch(CompletableFuture::isDone)
+        .noneMatch(CompletableFuture::isCompletedExceptionally);
+    unacked.add(added.id());
+    Assertions.assertThat(server.streams).flatExtracting(s -> s.received)
+        .containsExactlyInAnyOrderElementsOf(unacked);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void test_journal_encodingExecutor() throws Exception {
+    server.builder()
+        .journal(tmp.newFolder().toPath())
+        .encodingExecutor(ForkJoinPool.commonPool())
+        .build();
+  }
+}
@@ -0,0 +1,71 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for the retry backoff and budget of {@link RetryPolicy} in {@link BatchContext}. */
+public class BatchContextRetryTest {
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_retryBackoff() throws Exception {
+    var policy = RetryPolicy.of(2, retry -> retry.backoff(Duration.ofMillis(10), Duration.ofMillis(50)));
+    var context = server.startContext(b -> b.retryPolicy(policy));
+
+    String failed = UUID.randomUUID().toString();
+    server.failing.add(failed);
+    var task = context.add(WeaviateObject.of(obj -> obj.uuid(failed)));
+    for (int i = 0; i < 10; i++) {
+      context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    // Close waits for the delayed retries.
+    context.close();
+
+    Assertions.assertThat(task.done()).isCompletedExceptionally();
+    Assertions.assertThat(task.timesRetried()).isEqualTo(2);
+    Assertions.assertThat(server.streams.get(0).received).filteredOn(failed::equals).hasSize(3);
+    Assertions.assertThat(context.retryStats()).isEqualTo(new RetryStats(2, 0));
+  }
+
+  @Test
+  public void test_retryBudget() throws Exception {
+    var policy = RetryPolicy.of(5, retry -> retry.budget(0.1, 0, Duration.ofMinutes(1)));
+    var context = server.startContext(b -> b.retryPolicy(policy).batchSize(10));
+
+    String failed = UUID.randomUUID().toString();
+    server.failing.add(failed);
+    context.add(WeaviateObject.of(obj -> obj.uuid(failed)));
+    for (int i = 0; i < 9; i++) {
+      context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    context.close();
+
+    // 10 items sent in the first batch permit 1 retry,
+    // the 2nd one fails the task.
+    Assertions.assertThat(context.numberOfErrors()).isEqualTo(1);
+    Assertions.assertThat(context.retryStats()).isEqualTo(new RetryStats(1, 1));
+  }
+
+  @Test
+  public void test_retryBudget_perContext() throws Exception {
+    var policy = RetryPolicy.of(5, retry -> retry.budget(0, 1, Duration.ofMinutes(1)));
+
+    for (int i = 0; i < 2; i++) {
+      var context = server.startContext(b -> b.retryPolicy(policy));
+      String failed = UUID.randomUUID().toString();
+      server.failing.add(failed);
+      context.add(WeaviateObject.of(obj -> obj.uuid(failed)));
+      context.close();
+
+      // Each context gets its own reserve of 1 retry.
+      Assertions.assertThat(context.retryStats()).as("context %d", i).isEqualTo(new RetryStats(1, 1));
+    }
+  }
+}
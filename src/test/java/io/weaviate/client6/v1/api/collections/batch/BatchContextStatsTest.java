@@ -0,0 +1,45 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for {@link BatchContext#stats} and the {@link BatchContext.Builder#statsListener}. */
+public class BatchContextStatsTest {
+  private static final int STREAMS = 3;
+
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_stats() throws Exception {
+    List<BatchStats> reports = new CopyOnWriteArrayList<>();
+    var context = server.startContext(b -> b.streams(STREAMS).statsListener(reports::add, Duration.ofHours(1)));
+    for (int i = 0; i < 30; i++) {
+      context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    context.close();
+
+    var stats = context.stats();
+    Assertions.assertThat(stats.objectsSent()).isEqualTo(30);
+    Assertions.assertThat(stats.bytesSent()).isPositive();
+    Assertions.assertThat(stats.objectsPerSecond()).isPositive();
+    Assertions.assertThat(stats.wip()).isZero();
+    Assertions.assertThat(stats.queueDepth()).isZero();
+    Assertions.assertThat(stats.batchSize()).as("batch size of all streams").isEqualTo(5 * STREAMS);
+    Assertions.assertThat(stats.ackLatency().count())
+        .as("every batch is acked").isGreaterThanOrEqualTo(30 / 5);
+    Assertions.assertThat(stats.timeInState()).containsKeys("AWAIT_STARTED", "ACTIVE", "IN_FLIGHT");
+
+    // The only report is sent when the context is closed.
+    Assertions.assertThat(reports).singleElement()
+        .returns(30L, BatchStats::objectsSent);
+  }
+}
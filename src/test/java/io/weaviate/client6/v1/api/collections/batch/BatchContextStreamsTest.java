@@ -0,0 +1,186 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/**
+ * Tests for {@link BatchContext} with multiple streams and with the encoding
+ * stage. Unlike {@link BatchContextTest}, each stream is served by
+ * {@link AckingStreams}, which acknowledges every batch immediately.
+ */
+public class BatchContextStreamsTest {
+  private static final int STREAMS = 3;
+
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_shardByUuid() throws Exception {
+    var context = server.startContext(STREAMS);
+    Assertions.assertThat(server.streams).as("streams opened on start").hasSize(STREAMS);
+
+    List<TaskHandle> tasks = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      tasks.add(context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString()))));
+    }
+    context.close();
+
+    Assertions.assertThat(tasks).extracting(TaskHandle::done)
+        .allMatch(CompletableFuture::isDone)
+        .noneMatch(CompletableFuture::isCompletedExceptionally);
+
+    // Every task is sent on the stream of its shard exactly once.
+    Assertions.assertThat(server.streams).flatExtracting(s -> s.received)
+        .containsExactlyInAnyOrderElementsOf(tasks.stream().map(TaskHandle::id).toList());
+    for (int i = 0; i < STREAMS; i++) {
+      int shard = i;
+      Assertions.assertThat(server.streams.get(i).received)
+          .allSatisfy(id -> Assertions.assertThat(Math.floorMod(id.hashCode(), STREAMS)).isEqualTo(shard));
+      Assertions.assertThat(server.streams.get(i).stopped).as("stream %d stopped", i).isTrue();
+    }
+  }
+
+  @Test
+  public void test_numberOfErrors() throws Exception {
+    var context = server.startContext(STREAMS);
+
+    // Pick a failing object for each of the shards.
+    Map<Integer, String> failingByShard = new HashMap<>();
+    while (failingByShard.size() < STREAMS) {
+      String id = UUID.randomUUID().toString();
+      failingByShard.putIfAbsent(Math.floorMod(id.hashCode(), STREAMS), id);
+    }
+    server.failing.addAll(failingByShard.values());
+
+    for (var id : server.failing) {
+      context.add(WeaviateObject.of(obj -> obj.uuid(id)));
+    }
+    context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    context.close();
+
+    Assertions.assertThat(context.numberOfErrors()).isEqualTo(STREAMS);
+  }
+
+  @Test
+  public void test_add_closed() throws Exception {
+    var context = server.startContext(STREAMS);
+    context.close();
+
+    Assertions.assertThatThrownBy(() -> context.add(WeaviateObject.of()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void test_encodingStage_order() throws Exception {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var context = server.startContext(b -> b.encodingExecutor(executor).encodingWindow(3));
+
+      List<TaskHandle> tasks = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        tasks.add(context.add(WeaviateObject.of()));
+      }
+      context.close();
+
+      Assertions.assertThat(tasks).extracting(TaskHandle::done)
+          .allMatch(CompletableFuture::isDone)
+          .noneMatch(CompletableFuture::isCompletedExceptionally);
+
+      // Objects are encoded in parallel, but sent in the order they were added.
+      Assertions.assertThat(server.streams).singleElement()
+          .extracting(s -> s.received).asList()
+          .containsExactlyElementsOf(tasks.stream().map(TaskHandle::id).toList());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void test_encodingStage_error() throws Exception {
+    var context = server.startContext(b -> b.encodingExecutor(ForkJoinPool.commonPool()));
+
+    var bad = context.add(WeaviateObject.of(obj -> obj
+        .properties(Map.of("unsupported", List.of(new Object())))));
+    var good = context.add(WeaviateObject.of());
+    context.close();
+
+    Assertions.assertThat(bad.done()).isCompletedExceptionally();
+    Assertions.assertThat(good.done()).isCompleted().isNotCompletedExceptionally();
+    Assertions.assertThat(context.numberOfErrors()).isEqualTo(1);
+    Assertions.assertThat(server.streams).singleElement()
+        .extracting(s -> s.received).asList()
+        .containsExactly(good.id());
+  }
+
+  @Test
+  public void test_subscriber() throws Exception {
+    var context = server.startContext(STREAMS);
+    var subscriber = context.subscriber();
+
+    List<String> published = new ArrayList<>();
+    try (var publisher = new SubmissionPublisher<WeaviateObject<Map<String, Object>>>()) {
+      publisher.subscribe(subscriber);
+      for (int i = 0; i < 100; i++) {
+        var object = WeaviateObject.<Map<String, Object>>of();
+        published.add(object.uuid());
+        publisher.submit(object);
+      }
+    }
+
+    subscriber.completion().get(5, TimeUnit.SECONDS);
+    context.close();
+
+    Assertions.assertThat(context.numberOfErrors()).isZero();
+    Assertions.assertThat(server.streams).flatExtracting(s -> s.received)
+        .containsExactlyInAnyOrderElementsOf(published);
+  }
+
+  @Test
+  public void test_subscriber_demand() throws Exception {
+    var context = server.startContext(b -> b.queueSize(3).batchSize(10));
+    // Demand is capped by the queue size...
+    Assertions.assertThat(context.demand()).isEqualTo(3);
+    context.close();
+
+    // ...and the batch size, which is what Backoff adjusts.
+    context = server.startContext(b -> b.queueSize(10).batchSize(2).streams(2));
+    Assertions.assertThat(context.demand()).as("sum over streams").isEqualTo(4);
+    context.close();
+  }
+
+  @Test
+  public void test_queueSize_splitBetweenStreams() throws Exception {
+    var context = server.startContext(b -> b.queueSize(6).batchSize(10).streams(3));
+    Assertions.assertThat(context.demand()).isEqualTo(6);
+    context.close();
+
+    // Every stream gets at least one slot.
+    context = server.startContext(b -> b.queueSize(2).batchSize(10).streams(3));
+    Assertions.assertThat(context.demand()).isEqualTo(3);
+    context.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_zeroStreams() {
+    server.builder().streams(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_zeroQueueSize() {
+    server.builder().queueSize(0);
+  }
+}
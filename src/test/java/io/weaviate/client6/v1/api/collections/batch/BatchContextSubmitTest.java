@@ -0,0 +1,39 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for {@link BatchContext#submit} and the {@link BatchContext.Builder#errorSink}. */
+public class BatchContextSubmitTest {
+  private static final int STREAMS = 3;
+
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_submit() throws Exception {
+    List<TaskError> errors = new CopyOnWriteArrayList<>();
+    var context = server.startContext(b -> b.streams(STREAMS).errorSink(errors::add));
+
+    String failed = UUID.randomUUID().toString();
+    server.failing.add(failed);
+    context.submit(WeaviateObject.of(obj -> obj.uuid(failed)));
+    for (int i = 0; i < 20; i++) {
+      context.submit(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    context.close();
+
+    Assertions.assertThat(context.numberOfSuccesses()).as("successes").isEqualTo(20);
+    Assertions.assertThat(context.numberOfErrors()).as("errors").isEqualTo(1);
+    Assertions.assertThat(errors).singleElement()
+        .returns(failed, TaskError::id)
+        .extracting(TaskError::cause).isInstanceOf(ServerException.class);
+  }
+}
@@ -0,0 +1,49 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for {@link BatchContext} with {@link BatchContext.Builder#targetLatency}. */
+public class BatchContextTargetLatencyTest {
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_targetLatency_grow() throws Exception {
+    var context = server.startContext(b -> b.batchSize(2).targetLatency(Duration.ofMinutes(1)));
+    for (int i = 0; i < 50; i++) {
+      context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    context.close();
+
+    // Every batch is acknowledged well within the target latency.
+    List<Integer> batchSizes = server.streams.get(0).batchSizes;
+    Assertions.assertThat(batchSizes).startsWith(2, 3, 4);
+    Assertions.assertThat(server.streams.get(0).received).hasSize(50);
+  }
+
+  @Test
+  public void test_targetLatency_shrink() throws Exception {
+    var context = server.startContext(b -> b.batchSize(4).targetLatency(Duration.ofNanos(1)));
+    for (int i = 0; i < 10; i++) {
+      context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    context.close();
+
+    // No Ack arrives within the target latency.
+    Assertions.assertThat(server.streams.get(0).batchSizes).startsWith(4, 2, 1, 1);
+    Assertions.assertThat(server.streams.get(0).received).hasSize(10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_targetLatency_zero() {
+    server.builder().targetLatency(Duration.ZERO);
+  }
+}
@@ -0,0 +1,86 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for writing {@link BatchContext} tasks to several tenants. */
+public class BatchContextTenantsTest {
+  private static final int STREAMS = 3;
+
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_tenants() throws Exception {
+    List<TaskError> errors = new CopyOnWriteArrayList<>();
+    var context = server.startContext(b -> b.streams(STREAMS).errorSink(errors::add));
+
+    String failed = UUID.randomUUID().toString();
+    server.failing.add(failed);
+    context.submit("TenantA", WeaviateObject.of(obj -> obj.uuid(failed)));
+    var handles = new ArrayList<TaskHandle>();
+    for (int i = 0; i < 10; i++) {
+      String tenant = i % 2 == 0 ? "TenantA" : "TenantB";
+      handles.add(context.add(tenant, WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString()))));
+    }
+    var noTenant = context.add(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    context.close();
+
+    Map<String, String> tenants = server.tenants();
+    Assertions.assertThat(handles).allSatisfy(handle -> Assertions.assertThat(handle.done()).isCompleted());
+    Assertions.assertThat(tenants).as("tenants sent")
+        .containsEntry(failed, "TenantA")
+        .containsEntry(handles.get(0).id(), "TenantA")
+        .containsEntry(handles.get(1).id(), "TenantB")
+        .containsEntry(noTenant.id(), "");
+
+    Assertions.assertThat(context.numberOfErrorsByTenant()).as("errors by tenant")
+        .containsExactly(Map.entry("TenantA", 1L));
+    Assertions.assertThat(errors).singleElement()
+        .returns(failed, TaskError::id)
+        .returns("TenantA", TaskError::tenant);
+  }
+
+  @Test
+  public void test_tenants_nonBlocking() throws Exception {
+    var context = server.startContext(STREAMS);
+
+    var tried = context.tryAdd("TenantA", WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    var async = context.addAsync("TenantB", WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())))
+        .get(5, TimeUnit.SECONDS);
+
+    var subscriber = context.<Map.Entry<String, WeaviateObject<Map<String, Object>>>>subscriber(
+        Map.Entry::getKey, Map.Entry::getValue);
+    Map<String, String> published = new HashMap<>();
+    try (var publisher = new SubmissionPublisher<Map.Entry<String, WeaviateObject<Map<String, Object>>>>()) {
+      publisher.subscribe(subscriber);
+      for (int i = 0; i < 20; i++) {
+        String tenant = i % 2 == 0 ? "TenantC" : "TenantD";
+        var object = WeaviateObject.<Map<String, Object>>of(obj -> obj.uuid(UUID.randomUUID().toString()));
+        published.put(object.uuid(), tenant);
+        publisher.submit(Map.entry(tenant, object));
+      }
+    }
+    subscriber.completion().get(5, TimeUnit.SECONDS);
+    context.close();
+
+    Map<String, String> tenants = server.tenants();
+    Assertions.assertThat(tried).as("tryAdd").isPresent();
+    Assertions.assertThat(tenants).as("tenants sent")
+        .containsEntry(tried.get().id(), "TenantA")
+        .containsEntry(async.id(), "TenantB")
+        .containsAllEntriesOf(published);
+  }
+}
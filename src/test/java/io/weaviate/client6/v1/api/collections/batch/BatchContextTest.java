@@ -1,6 +1,7 @@
 package io.weaviate.client6.v1.api.collections.batch;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -289,6 +291,54 @@ public class BatchContextTest {
         .noneMatch(CompletableFuture::isCompletedExceptionally);
   }
 
+  @Test
+  public void test_tryAdd_addAsync() throws Exception {
+    // Fill the batch and send it, but do not Ack it yet:
+    // the "sender" will not take anything from the queue until then.
+    List<TaskHandle> tasks = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      tasks.add(context.add(WeaviateObject.of()));
+    }
+    List<String> received = recvData();
+
+    // The queue has capacity for exactly 1 item.
+    tasks.add(context.add(WeaviateObject.of()));
+    Assertions.assertThat(context.tryAdd(WeaviateObject.of())).isEmpty();
+
+    CompletableFuture<TaskHandle> added = context.addAsync(WeaviateObject.of());
+    Assertions.assertThat(added).isNotDone();
+
+    // Once the "sender" takes the next item from the queue,
+    // the pending task is put on the queue in its place.
+    out.emitEventAsync(new Event.Acks(received));
+    tasks.add(added.get(5, TimeUnit.SECONDS));
+    out.emitEventAsync(new Event.Results(received, Collections.emptyMap()));
+
+    backgroundThread.submit(() -> {
+      try {
+        List<String> drained = recvDataAndAck();
+        out.emitEventAsync(new Event.Results(drained, Collections.emptyMap()));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    closeContext();
+
+    Assertions.assertThat(tasks).hasSize(BATCH_SIZE + 2)
+        .extracting(TaskHandle::done)
+        .allMatch(CompletableFuture::isDone)
+        .noneMatch(CompletableFuture::isCompletedExceptionally);
+  }
+
+  @Test
+  public void test_addAsync_closed() throws Exception {
+    closeContext();
+    Assertions.assertThat(context.addAsync(WeaviateObject.of()))
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(IllegalStateException.class);
+  }
+
   @Test
   public void test_backoffBacklog() throws Exception {
     // Pre-fill the batch without triggering a flush (n-1).
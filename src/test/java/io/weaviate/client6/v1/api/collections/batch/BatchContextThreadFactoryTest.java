@@ -0,0 +1,45 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+
+/** Tests for {@link BatchContext} with a {@link BatchContext.Builder#threadFactory}. */
+public class BatchContextThreadFactoryTest {
+  private static final int STREAMS = 3;
+
+  @Rule
+  public final AckingStreams server = new AckingStreams();
+
+  @Test
+  public void test_threadFactory() throws Exception {
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    ThreadFactory threadFactory = r -> {
+      var thread = new Thread(r, "batch-" + threads.size());
+      threads.add(thread);
+      return thread;
+    };
+    var context = server.startContext(b -> b.streams(STREAMS).threadFactory(threadFactory));
+
+    for (int i = 0; i < 20; i++) {
+      context.submit(WeaviateObject.of(obj -> obj.uuid(UUID.randomUUID().toString())));
+    }
+    context.close();
+
+    Assertions.assertThat(context.numberOfSuccesses()).as("successes").isEqualTo(20);
+    Assertions.assertThat(threads).as("created threads").isNotEmpty();
+    for (var thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    Assertions.assertThat(threads).as("terminated after close")
+        .allSatisfy(thread -> Assertions.assertThat(thread.isAlive()).as(thread.getName()).isFalse());
+  }
+}
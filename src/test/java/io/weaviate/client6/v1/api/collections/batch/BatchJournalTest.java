@@ -0,0 +1,114 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.weaviate.client6.v1.api.collections.CollectionHandleDefaults;
+import io.weaviate.client6.v1.api.collections.WeaviateObject;
+import io.weaviate.client6.v1.api.collections.data.BatchReference;
+import io.weaviate.client6.v1.api.collections.data.InsertManyRequest;
+import io.weaviate.client6.v1.api.collections.data.ObjectReference;
+import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
+
+public class BatchJournalTest {
+  private static final CollectionDescriptor<Map<String, Object>> DESCRIPTOR = CollectionDescriptor
+      .ofMap("BatchJournalTest");
+  private static final CollectionHandleDefaults DEFAULTS = CollectionHandleDefaults.of(d -> d);
+
+  @Rule
+  public final TemporaryFolder tmp = new TemporaryFolder();
+
+  private static TaskHandle object(String text) {
+    var object = WeaviateObject.<Map<String, Object>>of(obj -> obj.properties(Map.of("text", text)));
+    return TaskHandle.of(object, InsertManyRequest.buildObject(object, DESCRIPTOR, DEFAULTS),
+        RetryPolicy.never(), __ -> {
+        });
+  }
+
+  private static long segments(Path directory) throws Exception {
+    try (var files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  @Test
+  public void test_recover() throws Exception {
+    Path directory = tmp.newFolder().toPath();
+    var first = object("first");
+    var second = object("second");
+    var third = object("third");
+    var ref = new BatchReference("Songs", "hasAuthor", UUID.randomUUID().toString(),
+        ObjectReference.uuid(UUID.randomUUID().toString()));
+    var reference = TaskHandle.of(ref, InsertManyRequest.buildReference(ref, Optional.empty()),
+        RetryPolicy.never(), __ -> {
+        });
+
+    try (var journal = BatchJournal.open(directory)) {
+      journal.append(first);
+      journal.append(second);
+      journal.append(third);
+      journal.append(reference);
+      journal.ack(second.id());
+      Assertions.assertThat(journal.size()).isEqualTo(3);
+    }
+
+    try (var journal = BatchJournal.open(directory)) {
+      Assertions.assertThat(journal.recovered())
+          .extracting(BatchJournal.Entry::id)
+          .containsExactly(first.id(), third.id(), reference.id());
+
+      var entry = journal.recovered().get(1);
+      Assertions.assertThat(entry.sizeBytes()).isEqualTo(third.data().sizeBytes());
+      Assertions.assertThat(journal.read(entry).encoded())
+          .as("data read back from the journal")
+          .isEqualTo(third.data().encoded());
+
+      Assertions.assertThat(journal.read(journal.recovered().get(2)))
+          .returns(Data.Type.REFERENCE, Data::type)
+          .returns(reference.data().encoded(), Data::encoded);
+    }
+  }
+
+  @Test
+  public void test_truncate() throws Exception {
+    Path directory = tmp.newFolder().toPath();
+
+    // Every record takes up a segment of its own.
+    try (var journal = BatchJournal.open(directory, 64)) {
+      var first = object("first");
+      var second = object("second");
+      journal.append(first);
+      journal.append(second);
+
+      // The second segment holds a live entry, so the third is kept as well.
+      journal.ack(second.id());
+      Assertions.assertThat(segments(directory)).as("segments after the second ack").isEqualTo(3);
+
+      journal.ack(first.id());
+      Assertions.assertThat(segments(directory)).as("only the current segment remains").isEqualTo(1);
+    }
+    Assertions.assertThat(segments(directory)).as("empty journal removed on close").isZero();
+  }
+
+  @Test
+  public void test_recover_nothing() throws Exception {
+    Path directory = tmp.newFolder().toPath();
+    try (var journal = BatchJournal.open(directory)) {
+      var task = object("done");
+      journal.append(task);
+      journal.ack(task.id());
+    }
+
+    try (var journal = BatchJournal.open(directory)) {
+      Assertions.assertThat(journal.recovered()).isEmpty();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class BatchStatsTest {
+  /** Fake clock, in nanoseconds. */
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  public void test_histogram_percentile() {
+    var metrics = new BatchMetrics(now::get);
+    for (int i = 0; i < 100; i++) {
+      metrics.onSend(1, 10);
+      now.addAndGet(Duration.ofMillis(i < 98 ? 1 : 100).toNanos());
+      metrics.onAck();
+    }
+
+    var histogram = metrics.ackLatency();
+    Assertions.assertThat(histogram.count()).isEqualTo(100);
+    Assertions.assertThat(histogram.percentile(50)).isEqualTo(Duration.ofMillis(1));
+    Assertions.assertThat(histogram.percentile(99)).isEqualTo(Duration.ofMillis(128));
+    Assertions.assertThat(BatchStats.Histogram.EMPTY.percentile(99)).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  public void test_histogram_bucket() {
+    Assertions.assertThat(BatchStats.Histogram.bucket(0)).isZero();
+    Assertions.assertThat(BatchStats.Histogram.bucket(Duration.ofMillis(3).toNanos())).isEqualTo(2);
+    Assertions.assertThat(BatchStats.Histogram.bucket(Duration.ofDays(1).toNanos()))
+        .as("overflow bucket").isEqualTo(BatchStats.Histogram.UPPER_BOUNDS.size() - 1);
+  }
+
+  @Test
+  public void test_timeInState() {
+    var metrics = new BatchMetrics(now::get);
+    metrics.onStateChange("ACTIVE");
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    metrics.onStateChange("IN_FLIGHT");
+    now.addAndGet(Duration.ofSeconds(2).toNanos());
+    metrics.onStateChange("ACTIVE");
+    now.addAndGet(Duration.ofSeconds(3).toNanos());
+
+    Assertions.assertThat(metrics.timeInState()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        "ACTIVE", Duration.ofSeconds(4),
+        "IN_FLIGHT", Duration.ofSeconds(2)));
+  }
+
+  @Test
+  public void test_sum_since() {
+    var metrics = new BatchMetrics(now::get);
+    metrics.onSend(10, 1_000);
+    var stream = new BatchStats(10, 1_000, 0, 0, Duration.ZERO, 1, 2, 3,
+        metrics.ackLatency(), Map.of("ACTIVE", Duration.ofSeconds(1)), 4, 5);
+
+    var first = BatchStats.sum(List.of(stream, stream), Duration.ofSeconds(2));
+    Assertions.assertThat(first)
+        .returns(20L, BatchStats::objectsSent)
+        .returns(10.0, BatchStats::objectsPerSecond)
+        .returns(1_000.0, BatchStats::bytesPerSecond)
+        .returns(2, BatchStats::queueDepth)
+        .returns(4, BatchStats::wip)
+        .returns(6, BatchStats::batchSize)
+        .returns(8L, BatchStats::retries)
+        .returns(10L, BatchStats::reconnects)
+        .returns(Map.of("ACTIVE", Duration.ofSeconds(2)), BatchStats::timeInState);
+
+    var second = BatchStats.sum(List.of(stream, stream, stream, stream), Duration.ofSeconds(4));
+    Assertions.assertThat(second.since(first))
+        .returns(40L, BatchStats::objectsSent)
+        .returns(Duration.ofSeconds(2), BatchStats::interval)
+        .returns(10.0, BatchStats::objectsPerSecond);
+  }
+}
@@ -13,7 +13,9 @@ import org.junit.Test;
 import io.weaviate.client6.v1.api.collections.CollectionHandleDefaults;
 import io.weaviate.client6.v1.api.collections.Vectors;
 import io.weaviate.client6.v1.api.collections.WeaviateObject;
+import io.weaviate.client6.v1.api.collections.data.BatchReference;
 import io.weaviate.client6.v1.api.collections.data.InsertManyRequest;
+import io.weaviate.client6.v1.api.collections.data.ObjectReference;
 import io.weaviate.client6.v1.api.collections.query.ConsistencyLevel;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
 import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
@@ -93,6 +95,30 @@ public class BatchTest {
         .isEqualTo(3);
   }
 
+  @Test
+  public void test_prepare_toByteString() throws Exception {
+    Batch batch = new Batch(3, 4096);
+
+    addObject(batch);
+    var reference = new BatchReference("Songs", "hasAuthor", UUID.randomUUID().toString(),
+        ObjectReference.uuid(UUID.randomUUID().toString()));
+    batch.add(new Data(reference, reference.target().beacon(),
+        InsertManyRequest.buildReference(reference, Optional.empty()), Data.Type.REFERENCE));
+    addObject(batch);
+
+    Message message = batch.prepare();
+
+    var builder = WeaviateProtoBatch.BatchStreamRequest.newBuilder();
+    message.appendTo(builder);
+    WeaviateProtoBatch.BatchStreamRequest want = builder.build();
+
+    // Framing pre-encoded items produces the same request as the builder.
+    var got = WeaviateProtoBatch.BatchStreamRequest.parseFrom(message.toByteString());
+    Assertions.assertThat(got).isEqualTo(want);
+    Assertions.assertThat(got.getData().getObjects().getValuesCount()).as("no. objects").isEqualTo(2);
+    Assertions.assertThat(got.getData().getReferences().getValuesCount()).as("no. references").isEqualTo(1);
+  }
+
   @Test(expected = DataTooBigException.class)
   public void test_add_tooBig() {
     int maxSizeBytes = 10 * OBJECT_SIZE_BYTES + MessageSizeUtil.SAFETY_MARGIN;
@@ -0,0 +1,65 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class ByteBudgetTest {
+
+  @Test
+  public void test_tryAcquire() {
+    var budget = new ByteBudget(10);
+
+    Assertions.assertThat(budget.tryAcquire(6)).as("acquire 6B").isTrue();
+    Assertions.assertThat(budget.tryAcquire(6)).as("acquire 6B more").isFalse();
+    Assertions.assertThat(budget.tryAcquire(4)).as("acquire the rest").isTrue();
+    Assertions.assertThat(budget.used()).isEqualTo(10);
+
+    budget.release(10);
+    Assertions.assertThat(budget.used()).isZero();
+  }
+
+  @Test
+  public void test_oversizeTask() {
+    var budget = new ByteBudget(10);
+
+    // A task larger than the limit is admitted when nothing else is buffered...
+    Assertions.assertThat(budget.tryAcquire(100)).isTrue();
+    // ...and nothing is admitted after it until it is released.
+    Assertions.assertThat(budget.canAcquire(1)).isFalse();
+
+    budget.release(100);
+    Assertions.assertThat(budget.canAcquire(1)).isTrue();
+  }
+
+  @Test
+  public void test_acquire_blocks() throws Exception {
+    var budget = new ByteBudget(10);
+    var released = new AtomicInteger();
+    budget.onRelease(released::incrementAndGet);
+
+    budget.acquire(8);
+    var acquired = CompletableFuture.runAsync(() -> {
+      try {
+        budget.acquire(5);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    Assertions.assertThat(acquired).as("blocked").isNotDone();
+    budget.release(8);
+
+    acquired.get(1, TimeUnit.SECONDS);
+    Assertions.assertThat(budget.used()).isEqualTo(5);
+    Assertions.assertThat(released).as("release listener called").hasValue(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_nonPositiveLimit() {
+    new ByteBudget(0);
+  }
+}
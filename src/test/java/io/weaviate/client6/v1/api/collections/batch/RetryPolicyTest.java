@@ -0,0 +1,131 @@
+package io.weaviate.client6.v1.api.collections.batch;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class RetryPolicyTest {
+  private static final ServerException WHAAM = new ServerException("Whaam!");
+
+  /** Task which has been retried a number of times. */
+  private static RetriableTask retried(int times) {
+    var task = new RetriableTask("task", new RetryPolicy(times), __ -> {
+    }) {
+    };
+    for (int i = 0; i < times; i++) {
+      task.setError(WHAAM);
+    }
+    return task;
+  }
+
+  @Test
+  public void test_noBackoff() {
+    var policy = new RetryPolicy(3);
+    Assertions.assertThat(policy.delayNanos(retried(1))).isZero();
+  }
+
+  @Test
+  public void test_backoff() {
+    var initial = Duration.ofMillis(100);
+    var max = Duration.ofSeconds(1);
+    var policy = RetryPolicy.of(10, retry -> retry.backoff(initial, max));
+
+    for (int i = 0; i < 100; i++) {
+      Assertions.assertThat(policy.delayNanos(retried(1))).as("1st retry")
+          .isBetween(0L, initial.toNanos());
+      Assertions.assertThat(policy.delayNanos(retried(3))).as("3rd retry")
+          .isBetween(0L, 4 * initial.toNanos());
+      Assertions.assertThat(policy.delayNanos(retried(10))).as("capped")
+          .isBetween(0L, max.toNanos());
+    }
+  }
+
+  @Test
+  public void test_backoff_noOverflow() {
+    var policy = RetryPolicy.of(100, retry -> retry.backoff(Duration.ofSeconds(1), Duration.ofMinutes(1)));
+    Assertions.assertThat(policy.delayNanos(retried(100))).isBetween(0L, Duration.ofMinutes(1).toNanos());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_backoff_maxLessThanInitial() {
+    RetryPolicy.of(1, retry -> retry.backoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+  }
+
+  @Test
+  public void test_budget() {
+    var now = new AtomicLong();
+    var budget = new RetryBudget(0.1, 0, Duration.ofSeconds(10), now::get);
+
+    Assertions.assertThat(budget.tryRetry()).as("nothing sent yet").isFalse();
+    budget.onSend(20);
+    Assertions.assertThat(budget.tryRetry()).as("1st retry").isTrue();
+    Assertions.assertThat(budget.tryRetry()).as("2nd retry").isTrue();
+    Assertions.assertThat(budget.tryRetry()).as("3rd retry exceeds 10%").isFalse();
+    Assertions.assertThat(budget.exhausted()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_budget_afterRoll() {
+    var now = new AtomicLong();
+    var budget = new RetryBudget(0.1, 0, Duration.ofSeconds(10), now::get);
+
+    budget.onSend(100);
+    Assertions.assertThat(budget.tryRetry()).isTrue();
+
+    // The previous window still counts at the start of the next one.
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    Assertions.assertThat(budget.tryRetry()).as("1st retry after roll").isTrue();
+
+    // Half-way through, half of the previous window is carried over:
+    // 50 items permit 5 retries, minus the one made in this window
+    // and half of the one made in the previous window.
+    now.addAndGet(Duration.ofSeconds(5).toNanos());
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertThat(budget.tryRetry()).as("retry %d", i).isTrue();
+    }
+    Assertions.assertThat(budget.tryRetry()).as("budget exhausted").isFalse();
+
+    // Nothing is carried over after an idle window.
+    now.addAndGet(Duration.ofSeconds(20).toNanos());
+    Assertions.assertThat(budget.tryRetry()).as("after idle window").isFalse();
+  }
+
+  @Test
+  public void test_budget_lowQps() {
+    var now = new AtomicLong();
+    var budget = new RetryBudget(0.1, 2, Duration.ofSeconds(10), now::get);
+
+    // 1 item permits 0.1 retries, the reserve permits 2 more.
+    budget.onSend(1);
+    Assertions.assertThat(budget.tryRetry()).as("1st retry").isTrue();
+    Assertions.assertThat(budget.tryRetry()).as("2nd retry").isTrue();
+    Assertions.assertThat(budget.tryRetry()).as("3rd retry").isFalse();
+
+    now.addAndGet(Duration.ofSeconds(30).toNanos());
+    Assertions.assertThat(budget.tryRetry()).as("reserve is restored").isTrue();
+  }
+
+  @Test
+  public void test_budget_policy() {
+    var policy = RetryPolicy.of(5, retry -> retry.budget(0.5, 0, Duration.ofMinutes(1)));
+    var context = policy.forContext();
+    var task = retried(0);
+
+    context.onSend(2);
+    Assertions.assertThat(context.canRetry(task, WHAAM)).as("within budget").isTrue();
+    Assertions.assertThat(context.canRetry(task, WHAAM)).as("budget exhausted").isFalse();
+    Assertions.assertThat(context.canRetry(task, new RuntimeException())).as("not retriable").isFalse();
+    Assertions.assertThat(context.budgetExhausted()).isEqualTo(1);
+
+    var other = policy.forContext();
+    Assertions.assertThat(other.budgetExhausted()).as("budget per context").isZero();
+    Assertions.assertThat(policy.budgetExhausted()).as("policy has no budget").isZero();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_budget_invalidRatio() {
+    RetryPolicy.of(1, retry -> retry.budget(2, 0, Duration.ofMinutes(1)));
+  }
+}
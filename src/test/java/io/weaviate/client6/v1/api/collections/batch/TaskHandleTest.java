@@ -1,5 +1,7 @@
 package io.weaviate.client6.v1.api.collections.batch;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -95,15 +97,48 @@ public class TaskHandleTest {
         .withFailMessage("Whaam-2!");
   }
 
+  @Test
+  public void test_detached_retryAndFail() {
+    List<String> retried = new ArrayList<>();
+    List<Throwable> done = new ArrayList<>();
+    TaskHandle task = TaskHandle.of(OBJECT, OBJECT_PROTO, null, new RetryPolicy(1), retried::add,
+        (__, t) -> done.add(t));
+    Assertions.assertThat(task.isDetached()).as("detached").isTrue();
+    Assertions.assertThatThrownBy(task::done).isInstanceOf(IllegalStateException.class);
+
+    task.setError(new ServerException("Whaam-1!"));
+    Assertions.assertThat(retried).containsExactly(OBJECT.uuid());
+    Assertions.assertThat(done).as("done after retry").isEmpty();
+
+    var whaam = new ServerException("Whaam-2!");
+    task.setError(whaam);
+    Assertions.assertThat(task.timesRetried()).isEqualTo(1);
+    Assertions.assertThat(done).containsExactly(whaam);
+
+    Assertions.assertThat(task.setSuccess()).as("status cannot be changed").isFalse();
+    Assertions.assertThat(done).hasSize(1);
+  }
+
+  @Test
+  public void test_detached_success() {
+    List<Throwable> done = new ArrayList<>();
+    TaskHandle task = TaskHandle.of(REFERENCE, REFERENCE_PROTO, null, RETRY_POLICY, AssertionError::new,
+        (__, t) -> done.add(t));
+
+    Assertions.assertThat(task.setSuccess()).isTrue();
+    Assertions.assertThat(task.abort(new RuntimeException())).as("status cannot be changed").isFalse();
+    Assertions.assertThat(done).containsExactly((Throwable) null);
+  }
+
   @Test
   public void test_newTaskHandle_WeaviateObject() {
-    TaskHandle taskHandle = new TaskHandle(OBJECT, OBJECT_PROTO, RETRY_POLICY, AssertionError::new);
+    TaskHandle taskHandle = TaskHandle.of(OBJECT, OBJECT_PROTO, RETRY_POLICY, AssertionError::new);
     Assertions.assertThat(taskHandle).returns(OBJECT.uuid(), TaskHandle::id);
   }
 
   @Test
   public void test_newTaskHandle_BatchReference() {
-    TaskHandle taskHandle = new TaskHandle(REFERENCE, REFERENCE_PROTO, RETRY_POLICY, AssertionError::new);
+    TaskHandle taskHandle = TaskHandle.of(REFERENCE, REFERENCE_PROTO, RETRY_POLICY, AssertionError::new);
     Assertions.assertThat(taskHandle).returns(REFERENCE.target().beacon(), TaskHandle::id);
   }
 
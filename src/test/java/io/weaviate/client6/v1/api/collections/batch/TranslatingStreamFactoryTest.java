@@ -8,6 +8,9 @@ import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
 import io.grpc.stub.StreamObserver;
 import io.weaviate.client6.v1.api.collections.query.ConsistencyLevel;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBase;
@@ -46,7 +49,7 @@ public class TranslatingStreamFactoryTest {
 
     SEND = new TranslatingStreamFactory(recv -> {
       RECV = recv; // capture the underlying observer
-      return SPY_SEND;
+      return new ParsingStreamObserver(SPY_SEND);
     }).createStream(SPY_RECV);
   }
 
@@ -234,4 +237,32 @@ public class TranslatingStreamFactoryTest {
     }
 
   }
+
+  /** ParsingStreamObserver parses serialized requests before passing them to the delegate. */
+  private static final class ParsingStreamObserver implements StreamObserver<ByteString> {
+    private final StreamObserver<WeaviateProtoBatch.BatchStreamRequest> delegate;
+
+    private ParsingStreamObserver(StreamObserver<WeaviateProtoBatch.BatchStreamRequest> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void onNext(ByteString request) {
+      try {
+        delegate.onNext(WeaviateProtoBatch.BatchStreamRequest.parseFrom(request));
+      } catch (InvalidProtocolBufferException e) {
+        throw new AssertionError("invalid request", e);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      delegate.onError(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      delegate.onCompleted();
+    }
+  }
 }
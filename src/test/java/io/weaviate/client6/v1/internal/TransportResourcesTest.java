@@ -0,0 +1,47 @@
+package io.weaviate.client6.v1.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class TransportResourcesTest {
+
+  @Test
+  public void test_acquireRelease() throws Exception {
+    List<String> disposed = new ArrayList<>();
+    try (var resources = new TransportResources(1)) {
+      var first = resources.acquire("key", () -> new StringBuilder("shared"), sb -> disposed.add(sb.toString()));
+      var second = resources.acquire("key", () -> new StringBuilder("other"), sb -> disposed.add(sb.toString()));
+      Assertions.assertThat(second).as("same resource").isSameAs(first);
+      Assertions.assertThat(resources.size()).as("size").isEqualTo(1);
+
+      resources.release("key");
+      Assertions.assertThat(disposed).as("disposed after first release").isEmpty();
+
+      resources.release("key");
+      Assertions.assertThat(disposed).as("disposed after last release").containsExactly("shared");
+      Assertions.assertThat(resources.size()).as("size").isZero();
+    }
+  }
+
+  @Test
+  public void test_close() throws Exception {
+    List<String> disposed = new ArrayList<>();
+    var resources = new TransportResources(1);
+    resources.acquire("key", () -> "in use", disposed::add);
+
+    resources.close();
+    Assertions.assertThat(disposed).as("disposed on close").containsExactly("in use");
+    Assertions.assertThat(resources.eventLoopGroup().isShutdown()).as("event loop shut down").isTrue();
+
+    Assertions.assertThatThrownBy(() -> resources.acquire("key", () -> "new", disposed::add))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void test_negativeThreads() {
+    new TransportResources(-1);
+  }
+}
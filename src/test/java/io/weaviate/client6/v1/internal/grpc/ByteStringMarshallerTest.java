@@ -0,0 +1,49 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.io.ByteArrayOutputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+
+public class ByteStringMarshallerTest {
+  private static final ByteString VALUE = ByteString.copyFromUtf8("Hello, ")
+      .concat(ByteString.copyFromUtf8("World!"));
+
+  @Test
+  public void test_drainTo() throws Exception {
+    var stream = ByteStringMarshaller.INSTANCE.stream(VALUE);
+    Assertions.assertThat(stream).isInstanceOf(KnownLength.class).isInstanceOf(Drainable.class);
+    Assertions.assertThat(stream.available()).as("known length").isEqualTo(VALUE.size());
+
+    var out = new ByteArrayOutputStream();
+    int drained = ((Drainable) stream).drainTo(out);
+
+    Assertions.assertThat(drained).isEqualTo(VALUE.size());
+    Assertions.assertThat(out.toByteArray()).isEqualTo(VALUE.toByteArray());
+    Assertions.assertThat(stream.read()).as("stream is exhausted").isEqualTo(-1);
+  }
+
+  @Test
+  public void test_read_drainTo() throws Exception {
+    var stream = ByteStringMarshaller.INSTANCE.stream(VALUE);
+    byte[] head = new byte[7];
+    Assertions.assertThat(stream.read(head)).isEqualTo(7);
+
+    // Only the remaining bytes are drained.
+    var out = new ByteArrayOutputStream();
+    int drained = ((Drainable) stream).drainTo(out);
+    Assertions.assertThat(drained).isEqualTo(VALUE.size() - 7);
+    Assertions.assertThat(out.toString()).isEqualTo("World!");
+  }
+
+  @Test
+  public void test_parse() {
+    var parsed = ByteStringMarshaller.INSTANCE.parse(VALUE.newInput());
+    Assertions.assertThat(parsed).isEqualTo(VALUE);
+  }
+}
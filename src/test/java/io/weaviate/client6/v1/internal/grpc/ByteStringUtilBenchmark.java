@@ -0,0 +1,93 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Compares vector encoding in {@link ByteStringUtil} against the
+ * element-by-element implementation it replaced, which wrote each float
+ * into a heap buffer and then copied the array into a ByteString.
+ *
+ * <p>
+ * Single vectors use {@link #dimensions} elements; multi-vectors consist
+ * of {@link #MULTI_VECTOR_COUNT} vectors of the same dimensionality.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ByteStringUtilBenchmark {
+  private static final int MULTI_VECTOR_COUNT = 32;
+
+  @Param({ "128", "768", "1536", "3072" })
+  public int dimensions;
+
+  private float[] single;
+  private float[][] multi;
+
+  @Setup
+  public void setup() {
+    var random = ThreadLocalRandom.current();
+    single = new float[dimensions];
+    for (int i = 0; i < single.length; i++) {
+      single[i] = random.nextFloat();
+    }
+    multi = new float[MULTI_VECTOR_COUNT][dimensions];
+    for (var vector : multi) {
+      for (int i = 0; i < vector.length; i++) {
+        vector[i] = random.nextFloat();
+      }
+    }
+  }
+
+  @Benchmark
+  public ByteString encodeSingle() {
+    return ByteStringUtil.encodeVectorSingle(single);
+  }
+
+  @Benchmark
+  public ByteString encodeSingleCopying() {
+    ByteBuffer buffer = ByteBuffer.allocate(single.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (final var f : single) {
+      buffer.putFloat(f);
+    }
+    return ByteString.copyFrom(buffer.array());
+  }
+
+  @Benchmark
+  public ByteString encodeMulti() {
+    return ByteStringUtil.encodeVectorMulti(multi);
+  }
+
+  @Benchmark
+  public ByteString encodeMultiCopying() {
+    short dim = (short) multi[0].length;
+    ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + multi.length * dim * Float.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .putShort(dim);
+    for (var vector : multi) {
+      for (final var f : vector) {
+        buffer.putFloat(f);
+      }
+    }
+    return ByteString.copyFrom(buffer.array());
+  }
+}
@@ -1,5 +1,7 @@
 package io.weaviate.client6.v1.internal.grpc;
 
+import java.util.UUID;
+
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
@@ -53,6 +55,16 @@ public class ByteStringUtilTest {
     Assertions.assertThat(got).isEqualTo(want);
   }
 
+  @Test
+  public void test_decodeUuidValue() {
+    // Prefix and suffix bytes ensure the UUID is read from a
+    // ByteString which does not start at offset 0.
+    byte[] bytes = { 0, 38, 19, -74, 24, -114, -19, 73, 43, -112, -60, 47, 96, 83, -89, -35, -23, 0 };
+    UUID want = UUID.fromString("2613b618-8eed-492b-90c4-2f6053a7dde9");
+    UUID got = ByteStringUtil.decodeUuidValue(ByteString.copyFrom(bytes).substring(1, 17));
+    Assertions.assertThat(got).isEqualTo(want);
+  }
+
   @Test
   public void test_decodeUuid_bufferUnderflow() {
     byte[] bytes = { 38, 19 }; // A valid UUID is exactly 16 bytes
@@ -97,6 +109,29 @@ public class ByteStringUtilTest {
     Assertions.assertThat(got).isEqualTo(want);
   }
 
+  @Test
+  public void test_asIntValues() {
+    byte[] bytes = { 1, 0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0 };
+    var got = ByteStringUtil.asIntValues(ByteString.copyFrom(bytes));
+    Assertions.assertThat(got.remaining()).isEqualTo(3);
+    Assertions.assertThat(got.get(2)).isEqualTo(3);
+    Assertions.assertThat(got.isReadOnly()).isTrue();
+  }
+
+  @Test
+  public void test_encodeIntValues() {
+    long[] want = { 1, -2, Long.MAX_VALUE };
+    long[] got = ByteStringUtil.decodeIntValues(ByteStringUtil.encodeIntValues(want));
+    Assertions.assertThat(got).isEqualTo(want);
+  }
+
+  @Test
+  public void test_encodeNumberValues() {
+    double[] want = { 1, -2.5, Double.MAX_VALUE };
+    double[] got = ByteStringUtil.decodeNumberValues(ByteStringUtil.encodeNumberValues(want));
+    Assertions.assertThat(got).isEqualTo(want);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void test_decodeVector_1d_illegal() {
     byte[] bytes = new byte[Float.BYTES - 1]; // must be a multiple of Float.BYTES
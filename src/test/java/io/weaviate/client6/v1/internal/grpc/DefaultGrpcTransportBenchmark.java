@@ -0,0 +1,145 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.ByteString;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.internal.Timeout;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateBlockingStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateFutureStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBase.Vectors;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.MetadataResult;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchResult;
+
+/**
+ * Measures unary request throughput of {@link DefaultGrpcTransport}
+ * with different channel pool sizes under high concurrency.
+ *
+ * <p>
+ * The server limits the number of concurrent calls per connection,
+ * similarly to how load balancers and proxies in front of Weaviate
+ * often do, and replies with a batch of 1536-dimensional vectors
+ * after a short delay.
+ *
+ * <p>
+ * Run with:
+ *
+ * <pre>{@code
+ * mvn test-compile exec:exec -Dexec.classpathScope=test \
+ *   -Dexec.executable=java \
+ *   -Dexec.args="-cp %classpath org.openjdk.jmh.Main DefaultGrpcTransportBenchmark"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+public class DefaultGrpcTransportBenchmark {
+  private static final int MAX_CONCURRENT_CALLS_PER_CONNECTION = 16;
+  private static final long SERVER_LATENCY_MICROS = 500;
+  private static final int RESULTS_PER_REPLY = 10;
+  private static final int VECTOR_DIMENSIONS = 1536;
+
+  private static final Rpc<SearchRequest, SearchRequest, SearchReply, SearchReply> SEARCH = Rpc.of(
+      request -> request,
+      reply -> reply,
+      () -> WeaviateBlockingStub::search,
+      () -> WeaviateFutureStub::search);
+
+  @Param({ "1", "2", "4", "8" })
+  public int channelPoolSize;
+
+  private ScheduledExecutorService delay;
+  private Server server;
+  private DefaultGrpcTransport transport;
+  private SearchRequest request;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    var reply = searchReply();
+
+    delay = Executors.newScheduledThreadPool(4);
+    server = NettyServerBuilder.forPort(0)
+        .maxConcurrentCallsPerConnection(MAX_CONCURRENT_CALLS_PER_CONNECTION)
+        .addService(new WeaviateGrpc.WeaviateImplBase() {
+          @Override
+          public void search(SearchRequest request, StreamObserver<SearchReply> responseObserver) {
+            delay.schedule(() -> {
+              responseObserver.onNext(reply);
+              responseObserver.onCompleted();
+            }, SERVER_LATENCY_MICROS, TimeUnit.MICROSECONDS);
+          }
+        })
+        .build()
+        .start();
+
+    var options = new GrpcChannelOptions("http", "localhost", server.getPort(),
+        Map.of(), null, null, new Timeout(), null)
+        .withChannelPoolSize(channelPoolSize);
+    transport = new DefaultGrpcTransport(options);
+    request = SearchRequest.newBuilder().setCollection("Benchmark").setLimit(RESULTS_PER_REPLY).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() throws Exception {
+    transport.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    delay.shutdownNow();
+  }
+
+  @Benchmark
+  public SearchReply search() {
+    return transport.performRequest(request, SEARCH);
+  }
+
+  @Benchmark
+  public SearchReply searchAsync() throws Exception {
+    return transport.performRequestAsync(request, SEARCH).get();
+  }
+
+  private static SearchReply searchReply() {
+    var vector = new float[VECTOR_DIMENSIONS];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = i / (float) vector.length;
+    }
+    var vectorBytes = ByteStringUtil.encodeVectorSingle(vector);
+
+    var reply = SearchReply.newBuilder();
+    for (int i = 0; i < RESULTS_PER_REPLY; i++) {
+      reply.addResults(SearchResult.newBuilder()
+          .setMetadata(MetadataResult.newBuilder()
+              .setIdAsBytes(ByteString.copyFrom(new byte[16]))
+              .addVectors(Vectors.newBuilder()
+                  .setName("default")
+                  .setVectorBytes(vectorBytes))));
+    }
+    return reply.build();
+  }
+}
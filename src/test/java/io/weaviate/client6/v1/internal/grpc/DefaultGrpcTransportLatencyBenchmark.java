@@ -0,0 +1,182 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.ByteString;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.internal.Timeout;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateBlockingStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateFutureStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBase.Vectors;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.MetadataResult;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchResult;
+
+/**
+ * Measures async request latency of {@link DefaultGrpcTransport} when
+ * small and large replies are mixed on the same channel. Read the p0.99
+ * percentile of the {@code mixed:small} results.
+ *
+ * <p>
+ * Large replies carry {@value #LARGE_RESULTS} 1536-dimensional vectors,
+ * which are decoded to {@code float[]} during unmarshaling, like
+ * the query client does. The channel executor is limited to
+ * {@value #CHANNEL_THREADS} threads to imitate saturated transport threads.
+ *
+ * <p>
+ * {@code offload=none} unmarshals on the channel executor,
+ * {@code offload=pool} on a separate fixed thread pool. On JDK 21+
+ * pass {@code -p offload=virtual} to use virtual threads.
+ *
+ * <p>
+ * Run with:
+ *
+ * <pre>{@code
+ * mvn test-compile exec:exec -Dexec.classpathScope=test \
+ *   -Dexec.executable=java \
+ *   -Dexec.args="-cp %classpath org.openjdk.jmh.Main DefaultGrpcTransportLatencyBenchmark"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DefaultGrpcTransportLatencyBenchmark {
+  private static final int CHANNEL_THREADS = 2;
+  private static final int OFFLOAD_THREADS = 8;
+  private static final int LARGE_RESULTS = 200;
+  private static final int VECTOR_DIMENSIONS = 1536;
+  private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+  /** Decodes every vector in the reply. */
+  private static final Rpc<SearchRequest, SearchRequest, Integer, SearchReply> SEARCH = Rpc.of(
+      request -> request,
+      reply -> {
+        int dimensions = 0;
+        for (var result : reply.getResultsList()) {
+          for (var vector : result.getMetadata().getVectorsList()) {
+            dimensions += ByteStringUtil.decodeVectorSingle(vector.getVectorBytes()).length;
+          }
+        }
+        return dimensions;
+      },
+      () -> WeaviateBlockingStub::search,
+      () -> WeaviateFutureStub::search);
+
+  @Param({ "none", "pool" })
+  public String offload;
+
+  private Server server;
+  private ExecutorService channelExecutor;
+  private ExecutorService offloadExecutor;
+  private DefaultGrpcTransport transport;
+
+  private final SearchRequest small = SearchRequest.newBuilder().setCollection("Benchmark").setLimit(1).build();
+  private final SearchRequest large = SearchRequest.newBuilder().setCollection("Benchmark").setLimit(LARGE_RESULTS)
+      .build();
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    var smallReply = searchReply(1);
+    var largeReply = searchReply(LARGE_RESULTS);
+
+    server = NettyServerBuilder.forPort(0)
+        .maxInboundMessageSize(MAX_MESSAGE_SIZE)
+        .addService(new WeaviateGrpc.WeaviateImplBase() {
+          @Override
+          public void search(SearchRequest request, StreamObserver<SearchReply> responseObserver) {
+            responseObserver.onNext(request.getLimit() == 1 ? smallReply : largeReply);
+            responseObserver.onCompleted();
+          }
+        })
+        .build()
+        .start();
+
+    channelExecutor = Executors.newFixedThreadPool(CHANNEL_THREADS);
+    var options = new GrpcChannelOptions("http", "localhost", server.getPort(),
+        Map.of(), null, null, new Timeout(), null)
+        .withMaxMessageSize(MAX_MESSAGE_SIZE)
+        .withChannelExecutor(channelExecutor);
+
+    switch (offload) {
+      case "none" -> {
+      }
+      case "pool" -> {
+        offloadExecutor = Executors.newFixedThreadPool(OFFLOAD_THREADS);
+        options = options.withOffloadExecutor(offloadExecutor);
+      }
+      case "virtual" -> options = options.withVirtualThreads(true);
+      default -> throw new IllegalArgumentException(offload);
+    }
+    transport = new DefaultGrpcTransport(options);
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() throws Exception {
+    transport.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    channelExecutor.shutdownNow();
+    if (offloadExecutor != null) {
+      offloadExecutor.shutdownNow();
+    }
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(4)
+  public Integer large() throws Exception {
+    return transport.performRequestAsync(large, SEARCH).get();
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(4)
+  public Integer small() throws Exception {
+    return transport.performRequestAsync(small, SEARCH).get();
+  }
+
+  private static SearchReply searchReply(int results) {
+    var vector = new float[VECTOR_DIMENSIONS];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = i / (float) vector.length;
+    }
+    var vectorBytes = ByteStringUtil.encodeVectorSingle(vector);
+
+    var reply = SearchReply.newBuilder();
+    for (int i = 0; i < results; i++) {
+      reply.addResults(SearchResult.newBuilder()
+          .setMetadata(MetadataResult.newBuilder()
+              .setIdAsBytes(ByteString.copyFrom(new byte[16]))
+              .addVectors(Vectors.newBuilder()
+                  .setName("default")
+                  .setVectorBytes(vectorBytes))));
+    }
+    return reply.build();
+  }
+}
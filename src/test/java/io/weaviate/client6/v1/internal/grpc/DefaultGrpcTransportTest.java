@@ -0,0 +1,150 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.internal.TransportResources;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.testutil.transport.MockGrpcServer;
+
+/**
+ * Tests for {@link DefaultGrpcTransport} against an in-process server
+ * which replies to every search request immediately.
+ */
+public class DefaultGrpcTransportTest {
+  /** Unmarshals the reply to the name of the thread it ran on. */
+  private static final Rpc<SearchRequest, SearchRequest, String, SearchReply> SEARCH = MockGrpcServer
+      .search(reply -> Thread.currentThread().getName());
+
+  private MockGrpcServer server;
+  private ExecutorService offload;
+
+  @Before
+  public void startServer() throws Exception {
+    server = MockGrpcServer.inProcess();
+    offload = Executors.newSingleThreadExecutor(r -> new Thread(r, "offload"));
+  }
+
+  @After
+  public void stopServer() throws Exception {
+    server.close();
+    offload.shutdownNow();
+  }
+
+  private GrpcChannelOptions options() {
+    return server.options();
+  }
+
+  @Test
+  public void test_offloadExecutor() throws Exception {
+    var transport = new DefaultGrpcTransport(options().withOffloadExecutor(offload));
+    try {
+      var unmarshaledOn = transport.performRequestAsync(MockGrpcServer.REQUEST, SEARCH).get(5, TimeUnit.SECONDS);
+      Assertions.assertThat(unmarshaledOn).as("unmarshal thread").isEqualTo("offload");
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_offloadExecutor_rejected() throws Exception {
+    offload.shutdown();
+    var transport = new DefaultGrpcTransport(options().withOffloadExecutor(offload));
+    try {
+      Assertions.assertThatThrownBy(() -> transport.performRequestAsync(MockGrpcServer.REQUEST, SEARCH).get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(RejectedExecutionException.class);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_sharedResources() throws Exception {
+    try (var resources = new TransportResources(1)) {
+      var first = new DefaultGrpcTransport(options().withResources(resources).withChannelPoolSize(2));
+      var second = new DefaultGrpcTransport(options().withResources(resources).withChannelPoolSize(2));
+      Assertions.assertThat(resources.size()).as("shared channels").isEqualTo(3);
+
+      first.close();
+      Assertions.assertThat(second.performRequestAsync(MockGrpcServer.REQUEST, SEARCH).get(5, TimeUnit.SECONDS))
+          .as("reply after the other transport is closed").isNotNull();
+
+      second.close();
+      Assertions.assertThat(resources.size()).as("shared channels").isZero();
+    }
+  }
+
+  @Test
+  public void test_sharedResources_nodeDiscovery() throws Exception {
+    // Every client creates its own NodeDiscovery.
+    Supplier<NodeDiscovery> discovery = () -> new NodeDiscovery(
+        () -> CompletableFuture.completedFuture(List.of()), Duration.ofMinutes(1));
+
+    try (var resources = new TransportResources(1)) {
+      var first = new DefaultGrpcTransport(options().withResources(resources).withNodeDiscovery(discovery.get()));
+      var second = new DefaultGrpcTransport(options().withResources(resources).withNodeDiscovery(discovery.get()));
+      Assertions.assertThat(resources.size()).as("same refresh interval").isEqualTo(1);
+
+      var other = new DefaultGrpcTransport(options().withResources(resources)
+          .withNodeDiscovery(new NodeDiscovery(() -> CompletableFuture.completedFuture(List.of()),
+              Duration.ofMinutes(5))));
+      Assertions.assertThat(resources.size()).as("other refresh interval").isEqualTo(2);
+
+      first.close();
+      second.close();
+      other.close();
+      Assertions.assertThat(resources.size()).as("shared channels").isZero();
+    }
+  }
+
+  @Test
+  public void test_sharedResources_virtualThreads() throws Exception {
+    if (Runtime.version().feature() < 21) {
+      return;
+    }
+
+    try (var resources = new TransportResources(1)) {
+      var first = new DefaultGrpcTransport(options().withResources(resources).withVirtualThreads(true));
+      var second = new DefaultGrpcTransport(options().withResources(resources).withVirtualThreads(true));
+      Assertions.assertThat(resources.size()).as("shared channels").isEqualTo(1);
+
+      var platform = new DefaultGrpcTransport(options().withResources(resources));
+      Assertions.assertThat(resources.size()).as("platform threads").isEqualTo(2);
+
+      first.close();
+      second.close();
+      platform.close();
+    }
+  }
+
+  @Test
+  public void test_virtualThreads() throws Exception {
+    if (Runtime.version().feature() < 21) {
+      Assertions.assertThatThrownBy(() -> new DefaultGrpcTransport(options().withVirtualThreads(true)))
+          .isInstanceOf(IllegalStateException.class);
+      return;
+    }
+
+    var transport = new DefaultGrpcTransport(options().withVirtualThreads(true));
+    try {
+      Assertions.assertThat(transport.performRequestAsync(MockGrpcServer.REQUEST, SEARCH).get(5, TimeUnit.SECONDS))
+          .as("unmarshal thread").isEmpty(); // Virtual threads are unnamed.
+    } finally {
+      transport.close();
+    }
+  }
+}
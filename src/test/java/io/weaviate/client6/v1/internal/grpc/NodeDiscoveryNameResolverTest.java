@@ -0,0 +1,154 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.grpc.NameResolverRegistry;
+import io.weaviate.client6.v1.api.WeaviateApiException;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.testutil.transport.MockGrpcServer;
+
+/**
+ * Tests for {@link DefaultGrpcTransport} with {@link NodeDiscovery},
+ * where local servers stand in for the cluster nodes. The discovered nodes
+ * are socket addresses, so the servers listen on local ports rather than
+ * running in-process.
+ */
+public class NodeDiscoveryNameResolverTest {
+  private static final int NODES = 3;
+  private static final Duration REFRESH = Duration.ofMillis(200);
+
+  private static final Rpc<SearchRequest, SearchRequest, SearchReply, SearchReply> SEARCH = MockGrpcServer.SEARCH;
+  private static final SearchRequest REQUEST = MockGrpcServer.REQUEST;
+
+  private final List<MockGrpcServer> servers = new ArrayList<>();
+
+  /** Addresses returned by the node discovery. */
+  private final List<InetSocketAddress> nodes = new CopyOnWriteArrayList<>();
+  private final AtomicInteger discoveries = new AtomicInteger();
+
+  @Before
+  public void startNodes() throws Exception {
+    for (int i = 0; i < NODES; i++) {
+      var server = MockGrpcServer.tcp();
+      servers.add(server);
+      nodes.add(server.address());
+    }
+  }
+
+  @After
+  public void stopNodes() throws Exception {
+    for (var server : servers) {
+      server.close();
+    }
+  }
+
+  private DefaultGrpcTransport transport() {
+    var discovery = new NodeDiscovery(() -> {
+      discoveries.incrementAndGet();
+      return CompletableFuture.completedFuture(List.copyOf(nodes));
+    }, REFRESH);
+    // The first node is the seed.
+    return new DefaultGrpcTransport(servers.get(0).options().withNodeDiscovery(discovery));
+  }
+
+  private void search(DefaultGrpcTransport transport, int times) {
+    for (int i = 0; i < times; i++) {
+      transport.performRequest(REQUEST, SEARCH);
+    }
+  }
+
+  @Test
+  public void test_spreadAcrossNodes() throws Exception {
+    var transport = transport();
+    try {
+      search(transport, 30);
+      Assertions.assertThat(servers).as("requests per node")
+          .allSatisfy(server -> Assertions.assertThat(server.requests.get()).isPositive());
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_refresh() throws Exception {
+    var transport = transport();
+    try {
+      search(transport, 3);
+      nodes.remove(2);
+
+      int discovered = discoveries.get();
+      while (discoveries.get() < discovered + 2) {
+        Thread.sleep(REFRESH.toMillis() / 2);
+      }
+      int removedBefore = servers.get(2).requests.get();
+      int remainingBefore = servers.get(0).requests.get() + servers.get(1).requests.get();
+      search(transport, 20);
+
+      Assertions.assertThat(servers.get(2).requests).as("removed node").hasValue(removedBefore);
+      Assertions.assertThat(servers.get(0).requests.get() + servers.get(1).requests.get() - remainingBefore)
+          .as("remaining nodes").isEqualTo(20);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_discoveryFails() throws Exception {
+    var transport = new DefaultGrpcTransport(servers.get(0).options()
+        .withNodeDiscovery(new NodeDiscovery(
+            () -> CompletableFuture.failedFuture(new IllegalStateException("no nodes")), REFRESH)));
+    try {
+      search(transport, 5);
+      Assertions.assertThat(servers.get(0).requests).as("seed node").hasValue(5);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_ejectFailingNode() throws Exception {
+    servers.get(2).unavailable.set(Integer.MAX_VALUE);
+    var transport = transport();
+    try {
+      // Let outlier detection see enough failures to eject the node.
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      int consecutive = 0;
+      while (consecutive < 20 && System.nanoTime() < deadline) {
+        try {
+          transport.performRequest(REQUEST, SEARCH);
+          consecutive++;
+        } catch (WeaviateApiException e) {
+          consecutive = 0;
+        }
+      }
+      Assertions.assertThat(consecutive).as("consecutive successful requests").isEqualTo(20);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_notRegisteredGlobally() throws Exception {
+    var transport = transport();
+    try {
+      search(transport, 1);
+      Assertions.assertThat(NameResolverRegistry.getDefaultRegistry()
+          .getProviderForScheme(NodeDiscoveryNameResolver.SCHEME)).isNull();
+    } finally {
+      transport.close();
+    }
+  }
+}
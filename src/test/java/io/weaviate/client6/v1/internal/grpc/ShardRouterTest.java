@@ -0,0 +1,232 @@
+package io.weaviate.client6.v1.internal.grpc;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.WeaviateApiException;
+import io.weaviate.client6.v1.internal.TransportResources;
+import io.weaviate.client6.v1.internal.grpc.ShardRouter.RoutingKey;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateBlockingStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateFutureStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchObject;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchObjectsRequest;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+import io.weaviate.testutil.transport.MockGrpcServer;
+
+public class ShardRouterTest {
+  private static final Duration TTL = Duration.ofSeconds(30);
+
+  private static final Rpc<SearchRequest, SearchRequest, SearchReply, SearchReply> SEARCH = MockGrpcServer.SEARCH;
+
+  /** The first server is the coordinator, the second one holds the tenant's shard. */
+  private final List<MockGrpcServer> servers = new ArrayList<>();
+
+  @Before
+  public void startNodes() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      servers.add(MockGrpcServer.inProcess());
+    }
+  }
+
+  @After
+  public void stopNodes() throws Exception {
+    for (var server : servers) {
+      server.close();
+    }
+  }
+
+  private static SearchRequest search(String tenant) {
+    return SearchRequest.newBuilder().setCollection("Songs").setTenant(tenant).build();
+  }
+
+  private static BatchObject object(String collection, String tenant) {
+    return BatchObject.newBuilder().setCollection(collection).setTenant(tenant).build();
+  }
+
+  @Test
+  public void test_routingKey() {
+    Assertions.assertThat(ShardRouter.routingKey(search("john")))
+        .as("search").isEqualTo(new RoutingKey("Songs", "john"));
+    Assertions.assertThat(ShardRouter.routingKey(search("")))
+        .as("search without tenant").isNull();
+
+    var batch = BatchObjectsRequest.newBuilder()
+        .addObjects(object("Songs", "john"))
+        .addObjects(object("Songs", "john"))
+        .build();
+    Assertions.assertThat(ShardRouter.routingKey(batch))
+        .as("batch").isEqualTo(new RoutingKey("Songs", "john"));
+
+    var mixed = batch.toBuilder().addObjects(object("Songs", "paul")).build();
+    Assertions.assertThat(ShardRouter.routingKey(mixed)).as("batch with several tenants").isNull();
+    Assertions.assertThat(ShardRouter.routingKey(BatchObjectsRequest.getDefaultInstance()))
+        .as("empty batch").isNull();
+  }
+
+  @Test
+  public void test_cache() {
+    var node = InetSocketAddress.createUnresolved("node-1", 50051);
+    var clock = new AtomicLong();
+    var lookups = new AtomicInteger();
+    var router = new ShardRouter(new ShardRouting(collection -> {
+      lookups.incrementAndGet();
+      return CompletableFuture.completedFuture(Map.of("john", List.of(node)));
+    }, TTL), clock::get);
+    var key = new RoutingKey("Songs", "john");
+
+    Assertions.assertThat(router.route(key)).as("lookup started").isNull();
+    Assertions.assertThat(router.route(key)).as("cached").isEqualTo(node);
+    Assertions.assertThat(router.route(new RoutingKey("Songs", "paul"))).as("unknown shard").isNull();
+    Assertions.assertThat(lookups).as("lookups").hasValue(1);
+
+    clock.addAndGet(TTL.toNanos());
+    Assertions.assertThat(router.route(key)).as("expired").isNull();
+    Assertions.assertThat(lookups).as("lookups").hasValue(2);
+
+    router.invalidate("Songs");
+    Assertions.assertThat(router.route(key)).as("invalidated").isNull();
+    Assertions.assertThat(lookups).as("lookups").hasValue(3);
+  }
+
+  @Test
+  public void test_lookupFails() {
+    var lookups = new AtomicInteger();
+    var router = new ShardRouter(new ShardRouting(collection -> {
+      lookups.incrementAndGet();
+      return CompletableFuture.failedFuture(new IllegalStateException("not found"));
+    }, TTL));
+    var key = new RoutingKey("Songs", "john");
+
+    Assertions.assertThat(router.route(key)).isNull();
+    Assertions.assertThat(router.route(key)).isNull();
+    Assertions.assertThat(lookups).as("failed lookup is cached").hasValue(1);
+  }
+
+  private DefaultGrpcTransport transport(InetSocketAddress node) {
+    var routing = new ShardRouting(
+        collection -> CompletableFuture.completedFuture(Map.of("john", List.of(node))), TTL);
+    return new DefaultGrpcTransport(servers.get(0).options().withShardRouting(routing));
+  }
+
+  @Test
+  public void test_routeToShard() throws Exception {
+    var transport = transport(servers.get(1).address());
+    try {
+      transport.performRequest(search("john"), SEARCH);
+      Assertions.assertThat(servers.get(0).requests).as("coordinator, sharding state unknown").hasValue(1);
+
+      transport.performRequest(search("john"), SEARCH);
+      transport.performRequestAsync(search("john"), SEARCH).get(5, TimeUnit.SECONDS);
+      Assertions.assertThat(servers.get(1).requests).as("shard node").hasValue(2);
+
+      transport.performRequest(search(""), SEARCH);
+      Assertions.assertThat(servers.get(0).requests).as("coordinator, no tenant").hasValue(2);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_evictNodeChannels() throws Exception {
+    var node = servers.get(1).address();
+    var state = new AtomicReference<Map<String, List<InetSocketAddress>>>(Map.of("john", List.of(node)));
+    var routing = new ShardRouting(collection -> CompletableFuture.completedFuture(state.get()),
+        Duration.ofMillis(100));
+
+    try (var resources = new TransportResources(1)) {
+      var transport = new DefaultGrpcTransport(servers.get(0).options()
+          .withShardRouting(routing)
+          .withResources(resources));
+
+      transport.performRequest(search("john"), SEARCH);
+      transport.performRequest(search("john"), SEARCH);
+      Assertions.assertThat(servers.get(1).requests).as("shard node").hasValue(1);
+      Assertions.assertThat(resources.size()).as("coordinator and node channels").isEqualTo(2);
+
+      state.set(Map.of());
+      Thread.sleep(routing.cacheTtl().toMillis() + 50);
+      transport.performRequest(search("john"), SEARCH);
+      Assertions.assertThat(resources.size()).as("node channel evicted").isEqualTo(1);
+
+      transport.close();
+      Assertions.assertThat(resources.size()).as("after close").isZero();
+    }
+  }
+
+  @Test
+  public void test_nodeUnavailable() throws Exception {
+    var transport = transport(InetSocketAddress.createUnresolved("no-such-node", 50051));
+    try {
+      transport.performRequest(search("john"), SEARCH);
+      transport.performRequest(search("john"), SEARCH);
+      transport.performRequestAsync(search("john"), SEARCH).get(5, TimeUnit.SECONDS);
+      transport.performRequestAsync(search("john"), SEARCH).get(5, TimeUnit.SECONDS);
+      Assertions.assertThat(servers.get(0).requests).as("coordinator").hasValue(4);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_nodeUnavailable_insert() throws Exception {
+    // Search which the transport treats as an insert.
+    Rpc<SearchRequest, SearchRequest, SearchReply, SearchReply> insert = Rpc.insert(
+        request -> request, reply -> reply,
+        () -> WeaviateBlockingStub::search, () -> WeaviateFutureStub::search);
+
+    var transport = transport(servers.get(1).address());
+    try {
+      transport.performRequest(search("john"), insert);
+      servers.get(1).unavailable.set(2);
+
+      Assertions.assertThatThrownBy(() -> transport.performRequest(search("john"), insert))
+          .isInstanceOf(WeaviateApiException.class);
+      transport.performRequest(search("john"), insert);
+      Assertions.assertThatThrownBy(() -> transport.performRequestAsync(search("john"), insert)
+          .get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(WeaviateApiException.class);
+      Assertions.assertThat(servers.get(0).requests).as("coordinator, not rerouted").hasValue(2);
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void test_nodeUnavailable_cancel() throws Exception {
+    var transport = transport(servers.get(1).address());
+    try {
+      transport.performRequest(search("john"), SEARCH);
+      servers.get(1).unavailable.set(1);
+      servers.get(0).hanging.set(1);
+
+      var response = transport.performRequestAsync(search("john"), SEARCH);
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (servers.get(0).requests.get() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      Assertions.assertThat(servers.get(0).requests).as("rerouted to coordinator").hasValue(2);
+
+      response.cancel(true);
+      while (servers.get(0).cancelled.get() == 0 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      Assertions.assertThat(servers.get(0).cancelled).as("rerouted attempt cancelled").hasValue(1);
+    } finally {
+      transport.close();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import io.weaviate.client6.v1.api.collections.annotations.Collection;
+import io.weaviate.client6.v1.api.collections.annotations.Property;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+
+public class PojoDescriptorTest {
+  @Collection("Songs")
+  private static record Song(
+      String title,
+      @Property("year") int releaseYear,
+      Double rating,
+      long[] plays,
+      List<String> tags) {
+  }
+
+  private static record Stats(int[] counts, float[] weights, long[] totals, List<Double> scores) {
+  }
+
+  @Test
+  public void testOfClass_cached() {
+    var first = CollectionDescriptor.ofClass(Song.class);
+    var second = CollectionDescriptor.ofClass(Song.class);
+    Assertions.assertThat(first).isSameAs(second);
+    Assertions.assertThat(first.collectionName()).isEqualTo("Songs");
+  }
+
+  @Test
+  public void testReadProperties() {
+    var song = new Song("Yellow Submarine", 1966, 4.5, new long[] { 1, 2 }, List.of("rock"));
+    var properties = CollectionDescriptor.ofClass(Song.class).propertiesReader(song).readProperties();
+
+    Assertions.assertThat(properties)
+        .containsOnlyKeys("title", "year", "rating", "plays", "tags")
+        .containsEntry("title", "Yellow Submarine")
+        .containsEntry("year", 1966)
+        .containsEntry("rating", 4.5)
+        .containsEntry("tags", List.of("rock"));
+  }
+
+  @Test
+  public void testPropertiesBuilder() {
+    var builder = CollectionDescriptor.ofClass(Song.class).propertiesBuilder();
+    builder.setText("title", "Yellow Submarine");
+    builder.setLong("year", 1966L);
+    builder.setDouble("rating", 4.5);
+    builder.setLongArray("plays", List.of(1L, 2L));
+    builder.setTextArray("tags", List.of("rock"));
+    builder.setText("unknown", "ignored");
+
+    var song = builder.build();
+
+    Assertions.assertThat(song)
+        .returns("Yellow Submarine", Song::title)
+        .returns(1966, Song::releaseYear)
+        .returns(4.5, Song::rating)
+        .returns(List.of("rock"), Song::tags);
+    Assertions.assertThat(song.plays()).containsExactly(1, 2);
+  }
+
+  @Test
+  public void testPropertiesBuilder_defaults() {
+    var builder = CollectionDescriptor.ofClass(Song.class).propertiesBuilder();
+    builder.setNull("year");
+
+    var song = builder.build();
+
+    Assertions.assertThat(song)
+        .returns(null, Song::title)
+        .returns(0, Song::releaseYear)
+        .returns(null, Song::rating);
+  }
+
+  @Test
+  public void testWriteProperties() {
+    var song = new Song("Yellow Submarine", 1966, null, new long[] { 1, 2 }, List.of());
+    var out = WeaviateProtoBatch.BatchObject.Properties.newBuilder();
+
+    CollectionDescriptor.ofClass(Song.class).writeProperties(song, out);
+
+    Assertions.assertThat(out.getNonRefProperties().getFieldsMap())
+        .as("scalar properties")
+        .containsOnlyKeys("title", "year");
+    Assertions.assertThat(out.getIntArrayPropertiesList())
+        .as("int[] property")
+        .singleElement()
+        .returns("plays", p -> p.getPropName())
+        .returns(List.of(1L, 2L), p -> p.getValuesList());
+    Assertions.assertThat(out.getEmptyListPropsList())
+        .as("empty list property")
+        .containsExactly("tags");
+  }
+
+  @Test
+  public void testPropertiesBuilder_primitiveArrays() {
+    var builder = CollectionDescriptor.ofClass(Stats.class).propertiesBuilder();
+    builder.setLongArray("counts", new long[] { 1, 2, 3 });
+    builder.setDoubleArray("weights", new double[] { .5, .25 });
+    builder.setLongArray("totals", new long[] { 10 });
+    builder.setDoubleArray("scores", new double[] { 4.5 });
+    builder.setLongArray("unknown", new long[] { 1 });
+
+    var stats = builder.build();
+
+    Assertions.assertThat(stats.counts()).containsExactly(1, 2, 3);
+    Assertions.assertThat(stats.weights()).containsExactly(.5f, .25f);
+    Assertions.assertThat(stats.totals()).containsExactly(10);
+    Assertions.assertThat(stats.scores()).containsExactly(4.5);
+  }
+}
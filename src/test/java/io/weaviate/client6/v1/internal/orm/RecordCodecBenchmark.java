@@ -0,0 +1,156 @@
+package io.weaviate.client6.v1.internal.orm;
+
+import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.weaviate.client6.v1.api.collections.annotations.Collection;
+import io.weaviate.client6.v1.api.collections.annotations.Property;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+
+/**
+ * Compares encoding (record to property map) and decoding (properties to
+ * record) through the cached {@link RecordCodec} against the reflective
+ * implementation it replaced, which inspected the class on every call.
+ *
+ * <p>
+ * {@link #writeProperties} streams properties straight into a batch object
+ * and {@link #writePropertiesStruct} marshals the property map into a
+ * Struct, one {@code Value} per array element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordCodecBenchmark {
+
+  @Collection("Articles")
+  public static record Article(
+      String title,
+      String body,
+      @Property("author_name") String author,
+      OffsetDateTime publishedAt,
+      UUID sourceId,
+      int wordCount,
+      long views,
+      double rating,
+      boolean featured,
+      String[] tags,
+      double[] scores) {
+  }
+
+  private static final double[] SCORES = new double[256];
+
+  static {
+    for (int i = 0; i < SCORES.length; i++) {
+      SCORES[i] = i / 256d;
+    }
+  }
+
+  private final Article article = new Article(
+      "Zero-copy ingestion", "Lorem ipsum dolor sit amet", "Jane Doe",
+      OffsetDateTime.parse("2025-01-01T00:00:00Z"), UUID.randomUUID(),
+      512, 1_000_000L, 4.7, true, new String[] { "java", "grpc" }, SCORES);
+
+  private final CollectionDescriptor<Article> descriptor = CollectionDescriptor.ofClass(Article.class);
+
+  @Benchmark
+  public Map<String, Object> encode() {
+    return CollectionDescriptor.ofClass(Article.class).propertiesReader(article).readProperties();
+  }
+
+  @Benchmark
+  public Map<String, Object> encodeReflective() {
+    var out = new HashMap<String, Object>();
+    for (var field : article.getClass().getDeclaredFields()) {
+      if (field.trySetAccessible()) {
+        try {
+          out.put(PojoDescriptor.propertyName(field), field.get(article));
+        } catch (IllegalAccessException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }
+    return out;
+  }
+
+  @Benchmark
+  public WeaviateProtoBatch.BatchObject.Properties writeProperties() {
+    var out = WeaviateProtoBatch.BatchObject.Properties.newBuilder();
+    descriptor.writeProperties(article, out);
+    return out.build();
+  }
+
+  @Benchmark
+  public WeaviateProtoBatch.BatchObject.Properties writePropertiesStruct() {
+    var properties = descriptor.propertiesReader(article).readProperties();
+    return WeaviateProtoBatch.BatchObject.Properties.newBuilder()
+        .setNonRefProperties(ProtoProperties.marshalStruct(properties))
+        .build();
+  }
+
+  @Benchmark
+  public Article decode() {
+    var builder = descriptor.propertiesBuilder();
+    setProperties(builder);
+    return builder.build();
+  }
+
+  @Benchmark
+  public Article decodeReflective() throws Exception {
+    var components = Article.class.getRecordComponents();
+    var types = Arrays.stream(components).map(c -> c.getType()).toArray(Class<?>[]::new);
+    var propertyToField = new HashMap<String, String>();
+    for (Field field : Article.class.getDeclaredFields()) {
+      propertyToField.put(PojoDescriptor.propertyName(field), field.getName());
+    }
+
+    var args = new HashMap<String, Object>();
+    args.put(propertyToField.get("title"), "Zero-copy ingestion");
+    args.put(propertyToField.get("body"), "Lorem ipsum dolor sit amet");
+    args.put(propertyToField.get("author_name"), "Jane Doe");
+    args.put(propertyToField.get("publishedAt"), article.publishedAt());
+    args.put(propertyToField.get("sourceId"), article.sourceId());
+    args.put(propertyToField.get("wordCount"), 512);
+    args.put(propertyToField.get("views"), 1_000_000L);
+    args.put(propertyToField.get("rating"), 4.7);
+    args.put(propertyToField.get("featured"), true);
+    args.put(propertyToField.get("tags"), List.of("java", "grpc").toArray(String[]::new));
+    args.put(propertyToField.get("scores"), SCORES);
+
+    var ctor = Article.class.getDeclaredConstructor(types);
+    ctor.setAccessible(true);
+    return ctor.newInstance(Arrays.stream(components).map(c -> args.get(c.getName())).toArray());
+  }
+
+  private void setProperties(PropertiesBuilder<Article> builder) {
+    builder.setText("title", "Zero-copy ingestion");
+    builder.setText("body", "Lorem ipsum dolor sit amet");
+    builder.setText("author_name", "Jane Doe");
+    builder.setOffsetDateTime("publishedAt", article.publishedAt());
+    builder.setUuid("sourceId", article.sourceId());
+    builder.setLong("wordCount", 512L);
+    builder.setLong("views", 1_000_000L);
+    builder.setDouble("rating", 4.7);
+    builder.setBoolean("featured", true);
+    builder.setTextArray("tags", List.of("java", "grpc"));
+    builder.setDoubleArray("scores", Arrays.stream(SCORES).boxed().toList());
+  }
+}
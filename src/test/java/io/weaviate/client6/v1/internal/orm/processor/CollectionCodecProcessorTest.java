@@ -0,0 +1,180 @@
+package io.weaviate.client6.v1.internal.orm.processor;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.assertj.core.api.Assertions;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.weaviate.client6.v1.internal.grpc.ByteStringUtil;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoProperties;
+import io.weaviate.client6.v1.internal.orm.CollectionDescriptor;
+import io.weaviate.client6.v1.internal.orm.PropertiesCodec;
+import io.weaviate.client6.v1.internal.orm.PropertiesView;
+import io.weaviate.client6.v1.internal.orm.ProtoProperties;
+import io.weaviate.client6.v1.internal.orm.ProtoPropertiesBuilder;
+
+public class CollectionCodecProcessorTest {
+  @ClassRule
+  public static final TemporaryFolder tmp = new TemporaryFolder();
+
+  private static final String SONG = """
+      package com.example;
+
+      import java.util.List;
+      import java.util.Map;
+      import java.util.UUID;
+
+      import io.weaviate.client6.v1.api.collections.annotations.Collection;
+      import io.weaviate.client6.v1.api.collections.annotations.Property;
+
+      public class Songs {
+        @Collection("Songs")
+        public record Song(
+            String title,
+            @Property("year") int releaseYear,
+            Double rating,
+            long[] plays,
+            List<String> tags,
+            UUID album,
+            boolean live) {
+        }
+
+        @Collection("Albums")
+        public record Album(String title, Map<String, Object> metadata) {
+        }
+      }
+      """;
+
+  private static final List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+  private static URLClassLoader classLoader;
+
+  @BeforeClass
+  public static void compile() throws Exception {
+    var src = tmp.newFolder("src").toPath();
+    var out = tmp.newFolder("out").toPath();
+    var file = src.resolve("com/example/Songs.java");
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, SONG);
+
+    var compiler = ToolProvider.getSystemJavaCompiler();
+    var collector = new DiagnosticCollector<JavaFileObject>();
+    try (var fm = compiler.getStandardFileManager(collector, Locale.ROOT, null)) {
+      var task = compiler.getTask(null, fm, collector,
+          List.of("-d", out.toString(), "-s", out.toString(), "-classpath", classpath()),
+          null, fm.getJavaFileObjects(file));
+      task.setProcessors(List.of(new CollectionCodecProcessor()));
+      Assertions.assertThat(task.call()).as("compilation: %s", collector.getDiagnostics()).isTrue();
+    }
+    diagnostics.addAll(collector.getDiagnostics());
+    classLoader = new URLClassLoader(new java.net.URL[] { out.toUri().toURL() },
+        CollectionCodecProcessorTest.class.getClassLoader());
+  }
+
+  /** Classpath with the client classes and protobuf runtime. */
+  private static String classpath() throws URISyntaxException {
+    var paths = new ArrayList<String>();
+    for (var cls : List.of(ProtoProperties.class, com.google.protobuf.Message.class)) {
+      paths.add(Path.of(cls.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+    }
+    return String.join(File.pathSeparator, paths);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static CollectionDescriptor<Record> descriptor(String name) throws ClassNotFoundException {
+    var cls = (Class<Record>) Class.forName("com.example.Songs$" + name, true, classLoader);
+    return CollectionDescriptor.ofClass(cls);
+  }
+
+  @Test
+  public void testGenerated() throws Exception {
+    var codec = Class.forName("com.example.Songs_Song_WeaviateCodec", true, classLoader);
+    Assertions.assertThat(PropertiesCodec.class).isAssignableFrom(codec);
+  }
+
+  @Test
+  public void testSkipUnsupported() {
+    Assertions.assertThatThrownBy(() -> Class.forName("com.example.Songs_Album_WeaviateCodec", true, classLoader))
+        .isInstanceOf(ClassNotFoundException.class);
+    Assertions.assertThat(diagnostics)
+        .anySatisfy(d -> {
+          Assertions.assertThat(d.getKind()).isEqualTo(Diagnostic.Kind.WARNING);
+          Assertions.assertThat(d.getMessage(Locale.ROOT)).contains("metadata");
+        });
+  }
+
+  @Test
+  public void testWriteProperties() throws Exception {
+    var descriptor = descriptor("Song");
+    var builder = descriptor.propertiesBuilder();
+    Assertions.assertThat(builder).isInstanceOf(ProtoPropertiesBuilder.class);
+
+    builder.setText("title", "Yellow Submarine");
+    builder.setLong("year", 1966L);
+    builder.setLongArray("plays", List.of(1L, 2L));
+    builder.setTextArray("tags", List.of("rock"));
+    var song = builder.build();
+
+    var out = WeaviateProtoBatch.BatchObject.Properties.newBuilder();
+    descriptor.writeProperties(song, out);
+
+    var fields = out.getNonRefProperties().getFieldsMap();
+    Assertions.assertThat(fields)
+        .containsOnlyKeys("title", "year", "live")
+        .hasEntrySatisfying("title", v -> Assertions.assertThat(v.getStringValue()).isEqualTo("Yellow Submarine"))
+        .hasEntrySatisfying("year", v -> Assertions.assertThat(v.getNumberValue()).isEqualTo(1966))
+        .hasEntrySatisfying("live", v -> Assertions.assertThat(v.getBoolValue()).isFalse());
+    Assertions.assertThat(out.getIntArrayPropertiesList())
+        .singleElement()
+        .returns("plays", p -> p.getPropName())
+        .returns(List.of(1L, 2L), p -> p.getValuesList());
+    Assertions.assertThat(out.getTextArrayPropertiesList())
+        .singleElement()
+        .returns("tags", p -> p.getPropName())
+        .returns(List.of("rock"), p -> p.getValuesList());
+  }
+
+  @Test
+  public void testSetValue() throws Exception {
+    var descriptor = descriptor("Song");
+    var builder = descriptor.propertiesBuilder();
+
+    Assertions.assertThat(builder.setValue("title",
+        WeaviateProtoProperties.Value.newBuilder().setTextValue("Help!").build())).isTrue();
+    builder.setValue("year", WeaviateProtoProperties.Value.newBuilder().setIntValue(1965).build());
+    builder.setValue("rating", WeaviateProtoProperties.Value.newBuilder().setNumberValue(4.5).build());
+    builder.setValue("plays", WeaviateProtoProperties.Value.newBuilder()
+        .setListValue(WeaviateProtoProperties.ListValue.newBuilder()
+            .setIntValues(WeaviateProtoProperties.IntValues.newBuilder()
+                .setValues(ByteStringUtil.encodeIntValues(new long[] { 3, 4 }))))
+        .build());
+    builder.setValue("live", WeaviateProtoProperties.Value.newBuilder().setBoolValue(true).build());
+    builder.setValue("unknown", WeaviateProtoProperties.Value.newBuilder().setTextValue("ignored").build());
+
+    var properties = descriptor.propertiesReader(builder.build()).readProperties();
+    Assertions.assertThat(properties).as("view over the record").isInstanceOf(PropertiesView.class);
+    Assertions.assertThat(properties)
+        .containsEntry("title", "Help!")
+        .containsEntry("year", 1965)
+        .containsEntry("rating", 4.5)
+        .containsEntry("live", true)
+        .containsEntry("tags", null)
+        .containsEntry("album", null);
+    Assertions.assertThat((long[]) properties.get("plays")).containsExactly(3, 4);
+  }
+}
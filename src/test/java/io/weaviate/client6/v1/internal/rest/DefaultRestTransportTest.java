@@ -2,6 +2,7 @@ package io.weaviate.client6.v1.internal.rest;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import javax.net.ssl.TrustManagerFactory;
@@ -14,6 +15,7 @@ import org.mockserver.integration.ClientAndServer;
 import org.mockserver.model.HttpRequest;
 
 import io.weaviate.client6.v1.internal.Timeout;
+import io.weaviate.client6.v1.internal.TransportResources;
 import io.weaviate.testutil.truststore.SingleTrustManagerFactory;
 import io.weaviate.testutil.truststore.SpyTrustManager;
 
@@ -73,6 +75,31 @@ public class DefaultRestTransportTest {
         .returns(true, SpyTrustManager::wasUsed);
   }
 
+  @Test
+  public void testSharedResources_async() throws Exception {
+    try (var resources = new TransportResources(1)) {
+      var first = new DefaultRestTransport(new RestTransportOptions(
+          "http", "localhost", mockServer.getLocalPort(),
+          Map.of("X-Test", "first"), null, null, new Timeout()).withResources(resources));
+      var second = new DefaultRestTransport(new RestTransportOptions(
+          "http", "localhost", mockServer.getLocalPort(),
+          Map.of("X-Test", "second"), null, null, new Timeout()).withResources(resources));
+      Assertions.assertThat(resources.size()).as("shared clients").isEqualTo(1);
+
+      var endpoint = OptionalEndpoint.noBodyOptional(
+          request -> "GET", request -> "/", request -> null, (code, response) -> null);
+      first.performRequestAsync(null, endpoint).get();
+      first.close();
+      second.performRequestAsync(null, endpoint).get();
+
+      mockServer.verify(HttpRequest.request().withPath("/v1/").withHeader("X-Test", "first"));
+      mockServer.verify(HttpRequest.request().withPath("/v1/").withHeader("X-Test", "second"));
+
+      second.close();
+      Assertions.assertThat(resources.size()).as("shared clients").isZero();
+    }
+  }
+
   @After
   public void tearDown() throws Exception {
     mockServer.stop();
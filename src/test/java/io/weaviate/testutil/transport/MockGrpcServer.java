@@ -0,0 +1,127 @@
+package io.weaviate.testutil.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.weaviate.client6.v1.internal.Timeout;
+import io.weaviate.client6.v1.internal.grpc.GrpcChannelOptions;
+import io.weaviate.client6.v1.internal.grpc.Rpc;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateBlockingStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateGrpc.WeaviateFutureStub;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchReply;
+import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoSearchGet.SearchRequest;
+
+/**
+ * gRPC server which replies to every search request immediately,
+ * unless it's told to leave requests hanging or to fail them.
+ *
+ * <p>
+ * The server runs in-process. Use {@link #options} to connect a transport
+ * to it. Node discovery passes socket addresses to the channel,
+ * which in-process channels cannot connect to, so tests which use it
+ * start a server on a local port with {@link #tcp} instead.
+ */
+public final class MockGrpcServer implements AutoCloseable {
+  /** Search which returns the reply as-is. */
+  public static final Rpc<SearchRequest, SearchRequest, SearchReply, SearchReply> SEARCH = search(reply -> reply);
+
+  public static final SearchRequest REQUEST = SearchRequest.newBuilder().setCollection("Test").build();
+
+  /**
+   * Connects to in-process servers, which are named after their host.
+   * The port is ignored.
+   */
+  public static final GrpcChannelOptions.ChannelBuilder IN_PROCESS = (host, port) -> InProcessChannelBuilder
+      .forName(host);
+
+  /** Port of in-process servers, which they don't actually listen on. */
+  private static final int IN_PROCESS_PORT = 50051;
+
+  /** Number of search requests received. */
+  public final AtomicInteger requests = new AtomicInteger();
+  /** Number of hanging requests which have been cancelled by the client. */
+  public final AtomicInteger cancelled = new AtomicInteger();
+  /** Number of the next requests which never get a reply. */
+  public final AtomicInteger hanging = new AtomicInteger();
+  /** Number of the next requests which fail with UNAVAILABLE. */
+  public final AtomicInteger unavailable = new AtomicInteger();
+
+  private final Server server;
+  private final String host;
+  private final int port;
+  private final boolean inProcess;
+
+  /** Search which unmarshals the reply with the function. */
+  public static <ResponseT> Rpc<SearchRequest, SearchRequest, ResponseT, SearchReply> search(
+      Function<SearchReply, ResponseT> unmarshal) {
+    return Rpc.of(
+        request -> request,
+        unmarshal,
+        () -> WeaviateBlockingStub::search,
+        () -> WeaviateFutureStub::search);
+  }
+
+  /** Start an in-process server. */
+  public static MockGrpcServer inProcess() throws IOException {
+    String name = InProcessServerBuilder.generateName();
+    return new MockGrpcServer(InProcessServerBuilder.forName(name), name, true);
+  }
+
+  /** Start a server on a free local port. */
+  public static MockGrpcServer tcp() throws IOException {
+    return new MockGrpcServer(NettyServerBuilder.forPort(0), "localhost", false);
+  }
+
+  private MockGrpcServer(ServerBuilder<?> builder, String host, boolean inProcess) throws IOException {
+    this.server = builder.addService(new SearchService()).build().start();
+    this.host = host;
+    this.port = inProcess ? IN_PROCESS_PORT : server.getPort();
+    this.inProcess = inProcess;
+  }
+
+  /** Address of the server, which is unresolved. */
+  public InetSocketAddress address() {
+    return InetSocketAddress.createUnresolved(host, port);
+  }
+
+  /** Channel options of a plaintext transport connected to the server. */
+  public GrpcChannelOptions options() {
+    return new GrpcChannelOptions("http", host, port, Map.of(), null, null, new Timeout(), null)
+        .withChannelBuilder(inProcess ? IN_PROCESS : null);
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  private final class SearchService extends WeaviateGrpc.WeaviateImplBase {
+    @Override
+    public void search(SearchRequest request, StreamObserver<SearchReply> responseObserver) {
+      requests.incrementAndGet();
+      if (hanging.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+        ((ServerCallStreamObserver<SearchReply>) responseObserver).setOnCancelHandler(cancelled::incrementAndGet);
+        return;
+      }
+      if (unavailable.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+        responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+        return;
+      }
+      responseObserver.onNext(SearchReply.getDefaultInstance());
+      responseObserver.onCompleted();
+    }
+  }
+}
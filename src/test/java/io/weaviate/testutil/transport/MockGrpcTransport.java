@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageOrBuilder;
 import com.google.protobuf.util.JsonFormat;
@@ -14,7 +15,6 @@ import io.grpc.stub.StreamObserver;
 import io.weaviate.client6.v1.internal.grpc.GrpcTransport;
 import io.weaviate.client6.v1.internal.grpc.Rpc;
 import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchStreamReply;
-import io.weaviate.client6.v1.internal.grpc.protocol.WeaviateProtoBatch.BatchStreamRequest;
 
 public class MockGrpcTransport implements GrpcTransport {
   private final String host = "example.com";
@@ -65,7 +65,7 @@ public class MockGrpcTransport implements GrpcTransport {
   }
 
   @Override
-  public StreamObserver<BatchStreamRequest> createStream(StreamObserver<BatchStreamReply> recv) {
+  public StreamObserver<ByteString> createStream(StreamObserver<BatchStreamReply> recv) {
     throw new UnsupportedOperationException("Unimplemented method 'createStream'");
   }
 